@@ -0,0 +1,48 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.api;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Extends the {@link IRequestExecutor} interface for request executors that can execute the HTTP(S) request to the SMP
+ * server without blocking the calling thread. When the SMP client is configured with such an executor, the
+ * asynchronous methods of {@link IAsyncSMPClient} do not occupy a thread while waiting for the response of the SMP
+ * server.
+ * <p>As with the blocking method, implementations must be thread safe.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public interface IAsyncRequestExecutor extends IRequestExecutor {
+
+	/**
+	 * Asynchronously executes a HTTP GET method using the provided request URL to retrieve the meta-data about a
+	 * participant. The returned future should only be completed when the complete response has been received, so
+	 * reading the response does not block.
+	 *
+	 * @param requestURL	The complete SMP query URL
+	 * @param lastModified	The value to set for the <i>if-Modified-Since</i> header, <code>null</code> if the header
+	 *						should not be included
+	 * @return	future that completes with an {@link ISMPResponse} to get access to the SMP response, or exceptionally
+	 * 			with a {@link SMPQueryException} when the request could not be completed or an {@link
+	 * 			UnsupportedOperationException} when the requested protocol is not supported
+	 * @see #executeRequest(URL, String)
+	 */
+	CompletableFuture<ISMPResponse> executeRequestAsync(final URL requestURL, final String lastModified);
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.api;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.ServiceGroup;
+import org.holodeckb2b.bdxr.smp.datamodel.ServiceMetadata;
+
+/**
+ * Extends the {@link ISMPClient} interface with methods that execute the query asynchronously and return a {@link
+ * CompletableFuture} that will be completed with the query result. These methods can be used by callers that should
+ * not be blocked while the SMP location is looked up and the SMP server is queried, for example applications using an
+ * event loop.
+ * <p>The semantics of the asynchronous methods are the same as of their blocking counterparts. When the query fails
+ * the returned future is completed exceptionally with the {@link SMPQueryException} (or {@link
+ * IllegalArgumentException} when the arguments are invalid) that the blocking method would have thrown.
+ * <p>Whether a query blocks a thread depends on the request executor used by the client. When the request executor
+ * implements {@link IAsyncRequestExecutor}, the queries to the SMP server and the following of redirections are
+ * executed without blocking a thread while waiting for the SMP server's response. Only locating the SMP, which may
+ * block on DNS lookups, is executed on the executor for asynchronous queries. When the request executor does not
+ * support asynchronous execution, the blocking methods are executed on that executor and each query occupies one of
+ * its threads until it completes, see {@link SMPClientBuilder#setAsyncExecutor(java.util.concurrent.Executor)}. The
+ * batch lookups of {@link #getEndpointsAsync(java.util.Collection)} are always executed in a blocking way on the
+ * executor.
+ * <p>To create an asynchronous SMP Client use the {@link SMPClientBuilder#buildAsync()} method.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public interface IAsyncSMPClient extends ISMPClient {
+
+	/**
+	 * Asynchronously gets the meta-data of the currently active endpoint for the given participant, service and
+	 * process and that supports the requested transport profile.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param serviceId			Service Id
+	 * @param processId			Process Id
+	 * @param transportProfile	Requested transport profile identifier
+	 * @return	future that completes with the endpoint meta-data if there exists an active endpoint for this
+	 * 			participant, service and process and which supports the requested transport profile, or with
+	 * 			<code>null</code> otherwise
+	 * @see #getEndpoint(Identifier, Identifier, ProcessIdentifier, Identifier)
+	 */
+	default CompletableFuture<EndpointInfo> getEndpointAsync(final Identifier participantId,
+															 final Identifier serviceId,
+															 final ProcessIdentifier processId,
+															 final Identifier transportProfile) {
+		return getEndpointAsync(participantId, null, serviceId, processId, transportProfile, false);
+	}
+
+	/**
+	 * Asynchronously gets the meta-data of the currently active endpoint for the given participant acting in the
+	 * specified role for the given service and process and that supports the requested transport profile with the
+	 * option to override the result stored in the cache.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param role				Role of the participant
+	 * @param serviceId			Service Id
+	 * @param processId			Process Id
+	 * @param transportProfile	Requested transport profile identifier
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @return	future that completes with the endpoint meta-data if there exists an active endpoint for this
+	 * 			participant, service and process and which supports the requested transport profile, or with
+	 * 			<code>null</code> otherwise
+	 * @see #getEndpoint(Identifier, Identifier, Identifier, ProcessIdentifier, Identifier, boolean)
+	 */
+	CompletableFuture<EndpointInfo> getEndpointAsync(final Identifier participantId,
+													 final Identifier role,
+													 final Identifier serviceId,
+													 final ProcessIdentifier processId,
+													 final Identifier transportProfile,
+													 final boolean overrideCache);
+
+	/**
+	 * Asynchronously gets the meta-data of all endpoints for the given participant, service and process.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param serviceId			Service Id
+	 * @param processId			Process Id
+	 * @return	future that completes with the endpoint meta-data if there exist endpoints for this participant,
+	 * 			service and process, or with an empty collection otherwise
+	 * @see #getEndpoints(Identifier, Identifier, ProcessIdentifier)
+	 */
+	default CompletableFuture<Collection<? extends EndpointInfo>> getEndpointsAsync(final Identifier participantId,
+																		final Identifier serviceId,
+																		final ProcessIdentifier processId) {
+		return getEndpointsAsync(participantId, null, serviceId, processId, false);
+	}
+
+	/**
+	 * Asynchronously gets the meta-data of all endpoints for the given participant acting in the specified role for
+	 * the given service and process with the option to override a cached result.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param role				Role of the participant
+	 * @param serviceId			Service Id
+	 * @param processId			Process Id
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @return	future that completes with the endpoint meta-data if there exist endpoints for this participant, role,
+	 * 			service and process, or with an empty collection otherwise
+	 * @see #getEndpoints(Identifier, Identifier, Identifier, ProcessIdentifier, boolean)
+	 */
+	CompletableFuture<Collection<? extends EndpointInfo>> getEndpointsAsync(final Identifier participantId,
+																		final Identifier role,
+																		final Identifier serviceId,
+																		final ProcessIdentifier processId,
+																		final boolean overrideCache);
+
+	/**
+	 * Asynchronously gets all meta-data of a Service provided by a Participant.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param serviceId			Service Id
+	 * @return	future that completes with the service meta-data returned by the SMP server, or with <code>null</code>
+	 * 			if no result was available
+	 * @see #getServiceMetadata(Identifier, Identifier)
+	 */
+	default CompletableFuture<ServiceMetadata> getServiceMetadataAsync(final Identifier participantId,
+																	   final Identifier serviceId) {
+		return getServiceMetadataAsync(participantId, serviceId, false);
+	}
+
+	/**
+	 * Asynchronously gets all meta-data of a Service provided by a Participant with the option to override the result
+	 * stored in the cache.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param serviceId			Service Id
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @return	future that completes with the service meta-data returned by the SMP server, or with <code>null</code>
+	 * 			if no result was available
+	 * @see #getServiceMetadata(Identifier, Identifier, boolean)
+	 */
+	CompletableFuture<ServiceMetadata> getServiceMetadataAsync(final Identifier participantId,
+															   final Identifier serviceId,
+															   final boolean overrideCache);
+
+	/**
+	 * Asynchronously gets the service group for a participant.
+	 *
+	 * @param participantId		Participant's Id
+	 * @return	future that completes with the service group meta-data returned by the SMP server, or with <code>null
+	 * 			</code> if no result was available
+	 * @see #getServiceGroup(Identifier)
+	 */
+	default CompletableFuture<ServiceGroup<?>> getServiceGroupAsync(final Identifier participantId) {
+		return getServiceGroupAsync(participantId, false);
+	}
+
+	/**
+	 * Asynchronously gets the service group for a participant with the option to override the result stored in the
+	 * cache.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @return	future that completes with the service group meta-data returned by the SMP server, or with <code>null
+	 * 			</code> if no result was available
+	 * @see #getServiceGroup(Identifier, boolean)
+	 */
+	CompletableFuture<ServiceGroup<?>> getServiceGroupAsync(final Identifier participantId,
+															final boolean overrideCache);
+
+	/**
+	 * Executes a batch of endpoint lookups and waits for all of them to complete.
+	 * <p>Identical requests are executed only once and the <i>ServiceMetadata</i> for a participant and service is
+	 * retrieved only once for all requests that apply to it. The distinct queries are executed in parallel using the
+	 * executor used for asynchronous queries, with the number of queries executed at the same time limited to the
+	 * configured maximum (see {@link SMPClientBuilder#setMaxBatchConcurrency(int)}).
+	 * <p>A failure of a lookup does not fail the whole batch, but is reported in the result of that lookup.
+	 *
+	 * @param requests	the endpoint lookups to execute
+	 * @return	map containing the result of each (distinct) lookup request, iterating in the order of the requests
+	 * @see #getEndpoint(Identifier, Identifier, Identifier, ProcessIdentifier, Identifier)
+	 */
+	default Map<LookupRequest, LookupResult> getEndpoints(final Collection<LookupRequest> requests) {
+		if (requests == null)
+			throw new IllegalArgumentException("Missing lookup requests");
+		return getEndpointsAsync(requests).join();
+	}
+
+	/**
+	 * Asynchronously executes a batch of endpoint lookups.
+	 *
+	 * @param requests	the endpoint lookups to execute
+	 * @return	future that completes with the map containing the result of each (distinct) lookup request, iterating
+	 * 			in the order of the requests, when all lookups are completed
+	 * @see #getEndpoints(Collection)
+	 */
+	CompletableFuture<Map<LookupRequest, LookupResult>> getEndpointsAsync(final Collection<LookupRequest> requests);
+
+	/**
+	 * Initialises the resources needed for processing SMP responses, like the XML parsers and the JAXB contexts and
+	 * XML schemas of the registered result processors, so this does not happen when the first query is executed. The
+	 * initialisation of the result processors is executed in parallel using the executor used for asynchronous
+	 * queries.
+	 * <p>Calling this method is optional, when the client is not warmed up the resources are initialised when they
+	 * are first needed. It is therefore normally called directly after building the client, for example during
+	 * application start up.
+	 *
+	 * @return	future that completes when all resources have been initialised, or exceptionally with the {@link
+	 * 			SMPQueryException} thrown by a result processor that could not be initialised
+	 * @see ISMPResultProcessor#warmUp()
+	 */
+	CompletableFuture<Void> warmUp();
+}
@@ -58,4 +58,18 @@ public interface ICachedResult {
 	 * @return the last time the related query was executed
 	 */
 	LocalDateTime	getLastQueried();
+
+	/**
+	 * Indicates whether this entry records that the SMP server did not have any meta-data for the query, i.e. that it
+	 * responded with HTTP status code 404. For such entries both {@link #getQueryResult()} and {@link
+	 * #getLastModified()} return <code>null</code>.
+	 *
+	 * @return	<code>true</code> if the entry is for a query for which no meta-data was found,<br>
+	 * 			<code>false</code> if the entry contains a query result
+	 * @since 4.1.0
+	 * @see IResultCache#storeNotFound(java.net.URL, LocalDateTime)
+	 */
+	default boolean isNotFound() {
+		return false;
+	}
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.api;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
+
+/**
+ * Defines the interface of a {@link IResultCache} that also stores the raw responses received from the SMP server.
+ * Such a cache can store the cached results outside the JVM, e.g. on disk, and re-create the query results from the raw
+ * responses when they are needed again, for example after a restart of the application.
+ * <p>When the SMP client is configured with a cache implementing this interface it will provide the cache with a
+ * {@link ResponseReader} that converts a raw response into the query result in the same way as responses received from
+ * the SMP server, including the verification of the signature. For new query results it will call {@link
+ * #storeResponse(URL, byte[], QueryResult, String, LocalDateTime)} instead of {@link #storeResult(URL, QueryResult,
+ * String, LocalDateTime)}.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ * @see SMPClientBuilder#setResultCache(IResultCache)
+ */
+public interface IResponseCache extends IResultCache {
+
+	/**
+	 * Stores the raw response, the query result created from it and its associated <i>last modified</i> time stamp for
+	 * the given query URL in the cache.
+	 * <p>The same rules as for {@link #storeResult(URL, QueryResult, String, LocalDateTime)} apply regarding the update
+	 * of an existing entry.
+	 *
+	 * @param query		query URL
+	 * @param response	the raw response as received from the SMP server
+	 * @param result	query result created from the response
+	 * @param lastModified	value of the <i>Last-Modified</i> as provided by the SMP server. May be <code>null</code>
+	 *						when the server does not support caching
+	 * @param queryTime		time stamp when the query was last executed by the client
+	 * @return the cache entry for the given URL
+	 */
+	ICachedResult storeResponse(URL query, byte[] response, QueryResult result, String lastModified,
+								LocalDateTime queryTime);
+
+	/**
+	 * Sets the reader the cache should use to convert a stored raw response into the query result. This method is
+	 * called by the SMP client when it is created. When the cache is shared by multiple clients the reader of the last
+	 * created client is used.
+	 *
+	 * @param reader	the reader to use for converting raw responses
+	 */
+	void setResponseReader(ResponseReader reader);
+
+	/**
+	 * Converts a raw response as received from the SMP server into the query result.
+	 */
+	@FunctionalInterface
+	interface ResponseReader {
+		/**
+		 * Converts the given raw response into the query result.
+		 *
+		 * @param response	the raw response
+		 * @return	the query result created from the response
+		 * @throws SMPQueryException	when the response cannot be converted into a query result, for example because
+		 * 								its signature cannot be verified
+		 */
+		QueryResult read(byte[] response) throws SMPQueryException;
+	}
+}
@@ -68,4 +68,24 @@ public interface IResultCache {
 	 * @param queryTime time stamp when the query was last executed by the client
 	 */
 	void updateLastQueried(URL query, LocalDateTime queryTime);
+
+	/**
+	 * Stores that no meta-data was found for the given query URL, i.e. the SMP server responded with HTTP status code
+	 * 404, so the SMP client can skip executing the query again for some time. The cache entry for a <i>not found</i>
+	 * result has no query result and <i>last modified</i> time stamp and its {@link ICachedResult#isNotFound()} method
+	 * must return <code>true</code>.
+	 * <p>Like with {@link #storeResult(URL, QueryResult, String, LocalDateTime)} an existing entry for the given URL
+	 * must only be replaced when its <i>last queried</i> time stamp is older than the given query time.
+	 * <p>The default implementation does not store anything and returns <code>null</code>, indicating that the cache
+	 * does not support caching of <i>not found</i> results.
+	 *
+	 * @param query		query URL
+	 * @param queryTime	time stamp when the query was executed by the client
+	 * @return the cache entry for the given URL, <code>null</code> if the cache does not support caching of <i>not
+	 * 		   found</i> results
+	 * @since 4.1.0
+	 */
+	default ICachedResult storeNotFound(URL query, LocalDateTime queryTime) {
+		return null;
+	}
 }
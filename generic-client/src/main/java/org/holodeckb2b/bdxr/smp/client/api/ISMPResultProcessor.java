@@ -17,6 +17,9 @@
 package org.holodeckb2b.bdxr.smp.client.api;
 
 import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Set;
+
 import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
 import org.holodeckb2b.bdxr.smp.datamodel.SignedQueryResult;
 import org.w3c.dom.Document;
@@ -39,6 +42,33 @@ public interface ISMPResultProcessor {
 	 */
 	boolean canProcess(final String namespaceURI);
 
+	/**
+	 * Gets the URIs of the name spaces of the XML documents this result processor can handle. The SMP client uses
+	 * this information to build an index for quick selection of the processor to handle a response. Processors that
+	 * do not declare the supported name spaces will be selected by calling {@link #canProcess(String)}.
+	 * <p>When declared the set of name spaces must be complete and fixed, i.e. {@link #canProcess(String)} must return
+	 * <code>true</code> for all name spaces in the set and <code>false</code> for all others.
+	 *
+	 * @return	the set of supported name space URIs, an empty set if the supported name spaces are not declared
+	 * @since 4.1.0
+	 */
+	default Set<String> getSupportedNamespaces() {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Initialises the resources the processor needs for processing results, like the JAXB context and XML schema, so
+	 * this does not happen when the first result is processed. The SMP client calls this method when it is warmed up,
+	 * see {@link IAsyncSMPClient#warmUp()}. Processors that do not need expensive initialisation can rely on the
+	 * default implementation which does nothing.
+	 * <p>The method may be called multiple times and concurrently with the processing of results.
+	 *
+	 * @throws SMPQueryException when the resources needed to process results cannot be initialised
+	 * @since 4.1.0
+	 */
+	default void warmUp() throws SMPQueryException {
+	}
+
     /**
      * Transforms the XML representation of a signed SMP query result into an object model representation.
 	 *
@@ -62,4 +92,47 @@ public interface ISMPResultProcessor {
      * @throws SMPQueryException When the given XML document cannot be converted into an object model representation.
      */
     SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert) throws SMPQueryException;
+
+	/**
+	 * Transforms the XML representation of a SMP query result into an object model representation, indicating whether
+	 * the XML document should be validated against the XML schema. Whether or not the document is validated, the
+	 * processor must check that it contains all meta-data elements required by the specification.
+	 * <p>The default implementation always calls {@link #processResult(Document)}, so processors that cannot skip the
+	 * validation, or that do not validate against the XML schema at all, do not need to implement this method.
+	 *
+	 * @param xmlDocument   The XML representation of the SMP result
+	 * @param validate		<code>true</code> when the document should be validated against the XML schema,<br>
+	 * 						<code>false</code> if only the structural checks are needed
+	 * @return              A {@link QueryResult} instance that contains the object model representation. MUST NOT
+	 *                      be <code>null</code>.
+	 * @throws SMPQueryException When the given XML document cannot be converted into an object model representation.
+	 * @since 4.1.0
+	 * @see SchemaValidationPolicy
+	 */
+	default QueryResult processResult(Document xmlDocument, boolean validate) throws SMPQueryException {
+		return processResult(xmlDocument);
+	}
+
+	/**
+	 * Transforms the XML representation of a signed SMP query result into an object model representation, indicating
+	 * whether the XML document should be validated against the XML schema. Whether or not the document is validated,
+	 * the processor must check that it contains all meta-data elements required by the specification.
+	 * <p>The default implementation always calls {@link #processResult(Document, X509Certificate)}, so processors that
+	 * cannot skip the validation, or that do not validate against the XML schema at all, do not need to implement this
+	 * method.
+	 *
+	 * @param xmlDocument   The XML representation of the SMP result
+	 * @param signingCert	The certificate that was used to sign the result
+	 * @param validate		<code>true</code> when the document should be validated against the XML schema,<br>
+	 * 						<code>false</code> if only the structural checks are needed
+	 * @return              A {@link SignedQueryResult} instance that contains the object model representation of the
+	 *						SMP and the certificate used for signing the result. MUST NOT be <code>null</code>.
+	 * @throws SMPQueryException When the given XML document cannot be converted into an object model representation.
+	 * @since 4.1.0
+	 * @see SchemaValidationPolicy
+	 */
+	default SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert, boolean validate)
+																							throws SMPQueryException {
+		return processResult(xmlDocument, signingCert);
+	}
 }
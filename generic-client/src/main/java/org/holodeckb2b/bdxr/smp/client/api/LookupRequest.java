@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.api;
+
+import java.util.Objects;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.commons.util.Utils;
+
+/**
+ * Represents a single endpoint lookup in a batch of lookups executed using {@link
+ * IAsyncSMPClient#getEndpoints(java.util.Collection)}. It contains the same arguments as used by the single lookup
+ * method {@link ISMPClient#getEndpoint(Identifier, Identifier, Identifier, ProcessIdentifier, Identifier)}.
+ * <p>Instances are immutable and two requests are equal when all their arguments are equal, so they can be used as key
+ * in the map of lookup results.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public final class LookupRequest {
+	private final Identifier		participantId;
+	private final Identifier		role;
+	private final Identifier		serviceId;
+	private final ProcessIdentifier	processId;
+	private final Identifier		transportProfile;
+
+	/**
+	 * Creates a new request for looking up the currently active endpoint for the given participant, service and
+	 * process and that supports the requested transport profile.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param serviceId			Service Id
+	 * @param processId			Process Id
+	 * @param transportProfile	Requested transport profile identifier
+	 */
+	public LookupRequest(final Identifier participantId, final Identifier serviceId, final ProcessIdentifier processId,
+						 final Identifier transportProfile) {
+		this(participantId, null, serviceId, processId, transportProfile);
+	}
+
+	/**
+	 * Creates a new request for looking up the currently active endpoint for the given participant acting in the
+	 * specified role for the given service and process and that supports the requested transport profile.
+	 *
+	 * @param participantId		Participant's Id
+	 * @param role				Role of the participant, may be <code>null</code>
+	 * @param serviceId			Service Id
+	 * @param processId			Process Id
+	 * @param transportProfile	Requested transport profile identifier
+	 */
+	public LookupRequest(final Identifier participantId, final Identifier role, final Identifier serviceId,
+						 final ProcessIdentifier processId, final Identifier transportProfile) {
+		if (participantId == null || serviceId == null || processId == null)
+			throw new IllegalArgumentException("Missing either participant, service or process ID argument");
+		if (transportProfile == null || Utils.isNullOrEmpty(transportProfile.getValue()))
+			throw new IllegalArgumentException("No transport profile identifier provided");
+		this.participantId = participantId;
+		this.role = role;
+		this.serviceId = serviceId;
+		this.processId = processId;
+		this.transportProfile = transportProfile;
+	}
+
+	/**
+	 * @return the participant identifier
+	 */
+	public Identifier getParticipantId() {
+		return participantId;
+	}
+
+	/**
+	 * @return the role of the participant, <code>null</code> if no specific role is requested
+	 */
+	public Identifier getRole() {
+		return role;
+	}
+
+	/**
+	 * @return the service identifier
+	 */
+	public Identifier getServiceId() {
+		return serviceId;
+	}
+
+	/**
+	 * @return the process identifier
+	 */
+	public ProcessIdentifier getProcessId() {
+		return processId;
+	}
+
+	/**
+	 * @return the requested transport profile identifier
+	 */
+	public Identifier getTransportProfile() {
+		return transportProfile;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof LookupRequest))
+			return false;
+		final LookupRequest other = (LookupRequest) o;
+		return participantId.equals(other.participantId) && Objects.equals(role, other.role)
+				&& serviceId.equals(other.serviceId) && processId.equals(other.processId)
+				&& transportProfile.equals(other.transportProfile);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(participantId, role, serviceId, processId, transportProfile);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("(participant, service, process, role, transport) = (%s,%s,%s,%s,%s)",
+							 participantId, serviceId, processId, role, transportProfile);
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.api;
+
+import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
+
+/**
+ * Represents the result of a single endpoint lookup in a batch of lookups executed using {@link
+ * IAsyncSMPClient#getEndpoints(java.util.Collection)}. The result either contains the found endpoint, which is
+ * <code>null</code> when there is no active endpoint for the requested participant, service, process and transport
+ * profile, or the error that occurred when executing the lookup.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public final class LookupResult {
+	private final LookupRequest		request;
+	private final EndpointInfo		endpoint;
+	private final SMPQueryException	error;
+
+	/**
+	 * Creates a new result of a successfully executed lookup.
+	 *
+	 * @param request	the lookup request
+	 * @param endpoint	the found endpoint, <code>null</code> if there is no matching active endpoint
+	 */
+	public LookupResult(final LookupRequest request, final EndpointInfo endpoint) {
+		this.request = request;
+		this.endpoint = endpoint;
+		this.error = null;
+	}
+
+	/**
+	 * Creates a new result of a failed lookup.
+	 *
+	 * @param request	the lookup request
+	 * @param error		the error that occurred when executing the lookup
+	 */
+	public LookupResult(final LookupRequest request, final SMPQueryException error) {
+		this.request = request;
+		this.endpoint = null;
+		this.error = error;
+	}
+
+	/**
+	 * @return the lookup request this is the result of
+	 */
+	public LookupRequest getRequest() {
+		return request;
+	}
+
+	/**
+	 * @return <code>true</code> if the lookup was executed successfully, <code>false</code> if it failed
+	 */
+	public boolean isSuccess() {
+		return error == null;
+	}
+
+	/**
+	 * @return the found endpoint, <code>null</code> if there is no matching active endpoint or the lookup failed
+	 */
+	public EndpointInfo getEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * @return the error that occurred when executing the lookup, <code>null</code> if the lookup was successful
+	 */
+	public SMPQueryException getError() {
+		return error;
+	}
+}
@@ -1,10 +1,14 @@
 package org.holodeckb2b.bdxr.smp.client.api;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
+import org.holodeckb2b.bdxr.smp.client.impl.CachingTrustValidator;
 import org.holodeckb2b.bdxr.smp.client.impl.DefaultRequestExecutor;
+import org.holodeckb2b.bdxr.smp.client.impl.InMemoryResultCache;
 import org.holodeckb2b.bdxr.smp.client.impl.SMPClient;
 import org.holodeckb2b.bdxr.smp.client.impl.SMPClientConfig;
+import org.holodeckb2b.bdxr.smp.client.impl.VirtualThreads;
 import org.holodeckb2b.commons.util.Utils;
 
 /**
@@ -37,6 +41,9 @@ public class SMPClientBuilder {
 	/**
 	 * Sets the specific {@link IRequestExecutor} implementation the new SMP Client should use to execute the SMP
 	 * queries. If no specific implementation is set, the {@link DefaultRequestExecutor} will be used.
+	 * <p>NOTE: When the executor also implements {@link IAsyncRequestExecutor}, for example the {@link
+	 * org.holodeckb2b.bdxr.smp.client.impl.HttpClientRequestExecutor}, the asynchronous queries do not block a thread
+	 * while waiting for the response of the SMP server.
 	 *
 	 * @param executor	The request executor implementation
 	 * @return this builder
@@ -124,6 +131,22 @@ public class SMPClientBuilder {
 		return this;
 	}
 
+	/**
+	 * Sets the result cache to a new {@link InMemoryResultCache} that holds at most the given number of query results.
+	 * This is a shortcut for <code>setResultCache(new InMemoryResultCache(maxEntries))</code>. Use {@link
+	 * #setResultCache(IResultCache)} when a time to live should be set for the cached results.
+	 * <p>NOTE: This method does not enable the local caching of results. That must be enabled explicitly by calling
+	 * {@link #enableLocalCaching()}.
+	 *
+	 * @param maxEntries	the maximum number of results to cache, must be at least 1
+	 * @return this builder
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder setInMemoryResultCache(int maxEntries) {
+		newClientConfig.setResultCache(new InMemoryResultCache(maxEntries));
+		return this;
+	}
+
 	/**
 	 * Enables local caching of query results to reduce the number of HTTP requests. If not set already, it also sets
 	 * the maximum time a result may be cached to the default value of 15 minutes.
@@ -165,6 +188,61 @@ public class SMPClientBuilder {
 		return this;
 	}
 
+	/**
+	 * Enables the use of expired locally cached query results while the result is refreshed in the background, also
+	 * known as <i>stale-while-revalidate</i>. Callers therefore do not have to wait for the SMP server to respond when
+	 * a result is re-used shortly after it expired. When the result expired more than the given number of minutes ago,
+	 * the caller will wait for the query to complete. The refresh is executed using the executor used for asynchronous
+	 * queries, see {@link #setAsyncExecutor(Executor)}.
+	 * <p>NOTE: This method does not enable the local caching of results. That must be enabled explicitly by calling
+	 * {@link #enableLocalCaching()}.
+	 *
+	 * @param maxStaleTime	number of minutes an expired result can still be used, must be at least 1
+	 * @return this builder
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder enableStaleWhileRevalidate(int maxStaleTime) {
+		if (maxStaleTime < 1)
+			throw new IllegalArgumentException("Max stale time must be at least 1");
+		newClientConfig.setMaxStaleTime(maxStaleTime);
+		return this;
+	}
+
+	/**
+	 * Sets the number of minutes before the expiry of a locally cached query result during which re-use of the result
+	 * triggers a refresh of the result in the background, also known as <i>refresh-ahead</i>. Results that are used
+	 * frequently are therefore refreshed before they expire. The refresh is executed using the executor used for
+	 * asynchronous queries, see {@link #setAsyncExecutor(Executor)}.
+	 * <p>NOTE: This method does not enable the local caching of results. That must be enabled explicitly by calling
+	 * {@link #enableLocalCaching()}. The time should be less than the maximum time a result may be re-used (see {@link
+	 * #setMaxLocalCacheTime(int)}), as otherwise each re-use of a cached result triggers a refresh.
+	 *
+	 * @param refreshAheadTime	number of minutes before expiry a result is refreshed, 0 to disable refreshing ahead
+	 * @return this builder
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder setRefreshAheadTime(int refreshAheadTime) {
+		newClientConfig.setRefreshAheadTime(refreshAheadTime);
+		return this;
+	}
+
+	/**
+	 * Sets the number of minutes that a cached <i>not found</i> result, i.e. that the SMP server did not have meta-data
+	 * for the query, may be used before the server should be queried again. By default <i>not found</i> results are not
+	 * cached.
+	 * <p>NOTE: This requires that a {@link IResultCache} which supports caching of <i>not found</i> results is
+	 * configured for the client being built. It does not require local caching to be enabled.
+	 *
+	 * @param negativeTime number of minutes a cached <i>not found</i> result can be re-used, 0 to disable caching of
+	 * 					   <i>not found</i> results
+	 * @return this builder
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder setNegativeCacheTime(int negativeTime) {
+		newClientConfig.setNegativeCacheTime(negativeTime);
+		return this;
+	}
+
 	/**
 	 * Disables the <i>secure validation</i> of the XML signature of a received SMP response.
 	 * <p>NOTE: It is NOT RECOMMENDED to disable secure validation of the signatures, but as secure validation restricts
@@ -190,7 +268,119 @@ public class SMPClientBuilder {
 		newClientConfig.setSecureSignatureValidation(true);
 		return this;
 	}	
+
+	/**
+	 * Enables the re-use of the verification result of signed responses. When the new SMP Client receives a response
+	 * that is identical to one it verified less than the given number of minutes ago, the verification of the signature
+	 * is skipped. Responses are identified by the SHA-256 digest of the complete response. A verification result is
+	 * never re-used after the signing certificate has expired.
+	 * <p>NOTE: Only the XML signature verification is skipped. The trust in the signing certificate is still validated
+	 * for every response, so a change in trust, for example because the certificate was revoked, is detected directly.
+	 * To reduce the cost of trust validation as well, enable the caching of trust decisions using {@link
+	 * #enableTrustValidationCache(int, int)}.
+	 *
+	 * @param maxEntries	the maximum number of verification results to remember, must be at least 1
+	 * @param maxTime		the number of minutes a verification result may be re-used, must be at least 1
+	 * @return this builder
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder enableSignatureVerificationCache(int maxEntries, int maxTime) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+		newClientConfig.setSignatureVerificationCache(maxEntries, maxTime);
+		return this;
+	}
+
+	/**
+	 * Enables caching of the decisions of the configured trust validator (see {@link
+	 * #setTrustValidator(ITrustValidator)}). Decisions are cached per certificate for the given number of minutes, but
+	 * never beyond the expiration of the certificate. This is useful when trust validation is expensive, for example
+	 * because it includes revocation checks.
+	 * <p>NOTE: A change in the trust of a certificate, for example because it is revoked, is only detected after the
+	 * cached decision expired.
+	 *
+	 * @param maxEntries	the maximum number of trust decisions to cache, must be at least 1
+	 * @param maxTime		the number of minutes a trust decision may be cached, must be at least 1
+	 * @return this builder
+	 * @since 4.1.0
+	 * @see CachingTrustValidator
+	 */
+	public SMPClientBuilder enableTrustValidationCache(int maxEntries, int maxTime) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+		newClientConfig.setTrustValidationCache(maxEntries, maxTime);
+		return this;
+	}
 	
+	/**
+	 * Sets the policy that determines which SMP responses should be validated against the XML schema of the response
+	 * format. By default all responses are validated. As validation against the schema takes a considerable part of
+	 * the processing time of a response, it can be limited to responses not signed by a trusted certificate or be
+	 * disabled completely, in which case the result processors only check that the response contains the meta-data
+	 * needed to create its object representation.
+	 * <p>NOTE: A signed response is only considered to be signed by a trusted certificate when a trust validator is
+	 * configured (see {@link #setTrustValidator(ITrustValidator)}). Without a trust validator the {@link
+	 * SchemaValidationPolicy#UNSIGNED_ONLY} policy therefore validates all responses.
+	 *
+	 * @param policy	the schema validation policy to use
+	 * @return this builder
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder setSchemaValidationPolicy(SchemaValidationPolicy policy) {
+		newClientConfig.setSchemaValidationPolicy(policy);
+		return this;
+	}
+
+	/**
+	 * Sets the {@link Executor} that the new SMP Client should use to execute the queries requested through the
+	 * asynchronous methods of {@link IAsyncSMPClient}. When the request executor does not implement {@link
+	 * IAsyncRequestExecutor}, the queries are executed in a blocking way and each query occupies one of the executor's
+	 * threads until it completes. The executor should then be able to run enough tasks concurrently to handle the
+	 * expected number of simultaneous queries. When the request executor does support asynchronous execution, the
+	 * executor is only used for locating the SMP and for the batch lookups and background refreshes.
+	 * <p>If no executor is set, a shared executor with at most {@link SMPClientConfig#DEFAULT_ASYNC_THREADS} daemon
+	 * threads will be used. When all its threads are busy, new queries wait until a thread becomes available.
+	 *
+	 * @param executor	the executor to use for asynchronous queries
+	 * @return this builder
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder setAsyncExecutor(Executor executor) {
+		newClientConfig.setAsyncExecutor(executor);
+		return this;
+	}
+
+	/**
+	 * Sets the maximum number of queries that the new SMP Client executes in parallel when executing a batch of
+	 * endpoint lookups using {@link IAsyncSMPClient#getEndpoints(java.util.Collection)}. If not set, at most {@link
+	 * SMPClientConfig#DEFAULT_BATCH_CONCURRENCY} queries are executed in parallel.
+	 *
+	 * @param maxConcurrency	the maximum number of queries executed in parallel, must be at least 1
+	 * @return this builder
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder setMaxBatchConcurrency(int maxConcurrency) {
+		newClientConfig.setMaxBatchConcurrency(maxConcurrency);
+		return this;
+	}
+
+	/**
+	 * Configures the new SMP Client to execute the asynchronous queries and background refreshes in <i>virtual
+	 * threads</i>. As the queries block on I/O, this allows for a large number of concurrent queries, for example when
+	 * executing large batches of endpoint lookups (in which case the maximum batch concurrency should be increased as
+	 * well, see {@link #setMaxBatchConcurrency(int)}).
+	 * <p>NOTE: Virtual threads are only available on Java 21 and later. Use {@link VirtualThreads#isSupported()} to
+	 * check whether they can be used.
+	 *
+	 * @return this builder
+	 * @throws UnsupportedOperationException when the JVM does not support virtual threads
+	 * @since 4.1.0
+	 */
+	public SMPClientBuilder useVirtualThreads() {
+		newClientConfig.setAsyncExecutor(VirtualThreads.getExecutor());
+		return this;
+	}
+
 	/**
 	 * Builds a new {@link ISMPClient} instance configured according to the settings provided to the builder.
 	 *
@@ -198,6 +388,17 @@ public class SMPClientBuilder {
 	 * @throws  IllegalStateException	when no SMP Locator or result processor(s) have been configured.
 	 */
 	public ISMPClient build() {
+		return buildAsync();
+	}
+
+	/**
+	 * Builds a new {@link IAsyncSMPClient} instance configured according to the settings provided to the builder.
+	 *
+	 * @return 	The new SMP client supporting asynchronous queries
+	 * @throws  IllegalStateException	when no SMP Locator or result processor(s) have been configured.
+	 * @since 4.1.0
+	 */
+	public IAsyncSMPClient buildAsync() {
 		if (newClientConfig.getSMPLocator() == null)
 			throw new IllegalStateException("No SMP locator specified, unable to build client");
 		if (Utils.isNullOrEmpty(newClientConfig.getProcessors()))
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.api;
+
+/**
+ * Defines when the SMP client should let the result processors validate the SMP responses against the XML schema of
+ * the response format. Responses that are not validated against the schema are only checked to contain all meta-data
+ * elements that are required by the specification. The policy to use can be set using {@link
+ * SMPClientBuilder#setSchemaValidationPolicy(SchemaValidationPolicy)}.
+ * <p>NOTE: Whether validation is skipped also depends on the result processor. Processors that cannot skip validation
+ * will always validate the response and processors that do not use the XML schema will never do.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ * @see ISMPResultProcessor#processResult(org.w3c.dom.Document, boolean)
+ */
+public enum SchemaValidationPolicy {
+	/**
+	 * All responses are validated against the XML schema. This is the default policy.
+	 */
+	ALWAYS,
+	/**
+	 * Only responses that are not signed by a trusted certificate are validated against the XML schema. Signed
+	 * responses are only processed when the signature could be verified and, if a trust validator is configured, the
+	 * signing certificate is trusted. Therefore signed responses are only checked structurally when the client has a
+	 * trust validator, without a trust validator also signed responses are validated against the XML schema.
+	 */
+	UNSIGNED_ONLY,
+	/**
+	 * No response is validated against the XML schema, all responses are only checked structurally.
+	 */
+	STRUCTURAL_ONLY
+}
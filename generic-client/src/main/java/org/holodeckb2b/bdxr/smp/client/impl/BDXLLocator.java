@@ -18,6 +18,8 @@ package org.holodeckb2b.bdxr.smp.client.impl;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
+import java.util.Objects;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -36,6 +38,11 @@ import org.xbill.DNS.Type;
  * identifier.
  * <p>When creating an instance of this locator the {@link IHostNameGenerator} to use for generating host names and the
  * NAPTR service name for the record containing the SMP URL must be provided.
+ * <p>Since version 4.1.0 the locator can cache the SMP locations it found. When caching is enabled, a location is
+ * cached for the <i>time to live</i> of the NAPTR record(s) it was retrieved from, optionally limited by a minimum
+ * and maximum caching time. That a participant is not registered is cached as well, but for a separately configured,
+ * normally shorter, period. DNS errors are never cached. As the locator then manages the caching of the results
+ * itself, the DNS queries are executed without using the global cache of the DNS library.
  *
  * @author Sander Fieten (sander at holodeck-b2b.org)
  */
@@ -51,6 +58,34 @@ public class BDXLLocator implements ISMPLocator {
      */
     private final String	naptrService;
 
+    /**
+     * The default maximum time a found SMP location is cached
+     * @since 4.1.0
+     */
+    public static final Duration DEFAULT_MAX_TTL = Duration.ofHours(1);
+    /**
+     * The default time that a participant is cached as not registered
+     * @since 4.1.0
+     */
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofMinutes(1);
+
+    /**
+     * The cached SMP locations mapped by the participant identifier, <code>null</code> if caching is disabled
+     */
+    private final BoundedLRUMap<Key, CachedLocation> cache;
+    /**
+     * The minimum time in nanoseconds a found SMP location is cached
+     */
+    private final long	minTTL;
+    /**
+     * The maximum time in nanoseconds a found SMP location is cached
+     */
+    private final long	maxTTL;
+    /**
+     * The time in nanoseconds a participant is cached as not registered
+     */
+    private final long	negativeTTL;
+
     /**
      * Create a new <code>BDXLLocator</code> instance that will use the given generator to create the host names for
      * participants and NAPTR service name to get SMP location.
@@ -61,6 +96,53 @@ public class BDXLLocator implements ISMPLocator {
     public BDXLLocator(IHostNameGenerator hostnameGenerator, String svcName) {
         this.hostnameGenerator = hostnameGenerator;
         this.naptrService = svcName;
+        this.cache = null;
+        this.minTTL = this.maxTTL = this.negativeTTL = 0;
+    }
+
+    /**
+     * Create a new <code>BDXLLocator</code> instance that will use the given generator to create the host names for
+     * participants and NAPTR service name to get SMP location and that caches the locations of at most the given number
+     * of participants. The found locations are cached for the time to live of the NAPTR record, but no longer than
+     * {@link #DEFAULT_MAX_TTL}. Participants that are not registered are cached for {@link #DEFAULT_NEGATIVE_TTL}.
+     *
+     * @param hostnameGenerator     The host name to use for generation of host names
+     * @param svcName				NAPTR service name of record holding SMP URL
+     * @param maxEntries			Maximum number of participants to cache the SMP location of, must be at least 1
+     * @since 4.1.0
+     */
+    public BDXLLocator(IHostNameGenerator hostnameGenerator, String svcName, int maxEntries) {
+    	this(hostnameGenerator, svcName, maxEntries, Duration.ZERO, DEFAULT_MAX_TTL, DEFAULT_NEGATIVE_TTL);
+    }
+
+    /**
+     * Create a new <code>BDXLLocator</code> instance that will use the given generator to create the host names for
+     * participants and NAPTR service name to get SMP location and that caches the locations of at most the given number
+     * of participants. The found locations are cached for the time to live of the NAPTR record, limited by the given
+     * minimum and maximum.
+     *
+     * @param hostnameGenerator     The host name to use for generation of host names
+     * @param svcName				NAPTR service name of record holding SMP URL
+     * @param maxEntries			Maximum number of participants to cache the SMP location of, must be at least 1
+     * @param minTTL				Minimum time to cache a found SMP location, must not be negative
+     * @param maxTTL				Maximum time to cache a found SMP location, must not be less than <code>minTTL
+     * 								</code>
+     * @param negativeTTL			Time to cache that a participant is not registered, {@link Duration#ZERO} if this
+     * 								should not be cached
+     * @since 4.1.0
+     */
+    public BDXLLocator(IHostNameGenerator hostnameGenerator, String svcName, int maxEntries,
+    				   Duration minTTL, Duration maxTTL, Duration negativeTTL) {
+    	if (minTTL == null || maxTTL == null || negativeTTL == null)
+    		throw new IllegalArgumentException("All caching times must be specified");
+    	if (minTTL.isNegative() || negativeTTL.isNegative() || maxTTL.compareTo(minTTL) < 0)
+    		throw new IllegalArgumentException("Invalid caching times");
+        this.hostnameGenerator = hostnameGenerator;
+        this.naptrService = svcName;
+        this.cache = new BoundedLRUMap<>(maxEntries);
+        this.minTTL = minTTL.toNanos();
+        this.maxTTL = maxTTL.toNanos();
+        this.negativeTTL = negativeTTL.toNanos();
     }
 
     /**
@@ -70,17 +152,50 @@ public class BDXLLocator implements ISMPLocator {
      */
     @Override
     public URL locateSMP(Identifier participant) throws SMPLocatorException {
+    	final Key key = cache != null ? new Key(participant.getScheme() != null ?
+    											participant.getScheme().getSchemeId() : null, participant.getValue())
+    								  : null;
+    	if (cache != null) {
+    		final CachedLocation cached = cache.get(key);
+    		if (cached != null && cached.expires - System.nanoTime() > 0) {
+    			log.debug("Using cached SMP location for participant ({})", participant.toString());
+    			return checkRegistered(participant, cached.smpURL);
+    		}
+    	}
         log.debug("Generate host name for participant identifier {}", participant.toString());
         final String hostname = hostnameGenerator.getHostNameForParticipant(participant);
-        URL smpURL = null;
+        Location location = null;
         try {
         	log.debug("Retrieving SMP location using {} U-NAPTR record for {}", naptrService, hostname);
-        	smpURL = retrieveURL(hostname);
+        	location = retrieveURL(hostname);
         } catch (SMPLocatorException queryError) {
         	log.error("Could not retrieve SMP registration for participant ({}) due to DNS error: {}",
         			  participant.toString(), queryError.getMessage());
         	throw queryError;
         }
+        if (cache != null) {
+        	final long ttl = location.smpURL != null ?
+        						Math.max(minTTL, Math.min(maxTTL, Duration.ofSeconds(location.ttl).toNanos()))
+        						: negativeTTL;
+        	if (ttl > 0) {
+        		log.trace("Caching SMP location of participant ({}) for {} s", participant.toString(),
+        				  Duration.ofNanos(ttl).getSeconds());
+        		cache.put(key, new CachedLocation(location.smpURL, System.nanoTime() + ttl));
+        	} else
+        		cache.remove(key);
+        }
+        return checkRegistered(participant, location.smpURL);
+    }
+
+    /**
+     * Checks that a SMP location was found for the participant.
+     *
+     * @param participant	the participant identifier
+     * @param smpURL		the found SMP URL, <code>null</code> if not found
+     * @return	the SMP URL
+     * @throws SMPLocatorException	if no SMP location was found, i.e. the participant is not registered
+     */
+    private URL checkRegistered(Identifier participant, URL smpURL) throws SMPLocatorException {
         if (smpURL == null) {
         	log.warn("Participant with identifier {}::{} not registered.", participant.getScheme(),
         			participant.getValue());
@@ -90,28 +205,33 @@ public class BDXLLocator implements ISMPLocator {
         return smpURL;
     }
 
+    /**
+     * Removes all cached SMP locations.
+     *
+     * @since 4.1.0
+     */
+    public void clearCache() {
+    	if (cache != null)
+    		cache.clear();
+    }
+
     /**
      * Retrieves the URL of the SMP registered from the U-NAPTR record of the given host name. As specified
      * in <a href="https://tools.ietf.org/html/rfc4848">RFC4848</a> the U-NAPTR record can include a
      * "redirection" to another host name.
      *
      * @param hostname initial host name to query for the SMP URL
-     * @return	the SMP URL retrieved from the U-NAPTR record for the given host name or its replacement
-     * @throws SMPLocatorException if the retrieved U-NAPTR record contains an invalid regexp
+     * @return	the SMP URL retrieved from the U-NAPTR record for the given host name or its replacement and the time
+     * 			to live of the record(s). The URL is <code>null</code> when no matching U-NAPTR record exists.
+     * @throws SMPLocatorException if the DNS query failed or the retrieved U-NAPTR record contains an invalid regexp
      */
-    private URL retrieveURL(final String hostname) throws SMPLocatorException {
+    private Location retrieveURL(final String hostname) throws SMPLocatorException {
         // Fetch all records of type NAPTR registered on hostname.
 		log.trace("Retrieving all NAPTR records for {}", hostname);
-        org.xbill.DNS.Record[] records = null;
-		try {
-			records = new Lookup(hostname, Type.NAPTR).run();
-		} catch (TextParseException dnsQueryError) {
-            log.error("Error in DNS query execution: {}", dnsQueryError.getMessage());
-            throw new SMPLocatorException("Error in execution of DNS query", dnsQueryError);
-		}
-        if (records == null) {
+        final org.xbill.DNS.Record[] records = queryNAPTRRecords(hostname);
+        if (records == null || records.length == 0) {
         	log.debug("No NAPTR records found for {}", hostname);
-        	return null;
+        	return Location.NOT_FOUND;
         }
         // Loop records found.
         for (org.xbill.DNS.Record record : records) {
@@ -134,18 +254,111 @@ public class BDXLLocator implements ISMPLocator {
                 final String regexp = naptrRecord.getRegexp();
                 final String[] parts = regexp != null ? regexp.split("!") : null;
                 try {
-                	return new URL(parts != null && parts.length > 2 ? parts[2] : null);
+                	return new Location(new URL(parts != null && parts.length > 2 ? parts[2] : null),
+                						naptrRecord.getTTL());
 				} catch (MalformedURLException e) {
 					log.error("Invalid U-NAPTR record: {}", regexp);
 					throw new SMPLocatorException("Invalid U-NAPTR record");
                 }
         	} else if ("".equalsIgnoreCase(naptrRecord.getFlags())) {
         		log.trace("Found replacement NAPTR record, requery with replacement");
-        		return retrieveURL(naptrRecord.getReplacement().toString());
+        		final Location replacement = retrieveURL(naptrRecord.getReplacement().toString());
+        		return replacement.smpURL == null || replacement.ttl <= naptrRecord.getTTL() ? replacement
+        									: new Location(replacement.smpURL, naptrRecord.getTTL());
         	}
         }
         // No U-NAPTR records found
     	log.debug("No U-NAPTR records for {} service found for {}", naptrService, hostname);
-    	return null;
+    	return Location.NOT_FOUND;
+    }
+
+    /**
+     * Executes the DNS query to retrieve the NAPTR records registered for the given host name.
+     * <p>When the locator caches the results itself, the query is executed without using the global cache of the DNS
+     * library.
+     *
+     * @param hostname	the host name to get the NAPTR records of
+     * @return	the NAPTR records registered for the host name, <code>null</code> if the host name does not exist or has
+     * 			no NAPTR records
+     * @throws SMPLocatorException	if an error occurred executing the DNS query
+     * @since 4.1.0
+     */
+    protected org.xbill.DNS.Record[] queryNAPTRRecords(final String hostname) throws SMPLocatorException {
+    	final Lookup lookup;
+		try {
+			lookup = new Lookup(hostname, Type.NAPTR);
+		} catch (TextParseException dnsQueryError) {
+            log.error("Error in DNS query execution: {}", dnsQueryError.getMessage());
+            throw new SMPLocatorException("Error in execution of DNS query", dnsQueryError);
+		}
+		if (cache != null)
+			lookup.setCache(null);
+		final org.xbill.DNS.Record[] records = lookup.run();
+		final int result = lookup.getResult();
+		if (result == Lookup.TRY_AGAIN || result == Lookup.UNRECOVERABLE) {
+			log.error("Error in DNS query execution: {}", lookup.getErrorString());
+			throw new SMPLocatorException("Error in execution of DNS query (" + lookup.getErrorString() + ")");
+		}
+		return records;
+    }
+
+    /**
+     * Is the result of the retrieval of the SMP URL from the NAPTR records consisting of the URL and the time to live
+     * of the NAPTR record(s) in seconds.
+     */
+    private static final class Location {
+    	static final Location NOT_FOUND = new Location(null, 0);
+
+    	final URL	smpURL;
+    	final long	ttl;
+
+    	Location(final URL smpURL, final long ttl) {
+    		this.smpURL = smpURL;
+    		this.ttl = ttl;
+    	}
+    }
+
+    /**
+     * Is a cache entry holding the found SMP URL, <code>null</code> if the participant is not registered, and the time
+     * (as provided by {@link System#nanoTime()}) at which the entry expires.
+     */
+    private static final class CachedLocation {
+    	final URL	smpURL;
+    	final long	expires;
+
+    	CachedLocation(final URL smpURL, final long expires) {
+    		this.smpURL = smpURL;
+    		this.expires = expires;
+    	}
+    }
+
+    /**
+     * Is the key of a cached SMP location, consisting of the participant's identifier scheme and value.
+     */
+    private static final class Key {
+    	final String	scheme;
+    	final String	value;
+    	final int		hash;
+
+    	Key(final String scheme, final String value) {
+    		this.scheme = scheme;
+    		this.value = value;
+    		this.hash = 31 * Objects.hashCode(scheme) + Objects.hashCode(value);
+    	}
+
+    	@Override
+    	public int hashCode() {
+    		return hash;
+    	}
+
+    	@Override
+    	public boolean equals(final Object o) {
+    		if (this == o)
+    			return true;
+    		if (!(o instanceof Key))
+    			return false;
+    		final Key other = (Key) o;
+    		return hash == other.hash && Objects.equals(scheme, other.scheme) && Objects.equals(value, other.value);
+    	}
     }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Is a thread safe map with a maximum number of entries that evicts the <i>least recently used</i> entry when a new
+ * entry would exceed the maximum size. To reduce lock contention the map is split into a number of segments, each
+ * guarded by its own lock and holding a proportional part of the entries. Eviction therefore is done per segment, which
+ * means that the evicted entry is the least recently used one of the segment and not necessarily of the whole map.
+ * <p>Depending on the <i>access order</i> setting an entry is considered "used" when it is either read or written, or
+ * only when it is written. The latter can be used when entries must be evicted based on the time they were last
+ * updated instead of read.
+ * <p>NOTE: The functions provided to the <code>compute</code> methods are executed while holding the segment's lock and
+ * therefore should be short and not block.
+ *
+ * @param <K>	type of the keys
+ * @param <V>	type of the values
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class BoundedLRUMap<K, V> {
+	/**
+	 * The maximum number of segments the map is split into
+	 */
+	private static final int MAX_SEGMENTS = 16;
+	/**
+	 * The minimal number of entries a segment should be able to hold before the map is split further
+	 */
+	private static final int MIN_SEGMENT_SIZE = 64;
+
+	/**
+	 * The segments of the map
+	 */
+	private final Segment[]	segments;
+	/**
+	 * Bit mask to select the segment based on the key's hash code
+	 */
+	private final int		segmentMask;
+	/**
+	 * The maximum number of entries in the map
+	 */
+	private final int		maxSize;
+	/**
+	 * Counter of the number of evicted entries
+	 */
+	private final LongAdder	evictions = new LongAdder();
+
+	/**
+	 * Creates a new map that holds at most the given number of entries and in which entries are ordered by both read
+	 * and write access.
+	 *
+	 * @param maxSize	the maximum number of entries, must be at least 1
+	 */
+	public BoundedLRUMap(final int maxSize) {
+		this(maxSize, true);
+	}
+
+	/**
+	 * Creates a new map that holds at most the given number of entries.
+	 *
+	 * @param maxSize		the maximum number of entries, must be at least 1
+	 * @param accessOrder	<code>true</code> if reading an entry should also mark it as used,<br>
+	 * 						<code>false</code> if only writing an entry marks it as used
+	 */
+	public BoundedLRUMap(final int maxSize, final boolean accessOrder) {
+		if (maxSize < 1)
+			throw new IllegalArgumentException("Maximum size must be at least 1");
+		this.maxSize = maxSize;
+		int n = 1;
+		while (n < MAX_SEGMENTS && maxSize / (n << 1) >= MIN_SEGMENT_SIZE)
+			n <<= 1;
+		@SuppressWarnings("unchecked")
+		final Segment[] segs = (Segment[]) new BoundedLRUMap<?, ?>.Segment[n];
+		segments = segs;
+		final int segmentSize = (maxSize + n - 1) / n;
+		for (int i = 0; i < n; i++)
+			segments[i] = new Segment(segmentSize, accessOrder);
+		segmentMask = n - 1;
+	}
+
+	/**
+	 * Gets the value for the given key.
+	 *
+	 * @param key	the key
+	 * @return	the value mapped to the key, <code>null</code> if there is none
+	 */
+	public V get(final K key) {
+		final Segment s = segmentFor(key);
+		s.lock.lock();
+		try {
+			return s.get(key);
+		} finally {
+			s.lock.unlock();
+		}
+	}
+
+	/**
+	 * Maps the given value to the key, replacing the current value if one exists. The entry is marked as most recently
+	 * used.
+	 *
+	 * @param key	the key
+	 * @param value	the value
+	 * @return	the value that was previously mapped to the key, <code>null</code> if there was none
+	 */
+	public V put(final K key, final V value) {
+		final Segment s = segmentFor(key);
+		s.lock.lock();
+		try {
+			final V current = s.remove(key);
+			s.put(key, value);
+			return current;
+		} finally {
+			s.lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the value for the given key and if there is none, uses the given function to calculate the value and adds
+	 * it to the map.
+	 *
+	 * @param key				the key
+	 * @param mappingFunction	the function to calculate the value, may return <code>null</code> in which case no
+	 * 							entry is added
+	 * @return	the current or calculated value, <code>null</code> if the function did not provide a value
+	 */
+	public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+		final Segment s = segmentFor(key);
+		s.lock.lock();
+		try {
+			V value = s.get(key);
+			if (value == null) {
+				value = mappingFunction.apply(key);
+				if (value != null)
+					s.put(key, value);
+			}
+			return value;
+		} finally {
+			s.lock.unlock();
+		}
+	}
+
+	/**
+	 * Calculates the new value for the given key using the given function. If the function returns <code>null</code>
+	 * the entry is removed, if it returns a different value the entry is updated and marked as most recently used. When
+	 * the function returns the current value or throws an exception the entry is left unchanged.
+	 *
+	 * @param key					the key
+	 * @param remappingFunction		the function to calculate the new value based on the current one
+	 * @return	the new value, <code>null</code> if there is none
+	 */
+	public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		final Segment s = segmentFor(key);
+		s.lock.lock();
+		try {
+			final V current = s.get(key);
+			final V value = remappingFunction.apply(key, current);
+			if (value != current) {
+				s.remove(key);
+				if (value != null)
+					s.put(key, value);
+			}
+			return value;
+		} finally {
+			s.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the entry for the given key.
+	 *
+	 * @param key	the key
+	 * @return	the value that was mapped to the key, <code>null</code> if there was none
+	 */
+	public V remove(final K key) {
+		final Segment s = segmentFor(key);
+		s.lock.lock();
+		try {
+			return s.remove(key);
+		} finally {
+			s.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the entry for the given key only if it is currently mapped to the given value.
+	 *
+	 * @param key	the key
+	 * @param value	the value expected to be mapped to the key
+	 * @return	<code>true</code> if the entry was removed, <code>false</code> otherwise
+	 */
+	public boolean remove(final K key, final V value) {
+		final Segment s = segmentFor(key);
+		s.lock.lock();
+		try {
+			return s.remove(key, value);
+		} finally {
+			s.lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all entries from the map.
+	 */
+	public void clear() {
+		for (Segment s : segments) {
+			s.lock.lock();
+			try {
+				s.clear();
+			} finally {
+				s.lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Gets the current number of entries in the map.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment s : segments) {
+			s.lock.lock();
+			try {
+				size += s.size();
+			} finally {
+				s.lock.unlock();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * Gets the maximum number of entries in the map.
+	 *
+	 * @return the maximum number of entries
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Gets the number of entries that have been evicted from the map because it reached its maximum size.
+	 *
+	 * @return the number of evicted entries
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Is called when an entry is evicted from the map because it reached its maximum size. This default implementation
+	 * does nothing, but sub classes can override it, for example to release resources associated with the entry.
+	 * <p>NOTE: This method is called while holding the segment's lock.
+	 *
+	 * @param key	the key of the evicted entry
+	 * @param value	the value of the evicted entry
+	 */
+	protected void onEviction(final K key, final V value) {
+	}
+
+	/**
+	 * Gets the segment that holds the entry for the given key.
+	 *
+	 * @param key	the key
+	 * @return	the segment responsible for the key
+	 */
+	private Segment segmentFor(final K key) {
+		final int h = key.hashCode();
+		return segments[(h ^ (h >>> 16)) & segmentMask];
+	}
+
+	/**
+	 * Is one segment of the map, implemented as a {@link LinkedHashMap} that removes its eldest entry when it exceeds
+	 * its maximum size.
+	 */
+	private class Segment extends LinkedHashMap<K, V> {
+		private static final long serialVersionUID = 4150837632316278651L;
+
+		final ReentrantLock	lock = new ReentrantLock();
+		final int			maxEntries;
+
+		Segment(final int maxEntries, final boolean accessOrder) {
+			super(16, 0.75f, accessOrder);
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+			if (size() > maxEntries) {
+				evictions.increment();
+				onEviction(eldest.getKey(), eldest.getValue());
+				return true;
+			} else
+				return false;
+		}
+	}
+}
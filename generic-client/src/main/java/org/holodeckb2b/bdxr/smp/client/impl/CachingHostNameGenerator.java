@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.util.Objects;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.smp.client.api.IHostNameGenerator;
+
+/**
+ * Is an {@link IHostNameGenerator} that caches the host names generated by another generator. As host name generation
+ * normally includes calculating a hash of the participant identifier, caching the host names of frequently used
+ * participants saves processing time on each SMP lookup.
+ * <p>The host names are cached by the identifier scheme and value of the participant. The cache holds a maximum number
+ * of host names and evicts the least recently used one when full. As host names only depend on the participant's
+ * identifier there is no need to expire them.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class CachingHostNameGenerator implements IHostNameGenerator {
+	/**
+	 * The default maximum number of host names in the cache
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	/**
+	 * The generator which host names are cached
+	 */
+	private final IHostNameGenerator	generator;
+	/**
+	 * The cached host names, mapped by participant identifier
+	 */
+	private final BoundedLRUMap<Key, String>	hostNames;
+
+	/**
+	 * Creates a new caching generator that caches at most {@link #DEFAULT_MAX_ENTRIES} host names.
+	 *
+	 * @param generator		the generator which host names should be cached
+	 */
+	public CachingHostNameGenerator(final IHostNameGenerator generator) {
+		this(generator, DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Creates a new caching generator that caches at most the given number of host names.
+	 *
+	 * @param generator		the generator which host names should be cached
+	 * @param maxEntries	the maximum number of cached host names, must be at least 1
+	 */
+	public CachingHostNameGenerator(final IHostNameGenerator generator, final int maxEntries) {
+		if (generator == null)
+			throw new IllegalArgumentException("Host name generator must be specified");
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+		this.generator = generator;
+		this.hostNames = new BoundedLRUMap<>(maxEntries);
+	}
+
+	/**
+	 * Gets the generator which host names are cached.
+	 *
+	 * @return	the decorated host name generator
+	 */
+	public IHostNameGenerator getGenerator() {
+		return generator;
+	}
+
+	@Override
+	public String getHostNameForParticipant(final Identifier participantId) {
+		final Key key = new Key(participantId.getScheme() != null ? participantId.getScheme().getSchemeId() : null,
+								participantId.getValue());
+		final String cached = hostNames.get(key);
+		if (cached != null)
+			return cached;
+		// Generated outside the map's lock, as generation may be expensive and may fail
+		final String hostName = generator.getHostNameForParticipant(participantId);
+		if (hostName != null)
+			hostNames.put(key, hostName);
+		return hostName;
+	}
+
+	/**
+	 * Removes all cached host names.
+	 */
+	public void clear() {
+		hostNames.clear();
+	}
+
+	/**
+	 * Is the key of a cached host name, consisting of the participant's identifier scheme and value.
+	 */
+	private static final class Key {
+		final String	scheme;
+		final String	value;
+		final int		hash;
+
+		Key(final String scheme, final String value) {
+			this.scheme = scheme;
+			this.value = value;
+			this.hash = 31 * Objects.hashCode(scheme) + Objects.hashCode(value);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof Key))
+				return false;
+			final Key other = (Key) o;
+			return hash == other.hash && Objects.equals(scheme, other.scheme) && Objects.equals(value, other.value);
+		}
+	}
+}
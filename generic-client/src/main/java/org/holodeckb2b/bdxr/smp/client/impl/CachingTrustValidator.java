@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.smp.client.api.ITrustValidator;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+
+/**
+ * Is an {@link ITrustValidator} that caches the decisions of another trust validator. As the number of certificates
+ * used by the SMP servers in a network is small and trust validation can be expensive, for example when it includes
+ * path building and revocation checks, this can considerably reduce the processing time of signed responses.
+ * <p>Decisions are cached per certificate, identified by the SHA-256 fingerprint of its encoding, for a configurable
+ * time, but never beyond the expiration of the certificate. When the decorated validator throws an exception, no
+ * decision is cached.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class CachingTrustValidator implements ITrustValidator {
+	private static final Logger	log = LogManager.getLogger(CachingTrustValidator.class);
+
+	/**
+	 * The validator which decisions are cached
+	 */
+	private final ITrustValidator	validator;
+	/**
+	 * The cached decisions, mapped by certificate fingerprint
+	 */
+	private final BoundedLRUMap<ByteBuffer, Decision>	decisions;
+	/**
+	 * The maximum time in nanoseconds a decision is cached
+	 */
+	private final long	maxAge;
+
+	/**
+	 * Creates a new caching validator.
+	 *
+	 * @param validator		the validator which decisions should be cached
+	 * @param maxEntries	the maximum number of cached decisions, must be at least 1
+	 * @param maxAge		the maximum time a decision is cached
+	 */
+	public CachingTrustValidator(final ITrustValidator validator, final int maxEntries, final Duration maxAge) {
+		if (validator == null)
+			throw new IllegalArgumentException("Trust validator must be specified");
+		if (maxAge == null || maxAge.isNegative())
+			throw new IllegalArgumentException("Maximum age must be specified and not negative");
+		this.validator = validator;
+		this.decisions = new BoundedLRUMap<>(maxEntries);
+		this.maxAge = maxAge.toNanos();
+	}
+
+	/**
+	 * Gets the validator which decisions are cached.
+	 *
+	 * @return	the decorated trust validator
+	 */
+	public ITrustValidator getValidator() {
+		return validator;
+	}
+
+	@Override
+	public boolean isTrusted(final X509Certificate certificate) throws SMPQueryException {
+		final ByteBuffer fingerprint = fingerprint(certificate);
+		if (fingerprint == null)
+			return validator.isTrusted(certificate);
+
+		final long now = System.nanoTime();
+		final Decision cached = decisions.get(fingerprint);
+		if (cached != null) {
+			if (now - cached.expiresAt < 0) {
+				log.trace("Using cached trust decision ({})", cached.trusted);
+				return cached.trusted;
+			}
+			decisions.remove(fingerprint, cached);
+		}
+
+		final boolean trusted = validator.isTrusted(certificate);
+		// Never cache the decision beyond the expiration of the certificate
+		final long validFor = TimeUnit.MILLISECONDS.toNanos(certificate.getNotAfter().getTime()
+															- System.currentTimeMillis());
+		final long ttl = Math.min(maxAge, validFor);
+		if (ttl > 0)
+			decisions.put(fingerprint, new Decision(trusted, now + ttl));
+		return trusted;
+	}
+
+	/**
+	 * Removes all cached decisions.
+	 */
+	public void clear() {
+		decisions.clear();
+	}
+
+	/**
+	 * Helper method to calculate the fingerprint of the certificate.
+	 *
+	 * @param certificate	the certificate
+	 * @return	the SHA-256 fingerprint of the certificate, <code>null</code> if it cannot be calculated
+	 */
+	private static ByteBuffer fingerprint(final X509Certificate certificate) {
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded()));
+		} catch (CertificateEncodingException | NoSuchAlgorithmException notAvailable) {
+			log.warn("Could not calculate fingerprint of certificate : {}", notAvailable.getMessage());
+			return null;
+		}
+	}
+
+	private static final class Decision {
+		final boolean	trusted;
+		final long		expiresAt;
+
+		Decision(final boolean trusted, final long expiresAt) {
+			this.trusted = trusted;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+
+import org.holodeckb2b.commons.security.CertificateUtils;
+import org.holodeckb2b.commons.util.Utils;
+
+/**
+ * Is a bounded cache of decoded X.509 certificates which is used by the result processors to decode the certificates
+ * included in the SMP responses. Many participants in a network use the same Access Point and therefore the same
+ * certificate is included in a large number of responses. By returning the same {@link X509Certificate} instance for
+ * the same encoded certificate, the certificate needs to be decoded only once and cached query results share the
+ * certificate object instead of each holding its own copy.
+ * <p>The certificates are identified by the SHA-256 digest of their encoded representation as included in the response.
+ * A decoded certificate is also registered under the digest of its DER encoding, so the same instance is returned for
+ * certificates that are encoded differently, e.g. PEM and base64 encoded.
+ * <p>The processors included in this library use the {@link #getShared() shared instance}.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class CertificateCache {
+	/**
+	 * The default maximum number of certificates in the cache
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	/**
+	 * The shared instance
+	 */
+	private static final CertificateCache SHARED = new CertificateCache(DEFAULT_MAX_ENTRIES);
+
+	/**
+	 * The decoded certificates, mapped by the digest of their encoding
+	 */
+	private final BoundedLRUMap<ByteBuffer, X509Certificate>	certificates;
+
+	/**
+	 * Creates a new cache that holds at most the given number of certificates.
+	 *
+	 * @param maxEntries	the maximum number of certificates in the cache, must be at least 1
+	 */
+	public CertificateCache(final int maxEntries) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+		// Each certificate can be registered with two digests
+		this.certificates = new BoundedLRUMap<>(2 * maxEntries);
+	}
+
+	/**
+	 * Gets the cache shared by the result processors.
+	 *
+	 * @return	the shared certificate cache
+	 */
+	public static CertificateCache getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * Gets the certificate from its base64 or PEM encoding.
+	 *
+	 * @param encoded	the base64 or PEM encoded certificate
+	 * @return	the decoded certificate, <code>null</code> if the given string is <code>null</code> or empty
+	 * @throws CertificateException	when the given string does not contain a valid certificate
+	 * @see CertificateUtils#getCertificate(String)
+	 */
+	public X509Certificate getCertificate(final String encoded) throws CertificateException {
+		if (Utils.isNullOrEmpty(encoded))
+			return null;
+		final ByteBuffer key = digest(encoded.getBytes(StandardCharsets.ISO_8859_1));
+		final X509Certificate cached = certificates.get(key);
+		return cached != null ? cached : intern(key, CertificateUtils.getCertificate(encoded));
+	}
+
+	/**
+	 * Gets the certificate from its binary (DER) or PEM encoding.
+	 *
+	 * @param encoded	the encoded certificate
+	 * @return	the decoded certificate, <code>null</code> if the given array is <code>null</code>
+	 * @throws CertificateException	when the given array does not contain a valid certificate
+	 * @see CertificateUtils#getCertificate(byte[])
+	 */
+	public X509Certificate getCertificate(final byte[] encoded) throws CertificateException {
+		if (encoded == null)
+			return null;
+		final ByteBuffer key = digest(encoded);
+		final X509Certificate cached = certificates.get(key);
+		return cached != null ? cached : intern(key, CertificateUtils.getCertificate(encoded));
+	}
+
+	/**
+	 * Removes all certificates from the cache.
+	 */
+	public void clear() {
+		certificates.clear();
+	}
+
+	/**
+	 * Helper method to register a decoded certificate. When the same certificate was already decoded from a different
+	 * representation, that instance is registered and returned.
+	 *
+	 * @param key		the digest of the encoded representation the certificate was decoded from
+	 * @param decoded	the decoded certificate
+	 * @return	the cached certificate instance
+	 * @throws CertificateException	when the DER encoding of the certificate cannot be retrieved
+	 */
+	private X509Certificate intern(final ByteBuffer key, final X509Certificate decoded) throws CertificateException {
+		if (decoded == null)
+			return null;
+		final ByteBuffer derKey = digest(decoded.getEncoded());
+		final X509Certificate cert = derKey.equals(key) ? decoded : certificates.computeIfAbsent(derKey, k -> decoded);
+		return certificates.computeIfAbsent(key, k -> cert);
+	}
+
+	/**
+	 * Helper method to calculate the SHA-256 digest of the given data.
+	 */
+	private static ByteBuffer digest(final byte[] data) {
+		try {
+			return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(data));
+		} catch (NoSuchAlgorithmException notAvailable) {
+			// SHA-256 must be supported by every Java platform
+			throw new IllegalStateException(notAvailable);
+		}
+	}
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.smp.client.api.ICachedResult;
+import org.holodeckb2b.bdxr.smp.client.api.IResponseCache;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
+
+/**
+ * Is an in-memory {@link IResponseCache} implementation that stores the raw responses instead of the query results to
+ * reduce the amount of memory needed per cached result. The object model of a query result, especially when it contains
+ * certificates, takes up much more memory than the response it was created from. The responses can optionally be
+ * compressed to reduce the memory usage even further.
+ * <p>The query results are re-created from the stored responses when requested. As the responses are read in the same
+ * way as new responses, this includes the verification of the signature. To prevent that frequently used results are
+ * re-created on each request, the most recently used query results are kept in a small <i>hot</i> tier in front of the
+ * stored responses.
+ * <p>Like the {@link InMemoryResultCache} the cache holds a maximum number of entries and evicts the entry with the
+ * oldest <i>last queried</i> time stamp of its segment when full. Results stored using {@link #storeResult(URL,
+ * QueryResult, String, LocalDateTime)}, i.e. without the raw response, are stored as is.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class CompactResultCache implements IResponseCache {
+	private static final Logger	log = LogManager.getLogger(CompactResultCache.class);
+
+	/**
+	 * The default maximum number of entries in the cache
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 100000;
+	/**
+	 * The default maximum number of query results kept in the hot tier
+	 */
+	public static final int DEFAULT_HOT_ENTRIES = 1000;
+
+	/**
+	 * The cached entries, mapped by the string representation of the query URL
+	 */
+	private final BoundedLRUMap<String, CompactEntry>	entries;
+	/**
+	 * The recently used query results, mapped by the string representation of the query URL
+	 */
+	private final BoundedLRUMap<String, HotResult>	hot;
+	/**
+	 * Indicates whether the responses are compressed
+	 */
+	private final boolean	compress;
+	/**
+	 * The reader used to re-create the query results from the stored responses
+	 */
+	private volatile ResponseReader	reader;
+
+	private final LongAdder	materializations = new LongAdder();
+
+	/**
+	 * Creates a new cache with the default maximum number of entries and hot query results and which compresses the
+	 * stored responses.
+	 */
+	public CompactResultCache() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_HOT_ENTRIES, true);
+	}
+
+	/**
+	 * Creates a new cache with the given maximum number of entries and hot query results.
+	 *
+	 * @param maxEntries	the maximum number of entries in the cache, must be at least 1
+	 * @param hotEntries	the maximum number of query results kept in the hot tier, must be at least 1
+	 * @param compress		indicates whether the stored responses should be compressed
+	 */
+	public CompactResultCache(final int maxEntries, final int hotEntries, final boolean compress) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+		if (hotEntries < 1)
+			throw new IllegalArgumentException("Maximum number of hot entries must be at least 1");
+		this.entries = new BoundedLRUMap<>(maxEntries, false);
+		this.hot = new BoundedLRUMap<>(hotEntries);
+		this.compress = compress;
+		log.debug("Created new compact cache (max entries={}, hot entries={}, compress={})", maxEntries, hotEntries,
+				  compress);
+	}
+
+	@Override
+	public void setResponseReader(final ResponseReader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public ICachedResult storeResponse(URL query, byte[] response, QueryResult result, String lastModified,
+									   LocalDateTime queryTime) {
+		final String key = query.toString();
+		final CompactEntry entry = new CompactEntry(pack(response), null, lastModified, queryTime, false);
+		final CompactEntry stored = entries.compute(key, (q, current) ->
+											current == null || current.lastQueried.isBefore(queryTime) ?
+																						entry : current);
+		if (stored == entry && result != null)
+			hot.put(key, new HotResult(entry.data, result));
+		return stored == entry ? new InMemoryResultCache.CachedResult(result, lastModified, queryTime)
+							   : toCachedResult(key, stored);
+	}
+
+	@Override
+	public ICachedResult storeResult(URL query, QueryResult result, String lastModified, LocalDateTime queryTime) {
+		final String key = query.toString();
+		return toCachedResult(key, entries.compute(key, (q, current) ->
+									current == null || current.lastQueried.isBefore(queryTime) ?
+									new CompactEntry(null, result, lastModified, queryTime, false) : current));
+	}
+
+	@Override
+	public ICachedResult storeNotFound(URL query, LocalDateTime queryTime) {
+		final String key = query.toString();
+		return toCachedResult(key, entries.compute(key, (q, current) ->
+									current == null || current.lastQueried.isBefore(queryTime) ?
+									new CompactEntry(null, null, null, queryTime, true) : current));
+	}
+
+	@Override
+	public ICachedResult getCachedResult(URL query) {
+		final String key = query.toString();
+		final CompactEntry entry = entries.get(key);
+		return entry != null ? toCachedResult(key, entry) : null;
+	}
+
+	@Override
+	public void updateLastQueried(URL query, LocalDateTime queryTime) {
+		entries.compute(query.toString(), (q, current) ->
+									current == null || !current.lastQueried.isBefore(queryTime) ? current :
+										new CompactEntry(current.data, current.result, current.lastModified, queryTime,
+														 current.notFound));
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public void clear() {
+		entries.clear();
+		hot.clear();
+	}
+
+	/**
+	 * Gets the number of entries currently in the cache.
+	 *
+	 * @return	the number of cached entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of times a query result was re-created from a stored response because it was not available in
+	 * the hot tier.
+	 *
+	 * @return	the number of re-created query results
+	 */
+	public long getMaterializationCount() {
+		return materializations.sum();
+	}
+
+	/**
+	 * Helper method to create the {@link ICachedResult} for the given entry, re-creating the query result from the
+	 * stored response if it is not available in the hot tier. When the query result cannot be re-created the entry is
+	 * removed from the cache.
+	 *
+	 * @param key	the query URL
+	 * @param entry	the cache entry
+	 * @return	the cached result, or <code>null</code> if the query result cannot be re-created
+	 */
+	private ICachedResult toCachedResult(final String key, final CompactEntry entry) {
+		if (entry.notFound)
+			return new InMemoryResultCache.CachedResult(entry.lastQueried);
+		if (entry.data == null)
+			return new InMemoryResultCache.CachedResult(entry.result, entry.lastModified, entry.lastQueried);
+
+		final HotResult h = hot.get(key);
+		// The hot result only applies if created from the same response
+		if (h != null && h.data == entry.data)
+			return new InMemoryResultCache.CachedResult(h.result, entry.lastModified, entry.lastQueried);
+
+		final ResponseReader r = reader;
+		if (r == null) {
+			log.debug("Cannot re-create result for {} as no response reader is available", key);
+			return null;
+		}
+		try {
+			log.trace("Re-creating result for {} from cached response", key);
+			final QueryResult result = r.read(unpack(entry.data));
+			materializations.increment();
+			hot.put(key, new HotResult(entry.data, result));
+			return new InMemoryResultCache.CachedResult(result, entry.lastModified, entry.lastQueried);
+		} catch (SMPQueryException | IOException | RuntimeException invalid) {
+			log.warn("Removing cached response for {} as it cannot be read : {}", key, invalid.getMessage());
+			entries.compute(key, (q, current) -> current != null && current.data == entry.data ? null : current);
+			return null;
+		}
+	}
+
+	/**
+	 * Helper method to prepare the response for storage, compressing it when enabled and it reduces the size. The
+	 * first byte of the stored data indicates whether the response is compressed.
+	 */
+	private byte[] pack(final byte[] response) {
+		if (compress) {
+			final ByteArrayOutputStream buf = new ByteArrayOutputStream(response.length / 4 + 16);
+			buf.write(1);
+			try (GZIPOutputStream gz = new GZIPOutputStream(buf)) {
+				gz.write(response);
+			} catch (IOException cannotHappen) {
+				// Writing to a byte array does not fail
+			}
+			if (buf.size() < response.length + 1)
+				return buf.toByteArray();
+		}
+		final byte[] data = new byte[response.length + 1];
+		System.arraycopy(response, 0, data, 1, response.length);
+		return data;
+	}
+
+	/**
+	 * Helper method to get the response from the stored data.
+	 */
+	private static byte[] unpack(final byte[] data) throws IOException {
+		if (data[0] == 0) {
+			final byte[] response = new byte[data.length - 1];
+			System.arraycopy(data, 1, response, 0, response.length);
+			return response;
+		}
+		try (InputStream gz = new GZIPInputStream(new ByteArrayInputStream(data, 1, data.length - 1))) {
+			return gz.readAllBytes();
+		}
+	}
+
+	/**
+	 * Is an entry of the cache. Instances are immutable, an update of the <i>last queried</i> time stamp results in a
+	 * new entry that shares the stored response.
+	 */
+	private static final class CompactEntry {
+		/**
+		 * The stored response, <code>null</code> if the query result is stored directly or for a <i>not found</i> entry
+		 */
+		final byte[]		data;
+		final QueryResult	result;
+		final String		lastModified;
+		final LocalDateTime	lastQueried;
+		final boolean		notFound;
+
+		CompactEntry(final byte[] data, final QueryResult result, final String lastModified,
+					 final LocalDateTime lastQueried, final boolean notFound) {
+			this.data = data;
+			this.result = result;
+			this.lastModified = lastModified;
+			this.lastQueried = lastQueried;
+			this.notFound = notFound;
+		}
+	}
+
+	/**
+	 * Is an entry of the hot tier, holding the query result and the stored response it was created from.
+	 */
+	private static final class HotResult {
+		final byte[]		data;
+		final QueryResult	result;
+
+		HotResult(final byte[] data, final QueryResult result) {
+			this.data = data;
+			this.result = result;
+		}
+	}
+}
@@ -79,11 +79,8 @@ public class DefaultRequestExecutor implements IRequestExecutor {
 			final int status = conn.getResponseCode();
 			log.trace("Executed request to {}", requestURL.toString());
 			if (status / 200 == 1)
-				return new SMPResponseConnection(status,
-											 conn.getHeaderFields().entrySet().parallelStream()
-															.filter(h -> "last-modified".equalsIgnoreCase(h.getKey()))
-															.findFirst().map(h -> h.getValue().get(0)).orElse(null),
-											 conn.getInputStream());
+				// The header name is matched case insensitive by the connection
+				return new SMPResponseConnection(status, conn.getHeaderField("Last-Modified"), conn.getInputStream());
 			else
 				return new SMPResponseConnection(status, null, null);
 		} catch (ClassCastException unsupportedProtocol) {
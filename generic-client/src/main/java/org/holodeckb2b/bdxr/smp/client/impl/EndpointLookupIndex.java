@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.ProcessGroup;
+import org.holodeckb2b.bdxr.smp.datamodel.ServiceMetadata;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessGroupImpl;
+
+/**
+ * Is an index on the process groups and endpoints of a <i>ServiceMetadata</i> that speeds up repeated endpoint lookups
+ * on the same, cached, meta-data. The process group selected for a combination of process and role identifier is
+ * memoised on first use, so subsequent selections of the same combination are a single hash lookup. As callers can
+ * query any combination, also ones not supported by the meta-data, the number of memoised selections is limited to a
+ * multiple of the number of process groups. When the limit is reached, other combinations are evaluated on each
+ * lookup. The endpoints of each process group are grouped by their transport profile when the index is created.
+ * <p>As endpoints can have an activation and expiration date, the index only narrows the endpoints to the ones with the
+ * requested transport profile. Whether the endpoint is active is still checked on every lookup.
+ * <p>The selection rules are the same as the ones implemented by {@link EndpointSelector}.
+ * <p>The index only references the process groups of the meta-data and not the <i>ServiceMetadata</i> object itself,
+ * so it can be kept in a map that is weakly keyed by the meta-data object.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+final class EndpointLookupIndex {
+	private static final Logger	log = LogManager.getLogger(EndpointLookupIndex.class);
+
+	/**
+	 * Markers used in the memo of selected process groups to indicate that no or no unique group applies
+	 */
+	private static final ProcessGroup NOT_SUPPORTED = new ProcessGroupImpl();
+	private static final ProcessGroup AMBIGUOUS = new ProcessGroupImpl();
+	/**
+	 * The number of selections that is memoised per process group, and the minimum number of selections memoised
+	 */
+	private static final int SELECTIONS_PER_GROUP = 4;
+	private static final int MIN_SELECTIONS = 16;
+
+	/**
+	 * The process groups of the indexed meta-data
+	 */
+	private final Collection<? extends ProcessGroup>	processGroups;
+	/**
+	 * The endpoints of each process group, grouped by transport profile. Not modified after construction.
+	 */
+	private final Map<ProcessGroup, Map<Identifier, List<EndpointInfo>>> endpointsByGroup;
+	/**
+	 * The memoised process group selections
+	 */
+	private final ConcurrentHashMap<SelectionKey, ProcessGroup>	selections = new ConcurrentHashMap<>();
+	/**
+	 * The maximum number of memoised process group selections
+	 */
+	private final int	maxSelections;
+
+	/**
+	 * Creates a new index for the given meta-data.
+	 *
+	 * @param metadata	the <i>ServiceMetadata</i> to index
+	 */
+	EndpointLookupIndex(final ServiceMetadata metadata) {
+		final Collection<? extends ProcessGroup> groups = metadata.getProcessMetadata();
+		this.processGroups = groups;
+		this.maxSelections = Math.max(MIN_SELECTIONS, SELECTIONS_PER_GROUP * (groups != null ? groups.size() : 0));
+		final Map<ProcessGroup, Map<Identifier, List<EndpointInfo>>> index = new IdentityHashMap<>();
+		if (groups != null)
+			for (ProcessGroup g : groups) {
+				final Collection<? extends EndpointInfo> endpoints = g.getEndpoints();
+				if (endpoints == null || endpoints.isEmpty())
+					continue;
+				final Map<Identifier, List<EndpointInfo>> byTransport = new HashMap<>();
+				for (EndpointInfo ep : endpoints)
+					byTransport.computeIfAbsent(ep.getTransportProfileId(), tp -> new ArrayList<>(1)).add(ep);
+				index.put(g, byTransport);
+			}
+		this.endpointsByGroup = index;
+	}
+
+	/**
+	 * Selects the process group that applies to the given process and role.
+	 *
+	 * @param processId	the process identifier
+	 * @param role		the role identifier, may be <code>null</code> if no specific role is requested
+	 * @return	the process group that applies to the requested process and role, or <code>null</code> if there is none
+	 * @throws SMPQueryException	when no unique process group can be determined
+	 * @see EndpointSelector#selectProcessGroup(Collection, ProcessIdentifier, Identifier)
+	 */
+	ProcessGroup selectProcessGroup(final ProcessIdentifier processId, final Identifier role)
+																						throws SMPQueryException {
+		final SelectionKey key = new SelectionKey(processId, role);
+		ProcessGroup selected = selections.get(key);
+		if (selected == null) {
+			try {
+				selected = EndpointSelector.selectProcessGroup(processGroups, processId, role);
+				if (selected == null)
+					selected = NOT_SUPPORTED;
+			} catch (SMPQueryException ambiguous) {
+				selected = AMBIGUOUS;
+			}
+			// The limit may be exceeded slightly by concurrent selections, which is harmless
+			if (selections.size() < maxSelections)
+				selections.putIfAbsent(key, selected);
+		} else if (selected == AMBIGUOUS)
+			log.error("Unable to determine unique process meta-data from SMP result!");
+
+		if (selected == AMBIGUOUS)
+			throw new SMPQueryException("Ambigious result based on query arguments or SMP data");
+		return selected != NOT_SUPPORTED ? selected : null;
+	}
+
+	/**
+	 * Gets the number of memoised process group selections.
+	 *
+	 * @return	the number of memoised selections
+	 */
+	int getSelectionCount() {
+		return selections.size();
+	}
+
+	/**
+	 * Selects the first endpoint of the given process group that uses the given transport profile and is currently
+	 * active.
+	 *
+	 * @param group				the process group, should be one of the indexed meta-data
+	 * @param transportProfile	the transport profile identifier
+	 * @return	the first active endpoint using the requested transport profile, or <code>null</code> if there is none
+	 * @see EndpointSelector#selectEndpoint(Collection, Identifier)
+	 */
+	EndpointInfo selectEndpoint(final ProcessGroup group, final Identifier transportProfile) {
+		final Map<Identifier, List<EndpointInfo>> byTransport = endpointsByGroup.get(group);
+		if (byTransport == null)
+			return EndpointSelector.selectEndpoint(group.getEndpoints(), transportProfile);
+
+		final List<EndpointInfo> candidates = byTransport.get(transportProfile);
+		if (candidates == null)
+			// Identifier implementations may consider each other equal without having the same hash code
+			return EndpointSelector.selectEndpoint(group.getEndpoints(), transportProfile);
+		final ZonedDateTime now = ZonedDateTime.now();
+		for (int i = 0; i < candidates.size(); i++)
+			if (EndpointSelector.isActive(candidates.get(i), now))
+				return candidates.get(i);
+		return null;
+	}
+
+	/**
+	 * Is the key of the memoised process group selections.
+	 */
+	private static final class SelectionKey {
+		private final ProcessIdentifier	processId;
+		private final Identifier		role;
+		private final int				hash;
+
+		SelectionKey(final ProcessIdentifier processId, final Identifier role) {
+			this.processId = processId;
+			this.role = role;
+			this.hash = Objects.hash(processId, role);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof SelectionKey))
+				return false;
+			final SelectionKey other = (SelectionKey) o;
+			return EndpointSelector.sameId(processId, other.processId) && Objects.equals(role, other.role);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.ProcessGroup;
+import org.holodeckb2b.bdxr.smp.datamodel.ProcessInfo;
+import org.holodeckb2b.commons.util.Utils;
+
+/**
+ * Contains the logic for selecting the process group and endpoint from the <i>ServiceMetadata</i> that apply to the
+ * requested process, role and transport profile. As the number of process groups and endpoints in a <i>
+ * ServiceMetadata</i> is small, the selection is done in a single sequential pass over the collections without
+ * creating intermediate collections.
+ * <p>A process group applies to the requested process and role when it either has no process information, i.e. it
+ * applies to all processes, or includes the requested process with either no roles or the requested role. When more
+ * than one group applies, the groups that include the requested process take precedence over the ones that apply to
+ * all processes. If there is still more than one group and a role was requested, only the groups that explicitly list
+ * the requested role for the process are considered.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+final class EndpointSelector {
+	private static final Logger	log = LogManager.getLogger(EndpointSelector.class);
+
+	private EndpointSelector() {}
+
+	/**
+	 * Selects the process group that applies to the given process and role.
+	 *
+	 * @param groups	the process groups included in the <i>ServiceMetadata</i>
+	 * @param processId	the process identifier
+	 * @param role		the role identifier, may be <code>null</code> if no specific role is requested
+	 * @return	the process group that applies to the requested process and role, or <code>null</code> if there is none
+	 * @throws SMPQueryException	when no unique process group can be determined
+	 */
+	static ProcessGroup selectProcessGroup(final Collection<? extends ProcessGroup> groups,
+										   final ProcessIdentifier processId, final Identifier role)
+																						throws SMPQueryException {
+		if (groups == null)
+			return null;
+
+		ProcessGroup firstMatch = null, firstSpecific = null, firstRoleSpecific = null;
+		int matching = 0, specific = 0, roleSpecific = 0;
+		for (ProcessGroup g : groups) {
+			final Collection<? extends ProcessInfo> procInfo = g.getProcessInfo();
+			if (Utils.isNullOrEmpty(procInfo)) {
+				if (matching++ == 0)
+					firstMatch = g;
+				continue;
+			}
+			boolean matches = false, matchesRole = false;
+			for (ProcessInfo pi : procInfo) {
+				if (!sameId(pi.getProcessId(), processId))
+					continue;
+				final boolean noRoles = Utils.isNullOrEmpty(pi.getRoles());
+				final boolean hasRole = role != null && !noRoles && containsRole(pi.getRoles(), role);
+				matches |= role == null || noRoles || hasRole;
+				matchesRole |= hasRole;
+				if (matchesRole || (matches && role == null))
+					break;
+			}
+			if (!matches)
+				continue;
+			if (matching++ == 0)
+				firstMatch = g;
+			if (specific++ == 0)
+				firstSpecific = g;
+			if (matchesRole && roleSpecific++ == 0)
+				firstRoleSpecific = g;
+		}
+
+		final ProcessGroup selected;
+		final int candidates;
+		if (matching <= 1) {
+			selected = firstMatch;
+			candidates = matching;
+		} else if (specific > 1 && role != null) {
+			selected = firstRoleSpecific;
+			candidates = roleSpecific;
+		} else {
+			selected = firstSpecific;
+			candidates = specific;
+		}
+		if (candidates > 1) {
+			log.error("Unable to determine unique process meta-data from SMP result!");
+			throw new SMPQueryException("Ambigious result based on query arguments or SMP data");
+		}
+		return selected;
+	}
+
+	/**
+	 * Selects the first endpoint that uses the given transport profile and is currently active.
+	 *
+	 * @param endpoints			the endpoints to select from
+	 * @param transportProfile	the transport profile identifier
+	 * @return	the first active endpoint using the requested transport profile, or <code>null</code> if there is none
+	 */
+	static EndpointInfo selectEndpoint(final Collection<? extends EndpointInfo> endpoints,
+									   final Identifier transportProfile) {
+		if (endpoints == null)
+			return null;
+
+		final ZonedDateTime now = ZonedDateTime.now();
+		for (EndpointInfo ep : endpoints)
+			if (sameId(transportProfile, ep.getTransportProfileId()) && isActive(ep, now))
+				return ep;
+		return null;
+	}
+
+	/**
+	 * Checks is the given endpoint is active at the given time.
+	 *
+	 * @param ep	the endpoint meta-data
+	 * @param now	the time to check
+	 * @return		<code>true</code> iff the given time is between the endpoint's activation and expiration dates. If
+	 *				either is not specified it assumed the endpoint does not have an activation/expiration date.
+	 */
+	static boolean isActive(final EndpointInfo ep, final ZonedDateTime now) {
+		final ZonedDateTime act = ep.getServiceActivationDate();
+		final ZonedDateTime exp = ep.getServiceExpirationDate();
+		return (act == null || now.isAfter(act)) && (exp == null || now.isBefore(exp));
+	}
+
+	private static boolean containsRole(final Collection<? extends Identifier> roles, final Identifier role) {
+		for (Identifier r : roles)
+			if (sameId(r, role))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Checks whether the given identifiers are equal. As the result processors use pooled identifiers (see {@link
+	 * IdentifierPool}) the identifiers are first compared by reference.
+	 *
+	 * @param id	the identifier to compare, must not be <code>null</code>
+	 * @param other	the identifier to compare with
+	 * @return	<code>true</code> if both identifiers are the same or equal, <code>false</code> otherwise
+	 */
+	static boolean sameId(final Identifier id, final Identifier other) {
+		return id == other || id.equals(other);
+	}
+}
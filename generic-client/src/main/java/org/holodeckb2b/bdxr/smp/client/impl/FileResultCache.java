@@ -0,0 +1,679 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.smp.client.api.ICachedResult;
+import org.holodeckb2b.bdxr.smp.client.api.IResponseCache;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
+import org.holodeckb2b.commons.util.Utils;
+
+/**
+ * Is an {@link IResponseCache} implementation that persists the raw responses in a file so the cached results survive a
+ * restart of the application. This prevents that all SMP servers (and the SML) are queried for all participants after
+ * a restart. The cached results are re-created lazily from the stored responses when they are first requested after
+ * the restart. As the responses are read in the same way as new responses, their signature is verified again. An
+ * entry which response can no longer be read is removed from the cache. Stored results can be re-validated with the SMP
+ * server using the <i>last modified</i> time stamp like in-memory cached results.
+ * <p>The file is an append-only log of changes to the cache. Each record is protected by a checksum, so when the
+ * application crashes while writing a record, the partially written record is detected and discarded when the cache is
+ * opened again. Note that records are not forced to disk when written, so the last changes may be lost when the
+ * operating system crashes.<br/>
+ * When the file exceeds the configured maximum size it is compacted by writing only the current entries to a new file
+ * that replaces the current one. If the current entries still take up more than half of the maximum size, the entries
+ * with the oldest <i>last queried</i> time stamp are removed.
+ * <p>Results stored using {@link #storeResult(URL, QueryResult, String, LocalDateTime)}, i.e. without the raw response,
+ * are only kept in memory.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class FileResultCache implements IResponseCache, Closeable {
+	private static final Logger	log = LogManager.getLogger(FileResultCache.class);
+
+	/**
+	 * The default maximum number of entries in the cache
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+	/**
+	 * The default maximum size of the cache file, 64 MB
+	 */
+	public static final long DEFAULT_MAX_FILE_SIZE = 64L * 1024 * 1024;
+	/**
+	 * The name of the cache file in the cache directory
+	 */
+	public static final String CACHE_FILE_NAME = "smp-results.log";
+
+	/**
+	 * Identifies the file as a cache file (the ASCII characters "SMPC") followed by the version of the file format
+	 */
+	private static final int MAGIC = 0x534d5043;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 8;
+	/**
+	 * The record types
+	 */
+	private static final byte RESPONSE = 1;
+	private static final byte NOT_FOUND = 2;
+	private static final byte LAST_QUERIED = 3;
+	private static final byte REMOVED = 4;
+	/**
+	 * The size of the record header, consisting of the length of the record body and its checksum
+	 */
+	private static final int RECORD_HEADER_SIZE = 8;
+	/**
+	 * The estimated size of a record without the response, used to decide which entries to remove when compacting
+	 */
+	private static final int RECORD_SIZE_ESTIMATE = 128;
+
+	/**
+	 * The path of the cache file
+	 */
+	private final Path	file;
+	/**
+	 * The maximum number of entries in the cache
+	 */
+	private final int	maxEntries;
+	/**
+	 * The maximum size of the cache file
+	 */
+	private final long	maxFileSize;
+	/**
+	 * The cached entries, ordered by the time they were last updated so the first entry is the one with the oldest
+	 * <i>last queried</i> time stamp
+	 */
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+	/**
+	 * Lock guarding both the entries and the cache file
+	 */
+	private final ReentrantLock	lock = new ReentrantLock();
+	/**
+	 * The channel used to write to and read from the cache file
+	 */
+	private FileChannel	channel;
+	/**
+	 * The reader used to re-create the query results from the stored responses
+	 */
+	private volatile ResponseReader	reader;
+
+	/**
+	 * Creates a new cache that stores the results in the given directory with the default maximum number of entries
+	 * and file size. When the directory already contains a cache file its entries are loaded.
+	 *
+	 * @param directory		the directory where the cache file is stored, will be created if it does not exist
+	 * @throws IOException	when the cache file cannot be opened or created
+	 */
+	public FileResultCache(final Path directory) throws IOException {
+		this(directory, DEFAULT_MAX_ENTRIES, DEFAULT_MAX_FILE_SIZE);
+	}
+
+	/**
+	 * Creates a new cache that stores the results in the given directory with the given maximum number of entries and
+	 * file size. When the directory already contains a cache file its entries are loaded.
+	 *
+	 * @param directory		the directory where the cache file is stored, will be created if it does not exist
+	 * @param maxEntries	the maximum number of entries in the cache, must be at least 1
+	 * @param maxFileSize	the maximum size of the cache file in bytes, must be at least 1024
+	 * @throws IOException	when the cache file cannot be opened or created
+	 */
+	public FileResultCache(final Path directory, final int maxEntries, final long maxFileSize) throws IOException {
+		if (directory == null)
+			throw new IllegalArgumentException("Cache directory must be specified");
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+		if (maxFileSize < 1024)
+			throw new IllegalArgumentException("Maximum file size must be at least 1024 bytes");
+		this.maxEntries = maxEntries;
+		this.maxFileSize = maxFileSize;
+		Files.createDirectories(directory);
+		this.file = directory.resolve(CACHE_FILE_NAME);
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+										StandardOpenOption.WRITE);
+		load();
+		log.debug("Opened file cache {} (max entries={}, max size={}, entries={})", file, maxEntries, maxFileSize,
+				  entries.size());
+	}
+
+	@Override
+	public void setResponseReader(final ResponseReader reader) {
+		this.reader = reader;
+	}
+
+	@Override
+	public ICachedResult storeResponse(URL query, byte[] response, QueryResult result, String lastModified,
+									   LocalDateTime queryTime) {
+		return store(query.toString(), new Entry(result, lastModified, queryTime, false), response);
+	}
+
+	@Override
+	public ICachedResult storeResult(URL query, QueryResult result, String lastModified, LocalDateTime queryTime) {
+		return store(query.toString(), new Entry(result, lastModified, queryTime, false), null);
+	}
+
+	@Override
+	public ICachedResult storeNotFound(URL query, LocalDateTime queryTime) {
+		return store(query.toString(), new Entry(null, null, queryTime, true), null);
+	}
+
+	@Override
+	public ICachedResult getCachedResult(URL query) {
+		final String key = query.toString();
+		final ResponseReader r = reader;
+		final Entry entry;
+		final byte[] response;
+		lock.lock();
+		try {
+			entry = entries.get(key);
+			if (entry == null || entry.notFound || entry.result != null)
+				return entry != null ? entry.toCachedResult() : null;
+			if (r == null) {
+				log.debug("Cannot re-create result for {} as no response reader is available", key);
+				return null;
+			}
+			try {
+				response = readResponse(entry);
+			} catch (IOException readFailure) {
+				log.warn("Could not read cached response for {} : {}", key, readFailure.getMessage());
+				removeEntry(key, entry);
+				return null;
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		try {
+			log.trace("Re-creating result for {} from cached response", key);
+			entry.result = r.read(response);
+			return entry.toCachedResult();
+		} catch (SMPQueryException | RuntimeException invalid) {
+			log.warn("Removing cached response for {} as it cannot be read : {}", key, invalid.getMessage());
+			lock.lock();
+			try {
+				removeEntry(key, entry);
+			} finally {
+				lock.unlock();
+			}
+			return null;
+		}
+	}
+
+	@Override
+	public void updateLastQueried(URL query, LocalDateTime queryTime) {
+		final String key = query.toString();
+		lock.lock();
+		try {
+			final Entry current = entries.get(key);
+			if (current == null || !current.lastQueried.isBefore(queryTime))
+				return;
+			final Entry updated = current.withLastQueried(queryTime);
+			if (current.isPersisted())
+				append(key, LAST_QUERIED, updated, null);
+			entries.remove(key);
+			entries.put(key, updated);
+		} catch (IOException writeFailure) {
+			log.error("Could not write to cache file {} : {}", file, writeFailure.getMessage());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			entries.clear();
+			channel.truncate(0);
+			writeHeader(channel);
+		} catch (IOException writeFailure) {
+			log.error("Could not clear cache file {} : {}", file, writeFailure.getMessage());
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of entries currently in the cache.
+	 *
+	 * @return	the number of cached entries
+	 */
+	public int size() {
+		lock.lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the current size of the cache file.
+	 *
+	 * @return	the size of the cache file in bytes
+	 * @throws IOException	when the size of the file cannot be determined
+	 */
+	public long getFileSize() throws IOException {
+		lock.lock();
+		try {
+			return channel.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Closes the cache file. The cache must not be used after it has been closed.
+	 *
+	 * @throws IOException	when the file cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			channel.force(false);
+			channel.close();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Helper method to store a new entry in the cache, if the current entry is older. The entry is persisted when it
+	 * is a <i>not found</i> result or a response is provided.
+	 *
+	 * @param key		the query URL
+	 * @param entry		the new entry
+	 * @param response	the raw response, <code>null</code> if not available
+	 * @return	the entry for the query URL
+	 */
+	private ICachedResult store(final String key, final Entry entry, final byte[] response) {
+		lock.lock();
+		try {
+			final Entry current = entries.get(key);
+			if (current != null && !current.lastQueried.isBefore(entry.lastQueried))
+				return current.toCachedResult();
+			try {
+				if (response != null || entry.notFound)
+					append(key, entry.notFound ? NOT_FOUND : RESPONSE, entry, response);
+				else if (current != null && current.isPersisted())
+					// Prevent that the older persisted entry is loaded again
+					append(key, REMOVED, entry, null);
+			} catch (IOException writeFailure) {
+				log.error("Could not write to cache file {} : {}", file, writeFailure.getMessage());
+			}
+			entries.remove(key);
+			entries.put(key, entry);
+			evictOverflow();
+			if (channel.size() > maxFileSize)
+				compact();
+		} catch (IOException sizeFailure) {
+			log.error("Could not check size of cache file {} : {}", file, sizeFailure.getMessage());
+		} finally {
+			lock.unlock();
+		}
+		return entry.toCachedResult();
+	}
+
+	/**
+	 * Helper method to remove the oldest entries while the cache has more than the maximum number of entries.
+	 */
+	private void evictOverflow() {
+		final Iterator<Entry> oldest = entries.values().iterator();
+		while (entries.size() > maxEntries && oldest.hasNext()) {
+			oldest.next();
+			oldest.remove();
+		}
+	}
+
+	/**
+	 * Helper method to remove the given entry, if it is still the current entry for the key. A <i>removed</i> record is
+	 * written so the entry is not loaded again, its other records are discarded at the next compaction of the file.
+	 */
+	private void removeEntry(final String key, final Entry entry) {
+		if (!entries.remove(key, entry))
+			return;
+		try {
+			append(key, REMOVED, entry, null);
+		} catch (IOException writeFailure) {
+			log.error("Could not write to cache file {} : {}", file, writeFailure.getMessage());
+		}
+	}
+
+	/**
+	 * Helper method to read the stored response of the given entry from the cache file.
+	 */
+	private byte[] readResponse(final Entry entry) throws IOException {
+		final ByteBuffer buf = ByteBuffer.allocate(entry.length);
+		long pos = entry.offset;
+		while (buf.hasRemaining()) {
+			final int n = channel.read(buf, pos);
+			if (n < 0)
+				throw new IOException("Unexpected end of file");
+			pos += n;
+		}
+		return buf.array();
+	}
+
+	/**
+	 * Helper method to append a record to the cache file. For a response record the position of the response in the
+	 * file is set in the entry.
+	 *
+	 * @param key		the query URL
+	 * @param type		the record type
+	 * @param entry		the entry to write
+	 * @param response	the raw response when writing a response record
+	 * @throws IOException	when the record cannot be written
+	 */
+	private void append(final String key, final byte type, final Entry entry, final byte[] response)
+																							throws IOException {
+		final long pos = channel.size();
+		final int responseOffset = writeRecord(channel, pos, key, type, entry, response);
+		if (type == RESPONSE) {
+			entry.offset = pos + responseOffset;
+			entry.length = response.length;
+		}
+	}
+
+	/**
+	 * Helper method to write a record to the given channel at the given position.
+	 *
+	 * @return	the offset of the response from the given position
+	 */
+	private static int writeRecord(final FileChannel ch, final long pos, final String key, final byte type,
+								   final Entry entry, final byte[] response) throws IOException {
+		final ByteArrayOutputStream body = new ByteArrayOutputStream(64 + (response != null ? response.length : 0));
+		final DataOutputStream out = new DataOutputStream(body);
+		out.writeByte(type);
+		writeString(out, key);
+		out.writeLong(toEpochMillis(entry.lastQueried));
+		int responseOffset = -1;
+		if (type == RESPONSE) {
+			writeString(out, entry.lastModified != null ? entry.lastModified : "");
+			out.writeInt(response.length);
+			responseOffset = RECORD_HEADER_SIZE + out.size();
+			out.write(response);
+		}
+		out.flush();
+		final byte[] data = body.toByteArray();
+		final CRC32 crc = new CRC32();
+		crc.update(data);
+		final ByteBuffer buf = ByteBuffer.allocate(RECORD_HEADER_SIZE + data.length);
+		buf.putInt(data.length).putInt((int) crc.getValue()).put(data).flip();
+		long p = pos;
+		while (buf.hasRemaining())
+			p += ch.write(buf, p);
+		return responseOffset;
+	}
+
+	/**
+	 * Helper method to write the file header to the given channel.
+	 */
+	private static void writeHeader(final FileChannel ch) throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+		long p = 0;
+		while (header.hasRemaining())
+			p += ch.write(header, p);
+	}
+
+	/**
+	 * Loads the entries from the cache file. Reading stops at the first invalid record, which is the result of an
+	 * interrupted write, and the file is truncated to remove it. When the file contains much more data than the
+	 * current entries it is compacted.
+	 *
+	 * @throws IOException	when the file cannot be read
+	 */
+	private void load() throws IOException {
+		final long size = channel.size();
+		if (size < HEADER_SIZE || !hasValidHeader()) {
+			if (size > 0)
+				log.warn("Cache file {} is not a valid cache file, replacing it", file);
+			channel.truncate(0);
+			writeHeader(channel);
+			return;
+		}
+
+		long pos = HEADER_SIZE;
+		final ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+		while (pos + RECORD_HEADER_SIZE <= size) {
+			recordHeader.clear();
+			channel.read(recordHeader, pos);
+			final int length = recordHeader.getInt(0);
+			if (length <= 0 || pos + RECORD_HEADER_SIZE + length > size)
+				break;
+			final ByteBuffer body = ByteBuffer.allocate(length);
+			while (body.hasRemaining())
+				if (channel.read(body, pos + RECORD_HEADER_SIZE + body.position()) < 0)
+					break;
+			final CRC32 crc = new CRC32();
+			crc.update(body.array());
+			if ((int) crc.getValue() != recordHeader.getInt(4))
+				break;
+			readRecord(body.flip(), pos);
+			pos += RECORD_HEADER_SIZE + length;
+		}
+		if (pos < size) {
+			log.warn("Discarding {} bytes of incomplete data at end of cache file {}", size - pos, file);
+			channel.truncate(pos);
+		}
+		evictOverflow();
+		// Compact when the file is too large or contains mostly outdated records
+		if (pos > maxFileSize || (pos > maxFileSize / 2 && pos > 2 * persistedSize()))
+			compact();
+	}
+
+	/**
+	 * Helper method to check the file header
+	 */
+	private boolean hasValidHeader() throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		channel.read(header, 0);
+		return header.getInt(0) == MAGIC && header.getInt(4) == VERSION;
+	}
+
+	/**
+	 * Helper method to apply a record read from the file to the entries.
+	 *
+	 * @param body	the record body
+	 * @param pos	the position of the record in the file
+	 */
+	private void readRecord(final ByteBuffer body, final long pos) {
+		final byte type = body.get();
+		final String key = readUTF(body);
+		final LocalDateTime lastQueried = fromEpochMillis(body.getLong());
+		switch (type) {
+		case RESPONSE :
+			final String lastModified = readUTF(body);
+			final Entry entry = new Entry(null, !lastModified.isEmpty() ? lastModified : null, lastQueried, false);
+			entry.length = body.getInt();
+			entry.offset = pos + RECORD_HEADER_SIZE + body.position();
+			entries.remove(key);
+			entries.put(key, entry);
+			break;
+		case NOT_FOUND :
+			entries.remove(key);
+			entries.put(key, new Entry(null, null, lastQueried, true));
+			break;
+		case LAST_QUERIED :
+			final Entry current = entries.get(key);
+			if (current != null && lastQueried.isAfter(current.lastQueried)) {
+				entries.remove(key);
+				entries.put(key, current.withLastQueried(lastQueried));
+			}
+			break;
+		case REMOVED :
+			entries.remove(key);
+			break;
+		default :
+			log.warn("Ignoring unknown record type ({}) in cache file {}", type, file);
+		}
+	}
+
+	/**
+	 * Compacts the cache file by writing the current entries to a new file which then replaces the current file. If
+	 * the current entries take up more than half of the maximum file size, the oldest entries are removed. Entries that
+	 * are only kept in memory are not affected.
+	 */
+	private void compact() {
+		long size = persistedSize();
+		final Iterator<Entry> oldest = entries.values().iterator();
+		while (size > maxFileSize / 2 && oldest.hasNext()) {
+			final Entry e = oldest.next();
+			if (e.isPersisted()) {
+				size -= e.length + RECORD_SIZE_ESTIMATE;
+				oldest.remove();
+			}
+		}
+
+		final Path tmp = file.resolveSibling(CACHE_FILE_NAME + ".tmp");
+		final List<Long> newOffsets = new ArrayList<>(entries.size());
+		try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+												StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeHeader(out);
+			for (Map.Entry<String, Entry> e : entries.entrySet()) {
+				final Entry entry = e.getValue();
+				long offset = -1;
+				if (entry.notFound)
+					writeRecord(out, out.size(), e.getKey(), NOT_FOUND, entry, null);
+				else if (entry.offset >= 0) {
+					final long pos = out.size();
+					offset = pos + writeRecord(out, pos, e.getKey(), RESPONSE, entry, readResponse(entry));
+				}
+				newOffsets.add(offset);
+			}
+			out.force(true);
+			channel.close();
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException compactionFailure) {
+			log.error("Could not compact cache file {} : {}", file, Utils.getExceptionTrace(compactionFailure));
+			try {
+				Files.deleteIfExists(tmp);
+				if (!channel.isOpen())
+					channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			} catch (IOException reopenFailure) {
+				log.error("Could not re-open cache file {} : {}", file, reopenFailure.getMessage());
+			}
+			return;
+		}
+
+		final Iterator<Long> offsets = newOffsets.iterator();
+		for (Entry entry : entries.values())
+			entry.offset = offsets.next();
+		try {
+			channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			log.debug("Compacted cache file {} to {} bytes", file, channel.size());
+		} catch (IOException reopenFailure) {
+			log.error("Could not re-open cache file {} : {}", file, reopenFailure.getMessage());
+		}
+	}
+
+	/**
+	 * Helper method to estimate the size of the persisted entries in the cache file.
+	 */
+	private long persistedSize() {
+		long size = HEADER_SIZE;
+		for (Entry e : entries.values())
+			if (e.isPersisted())
+				size += e.length + RECORD_SIZE_ESTIMATE;
+		return size;
+	}
+
+	private static void writeString(final DataOutputStream out, final String s) throws IOException {
+		final byte[] utf = s.getBytes(StandardCharsets.UTF_8);
+		out.writeShort(utf.length);
+		out.write(utf);
+	}
+
+	private static String readUTF(final ByteBuffer buf) {
+		final int length = Short.toUnsignedInt(buf.getShort());
+		final byte[] utf = new byte[length];
+		buf.get(utf);
+		return new String(utf, StandardCharsets.UTF_8);
+	}
+
+	private static long toEpochMillis(final LocalDateTime t) {
+		return t.toInstant(ZoneOffset.UTC).toEpochMilli();
+	}
+
+	private static LocalDateTime fromEpochMillis(final long millis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+	}
+
+	/**
+	 * Is a cache entry. The query result of entries loaded from the file is only set when the entry is first requested.
+	 */
+	private static final class Entry {
+		volatile QueryResult	result;
+		final String		lastModified;
+		final LocalDateTime	lastQueried;
+		final boolean		notFound;
+		/**
+		 * Position and length of the stored response in the cache file, -1 and 0 when there is no stored response
+		 */
+		long	offset = -1;
+		int		length = 0;
+
+		Entry(final QueryResult result, final String lastModified, final LocalDateTime lastQueried,
+			  final boolean notFound) {
+			this.result = result;
+			this.lastModified = lastModified;
+			this.lastQueried = lastQueried;
+			this.notFound = notFound;
+		}
+
+		Entry withLastQueried(final LocalDateTime queryTime) {
+			final Entry e = new Entry(result, lastModified, queryTime, notFound);
+			e.offset = offset;
+			e.length = length;
+			return e;
+		}
+
+		boolean isPersisted() {
+			return offset >= 0 || notFound;
+		}
+
+		ICachedResult toCachedResult() {
+			return notFound ? new InMemoryResultCache.CachedResult(lastQueried)
+							: new InMemoryResultCache.CachedResult(result, lastModified, lastQueried);
+		}
+	}
+}
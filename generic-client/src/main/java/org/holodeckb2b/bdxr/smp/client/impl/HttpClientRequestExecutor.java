@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.io.ByteArrayInputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.smp.client.api.IAsyncRequestExecutor;
+import org.holodeckb2b.bdxr.smp.client.api.IRequestExecutor;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPResponse;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.client.impl.DefaultRequestExecutor.SMPResponseConnection;
+import org.holodeckb2b.commons.util.Utils;
+
+/**
+ * Is an {@link IRequestExecutor} implementation that uses the {@link HttpClient} of the JDK to execute the SMP
+ * requests. Contrary to the {@link DefaultRequestExecutor}, which opens a new connection for each request, all requests
+ * executed by an instance of this executor share one <code>HttpClient</code>, so connections (and TLS sessions) to an
+ * SMP server are re-used for subsequent queries to the same server. HTTP/2 is used when supported by the server.
+ * <p>The time out for setting up the connection and for receiving the complete response, i.e. both the headers and
+ * the body, can be configured separately. The
+ * size of the connection pool and the time idle connections are kept open are managed by the JDK and can be changed
+ * using the <code>jdk.httpclient.connectionPoolSize</code> and <code>jdk.httpclient.keepalive.timeout</code> system
+ * properties. When more control over the HTTP client is needed, for example to set a specific SSL context or proxy, a
+ * pre-configured <code>HttpClient</code> can be provided.
+ * <p>The executor also implements {@link IAsyncRequestExecutor} so the asynchronous queries of the SMP client do not
+ * block a thread while waiting for the response of the SMP server.
+ * <p>As the executor holds a connection pool, an instance should be shared between SMP clients querying the same
+ * servers instead of creating a new instance for each client.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class HttpClientRequestExecutor implements IAsyncRequestExecutor {
+	private static final Logger	log = LogManager.getLogger(HttpClientRequestExecutor.class);
+
+	/**
+	 * Default time out for setting up the connection is 10 seconds
+	 */
+	public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+	/**
+	 * Default time out for receiving the complete response, including the body, is 10 seconds
+	 */
+	public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+	/**
+	 * The HTTP client used to execute the requests
+	 */
+	private final HttpClient	httpClient;
+	/**
+	 * The time out for receiving the complete response to a request, including the body
+	 */
+	private final Duration		requestTimeout;
+
+	/**
+	 * Creates a new instance with the default time out settings.
+	 */
+	public HttpClientRequestExecutor() {
+		this(DEFAULT_CONNECT_TIMEOUT, DEFAULT_REQUEST_TIMEOUT);
+	}
+
+	/**
+	 * Creates a new instance with the given time out settings.
+	 *
+	 * @param connectTimeout	the time out for setting up the connection to the SMP server
+	 * @param requestTimeout	the time out for receiving the complete response, including the body, from the SMP
+	 * 							server
+	 */
+	public HttpClientRequestExecutor(final Duration connectTimeout, final Duration requestTimeout) {
+		this(connectTimeout, requestTimeout, null);
+	}
+
+	/**
+	 * Creates a new instance with the given time out settings and that uses the given executor for handling the
+	 * asynchronous tasks of the HTTP client.
+	 *
+	 * @param connectTimeout	the time out for setting up the connection to the SMP server
+	 * @param requestTimeout	the time out for receiving the complete response, including the body, from the SMP
+	 * 							server
+	 * @param executor			the executor to be used by the HTTP client, <code>null</code> if the default executor
+	 * 							of the HTTP client should be used
+	 */
+	public HttpClientRequestExecutor(final Duration connectTimeout, final Duration requestTimeout,
+									 final Executor executor) {
+		if (connectTimeout == null || connectTimeout.isNegative() || connectTimeout.isZero())
+			throw new IllegalArgumentException("Connect time out must be positive");
+		final HttpClient.Builder builder = HttpClient.newBuilder()
+											.version(HttpClient.Version.HTTP_2)
+											.followRedirects(HttpClient.Redirect.NORMAL)
+											.connectTimeout(connectTimeout);
+		if (executor != null)
+			builder.executor(executor);
+		this.httpClient = builder.build();
+		this.requestTimeout = checkRequestTimeout(requestTimeout);
+	}
+
+	/**
+	 * Creates a new instance that uses the given HTTP client for executing the requests.
+	 *
+	 * @param client			the HTTP client to use
+	 * @param requestTimeout	the time out for receiving the complete response, including the body, from the SMP
+	 * 							server
+	 */
+	public HttpClientRequestExecutor(final HttpClient client, final Duration requestTimeout) {
+		if (client == null)
+			throw new IllegalArgumentException("A HTTP client must be provided");
+		this.httpClient = client;
+		this.requestTimeout = checkRequestTimeout(requestTimeout);
+	}
+
+	private static Duration checkRequestTimeout(final Duration timeout) {
+		if (timeout == null || timeout.isNegative() || timeout.isZero())
+			throw new IllegalArgumentException("Request time out must be positive");
+		return timeout;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The request is executed asynchronously and the calling thread waits until the complete response has been
+	 * received or the request time out has passed.
+	 */
+	@Override
+	public ISMPResponse executeRequest(final URL requestURL, final String lastModified)
+															throws SMPQueryException, UnsupportedOperationException {
+		try {
+			return executeRequestAsync(requestURL, lastModified).get();
+		} catch (ExecutionException failed) {
+			final Throwable cause = failed.getCause();
+			if (cause instanceof SMPQueryException)
+				throw (SMPQueryException) cause;
+			else if (cause instanceof UnsupportedOperationException)
+				throw (UnsupportedOperationException) cause;
+			else
+				throw new SMPQueryException("Error while executing the SMP query", cause);
+		} catch (InterruptedException interrupted) {
+			Thread.currentThread().interrupt();
+			log.error("Interrupted while waiting for response from SMP server at {}:{}", requestURL.getHost(),
+					  requestURL.getPort());
+			throw new SMPQueryException("Interrupted while executing the SMP query", interrupted);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>The request is sent using {@link HttpClient#sendAsync(HttpRequest, HttpResponse.BodyHandler)} and the
+	 * response body is read completely before the returned future is completed. Therefore the future is completed by
+	 * one of the threads of the executor used by the HTTP client. When the complete response is not received within
+	 * the request time out, the exchange is cancelled and the future is completed with a {@link SMPQueryException}.
+	 */
+	@Override
+	public CompletableFuture<ISMPResponse> executeRequestAsync(final URL requestURL, final String lastModified) {
+		final HttpRequest request;
+		try {
+			request = createRequest(requestURL, lastModified);
+		} catch (SMPQueryException | UnsupportedOperationException invalidRequest) {
+			return CompletableFuture.failedFuture(invalidRequest);
+		}
+		final String smpServer = requestURL.getHost() + ":" + requestURL.getPort();
+		log.trace("Starting asynchronous query: {}", requestURL.getPath());
+		// The time out of the request only applies until the response headers are received, so the complete exchange
+		// is bounded separately to prevent a stalled response body from blocking the query forever
+		final CompletableFuture<HttpResponse<byte[]>> exchange =
+									httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+		final long timeout = requestTimeout.toMillis();
+		return exchange.copy().orTimeout(timeout, TimeUnit.MILLISECONDS).handle((response, failure) -> {
+			if (failure != null) {
+				final Throwable cause = failure instanceof CompletionException && failure.getCause() != null ?
+																						failure.getCause() : failure;
+				if (cause instanceof TimeoutException) {
+					exchange.cancel(true);
+					log.error("No complete response received from the SMP server at {} within {} ms", smpServer,
+							  timeout);
+					throw new CompletionException(
+								new SMPQueryException("Time out while receiving the response from the SMP server"));
+				}
+				log.error("An error occurred while connecting to the SMP server at {}. Error message: {}", smpServer,
+						  cause.getMessage());
+				throw new CompletionException(
+								new SMPQueryException("Error while connecting to the SMP server", cause));
+			}
+			final int status = response.statusCode();
+			log.trace("Executed request to {} using {}", requestURL.toString(), response.version());
+			if (status / 200 == 1)
+				return new SMPResponseConnection(status,
+												 response.headers().firstValue("Last-Modified").orElse(null),
+												 new ByteArrayInputStream(response.body()));
+			else
+				return new SMPResponseConnection(status, null, null);
+		});
+	}
+
+	/**
+	 * Helper method to create the HTTP request for the given query URL.
+	 *
+	 * @param requestURL	The complete SMP query URL
+	 * @param lastModified	The value to set for the <i>if-Modified-Since</i> header, <code>null</code> if the header
+	 *						should not be included
+	 * @return	the HTTP request to execute
+	 * @throws SMPQueryException	when the query URL cannot be used for a HTTP request
+	 * @throws UnsupportedOperationException when the query URL does not use the HTTP(S) protocol
+	 */
+	private HttpRequest createRequest(final URL requestURL, final String lastModified)
+															throws SMPQueryException, UnsupportedOperationException {
+		final String protocol = requestURL.getProtocol();
+		if (!"http".equalsIgnoreCase(protocol) && !"https".equalsIgnoreCase(protocol)) {
+			log.error("Unsupported transport protocol ({})", protocol);
+			throw new UnsupportedOperationException();
+		}
+		try {
+			final HttpRequest.Builder request = HttpRequest.newBuilder(requestURL.toURI())
+															.timeout(requestTimeout)
+															.GET();
+			if (!Utils.isNullOrEmpty(lastModified)) {
+				log.trace("Setting If-Modified-Since header to {}", lastModified);
+				request.header("If-Modified-Since", lastModified);
+			}
+			return request.build();
+		} catch (URISyntaxException | IllegalArgumentException invalidURL) {
+			log.error("Invalid query URL ({}) : {}", requestURL.toString(), invalidURL.getMessage());
+			throw new SMPQueryException("Invalid query URL", invalidURL);
+		}
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.util.Objects;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.IDScheme;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.IDSchemeImpl;
+import org.holodeckb2b.commons.util.Utils;
+
+/**
+ * Is a bounded pool of identifier objects which is used by the result processors to share the identifiers included in
+ * the SMP responses. The document, process, role and transport profile identifiers used in a network are limited to a
+ * small set of values that are repeated in every response. By using the same object for the same identifier, cached
+ * query results share the identifiers instead of each holding its own copy. It also allows the client to compare the
+ * identifiers by reference before doing a full comparison.
+ * <p>The identifiers are pooled by the exact scheme identifier and value. Like the identifiers created using {@link
+ * IdentifierImpl#IdentifierImpl(String, String)} the identifier schemes are not case sensitive. As the pooled objects
+ * are shared they cannot be modified, trying to do so will result in an <code>UnsupportedOperationException</code>.
+ * <p>The processors included in this library use the {@link #getShared() shared instance}. Participant identifiers
+ * should not be pooled as they are (almost) unique per response.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class IdentifierPool {
+	/**
+	 * The default maximum number of identifiers in the pool
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	/**
+	 * The shared instance
+	 */
+	private static final IdentifierPool SHARED = new IdentifierPool(DEFAULT_MAX_ENTRIES);
+
+	/**
+	 * The identifier used to indicate that a service is not bound to a specific process
+	 */
+	private static final ProcessIdentifier NO_PROCESS = new PooledProcessIdentifier();
+
+	/**
+	 * The pooled identifiers
+	 */
+	private final BoundedLRUMap<Key, Identifier>	identifiers;
+	/**
+	 * The pooled identifier schemes, mapped by their scheme identifier
+	 */
+	private final BoundedLRUMap<String, IDScheme>	schemes;
+
+	/**
+	 * Creates a new pool that holds at most the given number of identifiers.
+	 *
+	 * @param maxEntries	the maximum number of identifiers in the pool, must be at least 1
+	 */
+	public IdentifierPool(final int maxEntries) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+		this.identifiers = new BoundedLRUMap<>(maxEntries);
+		this.schemes = new BoundedLRUMap<>(Math.max(1, maxEntries / 10));
+	}
+
+	/**
+	 * Gets the pool shared by the result processors.
+	 *
+	 * @return	the shared identifier pool
+	 */
+	public static IdentifierPool getShared() {
+		return SHARED;
+	}
+
+	/**
+	 * Gets the (case insensitive) identifier scheme with the given scheme identifier.
+	 *
+	 * @param schemeId	the scheme identifier
+	 * @return	the pooled identifier scheme, <code>null</code> if the given scheme identifier is <code>null</code> or
+	 * 			empty
+	 */
+	public IDScheme getScheme(final String schemeId) {
+		if (Utils.isNullOrEmpty(schemeId))
+			return null;
+		final IDScheme cached = schemes.get(schemeId);
+		return cached != null ? cached : schemes.computeIfAbsent(schemeId, PooledScheme::new);
+	}
+
+	/**
+	 * Gets the identifier with the given value in the given scheme.
+	 *
+	 * @param value		the identifier value, must not be <code>null</code> or empty
+	 * @param schemeId	the scheme identifier, may be <code>null</code>
+	 * @return	the pooled identifier
+	 */
+	public Identifier getIdentifier(final String value, final String schemeId) {
+		return get(value, schemeId, false);
+	}
+
+	/**
+	 * Gets the process identifier with the given value in the given scheme.
+	 *
+	 * @param value		the identifier value, must not be <code>null</code> or empty
+	 * @param schemeId	the scheme identifier, may be <code>null</code>
+	 * @return	the pooled process identifier
+	 */
+	public ProcessIdentifier getProcessIdentifier(final String value, final String schemeId) {
+		return (ProcessIdentifier) get(value, schemeId, true);
+	}
+
+	/**
+	 * Gets the process identifier used to indicate that the service is not bound to a specific process.
+	 *
+	 * @return	the shared <i>"no process"</i> identifier
+	 */
+	public ProcessIdentifier getNoProcessIdentifier() {
+		return NO_PROCESS;
+	}
+
+	/**
+	 * Removes all identifiers from the pool.
+	 */
+	public void clear() {
+		identifiers.clear();
+		schemes.clear();
+	}
+
+	/**
+	 * Helper method to get a pooled identifier.
+	 *
+	 * @param value		the identifier value
+	 * @param schemeId	the scheme identifier
+	 * @param process	indicates whether a process identifier is requested
+	 * @return	the pooled identifier
+	 */
+	private Identifier get(final String value, final String schemeId, final boolean process) {
+		final Key key = new Key(process, schemeId, value);
+		final Identifier cached = identifiers.get(key);
+		if (cached != null)
+			return cached;
+
+		Utils.requireNotNullOrEmpty(value);
+		final IDScheme scheme = getScheme(schemeId);
+		final Identifier newId = process ? new PooledProcessIdentifier(value, scheme)
+										 : new PooledIdentifier(value, scheme);
+		return identifiers.computeIfAbsent(key, k -> newId);
+	}
+
+	/**
+	 * Is the key of a pooled identifier.
+	 */
+	private static final class Key {
+		final boolean	process;
+		final String	schemeId;
+		final String	value;
+		final int		hash;
+
+		Key(final boolean process, final String schemeId, final String value) {
+			this.process = process;
+			this.schemeId = schemeId;
+			this.value = value;
+			this.hash = 31 * (31 * Boolean.hashCode(process) + Objects.hashCode(schemeId)) + Objects.hashCode(value);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof Key))
+				return false;
+			final Key other = (Key) o;
+			return hash == other.hash && process == other.process && Objects.equals(schemeId, other.schemeId)
+					&& Objects.equals(value, other.value);
+		}
+	}
+
+	/**
+	 * Is a pooled identifier scheme which cannot be modified.
+	 */
+	private static final class PooledScheme extends IDSchemeImpl {
+		private static final long serialVersionUID = -3460207598235163873L;
+
+		PooledScheme(final String schemeId) {
+			super(schemeId);
+		}
+
+		@Override
+		public void setSchemeId(String schemeId) {
+			throw new UnsupportedOperationException("Pooled identifier scheme cannot be modified");
+		}
+
+		@Override
+		public void setCaseSensitive(boolean caseSensitive) {
+			throw new UnsupportedOperationException("Pooled identifier scheme cannot be modified");
+		}
+	}
+
+	/**
+	 * Is a pooled identifier which cannot be modified.
+	 */
+	private static final class PooledIdentifier extends IdentifierImpl {
+		private static final long serialVersionUID = 2319840716532902519L;
+
+		PooledIdentifier(final String value, final IDScheme scheme) {
+			super(value, scheme);
+		}
+
+		@Override
+		public void setValue(String value) {
+			throw new UnsupportedOperationException("Pooled identifier cannot be modified");
+		}
+
+		@Override
+		public void setValue(String value, IDScheme scheme) {
+			throw new UnsupportedOperationException("Pooled identifier cannot be modified");
+		}
+	}
+
+	/**
+	 * Is a pooled process identifier which cannot be modified.
+	 */
+	private static final class PooledProcessIdentifier extends ProcessIdentifierImpl {
+		private static final long serialVersionUID = 6871024433395018162L;
+
+		PooledProcessIdentifier() {
+			super();
+		}
+
+		PooledProcessIdentifier(final String value, final IDScheme scheme) {
+			super(value, scheme);
+		}
+
+		@Override
+		public void setValue(String value) {
+			throw new UnsupportedOperationException("Pooled identifier cannot be modified");
+		}
+
+		@Override
+		public void setValue(String value, IDScheme scheme) {
+			throw new UnsupportedOperationException("Pooled identifier cannot be modified");
+		}
+
+		@Override
+		public void setIsNoProcess(boolean isNoProcess) {
+			throw new UnsupportedOperationException("Pooled identifier cannot be modified");
+		}
+	}
+}
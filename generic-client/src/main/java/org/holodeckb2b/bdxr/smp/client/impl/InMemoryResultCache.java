@@ -0,0 +1,243 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.smp.client.api.ICachedResult;
+import org.holodeckb2b.bdxr.smp.client.api.IResultCache;
+import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
+
+/**
+ * Is an {@link IResultCache} implementation that keeps the query results in memory. The cache holds a configurable
+ * maximum number of entries and when full evicts the entry with the oldest <i>last queried</i> time stamp, as required
+ * by the interface. To keep contention low when the cache is used by many threads concurrently, the entries are spread
+ * over a number of separately locked segments (see {@link BoundedLRUMap}). Because of this the evicted entry is the
+ * oldest one of its segment, which may not be the oldest entry of the whole cache.
+ * <p>Optionally a <i>time to live</i> can be set for the entries, after which an entry that has not been re-queried is
+ * removed from the cache. Note that this is different from the maximum time a result may be re-used without querying
+ * the SMP server (see {@link SMPClientConfig#setMaxLocalCacheTime(int)}), because expired results are still useful for
+ * executing a conditional query using the <i>last modified</i> time stamp.
+ * <p>The cache supports caching of <i>not found</i> results (see {@link #storeNotFound(URL, LocalDateTime)}).
+ * <p>The cache keeps track of the number of hits, misses, evictions and expirations which can be used for monitoring
+ * its effectiveness.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class InMemoryResultCache implements IResultCache {
+	private static final Logger	log = LogManager.getLogger(InMemoryResultCache.class);
+
+	/**
+	 * The default maximum number of entries in the cache
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	/**
+	 * The cached entries, mapped by the string representation of the query URL. The <code>URL</code> itself is not
+	 * used as key because its <code>equals()</code> and <code>hashCode()</code> methods resolve the host name.
+	 */
+	private final BoundedLRUMap<String, CachedResult>	entries;
+	/**
+	 * The number of minutes an entry may stay in the cache after the last query, 0 if entries do not expire
+	 */
+	private final int	timeToLive;
+
+	private final LongAdder	hits = new LongAdder();
+	private final LongAdder	misses = new LongAdder();
+	private final LongAdder	expirations = new LongAdder();
+
+	/**
+	 * Creates a new cache with the default maximum number of entries and without expiration of entries.
+	 */
+	public InMemoryResultCache() {
+		this(DEFAULT_MAX_ENTRIES, 0);
+	}
+
+	/**
+	 * Creates a new cache with the given maximum number of entries and without expiration of entries.
+	 *
+	 * @param maxEntries	the maximum number of entries in the cache, must be at least 1
+	 */
+	public InMemoryResultCache(final int maxEntries) {
+		this(maxEntries, 0);
+	}
+
+	/**
+	 * Creates a new cache with the given maximum number of entries and time to live of the entries.
+	 *
+	 * @param maxEntries	the maximum number of entries in the cache, must be at least 1
+	 * @param timeToLive	the number of minutes an entry may stay in the cache after the last query, 0 if entries
+	 * 						should not expire
+	 */
+	public InMemoryResultCache(final int maxEntries, final int timeToLive) {
+		if (maxEntries < 1)
+			throw new IllegalArgumentException("Maximum number of entries must be at least 1");
+		if (timeToLive < 0)
+			throw new IllegalArgumentException("Time to live must not be negative");
+		this.entries = new BoundedLRUMap<>(maxEntries, false);
+		this.timeToLive = timeToLive;
+		log.debug("Created new in-memory cache (max entries={}, ttl={} min)", maxEntries, timeToLive);
+	}
+
+	@Override
+	public ICachedResult storeResult(URL query, QueryResult result, String lastModified, LocalDateTime queryTime) {
+		return entries.compute(query.toString(), (q, current) ->
+								current == null || current.getLastQueried().isBefore(queryTime) ?
+													new CachedResult(result, lastModified, queryTime) : current);
+	}
+
+	@Override
+	public ICachedResult storeNotFound(URL query, LocalDateTime queryTime) {
+		return entries.compute(query.toString(), (q, current) ->
+								current == null || current.getLastQueried().isBefore(queryTime) ?
+													new CachedResult(queryTime) : current);
+	}
+
+	@Override
+	public ICachedResult getCachedResult(URL query) {
+		final String key = query.toString();
+		final CachedResult entry = entries.get(key);
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		if (timeToLive > 0 && entry.getLastQueried().plusMinutes(timeToLive).isBefore(LocalDateTime.now())) {
+			log.trace("Removing expired entry for {}", key);
+			if (entries.remove(key, entry))
+				expirations.increment();
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry;
+	}
+
+	@Override
+	public void updateLastQueried(URL query, LocalDateTime queryTime) {
+		entries.compute(query.toString(), (q, current) ->
+								current == null || !current.getLastQueried().isBefore(queryTime) ? current :
+										current.withLastQueried(queryTime));
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * Gets the number of entries currently in the cache.
+	 *
+	 * @return	the number of cached entries
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Gets the number of times a cached result was found for the requested query.
+	 *
+	 * @return	the number of cache hits
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Gets the number of times no (valid) cached result was available for the requested query.
+	 *
+	 * @return	the number of cache misses
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Gets the number of entries that were evicted because the cache was full.
+	 *
+	 * @return	the number of evicted entries
+	 */
+	public long getEvictionCount() {
+		return entries.getEvictionCount();
+	}
+
+	/**
+	 * Gets the number of entries that were removed because their time to live expired.
+	 *
+	 * @return	the number of expired entries
+	 */
+	public long getExpirationCount() {
+		return expirations.sum();
+	}
+
+	/**
+	 * Is the {@link ICachedResult} implementation used by the in-memory cache. Instances are immutable, an update of
+	 * the <i>last queried</i> time stamp results in a new entry.
+	 */
+	static class CachedResult implements ICachedResult {
+		private final QueryResult	result;
+		private final String		lastModified;
+		private final LocalDateTime	lastQueried;
+		private final boolean		notFound;
+
+		CachedResult(final QueryResult result, final String lastModified, final LocalDateTime lastQueried) {
+			this(result, lastModified, lastQueried, false);
+		}
+
+		CachedResult(final LocalDateTime lastQueried) {
+			this(null, null, lastQueried, true);
+		}
+
+		private CachedResult(final QueryResult result, final String lastModified, final LocalDateTime lastQueried,
+							 final boolean notFound) {
+			this.result = result;
+			this.lastModified = lastModified;
+			this.lastQueried = lastQueried;
+			this.notFound = notFound;
+		}
+
+		CachedResult withLastQueried(final LocalDateTime queryTime) {
+			return new CachedResult(result, lastModified, queryTime, notFound);
+		}
+
+		@Override
+		public QueryResult getQueryResult() {
+			return result;
+		}
+
+		@Override
+		public String getLastModified() {
+			return lastModified;
+		}
+
+		@Override
+		public LocalDateTime getLastQueried() {
+			return lastQueried;
+		}
+
+		@Override
+		public boolean isNotFound() {
+			return notFound;
+		}
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Is a simple pool of objects that are expensive to create and that are not thread safe, like XML parsers. A thread
+ * takes an instance from the pool using {@link #acquire()} and must return it using {@link #release(Object)} when done.
+ * If there is no idle instance available when one is requested, a new instance is created, so a thread never has to
+ * wait for an instance. The number of idle instances kept in the pool however is limited and instances released
+ * while the pool is full are discarded.
+ * <p>Before an instance is put back into the pool it is reset using the optionally provided function, so the next
+ * user gets an instance in its initial state. If resetting the instance fails it is discarded.
+ *
+ * @param <T>	type of the pooled objects
+ * @param <E>	type of exception that may be thrown when creating a new instance
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class InstancePool<T, E extends Exception> {
+	private static final Logger	log = LogManager.getLogger(InstancePool.class);
+
+	/**
+	 * Default maximum number of idle instances kept in a pool, based on the number of available processors
+	 */
+	public static final int DEFAULT_MAX_IDLE = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * Defines the function used to create new instances of the pooled objects.
+	 *
+	 * @param <T>	type of the pooled objects
+	 * @param <E>	type of exception that may be thrown when creating a new instance
+	 */
+	@FunctionalInterface
+	public interface Factory<T, E extends Exception> {
+		/**
+		 * Creates a new instance.
+		 *
+		 * @return	the new instance
+		 * @throws E	when the instance could not be created
+		 */
+		T create() throws E;
+	}
+
+	/**
+	 * The idle instances
+	 */
+	private final ArrayBlockingQueue<T>	idle;
+	/**
+	 * The factory to create new instances
+	 */
+	private final Factory<T, E>			factory;
+	/**
+	 * The function to reset an instance before it is returned to the pool, may be <code>null</code>
+	 */
+	private final Consumer<T>			reset;
+
+	/**
+	 * Creates a new pool with the default maximum number of idle instances and without resetting of instances.
+	 *
+	 * @param factory	the factory to create new instances
+	 */
+	public InstancePool(final Factory<T, E> factory) {
+		this(DEFAULT_MAX_IDLE, factory, null);
+	}
+
+	/**
+	 * Creates a new pool with the default maximum number of idle instances.
+	 *
+	 * @param factory	the factory to create new instances
+	 * @param reset		the function to reset an instance before it is returned to the pool, may be <code>null</code>
+	 */
+	public InstancePool(final Factory<T, E> factory, final Consumer<T> reset) {
+		this(DEFAULT_MAX_IDLE, factory, reset);
+	}
+
+	/**
+	 * Creates a new pool.
+	 *
+	 * @param maxIdle	the maximum number of idle instances kept in the pool, must be at least 1
+	 * @param factory	the factory to create new instances
+	 * @param reset		the function to reset an instance before it is returned to the pool, may be <code>null</code>
+	 */
+	public InstancePool(final int maxIdle, final Factory<T, E> factory, final Consumer<T> reset) {
+		if (maxIdle < 1)
+			throw new IllegalArgumentException("Maximum number of idle instances must be at least 1");
+		if (factory == null)
+			throw new IllegalArgumentException("A factory must be provided");
+		this.idle = new ArrayBlockingQueue<>(maxIdle);
+		this.factory = factory;
+		this.reset = reset;
+	}
+
+	/**
+	 * Gets an instance from the pool. If no idle instance is available a new one is created.
+	 *
+	 * @return	an instance for exclusive use by the caller until it is released
+	 * @throws E	when a new instance had to be created and this failed
+	 */
+	public T acquire() throws E {
+		final T instance = idle.poll();
+		return instance != null ? instance : factory.create();
+	}
+
+	/**
+	 * Returns an instance to the pool. The instance is reset and if there is room in the pool it is added to the
+	 * idle instances. The caller must not use the instance anymore after releasing it.
+	 *
+	 * @param instance	the instance to return, may be <code>null</code> in which case nothing is done
+	 */
+	public void release(final T instance) {
+		if (instance == null)
+			return;
+		if (reset != null)
+			try {
+				reset.accept(instance);
+			} catch (RuntimeException resetFailed) {
+				log.warn("Could not reset instance of {}, discarding it. Error: {}", instance.getClass().getName(),
+						 resetFailed.getMessage());
+				return;
+			}
+		idle.offer(instance);
+	}
+
+	/**
+	 * Gets the number of idle instances currently available in the pool.
+	 *
+	 * @return	number of idle instances
+	 */
+	public int getIdleCount() {
+		return idle.size();
+	}
+}
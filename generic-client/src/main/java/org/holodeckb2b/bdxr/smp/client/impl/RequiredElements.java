@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.util.Collection;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+
+/**
+ * Checks that the meta-data elements that are required by the SMP specifications are included in the response. The
+ * result processors use this check while converting the XML response into the object model, so a response that does
+ * not contain all required meta-data is rejected regardless of whether it has been validated against the XML schema.
+ * <p>An element is considered to be missing when its unmarshalled value is <code>null</code> or, for elements that
+ * may occur multiple times, when the list of values is empty. As with schema validation an element without content is
+ * not considered missing, checking its value is left to the conversion.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public final class RequiredElements {
+	private static final Logger	log = LogManager.getLogger(RequiredElements.class);
+
+	private RequiredElements() {}
+
+	/**
+	 * Checks that the value of a required element is provided.
+	 *
+	 * @param <T>		the type of the element's value
+	 * @param value		the value of the element as unmarshalled from the response, or the list of values for
+	 * 					elements that may occur multiple times
+	 * @param element	the name of the element, used in the error message
+	 * @return	the given value
+	 * @throws SMPQueryException	when the element is missing
+	 */
+	public static <T> T require(final T value, final String element) throws SMPQueryException {
+		if (isMissing(value)) {
+			log.error("Response does not contain the required {} element", element);
+			throw new SMPQueryException("Response does not contain all required meta-data (missing " + element + ")");
+		}
+		return value;
+	}
+
+	private static boolean isMissing(final Object value) {
+		return value == null || (value instanceof Collection && ((Collection<?>) value).isEmpty());
+	}
+}
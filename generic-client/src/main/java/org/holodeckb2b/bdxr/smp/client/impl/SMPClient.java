@@ -16,25 +16,52 @@
  */
 package org.holodeckb2b.bdxr.smp.client.impl;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.security.cert.X509Certificate;
 import java.time.LocalDateTime;
-import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.holodeckb2b.bdxr.common.datamodel.Identifier;
 import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.smp.client.api.IAsyncRequestExecutor;
+import org.holodeckb2b.bdxr.smp.client.api.IAsyncSMPClient;
 import org.holodeckb2b.bdxr.smp.client.api.ICachedResult;
+import org.holodeckb2b.bdxr.smp.client.api.IResponseCache;
 import org.holodeckb2b.bdxr.smp.client.api.ISMPClient;
 import org.holodeckb2b.bdxr.smp.client.api.ISMPResponse;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPResultProcessor;
+import org.holodeckb2b.bdxr.smp.client.api.LookupRequest;
+import org.holodeckb2b.bdxr.smp.client.api.LookupResult;
 import org.holodeckb2b.bdxr.smp.client.api.SMPClientBuilder;
 import org.holodeckb2b.bdxr.smp.client.api.SMPLocatorException;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
@@ -53,10 +80,16 @@ import org.holodeckb2b.commons.util.Utils;
 /**
  * Is the implementation of {@link ISMPClient} and controls the process of requesting the meta-data about a
  * participant in the network from a SMP server.
+ * <p>Since version 4.1.0 the client also implements {@link IAsyncSMPClient}. When the configured request executor is
+ * an {@link IAsyncRequestExecutor} the queries are composed of asynchronous steps, so no thread is blocked while
+ * waiting for the response of the SMP server. Only the lookup of the SMP location, which may block on DNS queries, is
+ * executed on the {@link Executor} configured in the {@link SMPClientConfig} or, if none is configured, on a shared
+ * executor with a bounded number of daemon threads. When the request executor does not support asynchronous
+ * execution, the blocking methods are executed on that executor.
  *
  * @author Sander Fieten (sander at holodeck-b2b.org)
  */
-public class SMPClient implements ISMPClient {
+public class SMPClient implements IAsyncSMPClient {
 	private static final Logger	log = LogManager.getLogger(SMPClient.class);
 
     /**
@@ -66,6 +99,49 @@ public class SMPClient implements ISMPClient {
 
 	private final SMPResultReader resultReader;
 
+	/**
+	 * The queries currently being executed, mapped by the string representation of the query URL. Used to let
+	 * concurrent callers requesting the same meta-data share the result of a single query.
+	 * @since 4.1.0
+	 */
+	private final ConcurrentHashMap<String, CompletableFuture<QueryResult>> pendingQueries = new ConcurrentHashMap<>();
+
+	/**
+	 * The maximum number of <i>ServiceMetadata</i> for which an endpoint lookup index is kept
+	 * @since 4.1.0
+	 */
+	private static final int MAX_LOOKUP_INDEXES = 1024;
+
+	/**
+	 * The endpoint lookup indexes of the <i>ServiceMetadata</i> used in the most recent endpoint lookups, mapped by a
+	 * weak reference to the meta-data object. The index is therefore kept only as long as the meta-data object itself
+	 * is in use, for example in the result cache, and never keeps it alive. As indexes only pay off when the same
+	 * meta-data object is used repeatedly, they are only used when a result cache is configured; <code>null</code>
+	 * otherwise.
+	 * @since 4.1.0
+	 */
+	private final BoundedLRUMap<MetadataRef, EndpointLookupIndex> lookupIndexes;
+
+	/**
+	 * The queue on which the references to meta-data objects that have been garbage collected are put, so their
+	 * lookup indexes can be removed
+	 * @since 4.1.0
+	 */
+	private final ReferenceQueue<ServiceMetadata> collectedMetadata = new ReferenceQueue<>();
+
+	/**
+	 * The request executor to use for asynchronous queries when the configured request executor supports it,
+	 * <code>null</code> otherwise
+	 * @since 4.1.0
+	 */
+	private final IAsyncRequestExecutor asyncRequestExecutor;
+
+	/**
+	 * The query URLs for which a background refresh has been scheduled but not yet started
+	 * @since 4.1.0
+	 */
+	private final Set<String> scheduledRefreshes = ConcurrentHashMap.newKeySet();
+
     /**
      * Creates a new client using the given configuration. It is recommended to use the {@link SMPClientBuilder} for
 	 * creating new instance of the SMP client.
@@ -75,8 +151,303 @@ public class SMPClient implements ISMPClient {
     public SMPClient(final SMPClientConfig config) {
         this.cfg = config;
 		resultReader = new SMPResultReader(cfg);
+		lookupIndexes = cfg.resultCache != null ? new BoundedLRUMap<>(MAX_LOOKUP_INDEXES) : null;
+		asyncRequestExecutor = cfg.requestExecutor instanceof IAsyncRequestExecutor ?
+												(IAsyncRequestExecutor) cfg.requestExecutor : null;
+		if (cfg.resultCache instanceof IResponseCache)
+			((IResponseCache) cfg.resultCache).setResponseReader(
+													r -> resultReader.handleResponse(new ByteArrayInputStream(r)));
     }
 
+	@Override
+	public CompletableFuture<EndpointInfo> getEndpointAsync(final Identifier participantId,
+															final Identifier role,
+															final Identifier serviceId,
+															final ProcessIdentifier processId,
+															final Identifier transportProfile,
+															final boolean overrideCache) {
+		if (asyncRequestExecutor == null)
+			return executeAsync(() -> getEndpoint(participantId, role, serviceId, processId, transportProfile,
+												  overrideCache));
+
+		if (transportProfile == null || Utils.isNullOrEmpty(transportProfile.getValue()))
+			return CompletableFuture.failedFuture(
+									new IllegalArgumentException("No transport profile identifier provided"));
+		if (participantId == null || serviceId == null || processId == null)
+			return CompletableFuture.failedFuture(
+					new IllegalArgumentException("Missing either participant, service or process ID argument"));
+
+		log.debug("Asynchronous lookup requested; (participant, service, process, role, transport) = ({},{},{},{},{})",
+				  participantId, serviceId, processId, role, transportProfile);
+		return findProcessGroupAsync(participantId, role, serviceId, processId, false, null, 0)
+					.thenApply(pg -> {
+						final EndpointInfo ep = selectEndpoint(pg, transportProfile);
+						log.debug("{} endpoint found for (participant, service, process, role, transport) = ({},{},{},{},{})",
+								  ep != null ? "Returning" : "No", participantId, serviceId, processId, role,
+								  transportProfile);
+						return ep;
+					});
+	}
+
+	@Override
+	public CompletableFuture<Collection<? extends EndpointInfo>> getEndpointsAsync(final Identifier participantId,
+																		final Identifier role,
+																		final Identifier serviceId,
+																		final ProcessIdentifier processId,
+																		final boolean overrideCache) {
+		if (asyncRequestExecutor == null)
+			return executeAsync(() -> getEndpoints(participantId, role, serviceId, processId, overrideCache));
+
+		if (participantId == null || serviceId == null || processId == null)
+			return CompletableFuture.failedFuture(
+					new IllegalArgumentException("Missing either participant, service or process ID argument"));
+
+		log.debug("Asynchronously retrieve Endpoints for (participant, service, process, role) = ({},{}, {}, {})",
+				  participantId, serviceId, processId, role);
+		return findProcessGroupAsync(participantId, role, serviceId, processId, overrideCache, null, 0)
+					.thenApply(pg -> {
+						if (pg == null)
+							return Collections.emptyList();
+						log.info("Returning endpoints found for (participant, service, process, role) = ({},{}, {}, {})",
+								 participantId, serviceId, processId, role);
+						return pg.value1().getEndpoints();
+					});
+	}
+
+	@Override
+	public CompletableFuture<ServiceMetadata> getServiceMetadataAsync(final Identifier participantId,
+																	  final Identifier serviceId,
+																	  final boolean overrideCache) {
+		if (asyncRequestExecutor == null)
+			return executeAsync(() -> getServiceMetadata(participantId, serviceId, overrideCache));
+
+		if (participantId == null || serviceId == null)
+			return CompletableFuture.failedFuture(
+							new IllegalArgumentException("Missing either participant or service ID argument"));
+
+		log.debug("Asynchronously retrieve ServiceMetadata for (participant, service) = ({},{})", participantId,
+				  serviceId);
+		return _getServiceMetadataAsync(participantId, serviceId, null, overrideCache, 0)
+					.thenApply(rSmd -> {
+						log.info("{} ServiceMetadata found for (participant, service) = ({},{})",
+								 rSmd.value1() != null ? "Returning" : "No", participantId, serviceId);
+						return rSmd.value1();
+					});
+	}
+
+	@Override
+	public CompletableFuture<ServiceGroup<?>> getServiceGroupAsync(final Identifier participantId,
+																   final boolean overrideCache) {
+		if (asyncRequestExecutor == null)
+			return executeAsync(() -> getServiceGroup(participantId, overrideCache));
+
+		if (participantId == null)
+			return CompletableFuture.failedFuture(new IllegalArgumentException("Missing participant ID argument"));
+
+		log.debug("Asynchronously retrieve ServiceGroup for participant = {}", participantId);
+		return executeAsync(() -> createQueryURL(locateSMP(participantId), participantId, null))
+					.thenCompose(queryURL -> retrieveMetadataAsync(queryURL, overrideCache))
+					.thenCompose(result -> {
+						if (result != null && !(result instanceof ServiceGroup)) {
+							log.error("Response from SMP server was not a ServiceGroup!");
+							return CompletableFuture.failedFuture(
+										new SMPQueryException("Invalid ServiceGroup response from SMP server"));
+						}
+						log.info("{} ServiceGroup for participant {}", result != null ? "Returning" : "No",
+								 participantId);
+						return CompletableFuture.completedFuture((ServiceGroup<?>) result);
+					});
+	}
+
+	@Override
+	public CompletableFuture<Map<LookupRequest, LookupResult>> getEndpointsAsync(
+																		final Collection<LookupRequest> requests) {
+		if (requests == null)
+			return CompletableFuture.failedFuture(new IllegalArgumentException("Missing lookup requests"));
+
+		// Group the distinct requests by participant and service, so the meta-data is retrieved only once per group
+		final Set<LookupRequest> distinct = new LinkedHashSet<>(requests);
+		final Map<List<Identifier>, List<LookupRequest>> groups = new LinkedHashMap<>();
+		for (LookupRequest r : distinct)
+			groups.computeIfAbsent(Arrays.asList(r.getParticipantId(), r.getServiceId()), k -> new ArrayList<>())
+				  .add(r);
+		log.debug("Executing batch of {} lookups for {} (participant, service) combinations", distinct.size(),
+				  groups.size());
+
+		// Each worker handles groups until none are left, so the number of workers limits the concurrency
+		final Queue<List<LookupRequest>> pending = new ConcurrentLinkedQueue<>(groups.values());
+		final Map<LookupRequest, LookupResult> results = new ConcurrentHashMap<>();
+		final CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(cfg.maxBatchConcurrency,
+																			   groups.size())];
+		for (int i = 0; i < workers.length; i++)
+			workers[i] = executeAsync(() -> {
+				List<LookupRequest> group;
+				while ((group = pending.poll()) != null)
+					executeLookups(group, results);
+				return null;
+			});
+
+		return CompletableFuture.allOf(workers).handle((done, failure) -> {
+			final Map<LookupRequest, LookupResult> ordered = new LinkedHashMap<>();
+			for (LookupRequest r : distinct) {
+				final LookupResult result = results.get(r);
+				ordered.put(r, result != null ? result : new LookupResult(r,
+												new SMPQueryException("Lookup could not be executed", failure)));
+			}
+			return ordered;
+		});
+	}
+
+	@Override
+	public CompletableFuture<Void> warmUp() {
+		final List<ISMPResultProcessor> processors = resultReader.getProcessors();
+		log.debug("Warming up the SMP client and {} result processor(s)", processors.size());
+		final CompletableFuture<?>[] tasks = new CompletableFuture<?>[processors.size() + 1];
+		tasks[0] = executeAsync(() -> {
+			resultReader.warmUp();
+			return null;
+		});
+		for (int i = 0; i < processors.size(); i++) {
+			final ISMPResultProcessor p = processors.get(i);
+			tasks[i + 1] = executeAsync(() -> {
+				log.trace("Warming up result processor {}", p.getClass().getName());
+				p.warmUp();
+				return null;
+			});
+		}
+		return CompletableFuture.allOf(tasks).whenComplete((done, failure) -> {
+			if (failure != null)
+				log.error("Could not warm up the SMP client : {}", Utils.getExceptionTrace(failure));
+			else
+				log.debug("Completed warm up of the SMP client");
+		});
+	}
+
+	/**
+	 * Helper method to execute the endpoint lookups of a batch that apply to the same participant and service. The
+	 * <i>ServiceMetadata</i> is retrieved once and then used for all lookups.
+	 *
+	 * @param group		the lookup requests for the same participant and service
+	 * @param results	the map to add the lookup results to
+	 * @since 4.1.0
+	 */
+	private void executeLookups(final List<LookupRequest> group, final Map<LookupRequest, LookupResult> results) {
+		final LookupRequest first = group.get(0);
+		final Pair<ServiceMetadata, Integer> smd;
+		try {
+			smd = _getServiceMetadata(first.getParticipantId(), first.getServiceId(), null, false, 0);
+		} catch (Throwable t) {
+			final SMPQueryException error = t instanceof SMPQueryException ? (SMPQueryException) t :
+								new SMPQueryException("Unexpected error during SMP query execution", t);
+			for (LookupRequest r : group)
+				results.put(r, new LookupResult(r, error));
+			return;
+		}
+		for (LookupRequest r : group) {
+			try {
+				results.put(r, new LookupResult(r, selectEndpoint(findProcessGroup(r.getParticipantId(), r.getRole(),
+															r.getServiceId(), r.getProcessId(), false, smd),
+															r.getTransportProfile())));
+			} catch (SMPQueryException queryFailure) {
+				results.put(r, new LookupResult(r, queryFailure));
+			} catch (Throwable t) {
+				results.put(r, new LookupResult(r,
+									new SMPQueryException("Unexpected error during SMP query execution", t)));
+			}
+		}
+	}
+
+	/**
+	 * Helper method to execute a query asynchronously on the configured executor.
+	 *
+	 * @param <T>	type of the query result
+	 * @param query	the query to execute
+	 * @return	future that will be completed with the result of the query or the exception thrown by it
+	 * @since 4.1.0
+	 */
+	private <T> CompletableFuture<T> executeAsync(final Query<T> query) {
+		final CompletableFuture<T> result = new CompletableFuture<>();
+		try {
+			getAsyncExecutor().execute(() -> {
+				try {
+					result.complete(query.execute());
+				} catch (Throwable t) {
+					result.completeExceptionally(t);
+				}
+			});
+		} catch (Throwable rejected) {
+			log.error("Could not start asynchronous query execution : {}", Utils.getExceptionTrace(rejected));
+			result.completeExceptionally(new SMPQueryException("Could not start query execution", rejected));
+		}
+		return result;
+	}
+
+	/**
+	 * Helper method to execute a non blocking step of an asynchronous query in the current thread.
+	 *
+	 * @param <T>	type of the step's result
+	 * @param step	the step to execute
+	 * @return	completed future with the result of the step, or failed future with the exception thrown by it
+	 * @since 4.1.0
+	 */
+	private static <T> CompletableFuture<T> execute(final Query<T> step) {
+		try {
+			return CompletableFuture.completedFuture(step.execute());
+		} catch (Throwable t) {
+			return CompletableFuture.failedFuture(t);
+		}
+	}
+
+	/**
+	 * Gets the executor to use for the asynchronous queries and background refreshes.
+	 *
+	 * @return	the configured executor, or the shared default executor if none is configured
+	 * @since 4.1.0
+	 */
+	private Executor getAsyncExecutor() {
+		return cfg.asyncExecutor != null ? cfg.asyncExecutor : DefaultAsyncExecutor.INSTANCE;
+	}
+
+	/**
+	 * Represents a (blocking) query to be executed asynchronously.
+	 *
+	 * @param <T>	type of the query result
+	 * @since 4.1.0
+	 */
+	@FunctionalInterface
+	private interface Query<T> {
+		T execute() throws SMPQueryException;
+	}
+
+	/**
+	 * Holder of the default executor used for asynchronous queries when no specific executor has been configured. The
+	 * executor is only created when the first asynchronous query is executed and uses at most {@link
+	 * SMPClientConfig#DEFAULT_ASYNC_THREADS} daemon threads, so it does not prevent the JVM from shutting down. When
+	 * all threads are busy, new tasks are queued. Idle threads are stopped after one minute.
+	 * @since 4.1.0
+	 */
+	private static class DefaultAsyncExecutor {
+		static final ExecutorService INSTANCE;
+		static {
+			final ThreadPoolExecutor executor = new ThreadPoolExecutor(SMPClientConfig.DEFAULT_ASYNC_THREADS,
+																		SMPClientConfig.DEFAULT_ASYNC_THREADS,
+																		60L, TimeUnit.SECONDS,
+																		new LinkedBlockingQueue<>(),
+																		new ThreadFactory() {
+				private final AtomicInteger threadCount = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable r) {
+					final Thread t = new Thread(r, "smp-client-async-" + threadCount.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}
+			});
+			executor.allowCoreThreadTimeOut(true);
+			INSTANCE = executor;
+		}
+	}
+
     @Override
 	public EndpointInfo getEndpoint(final Identifier participantId,
 									final Identifier role,
@@ -86,37 +457,21 @@ public class SMPClient implements ISMPClient {
 		    						final boolean    overrideCache) throws SMPQueryException  {
         if (transportProfile == null || Utils.isNullOrEmpty(transportProfile.getValue()))
         	throw new IllegalArgumentException("No transport profile identifier provided");
+		if (participantId == null || serviceId == null || processId == null)
+        	throw new IllegalArgumentException("Missing either participant, service or process ID argument");
 
     	log.debug("Lookup requested; (participant, service, process, role, transport) = ({},{},{},{}, {})",
                 	participantId, serviceId, processId, role, transportProfile.toString());
 
-		// First get all endpoints for the participant, role, serviceId and processId, then filter the result
-		Collection<? extends EndpointInfo> endpoints = getEndpoints(participantId, role, serviceId, processId);
-
-    	Optional<? extends EndpointInfo> findEP = endpoints.parallelStream()
-									                .filter(ep -> transportProfile.equals(ep.getTransportProfileId())
-																  && isActive(ep))
-									                .findFirst();
+		// First get the process group for the participant, role, serviceId and processId, then filter its endpoints
+    	final EndpointInfo ep = selectEndpoint(findProcessGroup(participantId, role, serviceId, processId, false, null),
+    										   transportProfile);
 
 		log.debug("{} endpoint found for (participant, service, process, role, transport) = ({},{},{},{},{})",
-				  findEP.isPresent() ? "Returning" : "No", participantId, serviceId, processId, role, transportProfile);
-    	return findEP.orElse(null);
+				  ep != null ? "Returning" : "No", participantId, serviceId, processId, role, transportProfile);
+    	return ep;
     }
 
-	/**
-	 * Checks is the given endpoint is currently active.
-	 *
-	 * @param ep	the endpoint meta-data
-	 * @return		<code>true</code> iff the current time is between the endpoint's activation and expiration dates. If
-	 *				either is not specified it assumed the endpoint does not have an activation/expiration date.
-	 */
-	private boolean isActive(EndpointInfo ep) {
-		final ZonedDateTime act = ep.getServiceActivationDate();
-		final ZonedDateTime exp = ep.getServiceExpirationDate();
-		final ZonedDateTime now = ZonedDateTime.now();
-		return (act == null || now.isAfter(act)) && (exp == null || now.isBefore(exp));
-	}
-
     @Override
 	public Collection<? extends EndpointInfo> getEndpoints(final Identifier participantId,
 														   final Identifier role,
@@ -130,69 +485,184 @@ public class SMPClient implements ISMPClient {
     	log.debug("Retrieve Endpoints for (participant, service, process, role) = ({},{}, {}, {})",
 					participantId, serviceId, processId, role);
 
+		final Pair<ProcessGroup, EndpointLookupIndex> pg = findProcessGroup(participantId, role, serviceId, processId,
+																			overrideCache, null);
+		if (pg == null)
+			return Collections.emptyList();
+
+		log.info("Returning endpoints found for (participant, service, process, role) = ({},{}, {}, {})",
+				 participantId, serviceId, processId, role);
+		return pg.value1().getEndpoints();
+	}
+
+	/**
+	 * Helper method to find the process group that applies to the given participant, role, service and process. It
+	 * follows the redirections that apply to the specific process.
+	 * <p>When lookup indexes are used, the index of the <i>ServiceMetadata</i> containing the found process group is
+	 * returned as well, so it can be used for the selection of the endpoint.
+	 *
+	 * @param participantId		participant identifier
+	 * @param role				role identifier, may be <code>null</code>
+	 * @param serviceId			service identifier
+	 * @param processId			process identifier
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @param initial			the already retrieved <i>ServiceMetadata</i> for the participant and service and the
+	 * 							number of followed redirections, <code>null</code> if it should be retrieved
+	 * @return	the found process group and the lookup index of its meta-data (<code>null</code> when indexes are not
+	 * 			used), or <code>null</code> if there is no process group for the requested participant, role, service
+	 * 			and process.
+	 * @throws SMPQueryException	when an error occurs retrieving the meta-data, exceeding the maximum number of
+	 * 								redirections or when no unique process group can be determined
+	 * @since 4.1.0
+	 */
+	private Pair<ProcessGroup, EndpointLookupIndex> findProcessGroup(final Identifier participantId,
+																	  final Identifier role,
+																	  final Identifier serviceId,
+																	  final ProcessIdentifier processId,
+																	  final boolean overrideCache,
+																	  final Pair<ServiceMetadata, Integer> initial)
+																						throws SMPQueryException {
 		int redirections = 0;
 		Redirection redirect = null;
 		do {
-			Pair<ServiceMetadata, Integer> rSmd = _getServiceMetadata(participantId, serviceId, redirect, overrideCache, 
-																	  redirections);
+			Pair<ServiceMetadata, Integer> rSmd = redirect == null && initial != null ? initial :
+						_getServiceMetadata(participantId, serviceId, redirect, overrideCache, redirections);
 			ServiceMetadata smd = rSmd.value1();
 
 			if (smd == null) {
 				log.info("No ServiceMetadata found for (participant, service) = ({},{})", participantId, serviceId);
-				return Collections.emptyList();
+				return null;
 			}
-			log.trace("Check support for requested process and role");
 			redirections = rSmd.value2();
-			/* First filter groups on matching processes and roles, with empty process and roles list assumed to match
-			 * all processes/roles
-			 */
-			List<? extends ProcessGroup> pg = smd.getProcessMetadata().parallelStream()
-								.filter(pl -> Utils.isNullOrEmpty(pl.getProcessInfo())
-										|| pl.getProcessInfo().parallelStream()
-												.anyMatch(pi -> pi.getProcessId().equals(processId)
-														&& (role == null || Utils.isNullOrEmpty(pi.getRoles())
-															|| pi.getRoles().stream()
-																		.anyMatch(r -> r.equals(role)))))
-								.collect(Collectors.toList());
-			/* The list can still include multiple elements because some of them could map to all processes and/or have
-			 * different roles. Now we filter out the specific ones that match to the given process and role identifiers.
-			 */
-			if (pg.size() > 1) {
-				pg = pg.parallelStream().filter(g -> !Utils.isNullOrEmpty(g.getProcessInfo())).collect(Collectors.toList());
-				if (pg.size() > 1 && role != null)
-					pg = pg.parallelStream()
-						   .filter(g -> g.getProcessInfo().parallelStream()
-												.anyMatch(pi -> pi.getProcessId().equals(processId)
-															&& !Utils.isNullOrEmpty(pi.getRoles())
-															&& pi.getRoles().stream()
-																		.anyMatch(r -> r.equals(role)))
-															)
-							.collect(Collectors.toList());
-			}
-			if (pg.isEmpty()) {
-				log.warn("Requested (participant, service, process, role) is not supported; ({},{},{},{})",
-						 participantId, serviceId, processId, role);
-				return Collections.emptyList();
-			}
-			if (pg.size() != 1) {
-				log.error("Unable to determine unique process meta-data from SMP result!");
-				throw new SMPQueryException("Ambigious result based on query arguments or SMP data");
-			}
-			final ProcessGroup p = pg.get(0);
-			redirect = p.getRedirection();
+			final Pair<ProcessGroup, EndpointLookupIndex> pg = selectProcessGroup(smd, participantId, role, serviceId,
+																				  processId);
+			if (pg == null)
+				return null;
+			redirect = pg.value1().getRedirection();
 			if (redirect != null) {
 				log.debug("Found redirection for (service, process, role) = ({},{},{})", serviceId, processId, role);
 				redirections++;
-			} else {
-				log.info("Returning endpoints found for (participant, service, process, role) = ({},{}, {}, {})",
-						 participantId, serviceId, processId, role);
-				return p.getEndpoints();
-			}
+			} else
+				return pg;
 		} while (redirections <= cfg.maxRedirects);
 		log.error("Exceeded the number of allowed redirections");
 		throw new SMPQueryException("Exceeded the number of allowed redirections");
 	}
 
+	/**
+	 * Asynchronous version of {@link #findProcessGroup(Identifier, Identifier, Identifier, ProcessIdentifier, boolean,
+	 * Pair)}. The redirections that apply to the specific process are followed by composing the retrieval of the
+	 * redirected meta-data.
+	 *
+	 * @param participantId		participant identifier
+	 * @param role				role identifier, may be <code>null</code>
+	 * @param serviceId			service identifier
+	 * @param processId			process identifier
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @param redirection		redirection info, <code>null</code> on initial call
+	 * @param redirections		the number of already followed redirections
+	 * @return	future that completes with the found process group and the lookup index of its meta-data, or with
+	 * 			<code>null</code> if there is no process group for the requested participant, role, service and process
+	 * @since 4.1.0
+	 */
+	private CompletableFuture<Pair<ProcessGroup, EndpointLookupIndex>> findProcessGroupAsync(
+																			final Identifier participantId,
+																			final Identifier role,
+																			final Identifier serviceId,
+																			final ProcessIdentifier processId,
+																			final boolean overrideCache,
+																			final Redirection redirection,
+																			final int redirections) {
+		return _getServiceMetadataAsync(participantId, serviceId, redirection, overrideCache, redirections)
+				.thenCompose(rSmd -> {
+					final ServiceMetadata smd = rSmd.value1();
+					if (smd == null) {
+						log.info("No ServiceMetadata found for (participant, service) = ({},{})", participantId,
+								 serviceId);
+						return CompletableFuture.completedFuture(null);
+					}
+					return execute(() -> selectProcessGroup(smd, participantId, role, serviceId, processId))
+							.thenCompose(pg -> {
+								final Redirection redirect = pg != null ? pg.value1().getRedirection() : null;
+								if (redirect == null)
+									return CompletableFuture.completedFuture(pg);
+								log.debug("Found redirection for (service, process, role) = ({},{},{})", serviceId,
+										  processId, role);
+								return findProcessGroupAsync(participantId, role, serviceId, processId, overrideCache,
+															 redirect, rSmd.value2() + 1);
+							});
+				});
+	}
+
+	/**
+	 * Helper method to select the process group that applies to the given process and role from the given meta-data.
+	 *
+	 * @param smd				the <i>ServiceMetadata</i> of the participant and service
+	 * @param participantId		participant identifier
+	 * @param role				role identifier, may be <code>null</code>
+	 * @param serviceId			service identifier
+	 * @param processId			process identifier
+	 * @return	the found process group and the lookup index of the meta-data (<code>null</code> when indexes are not
+	 * 			used), or <code>null</code> if the meta-data do not contain a process group for the process and role
+	 * @throws SMPQueryException	when no unique process group can be determined
+	 * @since 4.1.0
+	 */
+	private Pair<ProcessGroup, EndpointLookupIndex> selectProcessGroup(final ServiceMetadata smd,
+																	   final Identifier participantId,
+																	   final Identifier role,
+																	   final Identifier serviceId,
+																	   final ProcessIdentifier processId)
+																							throws SMPQueryException {
+		log.trace("Check support for requested process and role");
+		final EndpointLookupIndex index = getLookupIndex(smd);
+		final ProcessGroup p = index != null ? index.selectProcessGroup(processId, role)
+						: EndpointSelector.selectProcessGroup(smd.getProcessMetadata(), processId, role);
+		if (p == null) {
+			log.warn("Requested (participant, service, process, role) is not supported; ({},{},{},{})",
+					 participantId, serviceId, processId, role);
+			return null;
+		}
+		return new Pair<>(p, index);
+	}
+
+	/**
+	 * Helper method to select the active endpoint that supports the given transport profile from the given process
+	 * group.
+	 *
+	 * @param pg				the process group and the lookup index of its meta-data (<code>null</code> when indexes
+	 * 							are not used), may be <code>null</code> if no process group was found
+	 * @param transportProfile	the requested transport profile identifier
+	 * @return	the endpoint meta-data, or <code>null</code> if there is no matching active endpoint
+	 * @since 4.1.0
+	 */
+	private EndpointInfo selectEndpoint(final Pair<ProcessGroup, EndpointLookupIndex> pg,
+										final Identifier transportProfile) {
+		if (pg == null)
+			return null;
+		return pg.value2() != null ? pg.value2().selectEndpoint(pg.value1(), transportProfile)
+								   : EndpointSelector.selectEndpoint(pg.value1().getEndpoints(), transportProfile);
+	}
+
+	/**
+	 * Gets the endpoint lookup index for the given meta-data, creating it when the meta-data is used for the first time.
+	 *
+	 * @param smd	the <i>ServiceMetadata</i>
+	 * @return	the lookup index for the meta-data, or <code>null</code> if lookup indexes are not used
+	 * @since 4.1.0
+	 */
+	private EndpointLookupIndex getLookupIndex(final ServiceMetadata smd) {
+		if (lookupIndexes == null)
+			return null;
+		Reference<? extends ServiceMetadata> collected;
+		while ((collected = collectedMetadata.poll()) != null)
+			lookupIndexes.remove((MetadataRef) collected);
+		final EndpointLookupIndex index = lookupIndexes.get(new MetadataRef(smd, null));
+		return index != null ? index : lookupIndexes.computeIfAbsent(new MetadataRef(smd, collectedMetadata),
+																	 r -> new EndpointLookupIndex(smd));
+	}
+
 	@Override
 	public ServiceMetadata getServiceMetadata(final Identifier participantId, final Identifier serviceId,
 											  final boolean overrideCache) throws SMPQueryException {
@@ -213,24 +683,11 @@ public class SMPClient implements ISMPClient {
 
     	log.debug("Retrieve ServiceGroup for participant = {}", participantId);
 		try {
-			log.trace("Getting URL of SMP handling participant");
-			String baseURL = cfg.smpLocator.locateSMP(participantId).toString();
-			if (!baseURL.endsWith("/"))
-				baseURL += "/";
-
-			ServiceGroup<?> sg = (ServiceGroup<?>) 
-									retrieveMetadata(new URL(baseURL + participantId.getURLEncoded()), overrideCache);
+			ServiceGroup<?> sg = (ServiceGroup<?>)
+						retrieveMetadata(createQueryURL(locateSMP(participantId), participantId, null), overrideCache);
 
 			log.info("{} ServiceGroup for participant {}", sg != null ? "Returning" : "No", participantId);
 			return sg;
-		} catch (SMPLocatorException ex) {
-			log.error("An error occurred in locating the SMP server for participant {}."
-					 + "\n\tDetails: {}\n\tCaused by: {}", participantId, ex.getMessage(),
-														  Utils.getExceptionTrace(ex));
-			throw new SMPQueryException("Could not locate the SMP server for participant", ex);
-		} catch (MalformedURLException invalidURL) {
-			log.error("Could not construct valid query URL for retrieving service group");
-			throw new SMPQueryException("Could not construct valid query URL");
 		} catch (ClassCastException notAServiceGroup) {
 			log.error("Response from SMP server was not a ServiceGroup!");
 			throw new SMPQueryException("Invalid ServiceGroup response from SMP server");
@@ -261,83 +718,199 @@ public class SMPClient implements ISMPClient {
 															   final Redirection redirection,
 															   final boolean overrideCache,
 															   final int redirections) throws SMPQueryException {
+		checkRedirections(redirections);
+		final URL smpURL = redirection == null ? locateSMP(participantId) : redirection.getNewSMPURL();
+		ServiceMetadata metadata = (ServiceMetadata) retrieveMetadata(createQueryURL(smpURL, participantId, serviceId),
+																	  overrideCache);
+		if (metadata != null) {
+			if (redirection != null)
+				checkRedirectionCertificate(redirection, metadata);
+			final Redirection r = getGenericRedirection(metadata);
+			if (r != null) {
+				log.debug("Following redirection to {}", r.getNewSMPURL().toString());
+				return _getServiceMetadata(participantId, serviceId, r, overrideCache, redirections + 1);
+			}
+		}
+		return new Pair<>(metadata, redirections);
+	}
+
+	/**
+	 * Asynchronous version of {@link #_getServiceMetadata(Identifier, Identifier, Redirection, boolean, int)}. The
+	 * redirection is handled by composing the retrieval of the redirected meta-data. As the locator may block, it is
+	 * executed using the executor for asynchronous queries.
+	 *
+	 * @param participantId		participant identifier
+	 * @param serviceId			service identifier
+	 * @param redirection		redirection info, <code>null</code> on initial call
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @param redirections		the number of already followed redirections
+	 * @return	future that completes with the found meta-data (<code>null</code> if not found) and the number of
+	 * 			followed redirections
+	 * @since 4.1.0
+	 */
+	private CompletableFuture<Pair<ServiceMetadata, Integer>> _getServiceMetadataAsync(final Identifier participantId,
+																				final Identifier serviceId,
+																				final Redirection redirection,
+																				final boolean overrideCache,
+																				final int redirections) {
+		try {
+			checkRedirections(redirections);
+		} catch (SMPQueryException tooManyRedirects) {
+			return CompletableFuture.failedFuture(tooManyRedirects);
+		}
+		final CompletableFuture<URL> smpURL = redirection == null ? executeAsync(() -> locateSMP(participantId))
+												: CompletableFuture.completedFuture(redirection.getNewSMPURL());
+		return smpURL.thenCompose(url -> execute(() -> createQueryURL(url, participantId, serviceId)))
+				.thenCompose(queryURL -> retrieveMetadataAsync(queryURL, overrideCache))
+				.thenCompose(result -> {
+					final ServiceMetadata metadata = (ServiceMetadata) result;
+					if (metadata == null)
+						return CompletableFuture.completedFuture(new Pair<>(null, redirections));
+					if (redirection != null) {
+						try {
+							checkRedirectionCertificate(redirection, metadata);
+						} catch (SMPQueryException incorrectRedirection) {
+							return CompletableFuture.failedFuture(incorrectRedirection);
+						}
+					}
+					final Redirection r = getGenericRedirection(metadata);
+					if (r != null) {
+						log.debug("Following redirection to {}", r.getNewSMPURL().toString());
+						return _getServiceMetadataAsync(participantId, serviceId, r, overrideCache, redirections + 1);
+					}
+					return CompletableFuture.completedFuture(new Pair<>(metadata, redirections));
+				});
+	}
+
+	/**
+	 * Helper method to check that the number of followed redirections does not exceed the configured maximum.
+	 *
+	 * @param redirections	the number of already followed redirections
+	 * @throws SMPQueryException	when the maximum number of redirections is exceeded
+	 * @since 4.1.0
+	 */
+	private void checkRedirections(final int redirections) throws SMPQueryException {
 		if (redirections > cfg.maxRedirects) {
 			log.error("Exceeded the number of allowed redirections");
 			throw new SMPQueryException("Exceeded the number of allowed redirections");
 		}
-		URL smpURL;
-		if (redirection == null) {
-			try {
-				log.debug("Getting URL of SMP handling participant");
-				smpURL = cfg.smpLocator.locateSMP(participantId);
-			} catch (SMPLocatorException ex) {
-				log.error("An error occurred in locating the SMP server for participant {}."
-						 + "\n\tDetails: {}\n\tCaused by: {}", participantId, ex.getMessage(),
-															  Utils.getExceptionTrace(ex));
-				throw new SMPQueryException("Could not locate the SMP server for participant", ex);
-			}
-		} else
-			smpURL = redirection.getNewSMPURL();
+	}
 
-		URL queryURL;
+	/**
+	 * Helper method to get the URL of the SMP serving the given participant using the configured locator.
+	 *
+	 * @param participantId		participant identifier
+	 * @return	the base URL of the SMP
+	 * @throws SMPQueryException	when the SMP could not be located
+	 * @since 4.1.0
+	 */
+	private URL locateSMP(final Identifier participantId) throws SMPQueryException {
+		try {
+			log.debug("Getting URL of SMP handling participant");
+			return cfg.smpLocator.locateSMP(participantId);
+		} catch (SMPLocatorException ex) {
+			log.error("An error occurred in locating the SMP server for participant {}."
+					 + "\n\tDetails: {}\n\tCaused by: {}", participantId, ex.getMessage(),
+														  Utils.getExceptionTrace(ex));
+			throw new SMPQueryException("Could not locate the SMP server for participant", ex);
+		}
+	}
+
+	/**
+	 * Helper method to construct the URL to query the SMP for the <i>ServiceGroup</i> or <i>ServiceMetadata</i> of the
+	 * given participant.
+	 *
+	 * @param smpURL			the base URL of the SMP
+	 * @param participantId		participant identifier
+	 * @param serviceId			service identifier, <code>null</code> when the <i>ServiceGroup</i> is queried
+	 * @return	the query URL
+	 * @throws SMPQueryException	when no valid URL can be constructed
+	 * @since 4.1.0
+	 */
+	private static URL createQueryURL(final URL smpURL, final Identifier participantId, final Identifier serviceId)
+																							throws SMPQueryException {
 		try {
 			String baseURL = smpURL.toString();
 			if (!baseURL.endsWith("/"))
 				baseURL += "/";
-			queryURL = new URL(String.format("%s%s/services/%s", baseURL, participantId.getURLEncoded(),
-																  serviceId.getURLEncoded()));
+			return new URL(serviceId == null ? baseURL + participantId.getURLEncoded()
+							: String.format("%s%s/services/%s", baseURL, participantId.getURLEncoded(),
+															   serviceId.getURLEncoded()));
 		} catch (MalformedURLException invalidURL) {
-			log.error("Could not construct valid query URL for retrieving meta-data");
+			log.error("Could not construct valid query URL for retrieving {}",
+					  serviceId == null ? "service group" : "meta-data");
 			throw new SMPQueryException("Could not construct valid query URL");
 		}
+	}
 
-		ServiceMetadata metadata = (ServiceMetadata) retrieveMetadata(queryURL, overrideCache);
-		if (metadata != null) {
-			if (redirection != null) {
-				if (redirection instanceof RedirectionV2) {
-					X509Certificate rCert = ((RedirectionV2) redirection).getSMPCertificate();
-					if (rCert != null) {
-						log.debug("Check redirection certificate");
-						if (!(metadata instanceof SignedQueryResult)) {
-							log.error("Expected signed meta-data, but received unsigned");
-							throw new SMPQueryException("Incorrect redirection; no certificate");
-						}
-						if (!rCert.equals(((SignedQueryResult) metadata).getSigningCertificate())) {
-							log.error("Signing certificate of redirected SMP does not match expected certificate");
-							throw new SMPQueryException("Incorrect redirection; certificate mismatch");
-						}
-					}
-				} else {
-					boolean[] rSubjectUID = ((RedirectionV1) redirection).getSMPSubjectUniqueID();
-					if (rSubjectUID != null && rSubjectUID.length > 0) {
-						log.debug("Check redirection certificate");
-						if (!(metadata instanceof SignedQueryResult)) {
-							log.error("Expected signed meta-data, but received unsigned");
-							throw new SMPQueryException("Incorrect redirection; no certificate");
-						}
-						if (!Arrays.equals(rSubjectUID,
-									((SignedQueryResult) metadata).getSigningCertificate().getSubjectUniqueID())) {
-							log.error("Signing certificate of redirected SMP does not match expected certificate");
-							throw new SMPQueryException("Incorrect redirection; certificate mismatch");
-						}
-					}
+	/**
+	 * Helper method to check that the signing certificate of the meta-data retrieved after a redirection matches the
+	 * certificate specified in the redirection.
+	 *
+	 * @param redirection	the followed redirection
+	 * @param metadata		the meta-data retrieved from the new SMP
+	 * @throws SMPQueryException	when the meta-data is not signed by the expected certificate
+	 * @since 4.1.0
+	 */
+	private static void checkRedirectionCertificate(final Redirection redirection, final ServiceMetadata metadata)
+																							throws SMPQueryException {
+		if (redirection instanceof RedirectionV2) {
+			X509Certificate rCert = ((RedirectionV2) redirection).getSMPCertificate();
+			if (rCert != null) {
+				log.debug("Check redirection certificate");
+				if (!(metadata instanceof SignedQueryResult)) {
+					log.error("Expected signed meta-data, but received unsigned");
+					throw new SMPQueryException("Incorrect redirection; no certificate");
+				}
+				if (!rCert.equals(((SignedQueryResult) metadata).getSigningCertificate())) {
+					log.error("Signing certificate of redirected SMP does not match expected certificate");
+					throw new SMPQueryException("Incorrect redirection; certificate mismatch");
 				}
 			}
-			Collection<? extends ProcessGroup> processes = metadata.getProcessMetadata();
-			if (processes.size() == 1) {
-				ProcessGroup pg = processes.iterator().next();
-				Redirection r = pg.getRedirection();
-				if (r != null && Utils.isNullOrEmpty(pg.getProcessInfo())) {
-					log.debug("Following redirection to {}", r.getNewSMPURL().toString());
-					return _getServiceMetadata(participantId, serviceId, r, overrideCache, redirections + 1);
+		} else {
+			boolean[] rSubjectUID = ((RedirectionV1) redirection).getSMPSubjectUniqueID();
+			if (rSubjectUID != null && rSubjectUID.length > 0) {
+				log.debug("Check redirection certificate");
+				if (!(metadata instanceof SignedQueryResult)) {
+					log.error("Expected signed meta-data, but received unsigned");
+					throw new SMPQueryException("Incorrect redirection; no certificate");
+				}
+				if (!Arrays.equals(rSubjectUID,
+							((SignedQueryResult) metadata).getSigningCertificate().getSubjectUniqueID())) {
+					log.error("Signing certificate of redirected SMP does not match expected certificate");
+					throw new SMPQueryException("Incorrect redirection; certificate mismatch");
 				}
 			}
 		}
-		return new Pair<>(metadata, redirections);
+	}
+
+	/**
+	 * Helper method to get the "generic" redirection from the given meta-data, i.e. the redirection that applies
+	 * regardless of the process in which the service is used.
+	 *
+	 * @param metadata	the <i>ServiceMetadata</i>
+	 * @return	the generic redirection, or <code>null</code> if the meta-data do not contain one
+	 * @since 4.1.0
+	 */
+	private static Redirection getGenericRedirection(final ServiceMetadata metadata) {
+		Collection<? extends ProcessGroup> processes = metadata.getProcessMetadata();
+		if (processes.size() == 1) {
+			ProcessGroup pg = processes.iterator().next();
+			Redirection r = pg.getRedirection();
+			if (r != null && Utils.isNullOrEmpty(pg.getProcessInfo()))
+				return r;
+		}
+		return null;
 	}
 
 	/**
 	 * Helper method to execute the query to the SMP server. Handles caching of the results.
+	 * <p>When the query cannot be answered from the local cache and the same query is already being executed for
+	 * another caller, this method will wait for that query to complete and return its result instead of executing the
+	 * query again.
+	 * <p>When configured, a locally cached result that is about to expire or that has expired less than the maximum
+	 * stale time ago is returned immediately and refreshed in the background.
 	 *
 	 * @param queryURL	the URL to retrieve the request meta data from the server
 	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should 
@@ -346,21 +919,249 @@ public class SMPClient implements ISMPClient {
 	 * @throws SMPQueryException	when an error occurs retrieving the meta-data from the SMP server.
 	 */
 	private QueryResult retrieveMetadata(final URL queryURL, final boolean overrideCache) throws SMPQueryException {
+		final CacheCheck check = checkCache(queryURL, overrideCache);
+		if (check.reuse)
+			return check.cached != null ? check.cached.getQueryResult() : null;
+
+		final String queryKey = queryURL.toString();
+		final CompletableFuture<QueryResult> query = new CompletableFuture<>();
+		final CompletableFuture<QueryResult> inFlight = pendingQueries.putIfAbsent(queryKey, query);
+		if (inFlight != null) {
+			log.debug("Waiting for result of already executing query {}", queryKey);
+			return awaitResult(inFlight);
+		}
+		try {
+			final QueryResult result = executeQuery(queryURL, check.cached);
+			query.complete(result);
+			return result;
+		} catch (SMPQueryException queryFailure) {
+			query.completeExceptionally(queryFailure);
+			throw queryFailure;
+		} finally {
+			pendingQueries.remove(queryKey, query);
+		}
+	}
+
+	/**
+	 * Asynchronous version of {@link #retrieveMetadata(URL, boolean)}. When the same query is already being executed,
+	 * the returned future completes with the result of that query.
+	 *
+	 * @param queryURL	the URL to retrieve the request meta data from the server
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @return	future that completes with the retrieved meta-data if available, or with <code>null</code> if the
+	 * 			requested meta-data are not found
+	 * @since 4.1.0
+	 */
+	private CompletableFuture<QueryResult> retrieveMetadataAsync(final URL queryURL, final boolean overrideCache) {
+		final CacheCheck check = checkCache(queryURL, overrideCache);
+		if (check.reuse)
+			return CompletableFuture.completedFuture(check.cached != null ? check.cached.getQueryResult() : null);
+
+		final String queryKey = queryURL.toString();
+		final CompletableFuture<QueryResult> query = new CompletableFuture<>();
+		final CompletableFuture<QueryResult> inFlight = pendingQueries.putIfAbsent(queryKey, query);
+		if (inFlight != null) {
+			log.debug("Joining already executing query {}", queryKey);
+			return inFlight.copy();
+		}
+		executeQueryAsync(queryURL, check.cached).whenComplete((result, failure) -> {
+			pendingQueries.remove(queryKey, query);
+			if (failure != null)
+				query.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ?
+																				failure.getCause() : failure);
+			else
+				query.complete(result);
+		});
+		return query.copy();
+	}
+
+	/**
+	 * Helper method to check whether the query can be answered using the cached result.
+	 * <p>When the cached result can be re-used but is about to expire or has expired less than the maximum stale time
+	 * ago, a refresh of the result in the background is started.
+	 *
+	 * @param queryURL	the URL to retrieve the request meta data from the server
+	 * @param overrideCache		<code>true</code> when the cached result should be ignored and the SMP server should
+	 * 							always be queried. <code>false</code> if a cached result can be used.
+	 * @return	the result of the check
+	 * @since 4.1.0
+	 */
+	private CacheCheck checkCache(final URL queryURL, final boolean overrideCache) {
 		// If caching is used and not overridden, check if there is a cached result
 		ICachedResult cached = !overrideCache && cfg.resultCache != null ? cfg.resultCache.getCachedResult(queryURL) 
 																		 : null;
 
+		// If the cached result is that no meta-data was found, check if it can be re-used
+		if (cached != null && cached.isNotFound()) {
+			if (cfg.negativeCacheTime > 0
+				&& LocalDateTime.now().isBefore(cached.getLastQueried().plusMinutes(cfg.negativeCacheTime))) {
+				log.info("Re-using cached not found response for query {}", queryURL.toString());
+				return CacheCheck.NOT_FOUND;
+			}
+			// A not found result has no last modified time stamp that can be used for a conditional query
+			cached = null;
+		}
+
 		// If local caching is enabled and a result for this query was cached, check if it can be re-used
-		if (cached != null && cfg.useLocalCaching
-			&& LocalDateTime.now().isBefore(cached.getLastQueried().plusMinutes(cfg.maxLocalCacheTime))) {
-			log.info("Re-using cached response for query {}", queryURL.toString());
-			return cached.getQueryResult();
+		if (cached != null && cfg.useLocalCaching) {
+			final LocalDateTime now = LocalDateTime.now();
+			final LocalDateTime expires = cached.getLastQueried().plusMinutes(cfg.maxLocalCacheTime);
+			if (now.isBefore(expires)) {
+				if (cfg.refreshAheadTime > 0 && !now.isBefore(expires.minusMinutes(cfg.refreshAheadTime)))
+					refreshInBackground(queryURL, cached);
+				log.info("Re-using cached response for query {}", queryURL.toString());
+				return new CacheCheck(true, cached);
+			} else if (cfg.maxStaleTime > 0 && now.isBefore(expires.plusMinutes(cfg.maxStaleTime))) {
+				refreshInBackground(queryURL, cached);
+				log.info("Re-using expired cached response for query {} while refreshing", queryURL.toString());
+				return new CacheCheck(true, cached);
+			}
+		}
+		return cached != null ? new CacheCheck(false, cached) : CacheCheck.NO_CACHE;
+	}
+
+	/**
+	 * Is the result of checking the cache for a query. When the cached result can be re-used, the query does not need
+	 * to be executed and the cached result, or <code>null</code> when the cached result is that no meta-data were
+	 * found, is the query result. Otherwise the cached result, if available, is used for executing a conditional query.
+	 * @since 4.1.0
+	 */
+	private static final class CacheCheck {
+		static final CacheCheck NOT_FOUND = new CacheCheck(true, null);
+		static final CacheCheck NO_CACHE = new CacheCheck(false, null);
+
+		final boolean		reuse;
+		final ICachedResult	cached;
+
+		CacheCheck(final boolean reuse, final ICachedResult cached) {
+			this.reuse = reuse;
+			this.cached = cached;
 		}
-		ISMPResponse response = null;
+	}
+
+	/**
+	 * Helper method to refresh the cached result of a query in the background. When the query is already being
+	 * executed or a refresh is already scheduled, no new refresh is started.
+	 * <p>The refresh is only registered as executing query when it starts, so callers never wait for a refresh that is
+	 * still queued in the executor.
+	 *
+	 * @param queryURL	the URL to retrieve the request meta data from the server
+	 * @param cached	the cached result of the query
+	 * @since 4.1.0
+	 */
+	private void refreshInBackground(final URL queryURL, final ICachedResult cached) {
+		final String queryKey = queryURL.toString();
+		if (pendingQueries.containsKey(queryKey) || !scheduledRefreshes.add(queryKey)) {
+			log.trace("Query {} is already being executed", queryKey);
+			return;
+		}
+		try {
+			log.debug("Refresh cached result of query {} in background", queryKey);
+			getAsyncExecutor().execute(() -> {
+				scheduledRefreshes.remove(queryKey);
+				final CompletableFuture<QueryResult> query = new CompletableFuture<>();
+				if (pendingQueries.putIfAbsent(queryKey, query) != null) {
+					log.trace("Query {} is already being executed", queryKey);
+					return;
+				}
+				try {
+					query.complete(executeQuery(queryURL, cached));
+				} catch (Throwable t) {
+					log.warn("Could not refresh cached result of query {} : {}", queryKey, t.getMessage());
+					query.completeExceptionally(t);
+				} finally {
+					pendingQueries.remove(queryKey, query);
+				}
+			});
+		} catch (Throwable rejected) {
+			log.warn("Could not start background refresh of query {} : {}", queryKey, rejected.getMessage());
+			scheduledRefreshes.remove(queryKey);
+		}
+	}
+
+	/**
+	 * Helper method to wait for the result of a query that is executed by another thread.
+	 *
+	 * @param inFlight	the pending result of the query
+	 * @return	the retrieved meta-data if available, <code>null</code> if the requested meta-data are not found
+	 * @throws SMPQueryException	when the query failed or the thread was interrupted while waiting for the result
+	 */
+	private QueryResult awaitResult(final CompletableFuture<QueryResult> inFlight) throws SMPQueryException {
+		try {
+			return inFlight.get();
+		} catch (ExecutionException queryFailed) {
+			final Throwable cause = queryFailed.getCause();
+			if (cause instanceof SMPQueryException)
+				throw (SMPQueryException) cause;
+			throw new SMPQueryException("Unexpected error during SMP query execution", cause);
+		} catch (InterruptedException interrupted) {
+			Thread.currentThread().interrupt();
+			throw new SMPQueryException("Interrupted while waiting for SMP query result", interrupted);
+		}
+	}
+
+	/**
+	 * Helper method to execute the query to the SMP server and update the cache with the result.
+	 *
+	 * @param queryURL	the URL to retrieve the request meta data from the server
+	 * @param cached	the cached result of the query, <code>null</code> if there is none or should not be used
+	 * @return	the retrieved meta-data if available, <code>null</code> if the requested meta-data are not found
+	 * @throws SMPQueryException	when an error occurs retrieving the meta-data from the SMP server.
+	 */
+	private QueryResult executeQuery(final URL queryURL, final ICachedResult cached) throws SMPQueryException {
+		final ISMPResponse response;
 		try {
 			log.debug("Query the SMP: {}", queryURL.toString());
-			response = cfg.requestExecutor.executeRequest(queryURL,
-														  cached != null ? cached.getLastModified() : null);
+			response = cfg.requestExecutor.executeRequest(queryURL, cached != null ? cached.getLastModified() : null);
+		} catch (Throwable t) {
+			throw toQueryException(queryURL, t);
+		}
+		return processResponse(queryURL, cached, response);
+	}
+
+	/**
+	 * Asynchronous version of {@link #executeQuery(URL, ICachedResult)} that uses the asynchronous request executor.
+	 * The response is processed by the thread that completes the request.
+	 *
+	 * @param queryURL	the URL to retrieve the request meta data from the server
+	 * @param cached	the cached result of the query, <code>null</code> if there is none or should not be used
+	 * @return	future that completes with the retrieved meta-data if available, or with <code>null</code> if the
+	 * 			requested meta-data are not found
+	 * @since 4.1.0
+	 */
+	private CompletableFuture<QueryResult> executeQueryAsync(final URL queryURL, final ICachedResult cached) {
+		final CompletableFuture<ISMPResponse> request;
+		try {
+			log.debug("Asynchronously query the SMP: {}", queryURL.toString());
+			request = asyncRequestExecutor.executeRequestAsync(queryURL,
+															   cached != null ? cached.getLastModified() : null);
+		} catch (Throwable t) {
+			return CompletableFuture.failedFuture(toQueryException(queryURL, t));
+		}
+		return request.handle((response, failure) -> {
+			if (failure != null)
+				return CompletableFuture.<QueryResult>failedFuture(toQueryException(queryURL,
+									failure instanceof CompletionException && failure.getCause() != null ?
+																				failure.getCause() : failure));
+			else
+				return execute(() -> processResponse(queryURL, cached, response));
+		}).thenCompose(r -> r);
+	}
+
+	/**
+	 * Helper method to process the response of the SMP server and update the cache with the result.
+	 *
+	 * @param queryURL	the URL the meta data was retrieved from
+	 * @param cached	the cached result of the query, <code>null</code> if there is none or should not be used
+	 * @param response	the response of the SMP server, will be closed when processed
+	 * @return	the retrieved meta-data if available, <code>null</code> if the requested meta-data are not found
+	 * @throws SMPQueryException	when the response indicates an error or cannot be processed
+	 * @since 4.1.0
+	 */
+	private QueryResult processResponse(final URL queryURL, final ICachedResult cached, final ISMPResponse response)
+																							throws SMPQueryException {
+		try {
 			int statusCode = response.getStatusCode();
 			if (statusCode == ISMPResponse.NOT_MODIFIED) {
 				log.info("Meta-data not modified, re-using cache response for query {}", queryURL.toString());
@@ -368,26 +1169,87 @@ public class SMPClient implements ISMPClient {
 				return cached.getQueryResult();
 			} else if (statusCode == ISMPResponse.NOT_FOUND) {
 				log.info("No meta-data not found for query {}", queryURL.toString());
+				if (cfg.resultCache != null && cfg.negativeCacheTime > 0) {
+					log.debug("Store not found result in cache for re-use");
+					cfg.resultCache.storeNotFound(queryURL, LocalDateTime.now());
+				}
 				return null;
 			} else if (statusCode != ISMPResponse.OK) {
 				log.warn("SMP server returned error code ({}) on query {}", statusCode, queryURL.toString());
 				throw new SMPQueryException("SMP Server error (" + statusCode + ")");
 			}
-			QueryResult result = resultReader.handleResponse(response.getInputStream());
-			if (cfg.resultCache != null) {
-				log.debug("Store result in cache for re-use");
-				cfg.resultCache.storeResult(queryURL, result, response.getLastModified(), LocalDateTime.now());
+			final QueryResult result;
+			if (cfg.resultCache instanceof IResponseCache) {
+				// Keep the raw response so the cache can store it
+				final byte[] raw;
+				try (InputStream is = response.getInputStream()) {
+					raw = is.readAllBytes();
+				} catch (IOException readFailure) {
+					log.error("Could not read the response for query {} : {}", queryURL.toString(),
+							  readFailure.getMessage());
+					throw new SMPQueryException("Error while reading the SMP response", readFailure);
+				}
+				result = resultReader.handleResponse(new ByteArrayInputStream(raw));
+				log.debug("Store response in cache for re-use");
+				((IResponseCache) cfg.resultCache).storeResponse(queryURL, raw, result, response.getLastModified(),
+																 LocalDateTime.now());
+			} else {
+				result = resultReader.handleResponse(response.getInputStream());
+				if (cfg.resultCache != null) {
+					log.debug("Store result in cache for re-use");
+					cfg.resultCache.storeResult(queryURL, result, response.getLastModified(), LocalDateTime.now());
+				}
 			}
 			return result;
         } catch (Throwable t) {
-			if (t instanceof SMPQueryException)
-				throw t;
-			log.error("An unexpected error occurred querying the SMP (queryURL={}). Error details: {}",
-						queryURL.toString(), Utils.getExceptionTrace(t));
-			throw new SMPQueryException("Unexpected error during SMP query execution", t);
+			throw toQueryException(queryURL, t);
 		} finally {
 			if (response != null)
 				response.close();
 		}
     }
+
+	/**
+	 * Helper method to convert an error that occurred while executing the query into a {@link SMPQueryException}.
+	 *
+	 * @param queryURL	the URL of the query
+	 * @param t			the error that occurred
+	 * @return	the given error if it already is a {@link SMPQueryException}, otherwise a new exception wrapping it
+	 * @since 4.1.0
+	 */
+	private static SMPQueryException toQueryException(final URL queryURL, final Throwable t) {
+		if (t instanceof SMPQueryException)
+			return (SMPQueryException) t;
+		log.error("An unexpected error occurred querying the SMP (queryURL={}). Error details: {}",
+					queryURL.toString(), Utils.getExceptionTrace(t));
+		return new SMPQueryException("Unexpected error during SMP query execution", t);
+	}
+
+	/**
+	 * Is used as key for the lookup indexes. It weakly references the <i>ServiceMetadata</i> object and compares the
+	 * referenced objects by identity. A reference whose object has been garbage collected is only equal to itself.
+	 */
+	private static final class MetadataRef extends WeakReference<ServiceMetadata> {
+		private final int hash;
+
+		MetadataRef(final ServiceMetadata smd, final ReferenceQueue<ServiceMetadata> queue) {
+			super(smd, queue);
+			this.hash = System.identityHashCode(smd);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof MetadataRef))
+				return false;
+			final ServiceMetadata smd = get();
+			return smd != null && smd == ((MetadataRef) o).get();
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
 }
@@ -18,6 +18,7 @@ package org.holodeckb2b.bdxr.smp.client.impl;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.holodeckb2b.bdxr.smp.client.api.ICertificateFinder;
 import org.holodeckb2b.bdxr.smp.client.api.IRequestExecutor;
@@ -26,6 +27,7 @@ import org.holodeckb2b.bdxr.smp.client.api.ISMPClient;
 import org.holodeckb2b.bdxr.smp.client.api.ISMPLocator;
 import org.holodeckb2b.bdxr.smp.client.api.ISMPResultProcessor;
 import org.holodeckb2b.bdxr.smp.client.api.ITrustValidator;
+import org.holodeckb2b.bdxr.smp.client.api.SchemaValidationPolicy;
 import org.holodeckb2b.commons.util.Utils;
 
 /**
@@ -34,6 +36,18 @@ import org.holodeckb2b.commons.util.Utils;
  * @author Sander Fieten (sander at holodeck-b2b.org)
  */
 public class SMPClientConfig {
+	/**
+	 * The default maximum number of queries executed in parallel when executing a batch of endpoint lookups
+	 * @since 4.1.0
+	 */
+	public static final int DEFAULT_BATCH_CONCURRENCY = 8;
+	/**
+	 * The maximum number of threads of the shared executor used for asynchronous queries and background refreshes when
+	 * no specific executor is configured
+	 * @since 4.1.0
+	 */
+	public static final int DEFAULT_ASYNC_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
 	/**
 	 * The {@link ISMPLocator} implementation the <code>SMPClient</code> should use to find the location of the SMP
 	 * serving a specific participant.
@@ -78,12 +92,66 @@ public class SMPClientConfig {
 	 * @since 3.0.0
 	 */
 	int		maxLocalCacheTime;
+	/**
+	 * The number of minutes that a cached <i>not found</i> result may be used before the server should be queried
+	 * again, 0 if <i>not found</i> results should not be cached.
+	 * @since 4.1.0
+	 */
+	int		negativeCacheTime;
+	/**
+	 * The number of minutes that a locally cached query result may still be used after it expired while it is being
+	 * refreshed in the background, 0 if expired results should not be used.
+	 * @since 4.1.0
+	 */
+	int		maxStaleTime;
+	/**
+	 * The number of minutes before a locally cached query result expires during which use of the result triggers a
+	 * refresh in the background, 0 if results should not be refreshed ahead of expiry.
+	 * @since 4.1.0
+	 */
+	int		refreshAheadTime;
 	/**
 	 * Indicates whether <i>secure validation</i> should be used by the SMP client when validating the XML signature of 
 	 * the response.
 	 * @since 3.1.0  
 	 */
 	Boolean secureSignatureValidation;
+	/**
+	 * The maximum number of verified signed responses to remember, 0 if verification results should not be cached
+	 * @since 4.1.0
+	 */
+	int		signatureCacheSize;
+	/**
+	 * The number of minutes the verification result of a signed response may be re-used
+	 * @since 4.1.0
+	 */
+	int		signatureCacheTime;
+	/**
+	 * The maximum number of trust decisions to cache, 0 if trust decisions should not be cached
+	 * @since 4.1.0
+	 */
+	int		trustCacheSize;
+	/**
+	 * The number of minutes a trust decision may be cached
+	 * @since 4.1.0
+	 */
+	int		trustCacheTime;
+	/**
+	 * The {@link Executor} that should be used to execute asynchronous queries, <code>null</code> if the default
+	 * executor should be used.
+	 * @since 4.1.0
+	 */
+	Executor	asyncExecutor;
+	/**
+	 * The maximum number of queries executed in parallel when executing a batch of endpoint lookups
+	 * @since 4.1.0
+	 */
+	int		maxBatchConcurrency;
+	/**
+	 * The policy that determines which responses are validated against the XML schema
+	 * @since 4.1.0
+	 */
+	SchemaValidationPolicy	schemaValidation;
 
 	/**
 	 * Create a new SMP Client configuration with the default request executor and certificate finder, one allowed
@@ -95,6 +163,8 @@ public class SMPClientConfig {
 		maxRedirects = 1;
 		useLocalCaching = false;
 		secureSignatureValidation = true;
+		maxBatchConcurrency = DEFAULT_BATCH_CONCURRENCY;
+		schemaValidation = SchemaValidationPolicy.ALWAYS;
     }
 
 	/**
@@ -307,6 +377,86 @@ public class SMPClientConfig {
 		return maxLocalCacheTime;
 	}
 	
+	/**
+	 * Sets the number of minutes that the client may re-use a cached <i>not found</i> result, i.e. that the SMP server
+	 * did not have meta-data for the query, before the server should be queried again. This requires that the
+	 * configured {@link IResultCache} supports caching of <i>not found</i> results. Caching of <i>not found</i> results
+	 * does not depend on whether local caching of query results is enabled.
+	 *
+	 * @param negativeTime number of minutes a cached <i>not found</i> result can be re-used, 0 to disable caching
+	 * 					   of <i>not found</i> results
+	 * @since 4.1.0
+	 */
+	public void setNegativeCacheTime(int negativeTime) {
+		if (negativeTime < 0)
+			throw new IllegalArgumentException("Time for caching not found results must not be negative");
+		this.negativeCacheTime = negativeTime;
+	}
+
+	/**
+	 * Gets the number of minutes that the client may re-use a cached <i>not found</i> result.
+	 *
+	 * @return number of minutes a cached <i>not found</i> result can be re-used, 0 if <i>not found</i> results are not
+	 * 		   cached
+	 * @since 4.1.0
+	 */
+	public int getNegativeCacheTime() {
+		return negativeCacheTime;
+	}
+
+	/**
+	 * Sets the number of minutes that the client may still use a locally cached query result after it expired, while
+	 * the result is refreshed in the background (<i>stale-while-revalidate</i>). When the result expired longer ago the
+	 * client will wait for the query to the SMP server to complete.
+	 * <p>NOTE: This only applies when local caching is enabled, see {@link #setLocalCaching(boolean)}.
+	 *
+	 * @param maxStale	number of minutes an expired result can still be used, 0 to disable use of expired results
+	 * @since 4.1.0
+	 */
+	public void setMaxStaleTime(int maxStale) {
+		if (maxStale < 0)
+			throw new IllegalArgumentException("Max stale time must not be negative");
+		this.maxStaleTime = maxStale;
+	}
+
+	/**
+	 * Gets the number of minutes that the client may still use a locally cached query result after it expired.
+	 *
+	 * @return	number of minutes an expired result can still be used, 0 if expired results are not used
+	 * @since 4.1.0
+	 */
+	public int getMaxStaleTime() {
+		return maxStaleTime;
+	}
+
+	/**
+	 * Sets the number of minutes before the expiry of a locally cached query result during which use of the result
+	 * will trigger a refresh of the result in the background (<i>refresh-ahead</i>). This way results that are used
+	 * frequently are refreshed before they expire.
+	 * <p>NOTE: This only applies when local caching is enabled, see {@link #setLocalCaching(boolean)}. The time should
+	 * be less than the maximum time a result may be re-used, as otherwise each use of a cached result triggers a
+	 * refresh.
+	 *
+	 * @param refreshAhead	number of minutes before expiry a result is refreshed, 0 to disable refreshing ahead
+	 * @since 4.1.0
+	 */
+	public void setRefreshAheadTime(int refreshAhead) {
+		if (refreshAhead < 0)
+			throw new IllegalArgumentException("Refresh ahead time must not be negative");
+		this.refreshAheadTime = refreshAhead;
+	}
+
+	/**
+	 * Gets the number of minutes before the expiry of a locally cached query result during which use of the result
+	 * will trigger a refresh of the result in the background.
+	 *
+	 * @return	number of minutes before expiry a result is refreshed, 0 if results are not refreshed ahead of expiry
+	 * @since 4.1.0
+	 */
+	public int getRefreshAheadTime() {
+		return refreshAheadTime;
+	}
+
 	/**
 	 * Sets the indicator whether <i>secure validation</i> should be used by the SMP client when validating the XML 
 	 * signature of the response.
@@ -329,4 +479,150 @@ public class SMPClientConfig {
 	public Boolean useSecureSignatureValidation() {
 		return secureSignatureValidation;
 	}
+
+	/**
+	 * Sets the maximum number of signed responses which verification result is remembered by the SMP client and the
+	 * time it may be re-used. When the client receives a response that is identical to a recently verified one, the
+	 * verification of its XML signature is skipped. The trust in the signing certificate is still validated.
+	 *
+	 * @param maxEntries	the maximum number of verification results to remember, 0 to disable re-use
+	 * @param maxTime		the number of minutes a verification result may be re-used, must be at least 1 when
+	 * 						<code>maxEntries</code> is larger than 0
+	 * @since 4.1.0
+	 */
+	public void setSignatureVerificationCache(int maxEntries, int maxTime) {
+		if (maxEntries < 0)
+			throw new IllegalArgumentException("Maximum number of entries must not be negative");
+		if (maxEntries > 0 && maxTime < 1)
+			throw new IllegalArgumentException("Max time must be at least 1");
+		this.signatureCacheSize = maxEntries;
+		this.signatureCacheTime = maxTime;
+	}
+
+	/**
+	 * Gets the maximum number of signed responses which verification result is remembered by the SMP client.
+	 *
+	 * @return the maximum number of verification results to remember, 0 if verification results are not re-used
+	 * @since 4.1.0
+	 */
+	public int getSignatureVerificationCacheSize() {
+		return signatureCacheSize;
+	}
+
+	/**
+	 * Gets the number of minutes the verification result of a signed response may be re-used.
+	 *
+	 * @return the number of minutes a verification result may be re-used
+	 * @since 4.1.0
+	 */
+	public int getSignatureVerificationCacheTime() {
+		return signatureCacheTime;
+	}
+
+	/**
+	 * Sets the maximum number of trust decisions of the configured {@link #getTrustValidator() trust validator} that
+	 * should be cached and the time they may be cached. See {@link CachingTrustValidator} for details.
+	 *
+	 * @param maxEntries	the maximum number of trust decisions to cache, 0 to disable caching
+	 * @param maxTime		the number of minutes a trust decision may be cached, must be at least 1 when <code>
+	 * 						maxEntries</code> is larger than 0
+	 * @since 4.1.0
+	 */
+	public void setTrustValidationCache(int maxEntries, int maxTime) {
+		if (maxEntries < 0)
+			throw new IllegalArgumentException("Maximum number of entries must not be negative");
+		if (maxEntries > 0 && maxTime < 1)
+			throw new IllegalArgumentException("Max time must be at least 1");
+		this.trustCacheSize = maxEntries;
+		this.trustCacheTime = maxTime;
+	}
+
+	/**
+	 * Gets the maximum number of trust decisions that should be cached.
+	 *
+	 * @return the maximum number of trust decisions to cache, 0 if trust decisions are not cached
+	 * @since 4.1.0
+	 */
+	public int getTrustValidationCacheSize() {
+		return trustCacheSize;
+	}
+
+	/**
+	 * Gets the number of minutes a trust decision may be cached.
+	 *
+	 * @return the number of minutes a trust decision may be cached
+	 * @since 4.1.0
+	 */
+	public int getTrustValidationCacheTime() {
+		return trustCacheTime;
+	}
+
+	/**
+	 * Sets the {@link Executor} that the <code>SMPClient</code> should use to execute asynchronous queries. If no
+	 * executor is set, a shared default executor with at most {@link #DEFAULT_ASYNC_THREADS} daemon threads is used.
+	 *
+	 * @param executor	the executor to use for asynchronous queries, <code>null</code> to use the default executor
+	 * @since 4.1.0
+	 */
+	public void setAsyncExecutor(Executor executor) {
+		this.asyncExecutor = executor;
+	}
+
+	/**
+	 * Gets the {@link Executor} that the <code>SMPClient</code> should use to execute asynchronous queries.
+	 *
+	 * @return the executor to use for asynchronous queries, <code>null</code> if the default executor should be used
+	 * @since 4.1.0
+	 */
+	public Executor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	/**
+	 * Sets the maximum number of queries the <code>SMPClient</code> executes in parallel when executing a batch of
+	 * endpoint lookups.
+	 *
+	 * @param maxConcurrency	the maximum number of queries executed in parallel, must be at least 1
+	 * @since 4.1.0
+	 */
+	public void setMaxBatchConcurrency(int maxConcurrency) {
+		if (maxConcurrency < 1)
+			throw new IllegalArgumentException("Max batch concurrency must be at least 1");
+		this.maxBatchConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Gets the maximum number of queries the <code>SMPClient</code> executes in parallel when executing a batch of
+	 * endpoint lookups.
+	 *
+	 * @return the maximum number of queries executed in parallel
+	 * @since 4.1.0
+	 */
+	public int getMaxBatchConcurrency() {
+		return maxBatchConcurrency;
+	}
+
+	/**
+	 * Sets the policy that determines which SMP responses the <code>SMPClient</code> lets the result processors
+	 * validate against the XML schema.
+	 *
+	 * @param policy	the schema validation policy to use, must not be <code>null</code>
+	 * @since 4.1.0
+	 */
+	public void setSchemaValidationPolicy(SchemaValidationPolicy policy) {
+		if (policy == null)
+			throw new IllegalArgumentException("Schema validation policy must be specified");
+		this.schemaValidation = policy;
+	}
+
+	/**
+	 * Gets the policy that determines which SMP responses the <code>SMPClient</code> lets the result processors
+	 * validate against the XML schema.
+	 *
+	 * @return the schema validation policy to use
+	 * @since 4.1.0
+	 */
+	public SchemaValidationPolicy getSchemaValidationPolicy() {
+		return schemaValidation;
+	}
 }
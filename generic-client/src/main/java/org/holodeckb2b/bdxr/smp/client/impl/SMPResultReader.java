@@ -16,10 +16,20 @@
  */
 package org.holodeckb2b.bdxr.smp.client.impl;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.security.cert.X509Certificate;
-import java.util.Optional;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import javax.xml.crypto.AlgorithmMethod;
 import javax.xml.crypto.KeySelector;
@@ -42,6 +52,7 @@ import org.holodeckb2b.bdxr.smp.client.api.ICertificateFinder;
 import org.holodeckb2b.bdxr.smp.client.api.ISMPResultProcessor;
 import org.holodeckb2b.bdxr.smp.client.api.ITrustValidator;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.client.api.SchemaValidationPolicy;
 import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
 import org.holodeckb2b.commons.security.CertificateUtils;
 import org.holodeckb2b.commons.util.Utils;
@@ -69,20 +80,149 @@ public class SMPResultReader {
      * Local name of the XML element containing the signature
      */
     private static final String XMLDSIG_SIGNATURE = "Signature";
+    /**
+     * The factory used to create the XML parsers. As the factory is not thread safe, it should only be used while
+     * holding {@link #DOC_BUILDER_FACTORY_LOCK}.
+     * @since 4.1.0
+     */
+    private static final DocumentBuilderFactory	DOC_BUILDER_FACTORY;
+    /**
+     * The lock guarding the use of the parser factory. An explicit lock is used instead of a <code>synchronized</code>
+     * block so a virtual thread waiting for it does not pin its carrier thread.
+     * @since 4.1.0
+     */
+    private static final ReentrantLock	DOC_BUILDER_FACTORY_LOCK = new ReentrantLock();
+    static {
+    	DOC_BUILDER_FACTORY = DocumentBuilderFactory.newInstance();
+    	DOC_BUILDER_FACTORY.setNamespaceAware(true);
+    }
+    /**
+     * Pool of XML parsers, shared by all reader instances as the parser configuration does not depend on the client
+     * configuration
+     * @since 4.1.0
+     */
+    private static final InstancePool<DocumentBuilder, ParserConfigurationException> DOC_BUILDERS =
+    		new InstancePool<>(() -> {
+    								DOC_BUILDER_FACTORY_LOCK.lock();
+    								try {
+    									return DOC_BUILDER_FACTORY.newDocumentBuilder();
+    								} finally {
+    									DOC_BUILDER_FACTORY_LOCK.unlock();
+    								}
+    							}, DocumentBuilder::reset);
+    /**
+     * Pool of XML signature factories, shared by all reader instances. A factory instance is not thread safe but does
+     * not have state that needs to be reset between uses.
+     * @since 4.1.0
+     */
+    private static final InstancePool<XMLSignatureFactory, RuntimeException> SIG_FACTORIES =
+    		new InstancePool<>(() -> XMLSignatureFactory.getInstance("DOM"));
+
     /**
      * The configuration used by this SMP Client instance
      */
     private SMPClientConfig		clientConfig;
+    /**
+     * The registered result processors, in order of registration
+     * @since 4.1.0
+     */
+    private final List<ISMPResultProcessor>	processors;
+    /**
+     * Index of the result processors that declared their supported name spaces, mapped by name space URI
+     * @since 4.1.0
+     */
+    private final Map<String, ISMPResultProcessor> processorIndex;
+    /**
+     * Cache of verified signed responses, <code>null</code> if verification results should not be re-used
+     * @since 4.1.0
+     */
+    private final SignatureVerificationCache	verifiedSignatures;
+    /**
+     * The caching decorator of the configured trust validator, <code>null</code> if trust decisions are not cached
+     * @since 4.1.0
+     */
+    private final CachingTrustValidator	cachingTrustValidator;
 
     /**
      * Creates a new instance with the given configuration.
+     * <p>NOTE: The list of registered result processors is copied from the configuration, so processors added to the
+     * configuration after the reader has been created are not used.
      *
      * @param config	The configuration used by this SMP Client
      */
     SMPResultReader(final SMPClientConfig config) {
     	this.clientConfig = config;
+    	this.processors = config.getProcessors() != null ? List.copyOf(config.getProcessors())
+    													 : Collections.emptyList();
+    	this.processorIndex = buildProcessorIndex(processors);
+    	this.verifiedSignatures = config.getSignatureVerificationCacheSize() > 0 ?
+    					new SignatureVerificationCache(config.getSignatureVerificationCacheSize(),
+    										TimeUnit.MINUTES.toNanos(config.getSignatureVerificationCacheTime()))
+    					: null;
+    	this.cachingTrustValidator = config.getTrustValidator() != null && config.getTrustValidationCacheSize() > 0 ?
+    					new CachingTrustValidator(config.getTrustValidator(), config.getTrustValidationCacheSize(),
+    											  Duration.ofMinutes(config.getTrustValidationCacheTime()))
+    					: null;
 	}
 
+    /**
+     * Builds the index of result processors that declared the name spaces they support. As only the first registered
+     * processor that can handle a name space should be used, a declared name space is only added to the index if no
+     * processor registered earlier can handle it.
+     *
+     * @param processors	the registered result processors, in order of registration
+     * @return	the name space URI to processor index
+     * @since 4.1.0
+     */
+    private static Map<String, ISMPResultProcessor> buildProcessorIndex(final List<ISMPResultProcessor> processors) {
+    	final Map<String, ISMPResultProcessor> index = new HashMap<>();
+    	for (int i = 0; i < processors.size(); i++) {
+    		final ISMPResultProcessor p = processors.get(i);
+    		for (String ns : p.getSupportedNamespaces()) {
+    			if (index.containsKey(ns))
+    				continue;
+    			boolean handledByEarlier = false;
+    			for (int j = 0; j < i && !handledByEarlier; j++)
+    				handledByEarlier = processors.get(j).getSupportedNamespaces().isEmpty()
+    									&& processors.get(j).canProcess(ns);
+    			if (!handledByEarlier)
+    				index.put(ns, p);
+    		}
+    	}
+    	log.trace("Indexed result processors for name spaces: {}", index.keySet());
+    	return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Gets the result processors used by this reader.
+     *
+     * @return	the registered result processors, in order of registration
+     * @since 4.1.0
+     */
+    List<ISMPResultProcessor> getProcessors() {
+    	return processors;
+    }
+
+    /**
+     * Initialises the XML parser and signature factory used for reading the responses, so they are available when the
+     * first response is read.
+     *
+     * @throws SMPQueryException	when the XML parser cannot be created
+     * @since 4.1.0
+     */
+    void warmUp() throws SMPQueryException {
+    	DocumentBuilder db = null;
+    	try {
+    		db = DOC_BUILDERS.acquire();
+    	} catch (ParserConfigurationException parserError) {
+    		log.error("Could not create the XML parser : {}", parserError.getMessage());
+    		throw new SMPQueryException("Could not create the XML parser", parserError);
+    	} finally {
+    		DOC_BUILDERS.release(db);
+    	}
+    	SIG_FACTORIES.release(SIG_FACTORIES.acquire());
+    }
+
     /**
      * Processes the SMP response and converts it into the object representation.
      *
@@ -92,12 +232,24 @@ public class SMPResultReader {
      */
     public QueryResult handleResponse(final InputStream is) throws SMPQueryException {
         Document xmlResult;
+        DocumentBuilder db = null;
+        // When verification results are re-used, calculate the digest of the response while parsing it
+        final MessageDigest digest = verifiedSignatures != null ? SignatureVerificationCache.newDigest() : null;
         try {
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setNamespaceAware(true);
-            DocumentBuilder db = dbf.newDocumentBuilder();
+            db = DOC_BUILDERS.acquire();
             log.trace("Parsing the SMP response");
-            xmlResult = db.parse(is);
+            if (digest != null) {
+            	final InputStream dis = new DigestInputStream(is, digest);
+            	// The parser closes the stream when done, so prevent it from doing so until the digest is complete
+            	xmlResult = db.parse(new FilterInputStream(dis) {
+            								@Override
+            								public void close() {}
+            							});
+            	// Include any data the parser did not read in the digest
+            	dis.transferTo(OutputStream.nullOutputStream());
+            	dis.close();
+            } else
+            	xmlResult = db.parse(is);
             log.trace("Successfully parsed the SMP response into XML document");
         } catch (ParserConfigurationException | SAXException parsingError) {
             log.error("Could not parse the XML returned by the SMP server! Details: {}" + parsingError.getMessage());
@@ -105,13 +257,26 @@ public class SMPResultReader {
         } catch (IOException streamError) {
             log.error("Could not read complete response! Details: {}" + streamError.getMessage());
             throw new SMPQueryException("Incomplete response from SMP server!", streamError);
+		} finally {
+			DOC_BUILDERS.release(db);
 		}
 
         final Element rootElement = xmlResult.getDocumentElement();
         final Element signature = getFirstSignature(rootElement);
         X509Certificate signingCert = null;
-        if (signature != null)
-            signingCert = verifySignature(xmlResult, signature);
+        if (signature != null) {
+        	final byte[] responseDigest = digest != null ? digest.digest() : null;
+        	if (responseDigest != null)
+        		signingCert = verifiedSignatures.get(responseDigest);
+        	if (signingCert == null) {
+        		signingCert = verifySignature(xmlResult, signature);
+        		if (responseDigest != null)
+        			verifiedSignatures.put(responseDigest, signingCert);
+        	} else {
+        		log.debug("Signature of identical response already verified");
+        		validateTrust(signingCert);
+        	}
+        }
 
         // Get the name space of the root element to determine the correct result processor
         final String resultNamespace = rootElement.getNamespaceURI();
@@ -122,11 +287,18 @@ public class SMPResultReader {
             throw new SMPQueryException("Unknown XML document received from SMP server!");
         }
         log.trace("Using {} processor to convert XML into object representation", processor.getClass().getName());
+        final SchemaValidationPolicy validationPolicy = clientConfig.getSchemaValidationPolicy();
+        // A signed response can only be trusted when its signing certificate was checked by a trust validator, as
+        // validateTrust() would have thrown an exception if it was not trusted
+        final boolean trustedSigner = signingCert != null && clientConfig.getTrustValidator() != null;
+        final boolean validate = validationPolicy == null || validationPolicy == SchemaValidationPolicy.ALWAYS
+        						 || (validationPolicy == SchemaValidationPolicy.UNSIGNED_ONLY && !trustedSigner);
+        log.trace("Response will {}be validated against the XML schema", validate ? "" : "not ");
         QueryResult objResult;
 		if (signingCert != null)
-			objResult = processor.processResult(xmlResult, signingCert);
+			objResult = processor.processResult(xmlResult, signingCert, validate);
 		else
-			objResult = processor.processResult(xmlResult);
+			objResult = processor.processResult(xmlResult, validate);
         log.debug("Successfully converted the XML format to object model");
         return objResult;
     }
@@ -138,9 +310,13 @@ public class SMPResultReader {
      * @return	the result processor that will handle the response if one is registered, <code>null</code> otherwise
      */
     private ISMPResultProcessor findResultProcessor(String namespace) {
-    	Optional<ISMPResultProcessor> processorSrch = clientConfig.getProcessors().parallelStream()
-    																.filter(p -> p.canProcess(namespace)).findFirst();
-		return processorSrch.isPresent() ? processorSrch.get() : null;
+    	final ISMPResultProcessor indexed = processorIndex.get(namespace);
+    	if (indexed != null)
+    		return indexed;
+    	for (ISMPResultProcessor p : processors)
+    		if (p.canProcess(namespace))
+    			return p;
+		return null;
 	}
 
 	/**
@@ -173,6 +349,7 @@ public class SMPResultReader {
      */
     private X509Certificate verifySignature(final Document xmlResultDoc, final Element signatureElement)
     																					throws SMPQueryException {
+        XMLSignatureFactory xmlSignatureFactory = null;
         try {
             CertificateKeySelector keySelector = new CertificateKeySelector();
             log.debug("Preparing context for signature verification");
@@ -181,7 +358,7 @@ public class SMPResultReader {
             // always set 
             valContext.setProperty("org.jcp.xml.dsig.secureValidation", clientConfig.useSecureSignatureValidation());
             valContext.setProperty("org.apache.jcp.xml.dsig.secureValidation", clientConfig.useSecureSignatureValidation());
-            XMLSignatureFactory xmlSignatureFactory = XMLSignatureFactory.getInstance("DOM");
+            xmlSignatureFactory = SIG_FACTORIES.acquire();
             XMLSignature signature = xmlSignatureFactory.unmarshalXMLSignature(valContext);
             log.debug("Verifying the signature...");
             if (!signature.validate(valContext)) {
@@ -190,28 +367,43 @@ public class SMPResultReader {
             }
             final X509Certificate signingCert = keySelector.getCertificate();
             log.debug("Signature succesfully verified");
-            final ITrustValidator trustValidator = clientConfig.getTrustValidator();
-            if (trustValidator != null) {
-            	log.debug("Validating trust in certficate using validator {}", trustValidator.getClass().getName());
-            	if (!trustValidator.isTrusted(signingCert)) {
-            		log.warn("SMP Certificate is not trusted! Cert info:\n\tSubject         : {}\n\tIssuer/serialNo : {}/{}",
-            				 CertificateUtils.getSubjectName(signingCert), CertificateUtils.getIssuerName(signingCert),
-            				 signingCert.getSerialNumber().toString());
-            		throw new SMPQueryException("SMP Certificate used for signing is not trusted");
-            	}
-            	log.debug("SMP Certificate is trusted. Cert info:\n\tSubject         : {}\n\tIssuer/serialNo : {}/{}",
-						 CertificateUtils.getSubjectName(signingCert), CertificateUtils.getIssuerName(signingCert),
-						 signingCert.getSerialNumber().toString());
-            } else
-            	log.debug("Trust validation disabled");
+            validateTrust(signingCert);
             return signingCert;
         } catch (XMLSignatureException | MarshalException verificationFailed) {
             log.error("An error occurred during signature verification!\n\tDetails: {}",
             			Utils.getExceptionTrace(verificationFailed));
             throw new SMPQueryException("Unable to verify signature.", verificationFailed);
+        } finally {
+        	SIG_FACTORIES.release(xmlSignatureFactory);
         }
     }
 
+    /**
+     * Validates the trust in the certificate used to sign the SMP result using the configured trust validator, or its
+     * caching decorator when trust decisions are cached.
+     *
+     * @param signingCert	The X509 Certificate used for signing the SMP result
+     * @throws SMPQueryException	When the certificate is not trusted
+     * @since 4.1.0
+     */
+    private void validateTrust(final X509Certificate signingCert) throws SMPQueryException {
+        final ITrustValidator trustValidator = cachingTrustValidator != null ? cachingTrustValidator
+        																	 : clientConfig.getTrustValidator();
+        if (trustValidator != null) {
+        	log.debug("Validating trust in certficate using validator {}", trustValidator.getClass().getName());
+        	if (!trustValidator.isTrusted(signingCert)) {
+        		log.warn("SMP Certificate is not trusted! Cert info:\n\tSubject         : {}\n\tIssuer/serialNo : {}/{}",
+        				 CertificateUtils.getSubjectName(signingCert), CertificateUtils.getIssuerName(signingCert),
+        				 signingCert.getSerialNumber().toString());
+        		throw new SMPQueryException("SMP Certificate used for signing is not trusted");
+        	}
+        	log.debug("SMP Certificate is trusted. Cert info:\n\tSubject         : {}\n\tIssuer/serialNo : {}/{}",
+					 CertificateUtils.getSubjectName(signingCert), CertificateUtils.getIssuerName(signingCert),
+					 signingCert.getSerialNumber().toString());
+        } else
+        	log.debug("Trust validation disabled");
+    }
+
     /**
      * Is an implementation of the abstract {@link KeySelector} to retrieve the X509 Certificate that contains the
      * public key to use for the verification of the signature. This key selector uses the configured {@link
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Is a cache of successfully verified signed SMP responses, used by the {@link SMPResultReader} to skip the verification
+ * of the signature when it receives exactly the same response again. The responses are identified by the SHA-256 digest
+ * of the complete response. The cache only covers the XML signature verification, the trust in the signing certificate
+ * must still be validated on every re-use. An entry is used for a limited time and never beyond the expiration of the
+ * signing certificate.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+final class SignatureVerificationCache {
+	/**
+	 * The digest algorithm used to identify the responses
+	 */
+	static final String DIGEST_ALGORITHM = "SHA-256";
+
+	/**
+	 * The verified responses, mapped by their digest
+	 */
+	private final BoundedLRUMap<ByteBuffer, Verified>	entries;
+	/**
+	 * The time in nanoseconds an entry may be used
+	 */
+	private final long	maxAge;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param maxEntries	the maximum number of verified responses to cache
+	 * @param maxAge		the number of nanoseconds an entry may be used
+	 */
+	SignatureVerificationCache(final int maxEntries, final long maxAge) {
+		this.entries = new BoundedLRUMap<>(maxEntries);
+		this.maxAge = maxAge;
+	}
+
+	/**
+	 * Creates a new digest for calculating the key of a response.
+	 *
+	 * @return	new {@link MessageDigest} instance
+	 */
+	static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException notAvailable) {
+			// SHA-256 must be supported by every Java platform
+			throw new IllegalStateException(notAvailable);
+		}
+	}
+
+	/**
+	 * Gets the certificate used to sign the response with the given digest if the response was verified recently.
+	 *
+	 * @param digest	the digest of the response
+	 * @return	the signing certificate if the response was verified and the entry has not expired, <code>null</code>
+	 * 			otherwise
+	 */
+	X509Certificate get(final byte[] digest) {
+		final ByteBuffer key = ByteBuffer.wrap(digest);
+		final Verified v = entries.get(key);
+		if (v == null)
+			return null;
+		if (System.nanoTime() - v.expiresAt >= 0) {
+			entries.remove(key, v);
+			return null;
+		}
+		return v.signingCert;
+	}
+
+	/**
+	 * Registers that the response with the given digest has been verified. The entry expires after the configured
+	 * time or when the signing certificate expires, whichever comes first. When the certificate has already expired
+	 * the response is not registered.
+	 *
+	 * @param digest		the digest of the response
+	 * @param signingCert	the certificate used to sign the response
+	 */
+	void put(final byte[] digest, final X509Certificate signingCert) {
+		final long validFor = TimeUnit.MILLISECONDS.toNanos(signingCert.getNotAfter().getTime()
+															- System.currentTimeMillis());
+		final long ttl = Math.min(maxAge, validFor);
+		if (ttl > 0)
+			entries.put(ByteBuffer.wrap(digest), new Verified(signingCert, System.nanoTime() + ttl));
+	}
+
+	private static final class Verified {
+		final X509Certificate	signingCert;
+		final long				expiresAt;
+
+		Verified(final X509Certificate signingCert, final long expiresAt) {
+			this.signingCert = signingCert;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
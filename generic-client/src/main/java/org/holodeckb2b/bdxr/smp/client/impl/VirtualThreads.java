@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Provides access to an {@link ExecutorService} that executes each task in a new <i>virtual thread</i>. As the queries
+ * executed by the SMP client block on I/O, virtual threads allow a large number of concurrent queries without the need
+ * for a large pool of platform threads.
+ * <p>Virtual threads are available as of Java 21, while this library has a Java 11 baseline. The executor is therefore
+ * created using reflection and is only available when running on a JVM that supports virtual threads, which can be
+ * checked using {@link #isSupported()}.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public final class VirtualThreads {
+	private static final Logger	log = LogManager.getLogger(VirtualThreads.class);
+
+	/**
+	 * The shared executor, <code>null</code> if virtual threads are not supported by the JVM
+	 */
+	private static final ExecutorService EXECUTOR;
+	static {
+		ExecutorService executor = null;
+		try {
+			final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			executor = (ExecutorService) factory.invoke(null);
+			log.debug("Virtual threads are supported by the JVM");
+		} catch (ReflectiveOperationException | RuntimeException notSupported) {
+			log.debug("Virtual threads are not supported by the JVM");
+		}
+		EXECUTOR = executor;
+	}
+
+	private VirtualThreads() {}
+
+	/**
+	 * Indicates whether the JVM supports virtual threads.
+	 *
+	 * @return <code>true</code> if virtual threads are supported, <code>false</code> if not
+	 */
+	public static boolean isSupported() {
+		return EXECUTOR != null;
+	}
+
+	/**
+	 * Gets the shared executor that executes each task in a new virtual thread.
+	 *
+	 * @return	the virtual thread executor
+	 * @throws UnsupportedOperationException	when the JVM does not support virtual threads
+	 */
+	public static ExecutorService getExecutor() {
+		if (EXECUTOR == null)
+			throw new UnsupportedOperationException("Virtual threads are not supported by this JVM");
+		return EXECUTOR;
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.IHostNameGenerator;
+import org.holodeckb2b.bdxr.smp.client.api.SMPLocatorException;
+import org.junit.jupiter.api.Test;
+import org.xbill.DNS.DClass;
+import org.xbill.DNS.NAPTRRecord;
+import org.xbill.DNS.Name;
+
+class BDXLLocatorTest {
+	private static final String SVC = "Meta:SMP";
+	private static final String DOMAIN = ".sml.test.holodeck-b2b.org.";
+	private static final Identifier P_1 = new IdentifierImpl("PARTID_1", "test:scheme");
+	private static final Identifier P_2 = new IdentifierImpl("PARTID_2", "test:scheme");
+
+	/**
+	 * Locator that returns pre-configured records instead of executing the DNS query
+	 */
+	static class TestLocator extends BDXLLocator {
+		final Map<String, org.xbill.DNS.Record[]> records = new HashMap<>();
+		final AtomicInteger queries = new AtomicInteger();
+		boolean fail = false;
+
+		TestLocator(int maxEntries, Duration minTTL, Duration maxTTL, Duration negativeTTL) {
+			this(p -> p.getValue().toLowerCase() + DOMAIN, maxEntries, minTTL, maxTTL, negativeTTL);
+		}
+
+		TestLocator(IHostNameGenerator generator, int maxEntries, Duration minTTL, Duration maxTTL,
+					Duration negativeTTL) {
+			super(generator, SVC, maxEntries, minTTL, maxTTL, negativeTTL);
+		}
+
+		TestLocator add(String host, long ttl, String flags, String regexp, String replacement) throws Exception {
+			records.put(host, new org.xbill.DNS.Record[] {
+								new NAPTRRecord(Name.fromString(host), DClass.IN, ttl, 100, 10, flags, SVC, regexp,
+												replacement != null ? Name.fromString(replacement) : Name.root) });
+			return this;
+		}
+
+		@Override
+		protected org.xbill.DNS.Record[] queryNAPTRRecords(String hostname) throws SMPLocatorException {
+			queries.incrementAndGet();
+			if (fail)
+				throw new SMPLocatorException("Error in execution of DNS query (timed out)");
+			return records.get(hostname);
+		}
+	}
+
+	@Test
+	void testCacheForRecordTTL() throws Exception {
+		TestLocator locator = new TestLocator(10, Duration.ZERO, Duration.ofHours(1), Duration.ofMinutes(1))
+									.add("partid_1" + DOMAIN, 3600, "U", "!.*!http://smp.test.holodeck-b2b.org!", null)
+									.add("partid_2" + DOMAIN, 0, "U", "!.*!http://smp2.test.holodeck-b2b.org!", null);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals("http://smp.test.holodeck-b2b.org", locator.locateSMP(P_1).toString());
+			assertEquals("http://smp2.test.holodeck-b2b.org", locator.locateSMP(P_2).toString());
+		}
+		// The location of the second participant has a TTL of 0 and should not be cached
+		assertEquals(4, locator.queries.get());
+
+		locator.clearCache();
+		locator.locateSMP(P_1);
+		assertEquals(5, locator.queries.get());
+	}
+
+	@Test
+	void testMinAndMaxTTL() throws Exception {
+		TestLocator locator = new TestLocator(10, Duration.ofMinutes(5), Duration.ofMinutes(5), Duration.ZERO)
+									.add("partid_2" + DOMAIN, 0, "U", "!.*!http://smp2.test.holodeck-b2b.org!", null);
+
+		for (int i = 0; i < 3; i++)
+			locator.locateSMP(P_2);
+		assertEquals(1, locator.queries.get());
+
+		locator = new TestLocator(10, Duration.ZERO, Duration.ZERO, Duration.ZERO)
+									.add("partid_1" + DOMAIN, 3600, "U", "!.*!http://smp.test.holodeck-b2b.org!", null);
+		for (int i = 0; i < 3; i++)
+			locator.locateSMP(P_1);
+		assertEquals(3, locator.queries.get());
+	}
+
+	@Test
+	void testReplacement() throws Exception {
+		TestLocator locator = new TestLocator(10, Duration.ZERO, Duration.ofHours(1), Duration.ZERO)
+									.add("partid_1" + DOMAIN, 0, "", "", "replaced" + DOMAIN)
+									.add("replaced" + DOMAIN, 3600, "U", "!.*!http://smp.test.holodeck-b2b.org!", null);
+
+		for (int i = 0; i < 2; i++)
+			assertEquals("http://smp.test.holodeck-b2b.org", locator.locateSMP(P_1).toString());
+		// The NAPTR record pointing to the replacement has a TTL of 0, so the location should not be cached
+		assertEquals(4, locator.queries.get());
+	}
+
+	@Test
+	void testNegativeCaching() throws Exception {
+		TestLocator locator = new TestLocator(10, Duration.ZERO, Duration.ofHours(1), Duration.ofMinutes(1));
+
+		for (int i = 0; i < 3; i++)
+			assertEquals("Participant not registered",
+						 assertThrows(SMPLocatorException.class, () -> locator.locateSMP(P_1)).getMessage());
+		assertEquals(1, locator.queries.get());
+	}
+
+	@Test
+	void testErrorsNotCached() throws Exception {
+		TestLocator locator = new TestLocator(10, Duration.ZERO, Duration.ofHours(1), Duration.ofMinutes(1))
+									.add("partid_1" + DOMAIN, 3600, "U", "!.*!http://smp.test.holodeck-b2b.org!", null);
+
+		locator.fail = true;
+		assertThrows(SMPLocatorException.class, () -> locator.locateSMP(P_1));
+		locator.fail = false;
+		assertDoesNotThrow(() -> locator.locateSMP(P_1));
+		assertEquals(2, locator.queries.get());
+	}
+
+	@Test
+	void testSchemesWithSameHashCode() throws Exception {
+		// "Aa" and "BB" have the same String hash code
+		assertEquals("Aa".hashCode(), "BB".hashCode());
+		final Identifier pAa = new IdentifierImpl("PARTID_1", "Aa");
+		final Identifier pBB = new IdentifierImpl("PARTID_1", "BB");
+		TestLocator locator = new TestLocator(p -> p.getScheme().getSchemeId().toLowerCase() + DOMAIN, 10,
+											  Duration.ZERO, Duration.ofHours(1), Duration.ofMinutes(1))
+									.add("aa" + DOMAIN, 3600, "U", "!.*!http://smp.test.holodeck-b2b.org!", null)
+									.add("bb" + DOMAIN, 3600, "U", "!.*!http://smp2.test.holodeck-b2b.org!", null);
+
+		for (int i = 0; i < 2; i++) {
+			assertEquals("http://smp.test.holodeck-b2b.org", locator.locateSMP(pAa).toString());
+			assertEquals("http://smp2.test.holodeck-b2b.org", locator.locateSMP(pBB).toString());
+		}
+		assertEquals(2, locator.queries.get());
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedLRUMapTest {
+
+	@Test
+	void testComputeKeepsUnchangedEntry() {
+		BoundedLRUMap<String, String> map = new BoundedLRUMap<>(2, false);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+
+		// Returning the current value should not mark the entry as most recently used
+		assertEquals("v1", map.compute("k1", (k, current) -> current));
+		map.put("k3", "v3");
+		assertNull(map.get("k1"));
+		assertEquals("v2", map.get("k2"));
+	}
+
+	@Test
+	void testComputeUpdatesChangedEntry() {
+		BoundedLRUMap<String, String> map = new BoundedLRUMap<>(2, false);
+		map.put("k1", "v1");
+		map.put("k2", "v2");
+
+		assertEquals("v1-new", map.compute("k1", (k, current) -> current + "-new"));
+		map.put("k3", "v3");
+		assertEquals("v1-new", map.get("k1"));
+		assertNull(map.get("k2"));
+
+		assertNull(map.compute("k1", (k, current) -> null));
+		assertNull(map.get("k1"));
+	}
+
+	@Test
+	void testComputeFailureKeepsEntry() {
+		BoundedLRUMap<String, String> map = new BoundedLRUMap<>(2);
+		map.put("k1", "v1");
+
+		assertThrows(IllegalStateException.class,
+					 () -> map.compute("k1", (k, current) -> { throw new IllegalStateException(); }));
+		assertEquals("v1", map.get("k1"));
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.IHostNameGenerator;
+import org.junit.jupiter.api.Test;
+
+class CachingHostNameGeneratorTest {
+
+	private final AtomicInteger generated = new AtomicInteger();
+
+	private final IHostNameGenerator generator = p -> {
+		if (p.getScheme() == null)
+			throw new IllegalArgumentException("The participant identifier scheme must be set");
+		generated.incrementAndGet();
+		return p.getValue() + "." + p.getScheme().getSchemeId() + ".sml.test";
+	};
+
+	@Test
+	void testCached() {
+		CachingHostNameGenerator cachingGenerator = new CachingHostNameGenerator(generator, 10);
+		Identifier p1 = new IdentifierImpl("PARTID_1", "scheme-1");
+
+		assertEquals("PARTID_1.scheme-1.sml.test", cachingGenerator.getHostNameForParticipant(p1));
+		assertEquals("PARTID_1.scheme-1.sml.test",
+					 cachingGenerator.getHostNameForParticipant(new IdentifierImpl("PARTID_1", "scheme-1")));
+		assertEquals(1, generated.get());
+
+		assertEquals("PARTID_1.scheme-2.sml.test",
+					 cachingGenerator.getHostNameForParticipant(new IdentifierImpl("PARTID_1", "scheme-2")));
+		assertEquals(2, generated.get());
+
+		cachingGenerator.clear();
+		cachingGenerator.getHostNameForParticipant(p1);
+		assertEquals(3, generated.get());
+	}
+
+	@Test
+	void testBoundedSize() {
+		CachingHostNameGenerator cachingGenerator = new CachingHostNameGenerator(generator, 1);
+		cachingGenerator.getHostNameForParticipant(new IdentifierImpl("PARTID_1", "scheme-1"));
+		cachingGenerator.getHostNameForParticipant(new IdentifierImpl("PARTID_2", "scheme-1"));
+		cachingGenerator.getHostNameForParticipant(new IdentifierImpl("PARTID_1", "scheme-1"));
+		assertEquals(3, generated.get());
+	}
+
+	@Test
+	void testFailureNotCached() {
+		CachingHostNameGenerator cachingGenerator = new CachingHostNameGenerator(generator, 10);
+		Identifier noScheme = new IdentifierImpl("PARTID_1");
+		assertThrows(IllegalArgumentException.class, () -> cachingGenerator.getHostNameForParticipant(noScheme));
+		assertThrows(IllegalArgumentException.class, () -> cachingGenerator.getHostNameForParticipant(noScheme));
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.commons.security.CertificateUtils;
+import org.holodeckb2b.commons.testing.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CachingTrustValidatorTest {
+
+	private static X509Certificate validCert;
+	private static X509Certificate otherCert;
+	private static X509Certificate expiredCert;
+
+	@BeforeAll
+	static void loadCertificates() throws Exception {
+		validCert = CertificateUtils.getCertificate(TestUtils.getTestResource("valid_cert_1.pem"));
+		otherCert = CertificateUtils.getCertificate(TestUtils.getTestResource("valid_cert_2.pem"));
+		expiredCert = CertificateUtils.getCertificate(TestUtils.getTestResource("expired_cert.pem"));
+	}
+
+	@Test
+	void testDecisionsCached() throws SMPQueryException {
+		AtomicInteger checks = new AtomicInteger();
+		CachingTrustValidator validator = new CachingTrustValidator(c -> checks.incrementAndGet() < 0, 10,
+																	Duration.ofMinutes(5));
+		for (int i = 0; i < 3; i++)
+			assertFalse(validator.isTrusted(validCert));
+		assertEquals(1, checks.get());
+
+		validator.clear();
+		assertFalse(validator.isTrusted(validCert));
+		assertEquals(2, checks.get());
+	}
+
+	@Test
+	void testExpiredDecision() throws SMPQueryException {
+		AtomicInteger checks = new AtomicInteger();
+		CachingTrustValidator validator = new CachingTrustValidator(c -> checks.incrementAndGet() > 0, 10,
+																	Duration.ZERO);
+		assertTrue(validator.isTrusted(validCert));
+		assertTrue(validator.isTrusted(validCert));
+		assertEquals(2, checks.get());
+	}
+
+	@Test
+	void testExpiredCertificateNotCached() throws SMPQueryException {
+		AtomicInteger checks = new AtomicInteger();
+		CachingTrustValidator validator = new CachingTrustValidator(c -> checks.incrementAndGet() > 0, 10,
+																	Duration.ofMinutes(5));
+		validator.isTrusted(expiredCert);
+		validator.isTrusted(expiredCert);
+		assertEquals(2, checks.get());
+	}
+
+	@Test
+	void testBoundedSize() throws SMPQueryException {
+		AtomicInteger checks = new AtomicInteger();
+		CachingTrustValidator validator = new CachingTrustValidator(c -> checks.incrementAndGet() > 0, 1,
+																	Duration.ofMinutes(5));
+		validator.isTrusted(validCert);
+		validator.isTrusted(otherCert);
+		validator.isTrusted(validCert);
+		assertEquals(3, checks.get());
+	}
+
+	@Test
+	void testFailureNotCached() throws SMPQueryException {
+		AtomicInteger checks = new AtomicInteger();
+		CachingTrustValidator validator = new CachingTrustValidator(c -> {
+																		if (checks.incrementAndGet() == 1)
+																			throw new SMPQueryException("Unavailable");
+																		return true;
+																	}, 10, Duration.ofMinutes(5));
+		assertThrows(SMPQueryException.class, () -> validator.isTrusted(validCert));
+		assertTrue(validator.isTrusted(validCert));
+		assertTrue(validator.isTrusted(validCert));
+		assertEquals(2, checks.get());
+	}
+}
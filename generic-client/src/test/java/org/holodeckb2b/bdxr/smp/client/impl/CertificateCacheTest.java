@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+
+import org.holodeckb2b.commons.testing.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CertificateCacheTest {
+
+	private static String pem;
+	private static byte[] der;
+
+	@BeforeAll
+	static void loadCertificate() throws Exception {
+		pem = Files.readString(TestUtils.getTestResource("cert.pem"));
+		der = Base64.getMimeDecoder().decode(pem.replace("-----BEGIN CERTIFICATE-----", "")
+												 .replace("-----END CERTIFICATE-----", ""));
+	}
+
+	@Test
+	void testSameInstance() throws CertificateException {
+		CertificateCache cache = new CertificateCache(10);
+		X509Certificate cert = cache.getCertificate(pem);
+		assertEquals(cert, cache.getCertificate(pem));
+		assertSame(cert, cache.getCertificate(new String(pem)));
+		assertSame(cert, cache.getCertificate(der.clone()));
+		assertSame(cert, cache.getCertificate(Base64.getEncoder().encodeToString(der)));
+
+		cache.clear();
+		assertEquals(cert, cache.getCertificate(der));
+	}
+
+	@Test
+	void testEmptyAndInvalid() throws CertificateException {
+		CertificateCache cache = new CertificateCache(10);
+		assertNull(cache.getCertificate((String) null));
+		assertNull(cache.getCertificate(""));
+		assertNull(cache.getCertificate((byte[]) null));
+		assertThrows(CertificateException.class, () -> cache.getCertificate("not a certificate"));
+		assertThrows(CertificateException.class, () -> cache.getCertificate(new byte[] { 1, 2, 3 }));
+	}
+}
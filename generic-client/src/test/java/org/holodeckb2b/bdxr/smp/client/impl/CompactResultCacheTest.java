@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.ICachedResult;
+import org.holodeckb2b.bdxr.smp.client.api.IResponseCache.ResponseReader;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPClient;
+import org.holodeckb2b.bdxr.smp.client.api.SMPClientBuilder;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.datamodel.ServiceMetadata;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
+import org.holodeckb2b.brdx.smp.testhelpers.MockRequestExecutor;
+import org.holodeckb2b.brdx.smp.testhelpers.MockResultProcessor;
+import org.junit.jupiter.api.Test;
+
+class CompactResultCacheTest {
+	private static final Identifier P_ID = new IdentifierImpl("PARTID_1", "test:scheme");
+
+	private static URL query(int i) throws MalformedURLException {
+		return new URL("http://localhost/" + P_ID.getURLEncoded() + "/services/svc-" + i);
+	}
+
+	private static byte[] response(int i) {
+		return ("<ServiceMetadata>svc-" + i + "</ServiceMetadata>").repeat(20).getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void testHotTier() throws Exception {
+		AtomicReference<byte[]> lastRead = new AtomicReference<>();
+		ResponseReader reader = r -> {
+			lastRead.set(r);
+			return new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID"), null, null);
+		};
+		CompactResultCache cache = new CompactResultCache(10, 1, true);
+		cache.setResponseReader(reader);
+
+		ServiceMetadata smd1 = new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID_1"), null, null);
+		ServiceMetadata smd2 = new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID_2"), null, null);
+		cache.storeResponse(query(1), response(1), smd1, "lm-1", LocalDateTime.now());
+		assertSame(smd1, cache.getCachedResult(query(1)).getQueryResult());
+		cache.updateLastQueried(query(1), LocalDateTime.now().plusSeconds(1));
+		assertSame(smd1, cache.getCachedResult(query(1)).getQueryResult());
+		assertEquals(0, cache.getMaterializationCount());
+
+		// Storing the second result removes the first one from the hot tier
+		cache.storeResponse(query(2), response(2), smd2, null, LocalDateTime.now());
+		assertSame(smd2, cache.getCachedResult(query(2)).getQueryResult());
+		ICachedResult r1 = cache.getCachedResult(query(1));
+		assertEquals(1, cache.getMaterializationCount());
+		assertArrayEquals(response(1), lastRead.get());
+		assertEquals("lm-1", r1.getLastModified());
+		assertSame(r1.getQueryResult(), cache.getCachedResult(query(1)).getQueryResult());
+		assertEquals(1, cache.getMaterializationCount());
+	}
+
+	@Test
+	void testUncompressed() throws Exception {
+		AtomicReference<byte[]> lastRead = new AtomicReference<>();
+		CompactResultCache cache = new CompactResultCache(10, 1, false);
+		cache.setResponseReader(r -> {
+			lastRead.set(r);
+			return new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID"), null, null);
+		});
+		cache.storeResponse(query(1), response(1), null, null, LocalDateTime.now());
+		cache.getCachedResult(query(1));
+		assertArrayEquals(response(1), lastRead.get());
+	}
+
+	@Test
+	void testNotFoundAndDirectResults() throws Exception {
+		CompactResultCache cache = new CompactResultCache();
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID_1"), null, null);
+
+		cache.storeNotFound(query(1), LocalDateTime.now());
+		assertTrue(cache.getCachedResult(query(1)).isNotFound());
+		cache.storeResult(query(2), smd, null, LocalDateTime.now());
+		assertSame(smd, cache.getCachedResult(query(2)).getQueryResult());
+		assertNull(cache.getCachedResult(query(3)));
+	}
+
+	@Test
+	void testUnreadableResponseRemoved() throws Exception {
+		CompactResultCache cache = new CompactResultCache(10, 1, true);
+		cache.setResponseReader(r -> { throw new SMPQueryException("Invalid signature"); });
+		cache.storeResponse(query(1), response(1), null, null, LocalDateTime.now());
+		cache.storeResponse(query(2), response(2), null, null, LocalDateTime.now());
+
+		assertNull(cache.getCachedResult(query(1)));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void testUseByClient() throws Exception {
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID_1"), null, null);
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/smd";
+
+		CompactResultCache cache = new CompactResultCache(10, 1, true);
+		MockRequestExecutor reqExecutor = new MockRequestExecutor().addResponse(200, "lm-1", docNS)
+																	.addResponse(304, null, null);
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.setResultCache(cache)
+												.build();
+		assertEquals(smd, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, smd.getServiceId())));
+		// Push the result out of the hot tier
+		cache.storeResponse(query(1), response(1), new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID_2"), null,
+																		   null), null, LocalDateTime.now());
+
+		// The result is re-created using the client's reader
+		assertEquals(smd, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, smd.getServiceId())));
+		assertEquals(1, cache.getMaterializationCount());
+		assertEquals(2, reqExecutor.getRequestURLs().size());
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.ProcessGroup;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.EndpointInfoImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessGroupImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessInfoImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
+import org.junit.jupiter.api.Test;
+
+class EndpointLookupIndexTest {
+	private static final Identifier P_ID = new IdentifierImpl("PARTID_1", "test:scheme");
+	private static final Identifier SVC_ID = new IdentifierImpl("SVCID_1");
+	private static final ProcessIdentifier PROC_1 = new ProcessIdentifierImpl("PROCID_1");
+	private static final ProcessIdentifier PROC_2 = new ProcessIdentifierImpl("PROCID_2");
+	private static final Identifier ROLE_1 = new IdentifierImpl("ROLE_1");
+	private static final Identifier TP_1 = new IdentifierImpl("transport-1");
+	private static final Identifier TP_2 = new IdentifierImpl("transport-2");
+
+	@Test
+	void testSelectProcessGroup() throws Exception {
+		ProcessGroup all = new ProcessGroupImpl(List.of(), List.of(), null);
+		ProcessGroup g1 = new ProcessGroupImpl(List.of(new ProcessInfoImpl(PROC_1, Set.of(ROLE_1), null)),
+											   List.of(), null);
+		EndpointLookupIndex index = new EndpointLookupIndex(new ServiceMetadataImpl(P_ID, SVC_ID, Set.of(all, g1),
+																					null));
+
+		for (int i = 0; i < 2; i++) {
+			assertSame(g1, index.selectProcessGroup(PROC_1, ROLE_1));
+			assertSame(g1, index.selectProcessGroup(new ProcessIdentifierImpl("PROCID_1"), null));
+			assertSame(all, index.selectProcessGroup(PROC_2, null));
+		}
+	}
+
+	@Test
+	void testNotSupportedAndAmbiguous() throws Exception {
+		ProcessGroup g1 = new ProcessGroupImpl(List.of(new ProcessInfoImpl(PROC_1, null)), List.of(), null);
+		ProcessGroup g2 = new ProcessGroupImpl(List.of(new ProcessInfoImpl(PROC_1, Set.of(ROLE_1), null)),
+											   List.of(), null);
+		EndpointLookupIndex index = new EndpointLookupIndex(new ServiceMetadataImpl(P_ID, SVC_ID, Set.of(g1, g2),
+																					null));
+
+		for (int i = 0; i < 2; i++) {
+			assertNull(index.selectProcessGroup(PROC_2, null));
+			assertThrows(SMPQueryException.class, () -> index.selectProcessGroup(PROC_1, null));
+		}
+	}
+
+	@Test
+	void testSelectionsBounded() throws Exception {
+		ProcessGroup g1 = new ProcessGroupImpl(List.of(new ProcessInfoImpl(PROC_1, null)), List.of(), null);
+		EndpointLookupIndex index = new EndpointLookupIndex(new ServiceMetadataImpl(P_ID, SVC_ID, Set.of(g1), null));
+
+		for (int i = 0; i < 100; i++) {
+			assertNull(index.selectProcessGroup(new ProcessIdentifierImpl("UNSUPPORTED_" + i), null));
+			assertSame(g1, index.selectProcessGroup(PROC_1, new IdentifierImpl("ROLE_" + i)));
+		}
+		assertTrue(index.getSelectionCount() <= 16);
+		assertNull(index.selectProcessGroup(PROC_2, null));
+		assertSame(g1, index.selectProcessGroup(PROC_1, null));
+	}
+
+	@Test
+	void testSelectEndpoint() throws Exception {
+		EndpointInfo expired = new EndpointInfoImpl(TP_1, new URL("http://expired.endpoint"), null,
+													ZonedDateTime.now().minusDays(1), null, null, null, null);
+		EndpointInfo active = new EndpointInfoImpl(TP_1, new URL("http://active.endpoint"));
+		EndpointInfo other = new EndpointInfoImpl(TP_2, new URL("http://other.endpoint"));
+		ProcessGroup g1 = new ProcessGroupImpl(List.of(new ProcessInfoImpl(PROC_1, null)),
+											   List.of(expired, active, other), null);
+		EndpointLookupIndex index = new EndpointLookupIndex(new ServiceMetadataImpl(P_ID, SVC_ID, Set.of(g1), null));
+
+		assertSame(active, index.selectEndpoint(g1, TP_1));
+		assertSame(other, index.selectEndpoint(g1, new IdentifierImpl("transport-2")));
+		assertNull(index.selectEndpoint(g1, new IdentifierImpl("transport-3")));
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.net.URL;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Set;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.ProcessGroup;
+import org.holodeckb2b.bdxr.smp.datamodel.ProcessInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.EndpointInfoImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessGroupImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessInfoImpl;
+import org.junit.jupiter.api.Test;
+
+class EndpointSelectorTest {
+	private static final ProcessIdentifier PROC_1 = new ProcessIdentifierImpl("PROCID_1");
+	private static final ProcessIdentifier PROC_2 = new ProcessIdentifierImpl("PROCID_2");
+	private static final Identifier ROLE_1 = new IdentifierImpl("ROLE_1");
+	private static final Identifier ROLE_2 = new IdentifierImpl("ROLE_2");
+	private static final Identifier TP = new IdentifierImpl("test-transport");
+
+	private static ProcessGroup group(ProcessInfo... procs) {
+		return new ProcessGroupImpl(List.of(procs), null, null);
+	}
+
+	private static ProcessInfo proc(ProcessIdentifier pid, Identifier... roles) {
+		return new ProcessInfoImpl(pid, roles.length > 0 ? Set.of(roles) : null, null);
+	}
+
+	@Test
+	void testSingleMatchingGroup() throws SMPQueryException {
+		ProcessGroup g1 = group(proc(PROC_1));
+		ProcessGroup g2 = group(proc(PROC_2));
+
+		assertSame(g1, EndpointSelector.selectProcessGroup(List.of(g1, g2), PROC_1, null));
+		assertSame(g1, EndpointSelector.selectProcessGroup(List.of(g1, g2), PROC_1, ROLE_1));
+		assertNull(EndpointSelector.selectProcessGroup(List.of(g2), PROC_1, null));
+	}
+
+	@Test
+	void testSpecificOverWildcard() throws SMPQueryException {
+		ProcessGroup all = group();
+		ProcessGroup g1 = group(proc(PROC_2), proc(PROC_1));
+
+		assertSame(all, EndpointSelector.selectProcessGroup(List.of(all), PROC_1, ROLE_1));
+		assertSame(g1, EndpointSelector.selectProcessGroup(List.of(all, g1), PROC_1, null));
+		// Two wildcard groups do not result in a match
+		assertNull(EndpointSelector.selectProcessGroup(List.of(all, group()), PROC_1, null));
+	}
+
+	@Test
+	void testRoleSpecific() throws SMPQueryException {
+		ProcessGroup noRoles = group(proc(PROC_1));
+		ProcessGroup role1 = group(proc(PROC_1, ROLE_1));
+		ProcessGroup role2 = group(proc(PROC_1, ROLE_2, ROLE_1));
+
+		assertSame(role1, EndpointSelector.selectProcessGroup(List.of(noRoles, role1), PROC_1, ROLE_1));
+		assertSame(noRoles, EndpointSelector.selectProcessGroup(List.of(noRoles, role1), PROC_1, ROLE_2));
+		assertNull(EndpointSelector.selectProcessGroup(List.of(noRoles, group(proc(PROC_1))), PROC_1, ROLE_2));
+		assertThrows(SMPQueryException.class,
+				() -> EndpointSelector.selectProcessGroup(List.of(noRoles, role1, role2), PROC_1, ROLE_1));
+	}
+
+	@Test
+	void testAmbiguous() {
+		assertThrows(SMPQueryException.class,
+				() -> EndpointSelector.selectProcessGroup(List.of(group(proc(PROC_1)), group(proc(PROC_1))),
+														  PROC_1, null));
+	}
+
+	@Test
+	void testSelectEndpoint() throws Exception {
+		EndpointInfo expired = new EndpointInfoImpl(TP, new URL("http://expired.endpoint"), null,
+													ZonedDateTime.now().minusDays(1), null, null, null, null);
+		EndpointInfo other = new EndpointInfoImpl(new IdentifierImpl("other"), new URL("http://other.endpoint"));
+		EndpointInfo active = new EndpointInfoImpl(TP, new URL("http://active.endpoint"),
+												   ZonedDateTime.now().minusDays(1), null, null, null, null, null);
+		EndpointInfo second = new EndpointInfoImpl(TP, new URL("http://second.endpoint"));
+
+		assertSame(active, EndpointSelector.selectEndpoint(List.of(expired, other, active, second), TP));
+		assertNull(EndpointSelector.selectEndpoint(List.of(expired, other), TP));
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.ICachedResult;
+import org.holodeckb2b.bdxr.smp.client.api.IResponseCache.ResponseReader;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPClient;
+import org.holodeckb2b.bdxr.smp.client.api.SMPClientBuilder;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.datamodel.ServiceMetadata;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
+import org.holodeckb2b.brdx.smp.testhelpers.MockRequestExecutor;
+import org.holodeckb2b.brdx.smp.testhelpers.MockResultProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileResultCacheTest {
+	private static final Identifier P_ID = new IdentifierImpl("PARTID_1", "test:scheme");
+
+	@TempDir
+	Path cacheDir;
+
+	private final AtomicInteger reads = new AtomicInteger();
+
+	/**
+	 * Reader that creates a ServiceMetadata with the response as service identifier
+	 */
+	private final ResponseReader reader = r -> {
+		reads.incrementAndGet();
+		return new ServiceMetadataImpl(P_ID, new IdentifierImpl(new String(r, StandardCharsets.UTF_8)), null, null);
+	};
+
+	private static URL query(int i) throws MalformedURLException {
+		return new URL("http://localhost/" + P_ID.getURLEncoded() + "/services/svc-" + i);
+	}
+
+	private static byte[] response(int i) {
+		return ("svc-" + i).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String serviceOf(ICachedResult r) {
+		return ((ServiceMetadata) r.getQueryResult()).getServiceId().getValue();
+	}
+
+	@Test
+	void testPersistAndReload() throws Exception {
+		LocalDateTime t = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			cache.storeResponse(query(1), response(1), reader.read(response(1)), "lm-1", t.minusMinutes(10));
+			cache.storeResponse(query(2), response(2), reader.read(response(2)), null, t.minusMinutes(5));
+			cache.storeNotFound(query(3), t.minusMinutes(2));
+			cache.updateLastQueried(query(1), t);
+		}
+		reads.set(0);
+
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			cache.setResponseReader(reader);
+			assertEquals(3, cache.size());
+
+			ICachedResult r1 = cache.getCachedResult(query(1));
+			assertNotNull(r1);
+			assertEquals("svc-1", serviceOf(r1));
+			assertEquals("lm-1", r1.getLastModified());
+			assertEquals(t, r1.getLastQueried());
+
+			ICachedResult r2 = cache.getCachedResult(query(2));
+			assertEquals("svc-2", serviceOf(r2));
+			assertNull(r2.getLastModified());
+
+			ICachedResult r3 = cache.getCachedResult(query(3));
+			assertTrue(r3.isNotFound());
+			assertEquals(t.minusMinutes(2), r3.getLastQueried());
+
+			// Results should only be re-created once
+			cache.getCachedResult(query(1));
+			assertEquals(2, reads.get());
+		}
+	}
+
+	@Test
+	void testUnreadableResponseRemoved() throws Exception {
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			cache.storeResponse(query(1), response(1), reader.read(response(1)), null, LocalDateTime.now());
+		}
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			cache.setResponseReader(r -> { throw new SMPQueryException("Invalid signature"); });
+			assertNull(cache.getCachedResult(query(1)));
+			assertEquals(0, cache.size());
+		}
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			assertEquals(0, cache.size());
+		}
+	}
+
+	@Test
+	void testIncompleteRecordDiscarded() throws Exception {
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			cache.storeResponse(query(1), response(1), reader.read(response(1)), null, LocalDateTime.now());
+			cache.storeResponse(query(2), response(2), reader.read(response(2)), null, LocalDateTime.now());
+		}
+		// Simulate a crash while writing the last record
+		Path file = cacheDir.resolve(FileResultCache.CACHE_FILE_NAME);
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			ch.truncate(ch.size() - 3);
+		}
+
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			cache.setResponseReader(reader);
+			assertEquals(1, cache.size());
+			assertEquals("svc-1", serviceOf(cache.getCachedResult(query(1))));
+			assertNull(cache.getCachedResult(query(2)));
+
+			cache.storeResponse(query(2), response(2), reader.read(response(2)), null, LocalDateTime.now());
+		}
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			cache.setResponseReader(reader);
+			assertEquals("svc-2", serviceOf(cache.getCachedResult(query(2))));
+		}
+	}
+
+	@Test
+	void testCompaction() throws Exception {
+		final long maxSize = 16 * 1024;
+		final byte[] large = new byte[1000];
+		final ResponseReader anyReader = r -> new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID_1"), null, null);
+		try (FileResultCache cache = new FileResultCache(cacheDir, 1000, maxSize)) {
+			cache.setResponseReader(anyReader);
+			for (int i = 0; i < 100; i++) {
+				cache.storeResponse(query(i), large, null, null, LocalDateTime.now());
+				cache.updateLastQueried(query(i), LocalDateTime.now().plusSeconds(1));
+				assertTrue(cache.getFileSize() <= maxSize);
+			}
+			assertTrue(cache.size() < 100);
+			// The most recent entry should be kept
+			assertNotNull(cache.getCachedResult(query(99)));
+		}
+		try (FileResultCache cache = new FileResultCache(cacheDir, 1000, maxSize)) {
+			cache.setResponseReader(anyReader);
+			assertNotNull(cache.getCachedResult(query(99)));
+			assertNull(cache.getCachedResult(query(0)));
+		}
+	}
+
+	@Test
+	void testMaxEntries() throws Exception {
+		try (FileResultCache cache = new FileResultCache(cacheDir, 2, FileResultCache.DEFAULT_MAX_FILE_SIZE)) {
+			cache.setResponseReader(reader);
+			for (int i = 0; i < 3; i++)
+				cache.storeResponse(query(i), response(i), reader.read(response(i)), null, LocalDateTime.now());
+			assertEquals(2, cache.size());
+			assertNull(cache.getCachedResult(query(0)));
+		}
+		try (FileResultCache cache = new FileResultCache(cacheDir, 2, FileResultCache.DEFAULT_MAX_FILE_SIZE)) {
+			cache.setResponseReader(reader);
+			assertEquals(2, cache.size());
+			assertNull(cache.getCachedResult(query(0)));
+			assertEquals("svc-2", serviceOf(cache.getCachedResult(query(2))));
+		}
+	}
+
+	@Test
+	void testRevalidateAfterRestart() throws IOException {
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, new IdentifierImpl("SVCID_1"), null, null);
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/smd";
+
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(new MockRequestExecutor()
+																			.addResponse(200, "lm-1", docNS))
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.setResultCache(cache)
+												.build();
+			assertEquals(smd, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, smd.getServiceId())));
+			assertEquals(1, cache.size());
+		}
+
+		// After the restart the SMP server indicates the meta-data is not modified, so the stored result is used
+		try (FileResultCache cache = new FileResultCache(cacheDir)) {
+			MockRequestExecutor reqExecutor = new MockRequestExecutor().addResponse(304, null, null);
+			ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.setResultCache(cache)
+												.build();
+			assertEquals(smd, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, smd.getServiceId())));
+			assertEquals(1, reqExecutor.getRequestURLs().size());
+		}
+	}
+}
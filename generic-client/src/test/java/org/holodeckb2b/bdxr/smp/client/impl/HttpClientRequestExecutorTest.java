@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.holodeckb2b.bdxr.smp.client.api.ISMPResponse;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.commons.testing.HttpBackendMock;
+import org.holodeckb2b.commons.util.Utils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ */
+public class HttpClientRequestExecutorTest {
+
+	private static HttpBackendMock		smpServer;
+
+	private static String mockURL;
+
+	private static HttpClientRequestExecutor executor;
+
+	@BeforeAll
+	static void startSMPServerMock() throws Exception {
+		smpServer = new HttpBackendMock(0);
+		smpServer.start();
+		mockURL = "http://localhost:" + smpServer.getPort();
+		executor = new HttpClientRequestExecutor();
+	}
+
+	@AfterAll
+	static void stopSMPServerMock() {
+		if (smpServer != null)
+			smpServer.stop();
+	}
+
+	@Test
+	void testSuccess() {
+		final String data = "Hello World!";
+
+		smpServer.setSuccessCode(200);
+		smpServer.setResponseEntityBody(data.getBytes());
+		smpServer.getResponseHeaders().clear();
+
+		ISMPResponse r =
+			assertDoesNotThrow(() -> executor.executeRequest(new URL(mockURL + "/accept"), null));
+
+		assertNotNull(r);
+		assertEquals(200, assertDoesNotThrow(() -> r.getStatusCode()));
+		assertNull(assertDoesNotThrow(() -> r.getLastModified()));
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		assertDoesNotThrow(() -> Utils.copyStream(r.getInputStream(), baos));
+		assertArrayEquals(data.getBytes(), baos.toByteArray());
+	}
+
+	@Test
+	void testAddIfModifiedSince() {
+		final String data = "Hello World!";
+		final String lastMod = ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME);
+
+		smpServer.setSuccessCode(200);
+		smpServer.setResponseEntityBody(data.getBytes());
+		smpServer.getResponseHeaders().clear();
+
+		ISMPResponse r =
+			assertDoesNotThrow(() -> executor.executeRequest(new URL(mockURL + "/accept"), lastMod));
+
+		assertEquals(lastMod, smpServer.getRcvdHeaders().get("if-modified-since"));
+
+		assertNotNull(r);
+		assertEquals(200, assertDoesNotThrow(() -> r.getStatusCode()));
+		assertNull(assertDoesNotThrow(() -> r.getLastModified()));
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		assertDoesNotThrow(() -> Utils.copyStream(r.getInputStream(), baos));
+		assertArrayEquals(data.getBytes(), baos.toByteArray());
+	}
+
+	@Test
+	void testWithModified() {
+		final String data = "Hello World!";
+		final String lastMod = ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME);
+		smpServer.setSuccessCode(200);
+		smpServer.setResponseEntityBody(data.getBytes());
+		smpServer.getResponseHeaders().put("Last-Modified", lastMod);
+
+		ISMPResponse r =
+			assertDoesNotThrow(() -> executor.executeRequest(new URL(mockURL + "/accept"), null));
+
+		assertNotNull(r);
+		assertEquals(200, assertDoesNotThrow(() -> r.getStatusCode()));
+		assertEquals(lastMod, assertDoesNotThrow(() -> r.getLastModified()));
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		assertDoesNotThrow(() -> Utils.copyStream(r.getInputStream(), baos));
+		assertArrayEquals(data.getBytes(), baos.toByteArray());
+	}
+
+	@Test
+	void testNotModified() {
+		smpServer.setRejectionCode(304);
+		final String lastMod = ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME);
+		smpServer.getResponseHeaders().put("Last-Modified", lastMod);
+
+		ISMPResponse r =
+			assertDoesNotThrow(() -> executor.executeRequest(new URL(mockURL + "/reject"), null));
+
+		assertNotNull(r);
+		assertEquals(304, assertDoesNotThrow(() -> r.getStatusCode()));
+		assertEquals(lastMod, assertDoesNotThrow(() -> r.getLastModified()));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 400, 403, 404, 501, 500 })
+	void testErrorStatus(int statuscode) {
+		smpServer.setRejectionCode(statuscode);
+
+		ISMPResponse r =
+			assertDoesNotThrow(() -> executor.executeRequest(new URL(mockURL + "/reject"), null));
+
+		assertNotNull(r);
+		assertEquals(statuscode, assertDoesNotThrow(() -> r.getStatusCode()));
+		assertNull(assertDoesNotThrow(() -> r.getLastModified()));
+		assertNull(assertDoesNotThrow(() -> r.getInputStream()));
+	}
+
+	@Test
+	void testAsyncSuccess() throws Exception {
+		final String data = "Hello World!";
+		final String lastMod = ZonedDateTime.now().format(DateTimeFormatter.RFC_1123_DATE_TIME);
+		smpServer.setSuccessCode(200);
+		smpServer.setResponseEntityBody(data.getBytes());
+		smpServer.getResponseHeaders().put("Last-Modified", lastMod);
+
+		ISMPResponse r = executor.executeRequestAsync(new URL(mockURL + "/accept"), lastMod).get(5, TimeUnit.SECONDS);
+
+		assertEquals(lastMod, smpServer.getRcvdHeaders().get("if-modified-since"));
+		assertNotNull(r);
+		assertEquals(200, assertDoesNotThrow(() -> r.getStatusCode()));
+		assertEquals(lastMod, assertDoesNotThrow(() -> r.getLastModified()));
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		assertDoesNotThrow(() -> Utils.copyStream(r.getInputStream(), baos));
+		assertArrayEquals(data.getBytes(), baos.toByteArray());
+	}
+
+	@Test
+	void testAsyncErrorStatus() throws Exception {
+		smpServer.setRejectionCode(500);
+
+		ISMPResponse r = executor.executeRequestAsync(new URL(mockURL + "/reject"), null).get(5, TimeUnit.SECONDS);
+
+		assertNotNull(r);
+		assertEquals(500, assertDoesNotThrow(() -> r.getStatusCode()));
+		assertNull(assertDoesNotThrow(() -> r.getInputStream()));
+	}
+
+	@Test
+	void testAsyncConnectionFailure() throws Exception {
+		// Use a port on which no server is listening
+		final int freePort;
+		try (ServerSocket s = new ServerSocket(0)) {
+			freePort = s.getLocalPort();
+		}
+		ExecutionException ex = assertThrows(ExecutionException.class, () ->
+						executor.executeRequestAsync(new URL("http://localhost:" + freePort + "/accept"), null)
+								.get(5, TimeUnit.SECONDS));
+		assertTrue(ex.getCause() instanceof SMPQueryException);
+
+		ex = assertThrows(ExecutionException.class, () ->
+						executor.executeRequestAsync(new URL("ftp://localhost/accept"), null).get(5, TimeUnit.SECONDS));
+		assertTrue(ex.getCause() instanceof UnsupportedOperationException);
+	}
+
+	@Test
+	void testUnsupportedProtocol() {
+		assertThrows(UnsupportedOperationException.class,
+					() -> executor.executeRequest(new URL("ftp://localhost/accept"), null));
+	}
+
+	@Test
+	void testStalledResponseBody() throws Exception {
+		final HttpClientRequestExecutor timingOutExecutor = new HttpClientRequestExecutor(Duration.ofSeconds(1),
+																						  Duration.ofSeconds(1));
+		final CountDownLatch stop = new CountDownLatch(1);
+		try (ServerSocket server = new ServerSocket(0)) {
+			// Server that sends the response headers and only part of the body and then stalls
+			final Thread serverThread = new Thread(() -> {
+				while (!server.isClosed()) {
+					try {
+						final Socket s = server.accept();
+						final Thread handler = new Thread(() -> stallResponse(s, stop));
+						handler.setDaemon(true);
+						handler.start();
+					} catch (IOException closed) {
+					}
+				}
+			});
+			serverThread.setDaemon(true);
+			serverThread.start();
+			final URL stallingURL = new URL("http://localhost:" + server.getLocalPort() + "/stall");
+
+			long start = System.nanoTime();
+			assertThrows(SMPQueryException.class, () -> timingOutExecutor.executeRequest(stallingURL, null));
+			assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+
+			start = System.nanoTime();
+			ExecutionException ex = assertThrows(ExecutionException.class, () ->
+							timingOutExecutor.executeRequestAsync(stallingURL, null).get(5, TimeUnit.SECONDS));
+			assertTrue(ex.getCause() instanceof SMPQueryException);
+			assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(5)) < 0);
+		} finally {
+			stop.countDown();
+		}
+	}
+
+	private static void stallResponse(final Socket s, final CountDownLatch stop) {
+		try (s) {
+			BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(),
+																		 StandardCharsets.US_ASCII));
+			String line;
+			while ((line = in.readLine()) != null && !line.isEmpty());
+			OutputStream out = s.getOutputStream();
+			out.write("HTTP/1.1 200 OK\r\nContent-Length: 100\r\n\r\nHello".getBytes(StandardCharsets.US_ASCII));
+			out.flush();
+			stop.await(10, TimeUnit.SECONDS);
+		} catch (Exception closed) {
+		}
+	}
+}
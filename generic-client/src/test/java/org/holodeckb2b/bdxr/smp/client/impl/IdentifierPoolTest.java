@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.IDSchemeImpl;
+import org.junit.jupiter.api.Test;
+
+class IdentifierPoolTest {
+
+	@Test
+	void testSameInstance() {
+		IdentifierPool pool = new IdentifierPool(10);
+		Identifier id = pool.getIdentifier("DOC_1", "scheme-1");
+		assertSame(id, pool.getIdentifier("DOC_1", "scheme-1"));
+		assertEquals(new IdentifierImpl("DOC_1", "scheme-1"), id);
+		assertEquals(id, new IdentifierImpl("DOC_1", "scheme-1"));
+		assertSame(pool.getScheme("scheme-1"), id.getScheme());
+		assertFalse(id.getScheme().isCaseSensitive());
+
+		assertNotSame(id, pool.getIdentifier("doc_1", "scheme-1"));
+		assertNotSame(id, pool.getIdentifier("DOC_1", "scheme-2"));
+		Identifier noScheme = pool.getIdentifier("DOC_1", null);
+		assertNull(noScheme.getScheme());
+		assertSame(noScheme, pool.getIdentifier("DOC_1", null));
+	}
+
+	@Test
+	void testProcessIdentifiers() {
+		IdentifierPool pool = new IdentifierPool(10);
+		ProcessIdentifier procId = pool.getProcessIdentifier("PROC_1", "scheme-1");
+		assertSame(procId, pool.getProcessIdentifier("PROC_1", "scheme-1"));
+		assertEquals(new ProcessIdentifierImpl("PROC_1", "scheme-1"), procId);
+		assertNotSame(pool.getIdentifier("PROC_1", "scheme-1"), procId);
+
+		assertTrue(pool.getNoProcessIdentifier().isNoProcess());
+		assertEquals(new ProcessIdentifierImpl(), pool.getNoProcessIdentifier());
+	}
+
+	@Test
+	void testNotModifiable() {
+		IdentifierPool pool = new IdentifierPool(10);
+		Identifier id = pool.getIdentifier("DOC_1", "scheme-1");
+		ProcessIdentifierImpl procId = (ProcessIdentifierImpl) pool.getProcessIdentifier("PROC_1", "scheme-1");
+
+		assertThrows(UnsupportedOperationException.class, () -> ((IdentifierImpl) id).setValue("DOC_2"));
+		assertThrows(UnsupportedOperationException.class, () -> ((IDSchemeImpl) id.getScheme()).setSchemeId("other"));
+		assertThrows(UnsupportedOperationException.class, () -> procId.setValue("PROC_2", null));
+		assertThrows(UnsupportedOperationException.class, () -> procId.setIsNoProcess(true));
+		assertThrows(UnsupportedOperationException.class,
+					 () -> ((ProcessIdentifierImpl) pool.getNoProcessIdentifier()).setIsNoProcess(false));
+	}
+
+	@Test
+	void testInvalidValue() {
+		IdentifierPool pool = new IdentifierPool(10);
+		assertThrows(IllegalArgumentException.class, () -> pool.getIdentifier(null, "scheme-1"));
+		assertThrows(IllegalArgumentException.class, () -> pool.getProcessIdentifier("", "scheme-1"));
+	}
+}
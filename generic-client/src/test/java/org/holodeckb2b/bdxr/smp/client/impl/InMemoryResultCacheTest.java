@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URL;
+import java.time.LocalDateTime;
+
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.ICachedResult;
+import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
+import org.junit.jupiter.api.Test;
+
+class InMemoryResultCacheTest {
+
+	private static QueryResult newResult(String pid) {
+		return new ServiceMetadataImpl(new IdentifierImpl(pid), null, null, null);
+	}
+
+	@Test
+	void testStoreAndGet() throws Exception {
+		InMemoryResultCache cache = new InMemoryResultCache();
+		URL q = new URL("http://smp.holodeck-b2b.org/participant/services/svc");
+		QueryResult r = newResult("P_ID_1");
+		LocalDateTime qt = LocalDateTime.now();
+
+		cache.storeResult(q, r, "lastModified", qt);
+
+		ICachedResult cached = cache.getCachedResult(new URL(q.toString()));
+		assertNotNull(cached);
+		assertSame(r, cached.getQueryResult());
+		assertEquals("lastModified", cached.getLastModified());
+		assertEquals(qt, cached.getLastQueried());
+
+		assertNull(cache.getCachedResult(new URL("http://smp.holodeck-b2b.org/participant")));
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	void testOnlyStoreNewer() throws Exception {
+		InMemoryResultCache cache = new InMemoryResultCache();
+		URL q = new URL("http://smp.holodeck-b2b.org/participant/services/svc");
+		QueryResult r1 = newResult("P_ID_1");
+		QueryResult r2 = newResult("P_ID_2");
+		LocalDateTime qt = LocalDateTime.now();
+
+		cache.storeResult(q, r1, null, qt);
+		ICachedResult cached = cache.storeResult(q, r2, null, qt.minusMinutes(1));
+		assertSame(r1, cached.getQueryResult());
+
+		cache.storeResult(q, r2, null, qt.plusMinutes(1));
+		assertSame(r2, cache.getCachedResult(q).getQueryResult());
+	}
+
+	@Test
+	void testUpdateLastQueried() throws Exception {
+		InMemoryResultCache cache = new InMemoryResultCache();
+		URL q = new URL("http://smp.holodeck-b2b.org/participant/services/svc");
+		LocalDateTime qt = LocalDateTime.now();
+
+		cache.storeResult(q, newResult("P_ID_1"), null, qt);
+
+		cache.updateLastQueried(q, qt.minusMinutes(1));
+		assertEquals(qt, cache.getCachedResult(q).getLastQueried());
+
+		cache.updateLastQueried(q, qt.plusMinutes(1));
+		assertEquals(qt.plusMinutes(1), cache.getCachedResult(q).getLastQueried());
+	}
+
+	@Test
+	void testEvictOldestQueried() throws Exception {
+		InMemoryResultCache cache = new InMemoryResultCache(3);
+		LocalDateTime qt = LocalDateTime.now();
+
+		for (int i = 0; i < 3; i++)
+			cache.storeResult(new URL("http://smp.holodeck-b2b.org/p" + i), newResult("P_ID_" + i), null,
+								qt.plusSeconds(i));
+		// Re-querying the first entry should make the second the oldest one
+		cache.updateLastQueried(new URL("http://smp.holodeck-b2b.org/p0"), qt.plusSeconds(10));
+
+		cache.storeResult(new URL("http://smp.holodeck-b2b.org/p3"), newResult("P_ID_3"), null, qt.plusSeconds(11));
+
+		assertEquals(3, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		assertNull(cache.getCachedResult(new URL("http://smp.holodeck-b2b.org/p1")));
+		assertNotNull(cache.getCachedResult(new URL("http://smp.holodeck-b2b.org/p0")));
+		assertNotNull(cache.getCachedResult(new URL("http://smp.holodeck-b2b.org/p2")));
+		assertNotNull(cache.getCachedResult(new URL("http://smp.holodeck-b2b.org/p3")));
+	}
+
+	@Test
+	void testExpiration() throws Exception {
+		InMemoryResultCache cache = new InMemoryResultCache(10, 60);
+		URL q1 = new URL("http://smp.holodeck-b2b.org/p1");
+		URL q2 = new URL("http://smp.holodeck-b2b.org/p2");
+
+		cache.storeResult(q1, newResult("P_ID_1"), null, LocalDateTime.now().minusMinutes(61));
+		cache.storeResult(q2, newResult("P_ID_2"), null, LocalDateTime.now().minusMinutes(59));
+
+		assertNull(cache.getCachedResult(q1));
+		assertNotNull(cache.getCachedResult(q2));
+		assertEquals(1, cache.getExpirationCount());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void testStoreNotFound() throws Exception {
+		InMemoryResultCache cache = new InMemoryResultCache();
+		URL q = new URL("http://smp.holodeck-b2b.org/participant/services/svc");
+		LocalDateTime qt = LocalDateTime.now();
+
+		cache.storeNotFound(q, qt);
+		ICachedResult cached = cache.getCachedResult(q);
+		assertNotNull(cached);
+		assertTrue(cached.isNotFound());
+		assertNull(cached.getQueryResult());
+		assertNull(cached.getLastModified());
+
+		cache.updateLastQueried(q, qt.plusMinutes(1));
+		assertTrue(cache.getCachedResult(q).isNotFound());
+
+		QueryResult r = newResult("P_ID_1");
+		cache.storeResult(q, r, null, qt.plusMinutes(2));
+		cached = cache.getCachedResult(q);
+		assertFalse(cached.isNotFound());
+		assertSame(r, cached.getQueryResult());
+
+		// An older not found result should not replace the newer query result
+		cache.storeNotFound(q, qt);
+		assertSame(r, cache.getCachedResult(q).getQueryResult());
+	}
+}
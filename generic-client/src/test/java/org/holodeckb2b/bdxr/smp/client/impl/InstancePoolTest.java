@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class InstancePoolTest {
+
+	@Test
+	void testReuse() {
+		AtomicInteger created = new AtomicInteger();
+		AtomicInteger resets = new AtomicInteger();
+		InstancePool<StringBuilder, RuntimeException> pool =
+								new InstancePool<>(2, () -> { created.incrementAndGet(); return new StringBuilder(); },
+												   sb -> { resets.incrementAndGet(); sb.setLength(0); });
+
+		StringBuilder sb1 = pool.acquire();
+		sb1.append("test");
+		pool.release(sb1);
+		assertEquals(1, resets.get());
+		assertEquals(1, pool.getIdleCount());
+
+		StringBuilder sb2 = pool.acquire();
+		assertSame(sb1, sb2);
+		assertEquals(0, sb2.length());
+		assertEquals(1, created.get());
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	void testMaxIdle() {
+		InstancePool<Object, RuntimeException> pool = new InstancePool<>(2, Object::new, null);
+
+		Object o1 = pool.acquire();
+		Object o2 = pool.acquire();
+		Object o3 = pool.acquire();
+		assertNotSame(o1, o2);
+		assertNotSame(o2, o3);
+
+		pool.release(o1);
+		pool.release(o2);
+		pool.release(o3);
+		assertEquals(2, pool.getIdleCount());
+	}
+
+	@Test
+	void testDiscardOnResetFailure() {
+		InstancePool<Object, RuntimeException> pool =
+											new InstancePool<>(2, Object::new, o -> { throw new IllegalStateException(); });
+
+		pool.release(pool.acquire());
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	void testCreateFailure() {
+		InstancePool<Object, Exception> pool = new InstancePool<>(() -> { throw new Exception("Failed"); });
+
+		assertThrows(Exception.class, () -> pool.acquire());
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.junit.jupiter.api.Test;
+
+class RequiredElementsTest {
+
+	@Test
+	void testPresent() throws SMPQueryException {
+		String value = "value";
+		assertSame(value, RequiredElements.require(value, "Element"));
+		Boolean flag = Boolean.FALSE;
+		assertSame(flag, RequiredElements.require(flag, "Flag"));
+		List<String> values = List.of("value");
+		assertSame(values, RequiredElements.require(values, "Element"));
+	}
+
+	@Test
+	void testEmptyContent() throws SMPQueryException {
+		// An element without content is not missing, like in schema validation
+		String empty = "";
+		assertSame(empty, RequiredElements.require(empty, "Element"));
+		byte[] noBytes = new byte[0];
+		assertSame(noBytes, RequiredElements.require(noBytes, "Element"));
+	}
+
+	@Test
+	void testMissing() {
+		assertThrows(SMPQueryException.class, () -> RequiredElements.require(null, "Element"));
+		assertThrows(SMPQueryException.class, () -> RequiredElements.require(Collections.emptyList(), "Element"));
+	}
+}
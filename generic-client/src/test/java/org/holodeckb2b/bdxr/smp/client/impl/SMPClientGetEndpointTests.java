@@ -24,19 +24,24 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.ref.WeakReference;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import org.holodeckb2b.bdxr.common.datamodel.Identifier;
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
 import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPClient;
 import org.holodeckb2b.bdxr.smp.client.api.SMPClientBuilder;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
 import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
 import org.holodeckb2b.bdxr.smp.datamodel.ProcessInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
 import org.holodeckb2b.bdxr.smp.datamodel.Redirection;
 import org.holodeckb2b.bdxr.smp.datamodel.ServiceMetadata;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.EndpointInfoV1Impl;
@@ -48,6 +53,7 @@ import org.holodeckb2b.brdx.smp.testhelpers.MockRequestExecutor;
 import org.holodeckb2b.brdx.smp.testhelpers.MockResultProcessor;
 import org.holodeckb2b.commons.util.Utils;
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
 
 class SMPClientGetEndpointTests {
 	private static final Identifier P_ID = new IdentifierImpl("PARTID_1", "test:scheme");
@@ -424,4 +430,76 @@ class SMPClientGetEndpointTests {
 
 		assertTrue(ex.getMessage().contains("redirections"));
 	}
+
+	@Test
+	void testRepeatedLookupOnCachedResult() throws MalformedURLException {
+		ProcessInfo proc = new ProcessInfoImpl(new ProcessIdentifierImpl("PROCID_1"), null);
+
+		EndpointInfo ep1 = new EndpointInfoV1Impl("test-1", new URL("http://this.is.a.result"));
+		EndpointInfo ep2 = new EndpointInfoV1Impl("test-2", new URL("http://this.is.another.result"));
+
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, SVC_ID,
+										Set.of(new ProcessGroupImpl(Set.of(proc), Set.of(ep1, ep2), null))
+										, null);
+
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/cached";
+
+		MockRequestExecutor reqExecutor = new MockRequestExecutor().addResponse(200, null, docNS);
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.setInMemoryResultCache(10)
+												.enableLocalCaching()
+												.build();
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(ep1, assertDoesNotThrow(() -> client.getEndpoint(P_ID, SVC_ID, proc.getProcessId(),
+																		  new IdentifierImpl("test-1"))));
+			assertEquals(ep2, assertDoesNotThrow(() -> client.getEndpoint(P_ID, SVC_ID, proc.getProcessId(),
+																		  new IdentifierImpl("test-2"))));
+			assertNull(assertDoesNotThrow(() -> client.getEndpoint(P_ID, SVC_ID,
+											new ProcessIdentifierImpl("PROCID_2"), new IdentifierImpl("test-1"))));
+		}
+		assertEquals(1, reqExecutor.getRequestURLs().size());
+	}
+
+	@Test
+	void testLookupIndexDoesNotKeepMetadataAlive() throws Exception {
+		ProcessInfo proc = new ProcessInfoImpl(new ProcessIdentifierImpl("PROCID_1"), null);
+		EndpointInfo ep1 = new EndpointInfoV1Impl("test-1", new URL("http://this.is.a.result"));
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/cached";
+
+		final List<WeakReference<ServiceMetadata>> created = new ArrayList<>();
+		InMemoryResultCache cache = new InMemoryResultCache(10);
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(new MockRequestExecutor()
+																			.addResponse(200, null, docNS))
+												.addProcessor(new MockResultProcessor(docNS) {
+													@Override
+													public QueryResult processResult(Document xmlDocument) {
+														ServiceMetadata smd = new ServiceMetadataImpl(P_ID, SVC_ID,
+																Set.of(new ProcessGroupImpl(Set.of(proc), Set.of(ep1),
+																							null)), null);
+														created.add(new WeakReference<>(smd));
+														return smd;
+													}
+												})
+												.setResultCache(cache)
+												.enableLocalCaching()
+												.build();
+
+		assertEquals(ep1, client.getEndpoint(P_ID, SVC_ID, proc.getProcessId(), new IdentifierImpl("test-1")));
+		assertEquals(1, created.size());
+
+		// When the meta-data is removed from the cache, the lookup index should not prevent its garbage collection
+		cache.clear();
+		for (int i = 0; i < 50 && created.get(0).get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertNull(created.get(0).get());
+
+		assertEquals(ep1, client.getEndpoint(P_ID, SVC_ID, proc.getProcessId(), new IdentifierImpl("test-1")));
+		assertEquals(2, created.size());
+	}
 }
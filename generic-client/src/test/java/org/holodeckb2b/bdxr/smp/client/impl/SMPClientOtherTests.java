@@ -18,18 +18,38 @@ package org.holodeckb2b.bdxr.smp.client.impl;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.holodeckb2b.bdxr.common.datamodel.Identifier;
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
 import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.IAsyncSMPClient;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPClient;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPResponse;
+import org.holodeckb2b.bdxr.smp.client.api.LookupRequest;
+import org.holodeckb2b.bdxr.smp.client.api.LookupResult;
 import org.holodeckb2b.bdxr.smp.client.api.SMPClientBuilder;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
 import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
@@ -43,6 +63,7 @@ import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessInfoImpl;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.RedirectionV2Impl;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceGroupV1Impl;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
+import org.holodeckb2b.brdx.smp.testhelpers.MockAsyncRequestExecutor;
 import org.holodeckb2b.brdx.smp.testhelpers.MockRequestExecutor;
 import org.holodeckb2b.brdx.smp.testhelpers.MockResultProcessor;
 import org.junit.jupiter.api.Test;
@@ -89,6 +110,116 @@ public class SMPClientOtherTests {
 										.getServiceMetadata(P_ID, SVC1_ID)));
 	}
 
+	@Test
+	void testCacheNotFound() throws MalformedURLException {
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, SVC1_ID, null, null);
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/smd";
+
+		MockRequestExecutor reqExecutor = new MockRequestExecutor().addResponse(404, null, null)
+																	.addResponse(200, null, docNS);
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.setInMemoryResultCache(10)
+												.setNegativeCacheTime(5)
+												.build();
+
+		for (int i = 0; i < 3; i++)
+			assertNull(assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+		assertEquals(1, reqExecutor.getRequestURLs().size());
+
+		// When the cache is overridden the server should be queried again
+		assertEquals(smd, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID, true)));
+		assertEquals(2, reqExecutor.getRequestURLs().size());
+	}
+
+	@Test
+	void testNotFoundNotCachedByDefault() throws MalformedURLException {
+		MockRequestExecutor reqExecutor = new MockRequestExecutor().addResponse(404, null, null);
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(null, null))
+												.setInMemoryResultCache(10)
+												.enableLocalCaching()
+												.build();
+
+		for (int i = 0; i < 3; i++)
+			assertNull(assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+		assertEquals(3, reqExecutor.getRequestURLs().size());
+	}
+
+	@Test
+	void testStaleWhileRevalidate() throws MalformedURLException {
+		ServiceMetadata smd1 = new ServiceMetadataImpl(P_ID, SVC1_ID, null, null);
+		ServiceMetadata smd2 = new ServiceMetadataImpl(P_ID, SVC1_ID, null, null);
+		String docNS1 = "http://test.holodeck-b2b.org/smp/ns/smd/1";
+		String docNS2 = "http://test.holodeck-b2b.org/smp/ns/smd/2";
+		URL queryURL = new URL("http://localhost/" + P_ID.getURLEncoded() + "/services/" + SVC1_ID.getURLEncoded());
+
+		InMemoryResultCache cache = new InMemoryResultCache();
+		MockRequestExecutor reqExecutor = new MockRequestExecutor().addResponse(200, null, docNS2);
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS1, smd1))
+												.addProcessor(new MockResultProcessor(docNS2, smd2))
+												.setResultCache(cache)
+												.enableLocalCaching()
+												.setMaxLocalCacheTime(15)
+												.enableStaleWhileRevalidate(10)
+												// Execute the refresh in the calling thread to make test deterministic
+												.setAsyncExecutor(Runnable::run)
+												.build();
+
+		// Expired, but within stale time, so the cached result should be returned and refreshed
+		cache.storeResult(queryURL, smd1, null, LocalDateTime.now().minusMinutes(20));
+		assertSame(smd1, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+		assertEquals(1, reqExecutor.getRequestURLs().size());
+		assertSame(smd2, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+		assertEquals(1, reqExecutor.getRequestURLs().size());
+
+		// Expired longer ago than the stale time, so the new result should be returned
+		cache.clear();
+		cache.storeResult(queryURL, smd1, null, LocalDateTime.now().minusMinutes(30));
+		assertSame(smd2, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+		assertEquals(2, reqExecutor.getRequestURLs().size());
+	}
+
+	@Test
+	void testRefreshAhead() throws MalformedURLException {
+		ServiceMetadata smd1 = new ServiceMetadataImpl(P_ID, SVC1_ID, null, null);
+		ServiceMetadata smd2 = new ServiceMetadataImpl(P_ID, SVC1_ID, null, null);
+		String docNS1 = "http://test.holodeck-b2b.org/smp/ns/smd/1";
+		String docNS2 = "http://test.holodeck-b2b.org/smp/ns/smd/2";
+		URL queryURL = new URL("http://localhost/" + P_ID.getURLEncoded() + "/services/" + SVC1_ID.getURLEncoded());
+
+		InMemoryResultCache cache = new InMemoryResultCache();
+		MockRequestExecutor reqExecutor = new MockRequestExecutor().addResponse(200, null, docNS2);
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS1, smd1))
+												.addProcessor(new MockResultProcessor(docNS2, smd2))
+												.setResultCache(cache)
+												.enableLocalCaching()
+												.setMaxLocalCacheTime(15)
+												.setRefreshAheadTime(2)
+												// Execute the refresh in the calling thread to make test deterministic
+												.setAsyncExecutor(Runnable::run)
+												.build();
+
+		// Not close to expiry, so no refresh
+		cache.storeResult(queryURL, smd1, null, LocalDateTime.now().minusMinutes(10));
+		assertSame(smd1, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+		assertEquals(0, reqExecutor.getRequestURLs().size());
+
+		// Close to expiry, so cached result should be returned and refreshed
+		cache.clear();
+		cache.storeResult(queryURL, smd1, null, LocalDateTime.now().minusMinutes(14));
+		assertSame(smd1, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+		assertEquals(1, reqExecutor.getRequestURLs().size());
+		assertSame(smd2, assertDoesNotThrow(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+		assertEquals(1, reqExecutor.getRequestURLs().size());
+	}
+
 	@Test
 	void testRedirection() throws MalformedURLException {
 		ProcessInfo proc = new ProcessInfoImpl(new ProcessIdentifierImpl("PROCID_1"), null);
@@ -152,6 +283,313 @@ public class SMPClientOtherTests {
 		assertTrue(ex.getMessage().contains("redirections"));
 	}
 
+	@Test
+	void testCoalesceConcurrentQueries() throws Exception {
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, SVC1_ID, null, null);
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/smd";
+
+		final MockRequestExecutor mockExecutor = new MockRequestExecutor().addResponse(200, null, docNS);
+		final CountDownLatch queryStarted = new CountDownLatch(1);
+		final CountDownLatch releaseQuery = new CountDownLatch(1);
+		final AtomicInteger execCount = new AtomicInteger();
+
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor((url, lastModified) -> {
+													execCount.incrementAndGet();
+													queryStarted.countDown();
+													try {
+														releaseQuery.await(5, TimeUnit.SECONDS);
+													} catch (InterruptedException e) {
+														Thread.currentThread().interrupt();
+													}
+													ISMPResponse r;
+													synchronized (mockExecutor) {
+														r = mockExecutor.executeRequest(url, lastModified);
+													}
+													return r;
+												})
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.build();
+
+		final int callers = 8;
+		ExecutorService threads = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<ServiceMetadata>> results = new ArrayList<>();
+			for (int i = 0; i < callers; i++)
+				results.add(threads.submit(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+
+			assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+			// Give the other callers time to join the executing query
+			Thread.sleep(500);
+			releaseQuery.countDown();
+
+			for (Future<ServiceMetadata> r : results)
+				assertEquals(smd, r.get(5, TimeUnit.SECONDS));
+		} finally {
+			threads.shutdownNow();
+		}
+		assertEquals(1, execCount.get());
+	}
+
+	@Test
+	void testCoalescedQueryFailure() throws Exception {
+		final CountDownLatch queryStarted = new CountDownLatch(1);
+		final CountDownLatch releaseQuery = new CountDownLatch(1);
+		final AtomicInteger execCount = new AtomicInteger();
+
+		ISMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor((url, lastModified) -> {
+													execCount.incrementAndGet();
+													queryStarted.countDown();
+													try {
+														releaseQuery.await(5, TimeUnit.SECONDS);
+													} catch (InterruptedException e) {
+														Thread.currentThread().interrupt();
+													}
+													throw new SMPQueryException("Connection failed");
+												})
+												.addProcessor(new MockResultProcessor(null, null))
+												.build();
+
+		final int callers = 4;
+		ExecutorService threads = Executors.newFixedThreadPool(callers);
+		try {
+			List<Future<ServiceMetadata>> results = new ArrayList<>();
+			for (int i = 0; i < callers; i++)
+				results.add(threads.submit(() -> client.getServiceMetadata(P_ID, SVC1_ID)));
+
+			assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+			Thread.sleep(500);
+			releaseQuery.countDown();
+
+			for (Future<ServiceMetadata> r : results) {
+				Exception e = assertThrows(Exception.class, () -> r.get(5, TimeUnit.SECONDS));
+				assertTrue(e.getCause() instanceof SMPQueryException);
+			}
+		} finally {
+			threads.shutdownNow();
+		}
+		assertEquals(1, execCount.get());
+	}
+
+	@Test
+	void testAsyncGetSMD() throws Exception {
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, SVC1_ID, null, null);
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/smd";
+
+		final AtomicInteger execCount = new AtomicInteger();
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(new MockRequestExecutor().addResponse(200, null, docNS))
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.setAsyncExecutor(r -> {
+													execCount.incrementAndGet();
+													new Thread(r).start();
+												})
+												.buildAsync();
+
+		CompletableFuture<ServiceMetadata> result = client.getServiceMetadataAsync(P_ID, SVC1_ID);
+		assertEquals(smd, result.get(5, TimeUnit.SECONDS));
+		assertEquals(1, execCount.get());
+	}
+
+	@Test
+	void testAsyncQueryFailure() {
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(new MockRequestExecutor().addResponse(500, null, null))
+												.addProcessor(new MockResultProcessor(null, null))
+												.buildAsync();
+
+		ExecutionException ex = assertThrows(ExecutionException.class,
+									() -> client.getServiceMetadataAsync(P_ID, SVC1_ID).get(5, TimeUnit.SECONDS));
+		assertTrue(ex.getCause() instanceof SMPQueryException);
+
+		ex = assertThrows(ExecutionException.class,
+						() -> client.getEndpointsAsync(null, SVC1_ID, null).get(5, TimeUnit.SECONDS));
+		assertTrue(ex.getCause() instanceof IllegalArgumentException);
+	}
+
+	@Test
+	void testAsyncRequestExecutorRedirection() throws Exception {
+		Redirection  r = new RedirectionV2Impl(new URL("http://this.is.another.smp"));
+		ServiceMetadata smd1 = new ServiceMetadataImpl(P_ID, SVC1_ID, Set.of(new ProcessGroupImpl(null, r, null)), null);
+		ServiceMetadata smd2 = new ServiceMetadataImpl(P_ID, SVC1_ID, null, null);
+
+		String docNS1 = "http://test.holodeck-b2b.org/smp/ns/redirection/global";
+		String docNS2 = "http://test.holodeck-b2b.org/smp/ns/smd";
+
+		final AtomicInteger execCount = new AtomicInteger();
+		MockAsyncRequestExecutor reqExecutor = new MockAsyncRequestExecutor().addResponse(200, null, docNS1)
+																			 .addResponse(200, null, docNS2);
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS1, smd1))
+												.addProcessor(new MockResultProcessor(docNS2, smd2))
+												.setAsyncExecutor(t -> {
+													execCount.incrementAndGet();
+													new Thread(t).start();
+												})
+												.buildAsync();
+
+		assertEquals(smd2, client.getServiceMetadataAsync(P_ID, SVC1_ID).get(5, TimeUnit.SECONDS));
+		assertEquals(2, reqExecutor.getRequestURLs().size());
+		assertTrue(reqExecutor.getRequestURLs().get(1).toString().startsWith(r.getNewSMPURL().toString()));
+		// Only locating the SMP should be executed on the executor
+		assertEquals(1, execCount.get());
+	}
+
+	@Test
+	void testAsyncRequestExecutorProcessRedirection() throws Exception {
+		ProcessIdentifierImpl procId = new ProcessIdentifierImpl("PROCID_1");
+		ProcessInfo proc = new ProcessInfoImpl(procId, null);
+		Redirection  r = new RedirectionV2Impl(new URL("http://this.is.another.smp"));
+		EndpointInfo ep1 = new EndpointInfoV1Impl("test-1", new URL("http://this.is.a.result"));
+
+		ServiceMetadata smd1 = new ServiceMetadataImpl(P_ID, SVC1_ID,
+										Set.of(new ProcessGroupImpl(Set.of(proc), r, null)), null);
+		ServiceMetadata smd2 = new ServiceMetadataImpl(P_ID, SVC1_ID,
+										Set.of(new ProcessGroupImpl(Set.of(proc), Set.of(ep1), null)), null);
+
+		String docNS1 = "http://test.holodeck-b2b.org/smp/ns/redirection/procgroup";
+		String docNS2 = "http://test.holodeck-b2b.org/smp/ns/smd";
+
+		MockAsyncRequestExecutor reqExecutor = new MockAsyncRequestExecutor().addResponse(200, null, docNS1)
+																			 .addResponse(200, null, docNS2);
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS1, smd1))
+												.addProcessor(new MockResultProcessor(docNS2, smd2))
+												.buildAsync();
+
+		assertEquals(ep1, client.getEndpointAsync(P_ID, SVC1_ID, procId, new IdentifierImpl("test-1"))
+								.get(5, TimeUnit.SECONDS));
+		assertEquals(2, reqExecutor.getRequestURLs().size());
+		assertTrue(reqExecutor.getRequestURLs().get(1).toString().startsWith(r.getNewSMPURL().toString()));
+	}
+
+	@Test
+	void testAsyncRequestExecutorFailure() throws MalformedURLException {
+		Redirection  r = new RedirectionV2Impl(new URL("http://this.is.another.smp"));
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, SVC1_ID, Set.of(new ProcessGroupImpl(null, r, null)), null);
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/redirection/global";
+
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(new MockAsyncRequestExecutor()
+																				.addResponse(500, null, null))
+												.addProcessor(new MockResultProcessor(null, null))
+												.buildAsync();
+		ExecutionException ex = assertThrows(ExecutionException.class,
+									() -> client.getServiceMetadataAsync(P_ID, SVC1_ID).get(5, TimeUnit.SECONDS));
+		assertTrue(ex.getCause() instanceof SMPQueryException);
+
+		ex = assertThrows(ExecutionException.class,
+						() -> client.getServiceGroupAsync(null).get(5, TimeUnit.SECONDS));
+		assertTrue(ex.getCause() instanceof IllegalArgumentException);
+
+		IAsyncSMPClient loopingClient = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(new MockAsyncRequestExecutor()
+																				.addResponse(200, null, docNS))
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.buildAsync();
+		ex = assertThrows(ExecutionException.class,
+						() -> loopingClient.getServiceMetadataAsync(P_ID, SVC1_ID).get(5, TimeUnit.SECONDS));
+		assertTrue(ex.getCause() instanceof SMPQueryException);
+		assertTrue(ex.getCause().getMessage().contains("redirections"));
+	}
+
+	@Test
+	void testBatchLookup() throws MalformedURLException {
+		ProcessIdentifierImpl proc1 = new ProcessIdentifierImpl("PROCID_1");
+		ProcessIdentifierImpl proc2 = new ProcessIdentifierImpl("PROCID_2");
+		EndpointInfo ep1 = new EndpointInfoV1Impl("test-1", new URL("http://this.is.a.result"));
+		EndpointInfo ep2 = new EndpointInfoV1Impl("test-2", new URL("http://this.is.another.result"));
+
+		ServiceMetadata smd = new ServiceMetadataImpl(P_ID, SVC1_ID,
+										Set.of(new ProcessGroupImpl(Set.of(new ProcessInfoImpl(proc1, null)),
+																	Set.of(ep1, ep2), null))
+										, null);
+
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/smd";
+		MockRequestExecutor reqExecutor = new MockRequestExecutor().addResponse(200, null, docNS);
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(reqExecutor)
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.setMaxBatchConcurrency(2)
+												.buildAsync();
+
+		LookupRequest r1 = new LookupRequest(P_ID, SVC1_ID, proc1, new IdentifierImpl("test-1"));
+		LookupRequest r2 = new LookupRequest(P_ID, SVC1_ID, proc1, new IdentifierImpl("test-2"));
+		LookupRequest r3 = new LookupRequest(P_ID, SVC1_ID, proc1, new IdentifierImpl("test-3"));
+		LookupRequest r4 = new LookupRequest(P_ID, SVC1_ID, proc2, new IdentifierImpl("test-1"));
+
+		Map<LookupRequest, LookupResult> results = assertDoesNotThrow(() ->
+							client.getEndpoints(List.of(r1, r2, r3, new LookupRequest(P_ID, SVC1_ID, proc1,
+																		new IdentifierImpl("test-1")), r4)));
+
+		// The meta-data should be retrieved only once for all lookups and duplicates should be removed
+		assertEquals(1, reqExecutor.getRequestURLs().size());
+		assertEquals(List.of(r1, r2, r3, r4), new ArrayList<>(results.keySet()));
+		assertTrue(results.values().stream().allMatch(LookupResult::isSuccess));
+		assertEquals(ep1, results.get(r1).getEndpoint());
+		assertEquals(ep2, results.get(r2).getEndpoint());
+		assertNull(results.get(r3).getEndpoint());
+		assertNull(results.get(r4).getEndpoint());
+	}
+
+	@Test
+	void testBatchLookupFailure() {
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor(new MockRequestExecutor().addResponse(500, null, null))
+												.addProcessor(new MockResultProcessor(null, null))
+												.buildAsync();
+
+		LookupRequest r1 = new LookupRequest(P_ID, SVC1_ID, new ProcessIdentifierImpl("PROCID_1"),
+											 new IdentifierImpl("test-1"));
+		LookupRequest r2 = new LookupRequest(P_ID, SVC1_ID, new ProcessIdentifierImpl("PROCID_2"),
+											 new IdentifierImpl("test-1"));
+
+		Map<LookupRequest, LookupResult> results = assertDoesNotThrow(() -> client.getEndpoints(List.of(r1, r2)));
+		assertEquals(2, results.size());
+		for (LookupResult r : results.values()) {
+			assertFalse(r.isSuccess());
+			assertNull(r.getEndpoint());
+			assertNotNull(r.getError());
+		}
+		assertTrue(assertDoesNotThrow(() -> client.getEndpoints(List.of())).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> client.getEndpoints((Collection<LookupRequest>) null));
+		ExecutionException ex = assertThrows(ExecutionException.class,
+						() -> client.getEndpointsAsync((Collection<LookupRequest>) null).get(5, TimeUnit.SECONDS));
+		assertTrue(ex.getCause() instanceof IllegalArgumentException);
+		assertThrows(IllegalArgumentException.class,
+					 () -> new LookupRequest(P_ID, null, new ProcessIdentifierImpl("PROCID_1"), null));
+	}
+
+	@Test
+	void testWarmUp() {
+		MockResultProcessor p1 = new MockResultProcessor("http://test.holodeck-b2b.org/smp/ns/1");
+		MockResultProcessor p2 = new MockResultProcessor("http://test.holodeck-b2b.org/smp/ns/2");
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.addProcessor(p1).addProcessor(p2)
+												.buildAsync();
+
+		assertDoesNotThrow(() -> client.warmUp().get(5, TimeUnit.SECONDS));
+		assertTrue(p1.wasWarmedUp());
+		assertTrue(p2.wasWarmedUp());
+	}
+
+	@Test
+	void testWarmUpFailure() {
+		MockResultProcessor p1 = new MockResultProcessor("http://test.holodeck-b2b.org/smp/ns/1").failWarmUp();
+		MockResultProcessor p2 = new MockResultProcessor("http://test.holodeck-b2b.org/smp/ns/2");
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.addProcessor(p1).addProcessor(p2)
+												.buildAsync();
+
+		ExecutionException failure = assertThrows(ExecutionException.class,
+												  () -> client.warmUp().get(5, TimeUnit.SECONDS));
+		assertTrue(failure.getCause() instanceof SMPQueryException);
+		assertTrue(p2.wasWarmedUp());
+	}
+
 	void testServiceGroup() throws MalformedURLException {
 		ServiceGroupV1Impl svcGrp = new ServiceGroupV1Impl();
 		svcGrp.setParticipantId(P_ID);
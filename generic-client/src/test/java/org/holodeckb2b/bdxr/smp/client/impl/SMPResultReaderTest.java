@@ -26,9 +26,13 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.security.cert.X509Certificate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.ICertificateFinder;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.client.api.SchemaValidationPolicy;
 import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
 import org.holodeckb2b.bdxr.smp.datamodel.ServiceMetadata;
 import org.holodeckb2b.bdxr.smp.datamodel.SignedQueryResult;
@@ -36,6 +40,8 @@ import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
 import org.holodeckb2b.brdx.smp.testhelpers.MockResultProcessor;
 import org.holodeckb2b.commons.testing.TestUtils;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 class SMPResultReaderTest {
 
@@ -106,6 +112,132 @@ class SMPResultReaderTest {
 		}
 	}
 
+	@Test
+	void testReuseVerifiedSignature() throws Exception {
+		Path respDoc = TestUtils.getTestResource("valid_signed_result.xml");
+		ServiceMetadataImpl smd = new ServiceMetadataImpl(new IdentifierImpl("P_ID_1"), null, null, null);
+		AtomicInteger trustChecks = new AtomicInteger();
+		AtomicInteger verifications = new AtomicInteger();
+
+		SMPClientConfig cfg = new SMPClientConfig();
+		cfg.addProcessor(new MockResultProcessor(TEST_XML_NS, respDoc, smd));
+		cfg.setTrustValidator((X509Certificate certificate) -> trustChecks.incrementAndGet() > 0);
+		cfg.setCertificateFinder(countingCertFinder(verifications));
+		cfg.setSignatureVerificationCache(10, 5);
+
+		SMPResultReader reader = new SMPResultReader(cfg);
+		X509Certificate signingCert = null;
+		for (int i = 0; i < 3; i++)
+			try (FileInputStream fis = new FileInputStream(respDoc.toFile())) {
+				QueryResult smpData = assertDoesNotThrow(() -> reader.handleResponse(fis));
+				assertTrue(smpData instanceof SignedQueryResult);
+				if (signingCert == null)
+					signingCert = ((SignedQueryResult) smpData).getSigningCertificate();
+				assertEquals(signingCert, ((SignedQueryResult) smpData).getSigningCertificate());
+			}
+		// The signature is verified only once, but the trust in the certificate is checked for every response
+		assertEquals(1, verifications.get());
+		assertEquals(3, trustChecks.get());
+
+		// Without re-use each response is verified
+		cfg.setSignatureVerificationCache(0, 0);
+		SMPResultReader noReuseReader = new SMPResultReader(cfg);
+		for (int i = 0; i < 2; i++)
+			try (FileInputStream fis = new FileInputStream(respDoc.toFile())) {
+				assertDoesNotThrow(() -> noReuseReader.handleResponse(fis));
+			}
+		assertEquals(3, verifications.get());
+		assertEquals(5, trustChecks.get());
+	}
+
+	@Test
+	void testTrustValidatedOnReuse() throws Exception {
+		Path respDoc = TestUtils.getTestResource("valid_signed_result.xml");
+		ServiceMetadataImpl smd = new ServiceMetadataImpl(new IdentifierImpl("P_ID_1"), null, null, null);
+		AtomicBoolean trusted = new AtomicBoolean(true);
+
+		SMPClientConfig cfg = new SMPClientConfig();
+		cfg.addProcessor(new MockResultProcessor(TEST_XML_NS, respDoc, smd));
+		cfg.setTrustValidator((X509Certificate certificate) -> trusted.get());
+		cfg.setSignatureVerificationCache(10, 5);
+
+		SMPResultReader reader = new SMPResultReader(cfg);
+		try (FileInputStream fis = new FileInputStream(respDoc.toFile())) {
+			assertDoesNotThrow(() -> reader.handleResponse(fis));
+		}
+		// Revoking the trust in the certificate should be detected even when the verification result is re-used
+		trusted.set(false);
+		try (FileInputStream fis = new FileInputStream(respDoc.toFile())) {
+			SMPQueryException ex = assertThrows(SMPQueryException.class, () -> reader.handleResponse(fis));
+			assertTrue(ex.getMessage().contains("not trusted"));
+		}
+	}
+
+	@Test
+	void testExpiredCertificateNotReused() throws Exception {
+		// The certificate used to sign this response has expired
+		Path respDoc = TestUtils.getTestResource("signed_result.xml");
+		ServiceMetadataImpl smd = new ServiceMetadataImpl(new IdentifierImpl("P_ID_1"), null, null, null);
+		AtomicInteger verifications = new AtomicInteger();
+
+		SMPClientConfig cfg = new SMPClientConfig();
+		cfg.addProcessor(new MockResultProcessor(TEST_XML_NS, respDoc, smd));
+		cfg.setCertificateFinder(countingCertFinder(verifications));
+		cfg.setSignatureVerificationCache(10, 5);
+
+		SMPResultReader reader = new SMPResultReader(cfg);
+		for (int i = 0; i < 2; i++)
+			try (FileInputStream fis = new FileInputStream(respDoc.toFile())) {
+				assertDoesNotThrow(() -> reader.handleResponse(fis));
+			}
+		assertEquals(2, verifications.get());
+	}
+
+	private static ICertificateFinder countingCertFinder(final AtomicInteger counter) {
+		final ICertificateFinder finder = new DefaultCertFinder();
+		return (keyInfo, method, context) -> {
+			counter.incrementAndGet();
+			return finder.findCertificate(keyInfo, method, context);
+		};
+	}
+
+	@Test
+	void testInvalidSignatureNotReused() throws Exception {
+		Path respDoc = TestUtils.getTestResource("inv_signed_result.xml");
+		ServiceMetadataImpl smd = new ServiceMetadataImpl(new IdentifierImpl("P_ID_1"), null, null, null);
+
+		SMPClientConfig cfg = new SMPClientConfig();
+		cfg.addProcessor(new MockResultProcessor(TEST_XML_NS, respDoc, smd));
+		cfg.setSignatureVerificationCache(10, 5);
+
+		SMPResultReader reader = new SMPResultReader(cfg);
+		for (int i = 0; i < 2; i++)
+			try (FileInputStream fis = new FileInputStream(respDoc.toFile())) {
+				assertThrows(SMPQueryException.class, () -> reader.handleResponse(fis));
+			}
+	}
+
+	@ParameterizedTest
+	@CsvSource({"ALWAYS, unsigned_result.xml, true, true", "ALWAYS, signed_result.xml, true, true",
+				"UNSIGNED_ONLY, unsigned_result.xml, true, true", "UNSIGNED_ONLY, signed_result.xml, true, false",
+				"UNSIGNED_ONLY, signed_result.xml, false, true",
+				"STRUCTURAL_ONLY, unsigned_result.xml, true, false", "STRUCTURAL_ONLY, signed_result.xml, true, false"})
+	void testSchemaValidationPolicy(SchemaValidationPolicy policy, String response, boolean useTrustValidator,
+									boolean expected) throws IOException {
+		SMPClientConfig cfg = new SMPClientConfig();
+		MockResultProcessor processor = new MockResultProcessor(TEST_XML_NS,
+											new ServiceMetadataImpl(new IdentifierImpl("P_ID_1"), null, null, null));
+		cfg.addProcessor(processor);
+		cfg.setSchemaValidationPolicy(policy);
+		if (useTrustValidator)
+			cfg.setTrustValidator((X509Certificate certificate) -> true);
+
+		try (FileInputStream fis = new FileInputStream(TestUtils.getTestResource(response).toFile())) {
+			assertDoesNotThrow(() -> new SMPResultReader(cfg).handleResponse(fis));
+			assertEquals(Boolean.valueOf(expected), processor.wasValidated());
+		}
+	}
+
 	@Test
 	void testSelectProcessor() throws IOException {
 		SMPClientConfig cfg = new SMPClientConfig();
@@ -122,6 +254,41 @@ class SMPResultReaderTest {
 		}
 	}
 
+	@Test
+	void testSelectIndexedProcessor() throws IOException {
+		SMPClientConfig cfg = new SMPClientConfig();
+		MockResultProcessor nonExecProc = new MockResultProcessor("some_other").declareNamespace();
+		MockResultProcessor execProc = new MockResultProcessor(TEST_XML_NS).declareNamespace();
+		MockResultProcessor laterProc = new MockResultProcessor(TEST_XML_NS).declareNamespace();
+		cfg.addProcessor(nonExecProc);
+		cfg.addProcessor(execProc);
+		cfg.addProcessor(laterProc);
+
+		try (FileInputStream fis = new FileInputStream(TestUtils.getTestResource("unsigned_result.xml").toFile())) {
+			assertDoesNotThrow(() -> new SMPResultReader(cfg).handleResponse(fis));
+
+			assertTrue(execProc.wasCalled());
+			assertFalse(nonExecProc.wasCalled());
+			assertFalse(laterProc.wasCalled());
+		}
+	}
+
+	@Test
+	void testSelectFirstRegisteredProcessor() throws IOException {
+		SMPClientConfig cfg = new SMPClientConfig();
+		MockResultProcessor undeclaredProc = new MockResultProcessor(TEST_XML_NS);
+		MockResultProcessor declaredProc = new MockResultProcessor(TEST_XML_NS).declareNamespace();
+		cfg.addProcessor(undeclaredProc);
+		cfg.addProcessor(declaredProc);
+
+		try (FileInputStream fis = new FileInputStream(TestUtils.getTestResource("unsigned_result.xml").toFile())) {
+			assertDoesNotThrow(() -> new SMPResultReader(cfg).handleResponse(fis));
+
+			assertTrue(undeclaredProc.wasCalled());
+			assertFalse(declaredProc.wasCalled());
+		}
+	}
+
 	@Test
 	void testNoProcessor() throws IOException {
 		SMPClientConfig cfg = new SMPClientConfig();
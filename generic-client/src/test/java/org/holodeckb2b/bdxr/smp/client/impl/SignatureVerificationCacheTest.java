@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.security.cert.X509Certificate;
+import java.util.concurrent.TimeUnit;
+
+import org.holodeckb2b.commons.security.CertificateUtils;
+import org.holodeckb2b.commons.testing.TestUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SignatureVerificationCacheTest {
+
+	private static X509Certificate validCert;
+	private static X509Certificate expiredCert;
+
+	@BeforeAll
+	static void loadCertificates() throws Exception {
+		validCert = CertificateUtils.getCertificate(TestUtils.getTestResource("valid_cert_1.pem"));
+		expiredCert = CertificateUtils.getCertificate(TestUtils.getTestResource("expired_cert.pem"));
+	}
+
+	@Test
+	void testReuse() {
+		SignatureVerificationCache cache = new SignatureVerificationCache(10, TimeUnit.MINUTES.toNanos(5));
+		byte[] digest = SignatureVerificationCache.newDigest().digest("response".getBytes());
+
+		assertNull(cache.get(digest));
+		cache.put(digest, validCert);
+		assertEquals(validCert, cache.get(digest));
+		assertNull(cache.get(SignatureVerificationCache.newDigest().digest("other response".getBytes())));
+	}
+
+	@Test
+	void testEntryExpires() throws InterruptedException {
+		SignatureVerificationCache cache = new SignatureVerificationCache(10, TimeUnit.MILLISECONDS.toNanos(50));
+		byte[] digest = SignatureVerificationCache.newDigest().digest("response".getBytes());
+
+		cache.put(digest, validCert);
+		assertEquals(validCert, cache.get(digest));
+		Thread.sleep(100);
+		assertNull(cache.get(digest));
+	}
+
+	@Test
+	void testExpiredCertificateNotCached() {
+		SignatureVerificationCache cache = new SignatureVerificationCache(10, TimeUnit.MINUTES.toNanos(5));
+		byte[] digest = SignatureVerificationCache.newDigest().digest("response".getBytes());
+
+		cache.put(digest, expiredCert);
+		assertNull(cache.get(digest));
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.IAsyncSMPClient;
+import org.holodeckb2b.bdxr.smp.client.api.LookupRequest;
+import org.holodeckb2b.bdxr.smp.client.api.LookupResult;
+import org.holodeckb2b.bdxr.smp.client.api.SMPClientBuilder;
+import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.ServiceMetadata;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.EndpointInfoV1Impl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessGroupImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessInfoImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
+import org.holodeckb2b.brdx.smp.testhelpers.MockRequestExecutor;
+import org.holodeckb2b.brdx.smp.testhelpers.MockResultProcessor;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadsTest {
+	private static final Identifier SVC_ID = new IdentifierImpl("SVCID_1");
+	private static final ProcessIdentifier PROC_ID = new ProcessIdentifierImpl("PROCID_1");
+	private static final Identifier TP_ID = new IdentifierImpl("test-1");
+
+	@Test
+	void testSupportDetection() {
+		assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isSupported());
+		if (!VirtualThreads.isSupported())
+			assertThrows(UnsupportedOperationException.class, () -> new SMPClientBuilder().useVirtualThreads());
+	}
+
+	@Test
+	void testManyConcurrentLookups() throws Exception {
+		assumeTrue(VirtualThreads.isSupported(), "Virtual threads not supported by JVM");
+
+		EndpointInfo ep = new EndpointInfoV1Impl(TP_ID.getValue(), new URL("http://this.is.a.result"));
+		ServiceMetadata smd = new ServiceMetadataImpl(new IdentifierImpl("PARTID", "test:scheme"), SVC_ID,
+										Set.of(new ProcessGroupImpl(Set.of(new ProcessInfoImpl(PROC_ID, null)),
+																	Set.of(ep), null)),
+										null);
+		String docNS = "http://test.holodeck-b2b.org/smp/ns/smd";
+
+		final int lookups = 10000;
+		final AtomicInteger inFlight = new AtomicInteger();
+		final AtomicInteger maxInFlight = new AtomicInteger();
+		IAsyncSMPClient client = new SMPClientBuilder().setSMPLocator(new StaticLocator("http://localhost"))
+												.setRequestExecutor((url, lastModified) -> {
+													maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+													try {
+														// Simulate the latency of the SMP server
+														Thread.sleep(500);
+													} catch (InterruptedException e) {
+														Thread.currentThread().interrupt();
+													} finally {
+														inFlight.decrementAndGet();
+													}
+													return new MockRequestExecutor().addResponse(200, null, docNS)
+																					.executeRequest(url, lastModified);
+												})
+												.addProcessor(new MockResultProcessor(docNS, smd))
+												.setMaxBatchConcurrency(lookups)
+												.useVirtualThreads()
+												.buildAsync();
+
+		List<LookupRequest> requests = new ArrayList<>(lookups);
+		for (int i = 0; i < lookups; i++)
+			requests.add(new LookupRequest(new IdentifierImpl("PARTID_" + i, "test:scheme"), SVC_ID, PROC_ID, TP_ID));
+
+		Map<LookupRequest, LookupResult> results = client.getEndpointsAsync(requests).get(60, TimeUnit.SECONDS);
+
+		assertEquals(lookups, results.size());
+		for (LookupResult r : results.values()) {
+			assertTrue(r.isSuccess());
+			assertEquals(ep, r.getEndpoint());
+		}
+		// Many more lookups should have been waiting for the server concurrently than there are carrier threads
+		assertTrue(maxInFlight.get() > 10 * Runtime.getRuntime().availableProcessors(),
+					"Only " + maxInFlight.get() + " concurrent lookups");
+	}
+}
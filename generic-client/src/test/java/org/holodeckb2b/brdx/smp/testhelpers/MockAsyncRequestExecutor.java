@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2018 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.brdx.smp.testhelpers;
+
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.holodeckb2b.bdxr.smp.client.api.IAsyncRequestExecutor;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPResponse;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+
+/**
+ * A mock asynchronous executor that returns the configured responses on another thread after a short delay. The
+ * blocking method is not supported so tests can check it is not used.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ */
+public class MockAsyncRequestExecutor extends MockRequestExecutor implements IAsyncRequestExecutor {
+
+	@Override
+	public ISMPResponse executeRequest(URL requestURL, String lastModified) throws SMPQueryException {
+		throw new SMPQueryException("Blocking execution not expected");
+	}
+
+	@Override
+	public CompletableFuture<ISMPResponse> executeRequestAsync(URL requestURL, String lastModified) {
+		final ISMPResponse response;
+		try {
+			synchronized (this) {
+				response = super.executeRequest(requestURL, lastModified);
+			}
+		} catch (SMPQueryException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		return CompletableFuture.supplyAsync(() -> response,
+											 CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS));
+	}
+
+	@Override
+	public MockAsyncRequestExecutor addResponse(int status, String lastModified, String docNS) {
+		super.addResponse(status, lastModified, docNS);
+		return this;
+	}
+}
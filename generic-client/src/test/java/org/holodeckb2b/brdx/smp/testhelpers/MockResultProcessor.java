@@ -19,6 +19,8 @@ package org.holodeckb2b.brdx.smp.testhelpers;
 import java.io.FileInputStream;
 import java.nio.file.Path;
 import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.Set;
 import javax.xml.parsers.DocumentBuilderFactory;
 import org.holodeckb2b.bdxr.smp.client.api.ISMPResultProcessor;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
@@ -41,6 +43,10 @@ public class MockResultProcessor implements ISMPResultProcessor {
 	private final QueryResult	result;
 
 	private boolean called = false;
+	private boolean declareNS = false;
+	private boolean warmedUp = false;
+	private boolean failWarmUp = false;
+	private Boolean validated = null;
 
 	public MockResultProcessor(final String forNS) {
 		this.supportedNS = forNS;
@@ -83,10 +89,53 @@ public class MockResultProcessor implements ISMPResultProcessor {
 		return supportedNS.equals(namespaceURI);
 	}
 
+	@Override
+	public Set<String> getSupportedNamespaces() {
+		return declareNS ? Set.of(supportedNS) : Collections.emptySet();
+	}
+
+	public MockResultProcessor declareNamespace() {
+		declareNS = true;
+		return this;
+	}
+
 	public boolean wasCalled() {
 		return called;
 	}
 
+	@Override
+	public void warmUp() throws SMPQueryException {
+		if (failWarmUp)
+			throw new SMPQueryException("Warm up failed");
+		warmedUp = true;
+	}
+
+	public MockResultProcessor failWarmUp() {
+		failWarmUp = true;
+		return this;
+	}
+
+	public boolean wasWarmedUp() {
+		return warmedUp;
+	}
+
+	@Override
+	public QueryResult processResult(Document xmlDocument, boolean validate) throws SMPQueryException {
+		validated = validate;
+		return processResult(xmlDocument);
+	}
+
+	@Override
+	public SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert, boolean validate)
+																							throws SMPQueryException {
+		validated = validate;
+		return processResult(xmlDocument, signingCert);
+	}
+
+	public Boolean wasValidated() {
+		return validated;
+	}
+
 	@Override
 	public SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert) throws SMPQueryException {
 		processResult(xmlDocument);
@@ -18,6 +18,7 @@ package org.holodeckb2b.bdxr.smp.client.impl.oasis_smp2;
 
 
 import java.security.cert.X509Certificate;
+import java.util.Set;
 
 import org.holodeckb2b.bdxr.smp.client.api.ISMPResultProcessor;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
@@ -65,21 +66,45 @@ public class OASISv2ResultProcessor implements ISMPResultProcessor {
     	return SVC_METADATA_NS_URI.equals(namespaceURI) || SVC_GROUP_NS_URI.equals(namespaceURI);
     }
 
+    @Override
+    public Set<String> getSupportedNamespaces() {
+    	return Set.of(SVC_METADATA_NS_URI, SVC_GROUP_NS_URI);
+    }
+
+    @Override
+    public void warmUp() throws SMPQueryException {
+    	smdProcessor.warmUp();
+    	sgProcessor.warmUp();
+    }
+
     @Override
     public QueryResult processResult(Document xmlDocument) throws SMPQueryException {
+    	return processResult(xmlDocument, true);
+    }
+
+    @Override
+    public QueryResult processResult(Document xmlDocument, boolean validate) throws SMPQueryException {
 		final String docNS = xmlDocument.getDocumentElement().getNamespaceURI();
 		if (SVC_METADATA_NS_URI.equals(docNS))
-			return smdProcessor.processServiceMetadata(xmlDocument);
+			return smdProcessor.processServiceMetadata(xmlDocument, validate);
 		else // SVC_GROUP_NS_URI.equals(docNS)
-			return sgProcessor.processServiceGroup(xmlDocument);
+			return sgProcessor.processServiceGroup(xmlDocument, validate);
     }
 
 	@Override
 	public SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert) throws SMPQueryException {
+		return processResult(xmlDocument, signingCert, true);
+	}
+
+	@Override
+	public SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert, boolean validate)
+																							throws SMPQueryException {
 		final String docNS = xmlDocument.getDocumentElement().getNamespaceURI();
 		if (SVC_METADATA_NS_URI.equals(docNS))
-			return new SignedServiceMetadataImpl((ServiceMetadata) smdProcessor.processServiceMetadata(xmlDocument), signingCert);
+			return new SignedServiceMetadataImpl((ServiceMetadata) smdProcessor.processServiceMetadata(xmlDocument,
+																							validate), signingCert);
 		else // SVC_GROUP_NS_URI.equals(docNS)
-			return new SignedServiceGroupImpl((ServiceGroupV2) sgProcessor.processServiceGroup(xmlDocument), signingCert);
+			return new SignedServiceGroupImpl((ServiceGroupV2) sgProcessor.processServiceGroup(xmlDocument, validate),
+											  signingCert);
 	}
 }
@@ -29,8 +29,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.holodeckb2b.bdxr.common.datamodel.Extension;
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
-import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.client.impl.IdentifierPool;
+import org.holodeckb2b.bdxr.smp.client.impl.InstancePool;
+import org.holodeckb2b.bdxr.smp.client.impl.RequiredElements;
 import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
 import org.holodeckb2b.bdxr.smp.datamodel.ServiceReference;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessInfoImpl;
@@ -39,6 +41,8 @@ import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceReferenceImpl;
 import org.holodeckb2b.commons.util.Utils;
 import org.oasis_open.docs.bdxr.ns.smp._2.aggregatecomponents.ProcessType;
 import org.oasis_open.docs.bdxr.ns.smp._2.aggregatecomponents.ServiceReferenceType;
+import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.IDType;
+import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.ParticipantIDType;
 import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.RoleIDType;
 import org.oasis_open.docs.bdxr.ns.smp._2.extensioncomponents.SMPExtensionsType;
 import org.oasis_open.docs.bdxr.ns.smp._2.servicegroup.ServiceGroupType;
@@ -55,44 +59,109 @@ class ServiceGroupProcessor {
     private static final Logger	log = LogManager.getLogger(ServiceGroupProcessor.class);
 
     /**
-     * The JAXB context for the conversion of XML into Java objects
+     * Holder of the JAXB context for the conversion of XML into Java objects and the XML schema to validate the SMP
+     * responses and the pool of unmarshallers. As their creation is expensive, they are only created when the first
+     * response is processed or when the processor is warmed up.
+     * @since 4.1.0
      */
-    private static final JAXBContext jaxbContext;
-	/**
-	 * The XML schema to validate the SMP responses
-	 */
-	private static final Schema		smpSchema;
-
-    static {
-        try {
-            // Initialize the JAXB Context used in processing of the responses
-            jaxbContext = JAXBContext.newInstance(ServiceGroupType.class);
-			// Read the XSD for validation of responses
-			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-			smpSchema = sf.newSchema(ServiceGroupProcessor.class.getResource("/xsd/ServiceGroup-2.0.xsd"));
-        } catch (SAXException | JAXBException jaxbFailure) {
-            log.fatal("Could not prepare the JAXB Context required for processing SMP response! Details: {}",
-                      jaxbFailure.getMessage());
-            throw new RuntimeException(jaxbFailure.getMessage(), jaxbFailure);
+    private static class JAXBResources {
+    	/**
+    	 * The JAXB context for the conversion of XML into Java objects
+    	 */
+    	static final JAXBContext jaxbContext;
+    	/**
+    	 * The XML schema to validate the SMP responses
+    	 */
+    	static final Schema		smpSchema;
+
+        static {
+            try {
+                // Initialize the JAXB Context used in processing of the responses
+                jaxbContext = JAXBContext.newInstance(ServiceGroupType.class);
+    			// Read the XSD for validation of responses
+    			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    			smpSchema = sf.newSchema(ServiceGroupProcessor.class.getResource("/xsd/ServiceGroup-2.0.xsd"));
+            } catch (SAXException | JAXBException jaxbFailure) {
+                log.fatal("Could not prepare the JAXB Context required for processing SMP response! Details: {}",
+                          jaxbFailure.getMessage());
+                throw new RuntimeException(jaxbFailure.getMessage(), jaxbFailure);
+            }
         }
+
+    	/**
+    	 * Pool of unmarshallers configured to validate against the XML schema. Unmarshallers are not thread safe but
+    	 * can be re-used for the processing of subsequent responses, which saves creating a new one for each response.
+    	 */
+    	static final InstancePool<Unmarshaller, JAXBException> validating = new InstancePool<>(() -> {
+    									final Unmarshaller u = jaxbContext.createUnmarshaller();
+    									u.setSchema(smpSchema);
+    									return u;
+    								});
+    	/**
+    	 * Pool of unmarshallers that do not validate against the XML schema
+    	 */
+    	static final InstancePool<Unmarshaller, JAXBException> nonValidating =
+    															new InstancePool<>(jaxbContext::createUnmarshaller);
+
+    	/**
+    	 * Gets the pool of unmarshallers to use for processing a response.
+    	 *
+    	 * @param validate	indicates whether the response should be validated against the XML schema
+    	 * @return	the pool of validating or non validating unmarshallers
+    	 */
+    	static InstancePool<Unmarshaller, JAXBException> unmarshallers(final boolean validate) {
+    		return validate ? validating : nonValidating;
+    	}
+    }
+
+    /**
+     * Ensures the JAXB context, XML schema and an unmarshaller needed for processing the responses are created.
+     *
+     * @throws SMPQueryException when the JAXB context or XML schema cannot be created
+     * @since 4.1.0
+     */
+    void warmUp() throws SMPQueryException {
+    	try {
+    		JAXBResources.validating.release(JAXBResources.validating.acquire());
+    	} catch (ExceptionInInitializerError | NoClassDefFoundError | JAXBException initFailure) {
+    		throw new SMPQueryException("Could not prepare the JAXB Context required for processing SMP responses",
+    									initFailure);
+    	}
     }
 
     QueryResult processServiceGroup(Document xmlDocument) throws SMPQueryException {
+    	return processServiceGroup(xmlDocument, true);
+    }
+
+    /**
+     * Converts the XML document into the object representation.
+     *
+     * @param xmlDocument	the XML document
+     * @param validate		indicates whether the document should be validated against the XML schema
+     * @return	the object representation of the document
+     * @throws SMPQueryException when the document cannot be converted into the object representation
+     * @since 4.1.0
+     */
+    QueryResult processServiceGroup(Document xmlDocument, boolean validate) throws SMPQueryException {
         ServiceGroupType sgXML;
+        final InstancePool<Unmarshaller, JAXBException> unmarshallers = JAXBResources.unmarshallers(validate);
+        Unmarshaller unmarshaller = null;
         try {
             log.trace("Parsing the XML of ServiceMetadata document");
-			Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-			unmarshaller.setSchema(smpSchema);
+			unmarshaller = unmarshallers.acquire();
 			sgXML = unmarshaller.unmarshal(xmlDocument, ServiceGroupType.class).getValue();
         } catch (JAXBException parsingError) {
             log.error("Could not convert the XML document into Java objects! Details: {}", parsingError.getMessage());
             throw new SMPQueryException("XML could not be parsed as OASIS SMP2 result");
+        } finally {
+        	unmarshallers.release(unmarshaller);
         }
 		try {
 			log.trace("Convert XML into object data model representation");
 			final ServiceGroupV2Impl sg = new ServiceGroupV2Impl();
-			sg.setParticipantId(new IdentifierImpl(sgXML.getParticipantID().getValue(),
-													sgXML.getParticipantID().getSchemeID()));
+			final ParticipantIDType partIdXML = RequiredElements.require(sgXML.getParticipantID(), "ParticipantID");
+			sg.setParticipantId(new IdentifierImpl(RequiredElements.require(partIdXML.getValue(), "ParticipantID"),
+													partIdXML.getSchemeID()));
 			// Convert the list of ServiceReference elements
 			for(ServiceReferenceType r : sgXML.getServiceReference())
 				sg.addServiceReference(convertServiceRef(r));
@@ -107,21 +176,24 @@ class ServiceGroupProcessor {
 		}
     }
 
-	private ServiceReference convertServiceRef(ServiceReferenceType refXML) {
+	private ServiceReference convertServiceRef(ServiceReferenceType refXML) throws SMPQueryException {
 		ServiceReferenceImpl ref = new ServiceReferenceImpl();
 
-		ref.setServiceId(new IdentifierImpl(refXML.getID().getValue(), refXML.getID().getSchemeID()));
+		final IDType svcIdXML = RequiredElements.require(refXML.getID(), "ID");
+		ref.setServiceId(IdentifierPool.getShared().getIdentifier(RequiredElements.require(svcIdXML.getValue(), "ID"),
+																  svcIdXML.getSchemeID()));
 
 		for (ProcessType pi : refXML.getProcess()) {
 			final ProcessInfoImpl procInfo = new ProcessInfoImpl();
-			final String procID = pi.getID().getValue();
+			final IDType procIdXML = RequiredElements.require(pi.getID(), "ID");
+			final String procID = RequiredElements.require(procIdXML.getValue(), "ID");
 			if (OASISv2ResultProcessor.NO_PROCESS_ID.equals(procID))
-				procInfo.setProcessId(new ProcessIdentifierImpl());
+				procInfo.setProcessId(IdentifierPool.getShared().getNoProcessIdentifier());
 			else
-				procInfo.setProcessId(new ProcessIdentifierImpl(procID, pi.getID().getSchemeID()));
+				procInfo.setProcessId(IdentifierPool.getShared().getProcessIdentifier(procID, procIdXML.getSchemeID()));
 
 			for(RoleIDType r : pi.getRoleID())
-				procInfo.addRole(new IdentifierImpl(r.getValue(), r.getSchemeID()));
+				procInfo.addRole(IdentifierPool.getShared().getIdentifier(r.getValue(), r.getSchemeID()));
 			procInfo.setExtensions(handleProcessInfoExtensions(pi.getSMPExtensions()));
 			ref.addProcessInfo(procInfo);
 		}
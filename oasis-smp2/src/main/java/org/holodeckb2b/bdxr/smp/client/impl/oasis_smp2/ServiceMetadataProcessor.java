@@ -33,8 +33,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.holodeckb2b.bdxr.common.datamodel.Extension;
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
-import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.client.impl.CertificateCache;
+import org.holodeckb2b.bdxr.smp.client.impl.IdentifierPool;
+import org.holodeckb2b.bdxr.smp.client.impl.InstancePool;
+import org.holodeckb2b.bdxr.smp.client.impl.RequiredElements;
 import org.holodeckb2b.bdxr.smp.datamodel.Certificate;
 import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
 import org.holodeckb2b.bdxr.smp.datamodel.ProcessGroup;
@@ -46,13 +49,16 @@ import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessGroupImpl;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessInfoImpl;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.RedirectionV2Impl;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
-import org.holodeckb2b.commons.security.CertificateUtils;
 import org.holodeckb2b.commons.util.Utils;
 import org.oasis_open.docs.bdxr.ns.smp._2.aggregatecomponents.CertificateType;
 import org.oasis_open.docs.bdxr.ns.smp._2.aggregatecomponents.EndpointType;
 import org.oasis_open.docs.bdxr.ns.smp._2.aggregatecomponents.ProcessMetadataType;
 import org.oasis_open.docs.bdxr.ns.smp._2.aggregatecomponents.ProcessType;
 import org.oasis_open.docs.bdxr.ns.smp._2.aggregatecomponents.RedirectType;
+import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.ContentBinaryObjectType;
+import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.IDType;
+import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.ParticipantIDType;
+import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.PublisherURIType;
 import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.RoleIDType;
 import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.TransportProfileIDType;
 import org.oasis_open.docs.bdxr.ns.smp._2.basiccomponents.TypeCodeType;
@@ -71,47 +77,114 @@ class ServiceMetadataProcessor {
     private static final Logger	log = LogManager.getLogger(ServiceMetadataProcessor.class);
 
     /**
-     * The JAXB context for the conversion of XML into Java objects
+     * Holder of the JAXB context for the conversion of XML into Java objects and the XML schema to validate the SMP
+     * responses and the pool of unmarshallers. As their creation is expensive, they are only created when the first
+     * response is processed or when the processor is warmed up.
+     * @since 4.1.0
      */
-    private static final JAXBContext jaxbContext;
-	/**
-	 * The XML schema to validate the SMP responses
-	 */
-	private static final Schema		smpSchema;
-
-    static {
-        try {
-            // Initialize the JAXB Context used in processing of the responses
-            jaxbContext = JAXBContext.newInstance(ServiceMetadataType.class);
-			// Read the XSD for validation of responses
-			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-			smpSchema = sf.newSchema(ServiceMetadataProcessor.class.getResource("/xsd/ServiceMetadata-2.0.xsd"));
-        } catch (SAXException | JAXBException jaxbFailure) {
-            log.fatal("Could not prepare the JAXB Context required for processing SMP response! Details: {}",
-                      jaxbFailure.getMessage());
-            throw new RuntimeException(jaxbFailure.getMessage(), jaxbFailure);
+    private static class JAXBResources {
+    	/**
+    	 * The JAXB context for the conversion of XML into Java objects
+    	 */
+    	static final JAXBContext jaxbContext;
+    	/**
+    	 * The XML schema to validate the SMP responses
+    	 */
+    	static final Schema		smpSchema;
+
+        static {
+            try {
+                // Initialize the JAXB Context used in processing of the responses
+                jaxbContext = JAXBContext.newInstance(ServiceMetadataType.class);
+    			// Read the XSD for validation of responses
+    			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    			smpSchema = sf.newSchema(ServiceMetadataProcessor.class.getResource("/xsd/ServiceMetadata-2.0.xsd"));
+            } catch (SAXException | JAXBException jaxbFailure) {
+                log.fatal("Could not prepare the JAXB Context required for processing SMP response! Details: {}",
+                          jaxbFailure.getMessage());
+                throw new RuntimeException(jaxbFailure.getMessage(), jaxbFailure);
+            }
         }
+
+    	/**
+    	 * Pool of unmarshallers configured to validate against the XML schema. Unmarshallers are not thread safe but
+    	 * can be re-used for the processing of subsequent responses, which saves creating a new one for each response.
+    	 */
+    	static final InstancePool<Unmarshaller, JAXBException> validating = new InstancePool<>(() -> {
+    									final Unmarshaller u = jaxbContext.createUnmarshaller();
+    									u.setSchema(smpSchema);
+    									return u;
+    								});
+    	/**
+    	 * Pool of unmarshallers that do not validate against the XML schema
+    	 */
+    	static final InstancePool<Unmarshaller, JAXBException> nonValidating =
+    															new InstancePool<>(jaxbContext::createUnmarshaller);
+
+    	/**
+    	 * Gets the pool of unmarshallers to use for processing a response.
+    	 *
+    	 * @param validate	indicates whether the response should be validated against the XML schema
+    	 * @return	the pool of validating or non validating unmarshallers
+    	 */
+    	static InstancePool<Unmarshaller, JAXBException> unmarshallers(final boolean validate) {
+    		return validate ? validating : nonValidating;
+    	}
+    }
+
+    /**
+     * Ensures the JAXB context, XML schema and an unmarshaller needed for processing the responses are created.
+     *
+     * @throws SMPQueryException when the JAXB context or XML schema cannot be created
+     * @since 4.1.0
+     */
+    void warmUp() throws SMPQueryException {
+    	try {
+    		JAXBResources.validating.release(JAXBResources.validating.acquire());
+    	} catch (ExceptionInInitializerError | NoClassDefFoundError | JAXBException initFailure) {
+    		throw new SMPQueryException("Could not prepare the JAXB Context required for processing SMP responses",
+    									initFailure);
+    	}
     }
 
     QueryResult processServiceMetadata(Document xmlDocument) throws SMPQueryException {
+    	return processServiceMetadata(xmlDocument, true);
+    }
+
+    /**
+     * Converts the XML document into the object representation.
+     *
+     * @param xmlDocument	the XML document
+     * @param validate		indicates whether the document should be validated against the XML schema
+     * @return	the object representation of the document
+     * @throws SMPQueryException when the document cannot be converted into the object representation
+     * @since 4.1.0
+     */
+    QueryResult processServiceMetadata(Document xmlDocument, boolean validate) throws SMPQueryException {
         ServiceMetadataType smdXML;
+        final InstancePool<Unmarshaller, JAXBException> unmarshallers = JAXBResources.unmarshallers(validate);
+        Unmarshaller unmarshaller = null;
         try {
             log.trace("Parsing the XML of ServiceMetadata document");
-			Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-			unmarshaller.setSchema(smpSchema);
+			unmarshaller = unmarshallers.acquire();
 			smdXML = unmarshaller.unmarshal(xmlDocument, ServiceMetadataType.class).getValue();
         } catch (JAXBException parsingError) {
             log.error("Could not convert the XML document into Java objects! Details: {}", parsingError.getMessage());
             throw new SMPQueryException("XML could not be parsed as OASIS SMP2 result");
+        } finally {
+        	unmarshallers.release(unmarshaller);
         }
 		try {
 			log.trace("Convert XML into object data model representation");
 			final ServiceMetadataImpl smd = new ServiceMetadataImpl();
-			smd.setParticipantId(new IdentifierImpl(smdXML.getParticipantID().getValue(),
-													smdXML.getParticipantID().getSchemeID()));
-			smd.setServiceId(new IdentifierImpl(smdXML.getID().getValue(), smdXML.getID().getSchemeID()));
+			final ParticipantIDType partIdXML = RequiredElements.require(smdXML.getParticipantID(), "ParticipantID");
+			smd.setParticipantId(new IdentifierImpl(RequiredElements.require(partIdXML.getValue(), "ParticipantID"),
+													partIdXML.getSchemeID()));
+			final IDType svcIdXML = RequiredElements.require(smdXML.getID(), "ID");
+			smd.setServiceId(IdentifierPool.getShared().getIdentifier(RequiredElements.require(svcIdXML.getValue(), "ID"),
+																	  svcIdXML.getSchemeID()));
 			// Convert the list of ProcessMetadata element
-			for(ProcessMetadataType p : smdXML.getProcessMetadata())
+			for(ProcessMetadataType p : RequiredElements.require(smdXML.getProcessMetadata(), "ProcessMetadata"))
 				smd.addProcessGroup(convertProcessMetadata(p));
 
 			smd.setExtensions(handleServiceMetadataExtensions(smdXML.getSMPExtensions()));
@@ -129,14 +202,15 @@ class ServiceMetadataProcessor {
 
 		for (ProcessType pi : procMetadataXML.getProcess()) {
 			final ProcessInfoImpl procInfo = new ProcessInfoImpl();
-			final String procID = pi.getID().getValue();
+			final IDType procIdXML = RequiredElements.require(pi.getID(), "ID");
+			final String procID = RequiredElements.require(procIdXML.getValue(), "ID");
 			if (OASISv2ResultProcessor.NO_PROCESS_ID.equals(procID))
-				procInfo.setProcessId(new ProcessIdentifierImpl());
+				procInfo.setProcessId(IdentifierPool.getShared().getNoProcessIdentifier());
 			else
-				procInfo.setProcessId(new ProcessIdentifierImpl(procID, pi.getID().getSchemeID()));
+				procInfo.setProcessId(IdentifierPool.getShared().getProcessIdentifier(procID, procIdXML.getSchemeID()));
 
 			for(RoleIDType r : pi.getRoleID())
-				procInfo.addRole(new IdentifierImpl(r.getValue(), r.getSchemeID()));
+				procInfo.addRole(IdentifierPool.getShared().getIdentifier(r.getValue(), r.getSchemeID()));
 			procInfo.setExtensions(handleProcessInfoExtensions(pi.getSMPExtensions()));
 			pg.addProcessInfo(procInfo);
 		}
@@ -161,12 +235,14 @@ class ServiceMetadataProcessor {
 	private EndpointInfo convertEndpoint(EndpointType epInfoXML) throws SMPQueryException {
 		final EndpointInfoImpl epInfo = new EndpointInfoImpl();
 
-		TransportProfileIDType transportProfileID = epInfoXML.getTransportProfileID();
-		if (transportProfileID == null || Utils.isNullOrEmpty(transportProfileID.getValue())) {
+		TransportProfileIDType transportProfileID = RequiredElements.require(epInfoXML.getTransportProfileID(),
+																			 "TransportProfileID");
+		if (Utils.isNullOrEmpty(transportProfileID.getValue())) {
 			log.error("Missing transport profile identifier");
 			throw new SMPQueryException("Invalid endpoint meta-data");
 		}
-		epInfo.setTransportProfileId(new IdentifierImpl(transportProfileID.getValue(), transportProfileID.getSchemeID()));
+		epInfo.setTransportProfileId(IdentifierPool.getShared().getIdentifier(transportProfileID.getValue(),
+																	   transportProfileID.getSchemeID()));
 		
 		final String epURL = epInfoXML.getAddressURI() != null ? epInfoXML.getAddressURI().getValue() : null;
 		try {
@@ -204,12 +280,12 @@ class ServiceMetadataProcessor {
 		if (redirectXML == null)
 			return null;
 
+		final PublisherURIType publisherURI = RequiredElements.require(redirectXML.getPublisherURI(), "PublisherURI");
 		URL redirectURL = null;
 		try {
-			redirectURL = redirectXML.getPublisherURI() != null ? new URL(redirectXML.getPublisherURI().getValue())
-																: null;
+			redirectURL = new URL(RequiredElements.require(publisherURI.getValue(), "PublisherURI"));
 		} catch (MalformedURLException invalidURL) {
-			log.error("Invalid value for redirect URL: {}", redirectXML.getPublisherURI().getValue());
+			log.error("Invalid value for redirect URL: {}", publisherURI.getValue());
 		}
 		if (redirectURL == null)
 			throw new SMPQueryException("Invalid redirection response received!");
@@ -228,10 +304,14 @@ class ServiceMetadataProcessor {
 		return redirectionInfo;
     }
 
-    private Certificate convertCertificateInfo(final CertificateType certInfo) throws CertificateException {
+    private Certificate convertCertificateInfo(final CertificateType certInfo) throws CertificateException,
+    																				  SMPQueryException {
     	final TypeCodeType usage = certInfo.getTypeCode();
-    	final CertificateImpl cert = new CertificateImpl(CertificateUtils.getCertificate(
-    																	certInfo.getContentBinaryObject().getValue()),
+    	final ContentBinaryObjectType content = RequiredElements.require(certInfo.getContentBinaryObject(),
+    																	 "ContentBinaryObject");
+    	final CertificateImpl cert = new CertificateImpl(CertificateCache.getShared().getCertificate(
+    															RequiredElements.require(content.getValue(),
+    																					 "ContentBinaryObject")),
 														 usage != null ? usage.getValue() : null);
 		cert.setDescription(certInfo.getDescription() != null ? certInfo.getDescription().getValue() : null);
 		final XMLGregorianCalendar activation = certInfo.getActivationDate() != null ?
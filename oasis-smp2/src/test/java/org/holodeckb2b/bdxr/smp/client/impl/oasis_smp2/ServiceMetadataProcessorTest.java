@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -122,6 +123,25 @@ public class ServiceMetadataProcessorTest {
 		assertEquals(expCert, cert.getX509Cert());
 	}
 
+	@Test
+	void testSharedIdentifiers() throws Exception {
+		final ServiceMetadataProcessor processor = new ServiceMetadataProcessor();
+		ServiceMetadata smd1 = (ServiceMetadata) processor.processServiceMetadata(readXMLDoc("detailed.xml"));
+		ServiceMetadata smd2 = (ServiceMetadata) processor.processServiceMetadata(readXMLDoc("detailed.xml"));
+
+		assertSame(smd1.getServiceId(), smd2.getServiceId());
+		ProcessGroup pg1 = smd1.getProcessMetadata().iterator().next();
+		ProcessGroup pg2 = smd2.getProcessMetadata().iterator().next();
+		ProcessInfo pi1 = pg1.getProcessInfo().iterator().next();
+		ProcessInfo pi2 = pg2.getProcessInfo().iterator().next();
+		assertSame(pi1.getProcessId(), pi2.getProcessId());
+		assertSame(pi1.getRoles().iterator().next(), pi2.getRoles().iterator().next());
+		assertSame(pg1.getEndpoints().iterator().next().getTransportProfileId(),
+				   pg2.getEndpoints().iterator().next().getTransportProfileId());
+		assertSame(pg1.getEndpoints().iterator().next().getCertificates().iterator().next().getX509Cert(),
+				   pg2.getEndpoints().iterator().next().getCertificates().iterator().next().getX509Cert());
+	}
+
 	@Test
 	void testRepeatedElements() throws Exception {
 		Document xml = readXMLDoc("repetition.xml");
@@ -261,12 +281,37 @@ public class ServiceMetadataProcessorTest {
 
 	@ParameterizedTest
 	@ValueSource(strings = {"invalid.xml", "no_partid.xml", "no_serviceid.xml", "no_procid.xml", "no_roleid.xml",
-							"no_transport_id.xml", "both_ep_redirect.xml"})
+							"no_transport_id.xml", "both_ep_redirect.xml", "no_cert_content.xml"})
 	void testInvalid(String xmlFile) throws Exception {
 		Document xml = readXMLDoc(xmlFile);
 		assertThrows(SMPQueryException.class, () -> new ServiceMetadataProcessor().processServiceMetadata(xml));
 	}
 
+	@Test
+	void testWithoutValidation() throws Exception {
+		final ServiceMetadataProcessor processor = new ServiceMetadataProcessor();
+		ServiceMetadata smd1 = (ServiceMetadata) processor.processServiceMetadata(readXMLDoc("detailed.xml"), true);
+		ServiceMetadata smd2 = assertDoesNotThrow(() ->
+						(ServiceMetadata) processor.processServiceMetadata(readXMLDoc("detailed.xml"), false));
+
+		assertEquals(smd1.getParticipantId(), smd2.getParticipantId());
+		assertSame(smd1.getServiceId(), smd2.getServiceId());
+		assertEquals(smd1.getProcessMetadata().size(), smd2.getProcessMetadata().size());
+		ProcessGroup pg1 = smd1.getProcessMetadata().iterator().next();
+		ProcessGroup pg2 = smd2.getProcessMetadata().iterator().next();
+		assertEquals(pg1.getEndpoints().size(), pg2.getEndpoints().size());
+		assertSame(pg1.getEndpoints().iterator().next().getTransportProfileId(),
+				   pg2.getEndpoints().iterator().next().getTransportProfileId());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"no_partid.xml", "no_serviceid.xml", "no_procid.xml", "no_roleid.xml",
+							"no_transport_id.xml", "both_ep_redirect.xml", "no_cert_content.xml"})
+	void testInvalidWithoutValidation(String xmlFile) throws Exception {
+		Document xml = readXMLDoc(xmlFile);
+		assertThrows(SMPQueryException.class, () -> new ServiceMetadataProcessor().processServiceMetadata(xml, false));
+	}
+
 	private Document readXMLDoc(String testFile) throws Exception {
 		try (FileInputStream is = new FileInputStream(TestUtils.getTestResource(testFile).toFile())) {
             DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
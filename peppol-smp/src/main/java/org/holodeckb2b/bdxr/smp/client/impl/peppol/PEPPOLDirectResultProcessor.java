@@ -0,0 +1,535 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl.peppol;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.holodeckb2b.bdxr.common.datamodel.Extension;
+import org.holodeckb2b.bdxr.common.datamodel.Identifier;
+import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
+import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPResultProcessor;
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.client.impl.CertificateCache;
+import org.holodeckb2b.bdxr.smp.client.impl.IdentifierPool;
+import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
+import org.holodeckb2b.bdxr.smp.datamodel.ProcessGroup;
+import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
+import org.holodeckb2b.bdxr.smp.datamodel.Redirection;
+import org.holodeckb2b.bdxr.smp.datamodel.ServiceMetadata;
+import org.holodeckb2b.bdxr.smp.datamodel.SignedQueryResult;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.CertificateImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.EndpointInfoV1Impl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessGroupImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ProcessInfoImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.RedirectionV1Impl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceGroupV1Impl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
+import org.holodeckb2b.bdxr.smp.datamodel.impl.SignedServiceMetadataImpl;
+import org.holodeckb2b.bdxr.smp.peppol.DocumentID;
+import org.holodeckb2b.bdxr.smp.peppol.ProcessID;
+import org.holodeckb2b.commons.util.Utils;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Is an {@link ISMPResultProcessor} implementation that handles the XML format as defined in the PEPPOL SMP
+ * specification by reading the XML document directly into the object model, without first converting it into JAXB
+ * generated objects. This avoids creating an intermediate representation of the response and the cost of schema
+ * validation, which makes it more efficient than the {@link PEPPOLResultProcessor}, especially for large responses
+ * with many processes and endpoints.
+ * <p>Although no XML schema validation is performed, the processor checks that the document has the structure as
+ * defined by the PEPPOL SMP schema, i.e. that all required elements are present in the correct order, and that the
+ * values of non string typed elements are valid.
+ * <p>To use this processor instead of the {@link PEPPOLResultProcessor} it must be registered with the SMP client
+ * using {@link org.holodeckb2b.bdxr.smp.client.api.SMPClientBuilder#addProcessor(ISMPResultProcessor)}. As with the
+ * JAXB based processor, extensions are ignored by default but can be handled by overriding the <code>
+ * handle...Extensions</code> methods.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ * @since 4.1.0
+ */
+public class PEPPOLDirectResultProcessor implements ISMPResultProcessor {
+    private static final Logger	log = LogManager.getLogger(PEPPOLDirectResultProcessor.class);
+
+    /**
+     * The namespace URI of the PEPPOL identifiers
+     */
+    private static final String IDS_NS = "http://busdox.org/transport/identifiers/1.0/";
+    /**
+     * The namespace URI of WS-Addressing used for the endpoint reference
+     */
+    private static final String WSA_NS = "http://www.w3.org/2005/08/addressing";
+    /**
+     * The namespace URI of XML Signature
+     */
+    private static final String XMLDSIG_NS = "http://www.w3.org/2000/09/xmldsig#";
+    /**
+     * The special process identifier used to indicate that the document id is not assigned to a specific process.
+     */
+    private static final String NO_PROCESS_ID = "busdox:noprocess";
+
+    @Override
+    public boolean canProcess(final String namespaceURI) {
+    	return PEPPOLResultProcessor.NAMESPACE_URI.equals(namespaceURI);
+    }
+
+    @Override
+    public Set<String> getSupportedNamespaces() {
+    	return Set.of(PEPPOLResultProcessor.NAMESPACE_URI);
+    }
+
+    @Override
+    public QueryResult processResult(Document xmlDocument) throws SMPQueryException {
+    	final Element root = xmlDocument.getDocumentElement();
+    	if (!PEPPOLResultProcessor.NAMESPACE_URI.equals(root.getNamespaceURI())) {
+    		log.error("Unexpected namespace of root element : {}", root.getNamespaceURI());
+    		throw new SMPQueryException("XML could not be parsed as a valid PEPPOL SMP result");
+    	}
+    	try {
+	    	switch (root.getLocalName()) {
+	    	case "ServiceGroup" :
+	    		return processServiceGroup(root);
+	    	case "ServiceMetadata" :
+	    		return processServiceMetadata(root);
+	    	case "SignedServiceMetadata" :
+	    		final ChildElements children = new ChildElements(root);
+	    		final Element smd = children.required(PEPPOLResultProcessor.NAMESPACE_URI, "ServiceMetadata");
+	    		children.required(XMLDSIG_NS, "Signature");
+	    		children.end();
+	    		return processServiceMetadata(smd);
+	    	default:
+	    		log.error("Unexpected root element : {}", root.getLocalName());
+	    		throw new SMPQueryException("XML could not be parsed as a valid PEPPOL SMP result");
+	    	}
+		} catch (IllegalArgumentException iae) {
+			log.error("Response contains an invalid value for some meta-data! Details: {}", Utils.getExceptionTrace(iae));
+			throw new SMPQueryException("Response contains an invalid value");
+		}
+    }
+
+	@Override
+	public SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert) throws SMPQueryException {
+		final QueryResult queryResult = processResult(xmlDocument);
+		if (queryResult instanceof ServiceMetadata)
+			return new SignedServiceMetadataImpl((ServiceMetadata) queryResult, signingCert);
+		else
+			throw new SMPQueryException("Signed ServiceGroup is not supported in PEPPOL SMP specification!");
+	}
+
+	private ServiceMetadata processServiceMetadata(Element smdXML) throws SMPQueryException {
+		log.debug("Process ServiceMetadata result document");
+
+		final ServiceMetadataImpl smd = new ServiceMetadataImpl();
+		final ChildElements children = new ChildElements(smdXML);
+		final Element redirect = children.optional(PEPPOLResultProcessor.NAMESPACE_URI, "Redirect");
+		if (redirect != null) {
+			// As in PEPPOLResultProcessor the redirection is packaged in a ProcessGroup without process info
+			log.trace("Service Metadata contains a Redirect");
+			ProcessGroupImpl pg = new ProcessGroupImpl();
+			pg.setRedirection(convertRedirection(redirect));
+			smd.addProcessGroup(pg);
+		} else {
+			log.trace("Service Metadata contains ServiceInformation");
+			final ChildElements siChildren = new ChildElements(
+								children.required(PEPPOLResultProcessor.NAMESPACE_URI, "ServiceInformation"));
+			final Element partId = siChildren.required(IDS_NS, "ParticipantIdentifier");
+			smd.setParticipantId(new IdentifierImpl(partId.getTextContent(), getAttribute(partId, "scheme")));
+			final Element docId = siChildren.required(IDS_NS, "DocumentIdentifier");
+			final String scheme = getAttribute(docId, "scheme");
+			Identifier svcId;
+			if (DocumentID.BUSDOX_QNS.getSchemeId().equals(scheme))
+				svcId = DocumentID.from(docId.getTextContent(), scheme);
+			else
+				svcId = IdentifierPool.getShared().getIdentifier(docId.getTextContent(), scheme);
+			smd.setServiceId(svcId);
+
+			final ChildElements processes = new ChildElements(
+										siChildren.required(PEPPOLResultProcessor.NAMESPACE_URI, "ProcessList"));
+			Element p = processes.required(PEPPOLResultProcessor.NAMESPACE_URI, "Process");
+			do {
+				smd.addProcessGroup(convertProcessMetadata(p));
+			} while ((p = processes.optional(PEPPOLResultProcessor.NAMESPACE_URI, "Process")) != null);
+			processes.end();
+
+			smd.setExtensions(handleServiceInfoExtensions(
+										siChildren.optional(PEPPOLResultProcessor.NAMESPACE_URI, "Extension")));
+			siChildren.end();
+		}
+		children.end();
+
+		log.debug("Completely processed the response document");
+		return smd;
+	}
+
+    private Redirection convertRedirection(Element redirectXML) throws SMPQueryException {
+    	final String href = getAttribute(redirectXML, "href");
+    	final ChildElements children = new ChildElements(redirectXML);
+    	children.required(PEPPOLResultProcessor.NAMESPACE_URI, "CertificateUID");
+    	final Element extension = children.optional(PEPPOLResultProcessor.NAMESPACE_URI, "Extension");
+    	children.end();
+    	try {
+    		final RedirectionV1Impl redirection = new RedirectionV1Impl(new URL(href));
+            redirection.setExtensions(handleRedirectionExtensions(extension));
+    		return redirection;
+    	} catch (NullPointerException | MalformedURLException invalidURL) {
+    		log.error("The Redirection response includes an invalid new target URL: {}", href);
+    		throw new SMPQueryException("Invalid redirection response received!");
+    	}
+    }
+
+    /**
+     * Converts the <code>Extension</code> child element of the <code>Redirection</code> element into the object
+     * representation.
+     * <p><b>NOTE: </b> This default implementation <b>ignores</b> all included extensions. If a network uses
+     * extension you should create a descendant class and override this method to correctly handle the network
+     * specific extensions.
+     *
+	 * @param extension		The <code>Extension</code> element included with the <code>Redirection</code> element,
+	 * 						<code>null</code> if there is none
+	 * @return				The object representation of the extensions
+	 */
+	protected List<Extension<?>> handleRedirectionExtensions(Element extension) {
+		return null;
+	}
+
+    /**
+     * Converts the <code>Extension</code> child element of the <code>ServiceInformation</code> element into the
+     * object representation.
+     * <p><b>NOTE: </b> This default implementation <b>ignores</b> all included extensions. If a network uses
+     * extension you should create a descendant class and override this method to correctly handle the network
+     * specific extensions.
+     *
+	 * @param extension		The <code>Extension</code> element included with the <code>ServiceInformation</code>
+	 * 						element, <code>null</code> if there is none
+	 * @return				The object representation of the extensions
+	 */
+	protected List<Extension<?>> handleServiceInfoExtensions(Element extension) {
+		return null;
+	}
+
+    private ProcessGroup convertProcessMetadata(Element procInfoXML) throws SMPQueryException {
+    	final ProcessGroupImpl pg = new ProcessGroupImpl();
+    	final ProcessInfoImpl procInfo = new ProcessInfoImpl();
+    	final ChildElements children = new ChildElements(procInfoXML);
+
+    	final Element procIdXML = children.required(IDS_NS, "ProcessIdentifier");
+        final String procID = procIdXML.getTextContent();
+        if (NO_PROCESS_ID.equals(procID))
+        	procInfo.setProcessId(IdentifierPool.getShared().getNoProcessIdentifier());
+        else {
+			ProcessIdentifier procId;
+			String scheme = getAttribute(procIdXML, "scheme");
+			if (ProcessID.CENBII.getSchemeId().equals(scheme))
+				procId = ProcessID.from(procID);
+			else
+				procId = IdentifierPool.getShared().getProcessIdentifier(procID, scheme);
+
+        	procInfo.setProcessId(procId);
+        }
+        pg.addProcessInfo(procInfo);
+
+        // Convert the Endpoint elements into object model
+        final ChildElements endpoints = new ChildElements(
+        							children.required(PEPPOLResultProcessor.NAMESPACE_URI, "ServiceEndpointList"));
+        Element ep = endpoints.required(PEPPOLResultProcessor.NAMESPACE_URI, "Endpoint");
+        do {
+        	pg.addEndpoint(convertEndpoint(ep));
+        } while ((ep = endpoints.optional(PEPPOLResultProcessor.NAMESPACE_URI, "Endpoint")) != null);
+        endpoints.end();
+
+        pg.setExtensions(handleProcessInfoExtensions(
+        									children.optional(PEPPOLResultProcessor.NAMESPACE_URI, "Extension")));
+        children.end();
+
+        return pg;
+    }
+
+    /**
+     * Converts the <code>Extension</code> child element of the <code>Process</code> element into the object
+     * representation.
+     * <p><b>NOTE: </b> This default implementation <b>ignores</b> all included extensions. If a network uses
+     * extension you should create a descendant class and override this method to correctly handle the network
+     * specific extensions.
+     *
+	 * @param extension		The <code>Extension</code> element included with the <code>Process</code> element,
+	 * 						<code>null</code> if there is none
+	 * @return				The object representation of the extensions
+	 */
+	protected List<Extension<?>> handleProcessInfoExtensions(Element extension) {
+		return null;
+	}
+
+    private EndpointInfo convertEndpoint(Element epInfoXML) throws SMPQueryException {
+        final EndpointInfoV1Impl epInfo = new EndpointInfoV1Impl();
+        final ChildElements children = new ChildElements(epInfoXML);
+
+		final String profile = getAttribute(epInfoXML, "transportProfile");
+		if (Utils.isNullOrEmpty(profile)) {
+			log.error("Endpoint does not specify the transport profile");
+			throw new SMPQueryException("Invalid endpoint meta-data");
+		}
+        epInfo.setTransportProfile(profile);
+
+        final ChildElements epr = new ChildElements(children.required(WSA_NS, "EndpointReference"));
+        final String address = epr.required(WSA_NS, "Address").getTextContent().trim();
+        try {
+			epInfo.setEndpointURL(new URL(address));
+		} catch (MalformedURLException e) {
+			log.error("Invalid URL specified for endpoint! Value={}", address);
+			throw new SMPQueryException("Invalid endpoint meta-data");
+		}
+        epInfo.setBusinessLevelSignatureRequired(parseBoolean(
+        		children.required(PEPPOLResultProcessor.NAMESPACE_URI, "RequireBusinessLevelSignature")));
+        final Element minAuthLevel = children.optional(PEPPOLResultProcessor.NAMESPACE_URI,
+        											   "MinimumAuthenticationLevel");
+        if (minAuthLevel != null)
+        	epInfo.setMinimumAuthenticationLevel(minAuthLevel.getTextContent());
+        final Element svcActivationDate = children.optional(PEPPOLResultProcessor.NAMESPACE_URI,
+        													"ServiceActivationDate");
+        if (svcActivationDate != null)
+            epInfo.setServiceActivationDate(parseDateTime(svcActivationDate));
+        final Element svcExpirationDate = children.optional(PEPPOLResultProcessor.NAMESPACE_URI,
+        													"ServiceExpirationDate");
+        if (svcExpirationDate != null)
+            epInfo.setServiceExpirationDate(parseDateTime(svcExpirationDate));
+        try {
+			X509Certificate epCert = CertificateCache.getShared().getCertificate(
+						children.required(PEPPOLResultProcessor.NAMESPACE_URI, "Certificate").getTextContent());
+            if (epCert != null)
+				epInfo.addCertificate(new CertificateImpl(epCert));
+        } catch (CertificateException certReadError) {
+            log.error("Could not read the Certificate from the SMP response! Details: {}", certReadError.getMessage());
+            throw new SMPQueryException("Could not read the Certificate from the SMP response");
+        }
+        epInfo.setDescription(children.required(PEPPOLResultProcessor.NAMESPACE_URI, "ServiceDescription")
+        							  .getTextContent());
+        epInfo.setContactInfo(children.required(PEPPOLResultProcessor.NAMESPACE_URI, "TechnicalContactUrl")
+        							  .getTextContent().trim());
+        final Element techInfoURL = children.optional(PEPPOLResultProcessor.NAMESPACE_URI, "TechnicalInformationUrl");
+		if (techInfoURL != null && !Utils.isNullOrEmpty(techInfoURL.getTextContent().trim()))
+			try {
+				epInfo.setTechnicalInformationURL(new URI(techInfoURL.getTextContent().trim()));
+			} catch (URISyntaxException ex) {
+				log.error("Invalid URL specified for technical information! Value={}", techInfoURL.getTextContent());
+				throw new SMPQueryException("Invalid endpoint meta-data");
+			}
+        epInfo.setExtensions(handleEndpointInfoExtensions(
+        									children.optional(PEPPOLResultProcessor.NAMESPACE_URI, "Extension")));
+        children.end();
+
+        return epInfo;
+    }
+
+    /**
+     * Converts the <code>Extension</code> child element of the <code>Endpoint</code> element into the object
+     * representation.
+     * <p><b>NOTE: </b> This default implementation <b>ignores</b> all included extensions. If a network uses
+     * extension you should create a descendant class and override this method to correctly handle the network
+     * specific extensions.
+     *
+	 * @param extension		The <code>Extension</code> element included with the <code>Endpoint</code> element,
+	 * 						<code>null</code> if there is none
+	 * @return				The object representation of the extensions
+	 */
+	protected List<Extension<?>> handleEndpointInfoExtensions(Element extension) {
+		return null;
+	}
+
+	private QueryResult processServiceGroup(Element svcGrpXML) throws SMPQueryException {
+		final ServiceGroupV1Impl sg = new ServiceGroupV1Impl();
+		final ChildElements children = new ChildElements(svcGrpXML);
+
+		log.debug("Process ServiceGroup result document");
+		final Element partId = children.required(IDS_NS, "ParticipantIdentifier");
+		sg.setParticipantId(new IdentifierImpl(partId.getTextContent(), getAttribute(partId, "scheme")));
+
+		final ChildElements refs = new ChildElements(
+					children.required(PEPPOLResultProcessor.NAMESPACE_URI, "ServiceMetadataReferenceCollection"));
+		Element r;
+		while ((r = refs.optional(PEPPOLResultProcessor.NAMESPACE_URI, "ServiceMetadataReference")) != null) {
+			final String href = getAttribute(r, "href");
+			try {
+				sg.addServiceReference(new URL(href));
+			} catch (NullPointerException | MalformedURLException ex) {
+				log.error("ServiceGroup contains an invalid reference URL ({})!", href);
+				throw new SMPQueryException("Invalid SMP response!");
+			}
+		}
+		refs.end();
+		sg.setExtensions(handleServiceGroupExtensions(
+											children.optional(PEPPOLResultProcessor.NAMESPACE_URI, "Extension")));
+		children.end();
+		log.debug("Completely processed ServiceGroup result document");
+		return sg;
+	}
+
+    /**
+     * Converts the <code>Extension</code> child element of the <code>ServiceGroup</code> element into the object
+     * representation.
+     * <p><b>NOTE: </b> This default implementation <b>ignores</b> all included extensions. If a network uses
+     * extension you should create a descendant class and override this method to correctly handle the network
+     * specific extensions.
+     *
+	 * @param extension		The <code>Extension</code> element included with the <code>ServiceGroup</code> element,
+	 * 						<code>null</code> if there is none
+	 * @return				The object representation of the extensions
+	 */
+	protected List<Extension<?>> handleServiceGroupExtensions(Element extension) {
+		return null;
+	}
+
+	/**
+	 * Gets the value of an attribute.
+	 *
+	 * @param e		the element
+	 * @param name	the local name of the attribute (without namespace)
+	 * @return	the attribute's value, <code>null</code> if the element does not have the attribute
+	 */
+	private static String getAttribute(final Element e, final String name) {
+		final Attr attr = e.getAttributeNode(name);
+		return attr != null ? attr.getValue() : null;
+	}
+
+	/**
+	 * Parses the <code>xs:boolean</code> value of the given element.
+	 *
+	 * @param e		the element
+	 * @return		the boolean value of the element
+	 * @throws SMPQueryException	when the element does not contain a valid boolean value
+	 */
+	private static boolean parseBoolean(final Element e) throws SMPQueryException {
+		final String v = e.getTextContent().trim();
+		if ("true".equals(v) || "1".equals(v))
+			return true;
+		else if ("false".equals(v) || "0".equals(v))
+			return false;
+		log.error("Invalid boolean value in {} : {}", e.getLocalName(), v);
+		throw new SMPQueryException("Response contains an invalid value");
+	}
+
+	/**
+	 * Parses the <code>xs:dateTime</code> value of the given element. If the value does not contain a time zone the
+	 * default time zone is used, as done when converting the JAXB representation.
+	 *
+	 * @param e		the element
+	 * @return		the date time value of the element
+	 * @throws SMPQueryException	when the element does not contain a valid date time value
+	 */
+	private static ZonedDateTime parseDateTime(final Element e) throws SMPQueryException {
+		final String v = e.getTextContent().trim();
+		try {
+			final TemporalAccessor dt = DateTimeFormatter.ISO_DATE_TIME.parse(v);
+			return dt.isSupported(ChronoField.OFFSET_SECONDS) ? OffsetDateTime.from(dt).toZonedDateTime()
+															   : LocalDateTime.from(dt).atZone(ZoneId.systemDefault());
+		} catch (DateTimeException invalidDate) {
+			log.error("Invalid date time value in {} : {}", e.getLocalName(), v);
+			throw new SMPQueryException("Response contains an invalid value");
+		}
+	}
+
+	/**
+	 * Is a helper class to iterate over the child elements of an element in document order while checking that they
+	 * occur as expected.
+	 */
+	private static class ChildElements {
+		/**
+		 * The element whose children are iterated
+		 */
+		private final Element parent;
+		/**
+		 * The next child element to be processed
+		 */
+		private Element	next;
+
+		ChildElements(final Element parent) {
+			this.parent = parent;
+			this.next = nextElement(parent.getFirstChild());
+		}
+
+		/**
+		 * Gets the next child element if it has the given qualified name.
+		 *
+		 * @param ns		namespace URI of the element
+		 * @param name		local name of the element
+		 * @return	the next child element if it has the given name, <code>null</code> otherwise
+		 */
+		Element optional(final String ns, final String name) {
+			if (next != null && name.equals(next.getLocalName()) && ns.equals(next.getNamespaceURI())) {
+				final Element e = next;
+				next = nextElement(e.getNextSibling());
+				return e;
+			} else
+				return null;
+		}
+
+		/**
+		 * Gets the next child element which must have the given qualified name.
+		 *
+		 * @param ns		namespace URI of the element
+		 * @param name		local name of the element
+		 * @return	the next child element
+		 * @throws SMPQueryException	when the next child element does not have the given name or there are no more
+		 * 								child elements
+		 */
+		Element required(final String ns, final String name) throws SMPQueryException {
+			final Element e = optional(ns, name);
+			if (e == null) {
+				log.error("Missing required {} element in {}", name, parent.getLocalName());
+				throw new SMPQueryException("XML could not be parsed as a valid PEPPOL SMP result");
+			}
+			return e;
+		}
+
+		/**
+		 * Checks that all child elements have been processed.
+		 *
+		 * @throws SMPQueryException	when there are unprocessed child elements
+		 */
+		void end() throws SMPQueryException {
+			if (next != null) {
+				log.error("Unexpected {} element in {}", next.getLocalName(), parent.getLocalName());
+				throw new SMPQueryException("XML could not be parsed as a valid PEPPOL SMP result");
+			}
+		}
+
+		private static Element nextElement(Node n) {
+			while (n != null && n.getNodeType() != Node.ELEMENT_NODE)
+				n = n.getNextSibling();
+			return (Element) n;
+		}
+	}
+}
@@ -16,11 +16,15 @@
  */
 package org.holodeckb2b.bdxr.smp.client.impl.peppol;
 
-import org.apache.commons.codec.digest.DigestUtils;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
 import org.holodeckb2b.bdxr.common.datamodel.Identifier;
 import org.holodeckb2b.bdxr.smp.client.api.IHostNameGenerator;
+import org.holodeckb2b.bdxr.smp.client.impl.CachingHostNameGenerator;
+import org.holodeckb2b.bdxr.smp.client.impl.InstancePool;
 import org.holodeckb2b.commons.util.Utils;
-import org.xbill.DNS.utils.base32;
 
 /**
  * Is a {@link IHostNameGenerator} that generates the host name according to the rules specified the PEPPOL eDelivery 
@@ -29,15 +33,28 @@ import org.xbill.DNS.utils.base32;
  * <code>«Base32 encoding of the SHA-256 hash of the <b>lower case</b> participant identifier with trailing '=' removed» 
  * 		+ "." + «identifier scheme» + "." + «SML Domain»</code>
  * <br>The SML domain to append should be provided to the generator upon creation.
+ * <p>Since version 4.1.0 the base32 encoding is done directly into the host name and the message digests are pooled to
+ * reduce the cost of generating a host name. To prevent generation of the host name on each lookup, the generator can
+ * be wrapped in a {@link CachingHostNameGenerator}.
  *
  * @author Sander Fieten (sander at holodeck-b2b.org)
  */
 public class PEPPOLHostNameGenerator implements IHostNameGenerator {
 	/**
-	 * The base32 encoder configured according to the PEPPOL specification, i.e. no padding
+	 * The base32 alphabet as specified in RFC4648
+	 */
+	private static final char[] BASE32_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+	/**
+	 * The length of the base32 encoded SHA-256 hash without padding
 	 */
-	private static final base32 BASE32 = new base32(base32.Alphabet.BASE32, false, false);
-		
+	private static final int HASH_LENGTH = 52;
+	/**
+	 * Pool of message digests used for calculating the hash of the participant identifiers
+	 */
+	private static final InstancePool<MessageDigest, NoSuchAlgorithmException> DIGESTS =
+														new InstancePool<>(() -> MessageDigest.getInstance("SHA-256"),
+																		   MessageDigest::reset);
+
 	/**
      * The SML domain to append to the generated host names
      */
@@ -60,7 +77,43 @@ public class PEPPOLHostNameGenerator implements IHostNameGenerator {
         if (Utils.isNullOrEmpty(schemeId))
             throw new IllegalArgumentException("The participant identifier scheme must be set");
 
-        return BASE32.toString(DigestUtils.sha256(participantId.getValue().toLowerCase())) + "." + schemeId + "." + smlDomain;
+        final byte[] hash;
+        MessageDigest digest = null;
+        try {
+        	digest = DIGESTS.acquire();
+        	hash = digest.digest(participantId.getValue().toLowerCase().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException notAvailable) {
+        	// SHA-256 must be supported by every Java platform
+        	throw new IllegalStateException(notAvailable);
+        } finally {
+        	if (digest != null)
+        		DIGESTS.release(digest);
+        }
+
+        final StringBuilder hostName = new StringBuilder(HASH_LENGTH + schemeId.length() + smlDomain.length() + 2);
+        appendBase32(hash, hostName);
+        return hostName.append('.').append(schemeId).append('.').append(smlDomain).toString();
+    }
+
+    /**
+     * Appends the base32 encoding of the given data, without padding, to the given builder.
+     *
+     * @param data	the data to encode
+     * @param sb	the builder to append the encoded data to
+     */
+    static void appendBase32(final byte[] data, final StringBuilder sb) {
+    	int buffer = 0;
+    	int bits = 0;
+    	for (byte b : data) {
+    		buffer = (buffer << 8) | (b & 0xFF);
+    		bits += 8;
+    		while (bits >= 5) {
+    			bits -= 5;
+    			sb.append(BASE32_ALPHABET[(buffer >>> bits) & 0x1F]);
+    		}
+    	}
+    	if (bits > 0)
+    		sb.append(BASE32_ALPHABET[(buffer << (5 - bits)) & 0x1F]);
     }
 
 }
@@ -23,6 +23,7 @@ import java.net.URL;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
 import java.util.List;
+import java.util.Set;
 
 import javax.xml.XMLConstants;
 import javax.xml.bind.JAXBContext;
@@ -37,20 +38,29 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.busdox.servicemetadata.publishing._1.EndpointType;
 import org.busdox.servicemetadata.publishing._1.ExtensionType;
+import org.busdox.servicemetadata.publishing._1.ProcessListType;
 import org.busdox.servicemetadata.publishing._1.ProcessType;
 import org.busdox.servicemetadata.publishing._1.RedirectType;
+import org.busdox.servicemetadata.publishing._1.ServiceEndpointList;
 import org.busdox.servicemetadata.publishing._1.ServiceGroupType;
 import org.busdox.servicemetadata.publishing._1.ServiceInformationType;
+import org.busdox.servicemetadata.publishing._1.ServiceMetadataReferenceCollectionType;
 import org.busdox.servicemetadata.publishing._1.ServiceMetadataReferenceType;
 import org.busdox.servicemetadata.publishing._1.ServiceMetadataType;
 import org.busdox.servicemetadata.publishing._1.SignedServiceMetadataType;
+import org.busdox.transport.identifiers._1.DocumentIdentifierType;
+import org.busdox.transport.identifiers._1.ParticipantIdentifierType;
+import org.busdox.transport.identifiers._1.ProcessIdentifierType;
 import org.holodeckb2b.bdxr.common.datamodel.Extension;
 import org.holodeckb2b.bdxr.common.datamodel.Identifier;
 import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
-import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
 import org.holodeckb2b.bdxr.smp.client.api.ISMPResultProcessor;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.bdxr.smp.client.impl.CertificateCache;
+import org.holodeckb2b.bdxr.smp.client.impl.IdentifierPool;
+import org.holodeckb2b.bdxr.smp.client.impl.InstancePool;
+import org.holodeckb2b.bdxr.smp.client.impl.RequiredElements;
 import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
 import org.holodeckb2b.bdxr.smp.datamodel.ProcessGroup;
 import org.holodeckb2b.bdxr.smp.datamodel.QueryResult;
@@ -67,8 +77,9 @@ import org.holodeckb2b.bdxr.smp.datamodel.impl.ServiceMetadataImpl;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.SignedServiceMetadataImpl;
 import org.holodeckb2b.bdxr.smp.peppol.DocumentID;
 import org.holodeckb2b.bdxr.smp.peppol.ProcessID;
-import org.holodeckb2b.commons.security.CertificateUtils;
 import org.holodeckb2b.commons.util.Utils;
+import org.w3._2005._08.addressing.AttributedURIType;
+import org.w3._2005._08.addressing.EndpointReferenceType;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
@@ -82,27 +93,60 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
     private static final Logger	log = LogManager.getLogger(PEPPOLResultProcessor.class);
 
     /**
-     * The JAXB context for the conversion of XML into Java objects
+     * Holder of the JAXB context for the conversion of XML into Java objects and the XML schema to validate the SMP
+     * responses and the pool of unmarshallers. As their creation is expensive, they are only created when the first
+     * response is processed or when the processor is warmed up.
+     * @since 4.1.0
      */
-    private static final JAXBContext jaxbContext;
-	/**
-	 * The XML schema to validate the SMP responses
-	 */
-	private static final Schema		smpSchema;
-
-    static {
-        try {
-            // Initialize the JAXB Context used in processing of the PEPPOL responses
-            jaxbContext = JAXBContext.newInstance(ServiceGroupType.class, SignedServiceMetadataType.class,
-                                                  ServiceMetadataType.class);
-			// Read the XSD for validation of responses
-			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-			smpSchema = sf.newSchema(PEPPOLResultProcessor.class.getResource("/xsd/peppol-smp-1.0.xsd"));
-        } catch (SAXException | JAXBException jaxbFailure) {
-            log.fatal("Could not prepare the JAXB Context required for processing SMP response! Details: {}",
-                      jaxbFailure.getMessage());
-            throw new RuntimeException(jaxbFailure.getMessage(), jaxbFailure);
+    private static class JAXBResources {
+    	/**
+    	 * The JAXB context for the conversion of XML into Java objects
+    	 */
+    	static final JAXBContext jaxbContext;
+    	/**
+    	 * The XML schema to validate the SMP responses
+    	 */
+    	static final Schema		smpSchema;
+
+        static {
+            try {
+                // Initialize the JAXB Context used in processing of the PEPPOL responses
+                jaxbContext = JAXBContext.newInstance(ServiceGroupType.class, SignedServiceMetadataType.class,
+                                                      ServiceMetadataType.class);
+    			// Read the XSD for validation of responses
+    			SchemaFactory sf = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+    			smpSchema = sf.newSchema(PEPPOLResultProcessor.class.getResource("/xsd/peppol-smp-1.0.xsd"));
+            } catch (SAXException | JAXBException jaxbFailure) {
+                log.fatal("Could not prepare the JAXB Context required for processing SMP response! Details: {}",
+                          jaxbFailure.getMessage());
+                throw new RuntimeException(jaxbFailure.getMessage(), jaxbFailure);
+            }
         }
+
+    	/**
+    	 * Pool of unmarshallers configured to validate against the XML schema. Unmarshallers are not thread safe but
+    	 * can be re-used for the processing of subsequent responses, which saves creating a new one for each response.
+    	 */
+    	static final InstancePool<Unmarshaller, JAXBException> validating = new InstancePool<>(() -> {
+    									final Unmarshaller u = jaxbContext.createUnmarshaller();
+    									u.setSchema(smpSchema);
+    									return u;
+    								});
+    	/**
+    	 * Pool of unmarshallers that do not validate against the XML schema
+    	 */
+    	static final InstancePool<Unmarshaller, JAXBException> nonValidating =
+    															new InstancePool<>(jaxbContext::createUnmarshaller);
+
+    	/**
+    	 * Gets the pool of unmarshallers to use for processing a response.
+    	 *
+    	 * @param validate	indicates whether the response should be validated against the XML schema
+    	 * @return	the pool of validating or non validating unmarshallers
+    	 */
+    	static InstancePool<Unmarshaller, JAXBException> unmarshallers(final boolean validate) {
+    		return validate ? validating : nonValidating;
+    	}
     }
 
     /**
@@ -120,19 +164,42 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
     	return NAMESPACE_URI.equals(namespaceURI);
     }
 
+    @Override
+    public Set<String> getSupportedNamespaces() {
+    	return Set.of(NAMESPACE_URI);
+    }
+
+    @Override
+    public void warmUp() throws SMPQueryException {
+    	try {
+    		JAXBResources.validating.release(JAXBResources.validating.acquire());
+    	} catch (ExceptionInInitializerError | NoClassDefFoundError | JAXBException initFailure) {
+    		throw new SMPQueryException("Could not prepare the JAXB Context required for processing SMP responses",
+    									initFailure);
+    	}
+    }
+
+    @Override
+    public QueryResult processResult(Document xmlDocument) throws SMPQueryException {
+    	return processResult(xmlDocument, true);
+    }
+
     @SuppressWarnings("rawtypes")
 	@Override
-    public QueryResult processResult(Document xmlDocument) throws SMPQueryException {
+    public QueryResult processResult(Document xmlDocument, boolean validate) throws SMPQueryException {
         JAXBElement jaxbDoc;
+        final InstancePool<Unmarshaller, JAXBException> unmarshallers = JAXBResources.unmarshallers(validate);
+        Unmarshaller unmarshaller = null;
         try {
             log.debug("Convert the XML into Java objects");
-            Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-			unmarshaller.setSchema(smpSchema);
+            unmarshaller = unmarshallers.acquire();
             jaxbDoc = (JAXBElement) unmarshaller.unmarshal(xmlDocument);
             log.debug("XML converted into Java objects");
         } catch (JAXBException parsingError) {
             log.error("Could not convert the XML document into Java objects! Details: {}", parsingError.getMessage());
             throw new SMPQueryException("XML could not be parsed as a valid PEPPOL SMP result");
+        } finally {
+        	unmarshallers.release(unmarshaller);
         }
 
 		try {
@@ -152,7 +219,13 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
 
 	@Override
 	public SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert) throws SMPQueryException {
-		final QueryResult queryResult = processResult(xmlDocument);
+		return processResult(xmlDocument, signingCert, true);
+	}
+
+	@Override
+	public SignedQueryResult processResult(Document xmlDocument, X509Certificate signingCert, boolean validate)
+																							throws SMPQueryException {
+		final QueryResult queryResult = processResult(xmlDocument, validate);
 		if (queryResult instanceof ServiceMetadata)
 			return new SignedServiceMetadataImpl((ServiceMetadata) queryResult, signingCert);
 		else
@@ -174,20 +247,28 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
 			smd.addProcessGroup(pg);
 		} else {
 			log.trace("Service Metadata contains ServiceInformation");
-			ServiceInformationType siXML = smdXML.getServiceInformation();
-			smd.setParticipantId(new IdentifierImpl(siXML.getParticipantIdentifier().getValue(),
-													siXML.getParticipantIdentifier().getScheme()));
+			ServiceInformationType siXML = RequiredElements.require(smdXML.getServiceInformation(),
+																	"ServiceInformation");
+			final ParticipantIdentifierType partIdXML = RequiredElements.require(siXML.getParticipantIdentifier(),
+																				 "ParticipantIdentifier");
+			smd.setParticipantId(new IdentifierImpl(RequiredElements.require(partIdXML.getValue(),
+																			 "ParticipantIdentifier"),
+													partIdXML.getScheme()));
+			final DocumentIdentifierType docIdXML = RequiredElements.require(siXML.getDocumentIdentifier(),
+																			 "DocumentIdentifier");
+			final String docId = RequiredElements.require(docIdXML.getValue(), "DocumentIdentifier");
 			Identifier svcId;
-			String scheme = siXML.getDocumentIdentifier().getScheme();
+			String scheme = docIdXML.getScheme();
 			if (DocumentID.BUSDOX_QNS.getSchemeId().equals(scheme)) 
-				svcId = new DocumentID(siXML.getDocumentIdentifier().getValue());
+				svcId = DocumentID.from(docId, scheme);
 			else 
-				svcId = new IdentifierImpl(siXML.getDocumentIdentifier().getValue(), scheme);
+				svcId = IdentifierPool.getShared().getIdentifier(docId, scheme);
 			smd.setServiceId(svcId);
 			/* Convert the list of ProcessList/Process elements. Because in the PEPPOL spec each process in which the
 			 * service/document is used has its own list of endpoint it must be added as a ProcessGroup
 			 */
-			for(ProcessType p : siXML.getProcessList().getProcess())
+			final ProcessListType procListXML = RequiredElements.require(siXML.getProcessList(), "ProcessList");
+			for(ProcessType p : RequiredElements.require(procListXML.getProcess(), "Process"))
 				smd.addProcessGroup(convertProcessMetadata(p));
 
 			smd.setExtensions(handleServiceInfoExtensions(siXML.getExtension()));
@@ -198,11 +279,13 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
 	}
 
     private Redirection convertRedirection(RedirectType redirectXML) throws SMPQueryException {
+    	final String href = RequiredElements.require(redirectXML.getHref(), "href");
+    	RequiredElements.require(redirectXML.getCertificateUID(), "CertificateUID");
     	try {
-    		final RedirectionV1Impl redirection = new RedirectionV1Impl(new URL(redirectXML.getHref()));
+    		final RedirectionV1Impl redirection = new RedirectionV1Impl(new URL(href));
             redirection.setExtensions(handleRedirectionExtensions(redirectXML.getExtension()));
     		return redirection;
-    	} catch (NullPointerException | MalformedURLException invalidURL) {
+    	} catch (MalformedURLException invalidURL) {
     		log.error("The Redirection response includes an invalid new target URL: {}", redirectXML.getHref());
     		throw new SMPQueryException("Invalid redirection response received!");
     	}
@@ -240,23 +323,27 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
     	final ProcessGroupImpl pg = new ProcessGroupImpl();
     	final ProcessInfoImpl procInfo = new ProcessInfoImpl();
 
-        final String procID = procInfoXML.getProcessIdentifier().getValue();
+        final ProcessIdentifierType procIdXML = RequiredElements.require(procInfoXML.getProcessIdentifier(),
+        																 "ProcessIdentifier");
+        final String procID = RequiredElements.require(procIdXML.getValue(), "ProcessIdentifier");
         if (NO_PROCESS_ID.equals(procID))
-        	procInfo.setProcessId(new ProcessIdentifierImpl());
+        	procInfo.setProcessId(IdentifierPool.getShared().getNoProcessIdentifier());
         else {
 			ProcessIdentifier procId;
-			String scheme = procInfoXML.getProcessIdentifier().getScheme();
+			String scheme = procIdXML.getScheme();
 			if (ProcessID.CENBII.getSchemeId().equals(scheme)) 
-				procId = new ProcessID(procID);
+				procId = ProcessID.from(procID);
 			else 
-				procId = new ProcessIdentifierImpl(procID, scheme);
+				procId = IdentifierPool.getShared().getProcessIdentifier(procID, scheme);
 
         	procInfo.setProcessId(procId);
         }
         pg.addProcessInfo(procInfo);
 
         // Convert the Endpoint elements into object model
-        for(EndpointType ep : procInfoXML.getServiceEndpointList().getEndpoint())
+        final ServiceEndpointList epListXML = RequiredElements.require(procInfoXML.getServiceEndpointList(),
+        															   "ServiceEndpointList");
+        for(EndpointType ep : RequiredElements.require(epListXML.getEndpoint(), "Endpoint"))
             pg.addEndpoint(convertEndpoint(ep));
 
         pg.setExtensions(handleProcessInfoExtensions(procInfoXML.getExtension()));
@@ -281,17 +368,21 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
     private EndpointInfo convertEndpoint(EndpointType epInfoXML) throws SMPQueryException {
         final EndpointInfoV1Impl epInfo = new EndpointInfoV1Impl();
 
-		String profile = epInfoXML.getTransportProfile();
+		String profile = RequiredElements.require(epInfoXML.getTransportProfile(), "transportProfile");
 		Utils.requireNotNullOrEmpty(profile);
         epInfo.setTransportProfile(profile);
+        final EndpointReferenceType epRef = RequiredElements.require(epInfoXML.getEndpointReference(),
+        															 "EndpointReference");
+        final AttributedURIType address = RequiredElements.require(epRef.getAddress(), "Address");
+        final String epURL = RequiredElements.require(address.getValue(), "Address");
         try {
-			epInfo.setEndpointURL(new URL(epInfoXML.getEndpointReference().getAddress().getValue()));
+			epInfo.setEndpointURL(new URL(epURL));
 		} catch (MalformedURLException e) {
-			log.error("Invalid URL specified for endpoint! Value={}",
-						epInfoXML.getEndpointReference().getAddress().getValue());
+			log.error("Invalid URL specified for endpoint! Value={}", epURL);
 			throw new SMPQueryException("Invalid endpoint meta-data");
 		}
-        epInfo.setBusinessLevelSignatureRequired(epInfoXML.isRequireBusinessLevelSignature());
+        epInfo.setBusinessLevelSignatureRequired(RequiredElements.require(epInfoXML.isRequireBusinessLevelSignature(),
+        												 "RequireBusinessLevelSignature"));
         epInfo.setMinimumAuthenticationLevel(epInfoXML.getMinimumAuthenticationLevel());
         final XMLGregorianCalendar svcActivationDate = epInfoXML.getServiceActivationDate();
         if (svcActivationDate != null)
@@ -300,15 +391,16 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
         if (svcExpirationDate != null)
             epInfo.setServiceExpirationDate(svcExpirationDate.toGregorianCalendar().toZonedDateTime());
         try {
-			X509Certificate epCert = CertificateUtils.getCertificate(epInfoXML.getCertificate());
+			X509Certificate epCert = CertificateCache.getShared().getCertificate(
+												RequiredElements.require(epInfoXML.getCertificate(), "Certificate"));
             if (epCert != null)
 				epInfo.addCertificate(new CertificateImpl(epCert));
         } catch (CertificateException certReadError) {
             log.error("Could not read the Certificate from the SMP response! Details: {}", certReadError.getMessage());
             throw new SMPQueryException("Could not read the Certificate from the SMP response");
         }
-        epInfo.setDescription(epInfoXML.getServiceDescription());
-        epInfo.setContactInfo(epInfoXML.getTechnicalContactUrl());
+        epInfo.setDescription(RequiredElements.require(epInfoXML.getServiceDescription(), "ServiceDescription"));
+        epInfo.setContactInfo(RequiredElements.require(epInfoXML.getTechnicalContactUrl(), "TechnicalContactUrl"));
 		String techInfoURL = epInfoXML.getTechnicalInformationUrl();
 		if (!Utils.isNullOrEmpty(techInfoURL))
 			try {
@@ -341,11 +433,14 @@ public class PEPPOLResultProcessor implements ISMPResultProcessor {
 		ServiceGroupV1Impl sg = new ServiceGroupV1Impl();
 
 		log.debug("Process ServiceGroup result document");
-		sg.setParticipantId(new IdentifierImpl(svcGrpXML.getParticipantIdentifier().getValue(),
-											   svcGrpXML.getParticipantIdentifier().getScheme()));
-
-		for(ServiceMetadataReferenceType r :
-									svcGrpXML.getServiceMetadataReferenceCollection().getServiceMetadataReference()) {
+		final ParticipantIdentifierType partIdXML = RequiredElements.require(svcGrpXML.getParticipantIdentifier(),
+																			 "ParticipantIdentifier");
+		sg.setParticipantId(new IdentifierImpl(RequiredElements.require(partIdXML.getValue(), "ParticipantIdentifier"),
+											   partIdXML.getScheme()));
+
+		final ServiceMetadataReferenceCollectionType refsXML = RequiredElements.require(
+							svcGrpXML.getServiceMetadataReferenceCollection(), "ServiceMetadataReferenceCollection");
+		for(ServiceMetadataReferenceType r : refsXML.getServiceMetadataReference()) {
 			try {
 				sg.addServiceReference(new URL(r.getHref()));
 			} catch (MalformedURLException ex) {
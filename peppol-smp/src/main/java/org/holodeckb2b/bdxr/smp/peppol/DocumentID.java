@@ -22,11 +22,16 @@ import java.util.regex.Pattern;
 
 import org.holodeckb2b.bdxr.common.datamodel.Identifier;
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.impl.BoundedLRUMap;
 import org.holodeckb2b.bdxr.smp.datamodel.IDScheme;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.IDSchemeImpl;
 
 /**
  * Represents a Peppol Document Identifier as specified in section 5 of the Peppol <i>Policy for use of identifiers</i>.
+ * <p>Since version 4.1.0 the components of the identifier are parsed only once. Also shared instances can be obtained
+ * using the {@link #from(String, String)} factory method. As the number of distinct document identifiers used in a
+ * network is small, this prevents that a new instance is created for every SMP response. Shared instances cannot be
+ * modified. Instances created using the constructors or {@link #from(String)} are not shared and can be modified.
  *
  * @author Sander Fieten (sander at holodeck-b2b.org)
  * @since 3.1.0	added support for new Peppol wildcard identifier scheme
@@ -53,6 +58,25 @@ public class DocumentID extends IdentifierImpl {
 	 * Regex pattern to parse a Peppol DocumentID as specified in policy 20 of the Peppol PUI.
 	 */
 	private static final Pattern PATTERN = Pattern.compile("(?<syntaxID>.*)##(?<custID>.+)::(?<version>.*)");
+
+	/**
+	 * The maximum number of shared instances
+	 * @since 4.1.0
+	 */
+	public static final int MAX_SHARED_INSTANCES = 1000;
+	/**
+	 * The shared instances, mapped by the scheme identifier and value
+	 */
+	private static final BoundedLRUMap<String, DocumentID> SHARED = new BoundedLRUMap<>(MAX_SHARED_INSTANCES);
+
+	/**
+	 * The parsed components of the current value, <code>null</code> if not parsed yet
+	 */
+	private transient volatile Parts	parts;
+	/**
+	 * Indicates whether this instance is shared and therefore cannot be modified
+	 */
+	private transient boolean	shared;
 	
 	/**
 	 * Create a new DocumentID in the default "busdox-docid-qns" scheme.
@@ -83,10 +107,11 @@ public class DocumentID extends IdentifierImpl {
 	}
 	
 	/**
-     * Creates a new instance by parsing the given URL encoded string representation of the Peppol DocumentID  
+     * Creates a new instance representing the Peppol DocumentID from the given URL encoded string representation.
+     * <p>NOTE: The returned instance is not shared, use {@link #from(String, String)} to get a shared instance.
      * 
      * @param encodedId the URL encoded representation of the Peppol DocumentID
-     * @return new instance representing the Peppol DocumentID
+     * @return instance representing the Peppol DocumentID
      * @throws IllegalArgumentException if the given scheme identifier does not represent either the busdox-docid-qns or
 	 * 									Peppol wildcard scheme.
 	 * @since 4.0.0
@@ -99,6 +124,50 @@ public class DocumentID extends IdentifierImpl {
 				
 		return new DocumentID(id.getValue(), id.getScheme().getSchemeId());
 	}
+
+	/**
+	 * Gets the shared instance representing the Peppol DocumentID with the given value in the specified scheme.
+	 * <p>NOTE: Contrary to the instances created by {@link #from(String)}, the returned instance cannot be modified.
+	 *
+	 * @param docId			the document identifier value
+	 * @param schemeId		the scheme identifier
+	 * @return shared instance representing the Peppol DocumentID, cannot be modified
+	 * @throws IllegalArgumentException if the given scheme identifier does not represent either the busdox-docid-qns or
+	 * 									Peppol wildcard scheme.
+	 * @since 4.1.0
+	 */
+	public static DocumentID from(String docId, String schemeId) {
+		final String key = schemeId + "::" + docId;
+		final DocumentID cached = SHARED.get(key);
+		if (cached != null)
+			return cached;
+
+		final DocumentID newId = new DocumentID(docId, schemeId);
+		newId.shared = true;
+		return SHARED.computeIfAbsent(key, k -> newId);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UnsupportedOperationException if this is a shared instance
+	 */
+	@Override
+	public void setValue(String value) {
+		checkNotShared();
+		super.setValue(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UnsupportedOperationException if this is a shared instance
+	 */
+	@Override
+	public void setValue(String value, IDScheme scheme) {
+		checkNotShared();
+		super.setValue(value, scheme);
+	}
 	
  	/**
  	 * Gets the Syntax Specific ID of this document identifier. As specified by policy 20 of the PUI the Syntax Specific 
@@ -107,7 +176,7 @@ public class DocumentID extends IdentifierImpl {
  	 * @return the Syntax Specific ID of this document identifier
  	 */
  	public String getSyntaxID() {
- 		return getPart("syntaxID");
+ 		return parse().syntaxID;
  	} 	
  	
  	/**
@@ -117,7 +186,7 @@ public class DocumentID extends IdentifierImpl {
  	 * @return the Custimization ID of this document identifier
  	 */
  	public String getCustimizationID() {
- 		return getPart("custID");
+ 		return parse().custID;
  	}
  	
  	/**
@@ -127,18 +196,51 @@ public class DocumentID extends IdentifierImpl {
  	 * @return the Version ID of this document identifier
  	 */
  	public String getVersionID() {
- 		return getPart("version");
+ 		return parse().versionID;
  	}
  	
  	/**
- 	 * Helper method to get a part of the document identifier.
+ 	 * Helper method to get the parsed components of the document identifier. The value is only parsed again when it has
+ 	 * changed since the last time it was parsed.
  	 * 
- 	 * @param name	the name of the part 
- 	 * @return		the value of the part
+ 	 * @return		the components of the current value
  	 */
- 	private String getPart(String name) {
- 		Matcher matcher = PATTERN.matcher(value);
- 		matcher.matches();
- 		return matcher.group(name);
+ 	private Parts parse() {
+ 		Parts p = parts;
+ 		final String current = value;
+ 		if (p == null || p.value != current) {
+ 			Matcher matcher = PATTERN.matcher(current);
+ 			matcher.matches();
+ 			p = new Parts(current, matcher.group("syntaxID"), matcher.group("custID"), matcher.group("version"));
+ 			parts = p;
+ 		}
+ 		return p;
+ 	}
+
+ 	/**
+ 	 * Helper method to check that this instance can be modified.
+ 	 *
+ 	 * @throws UnsupportedOperationException if this is a shared instance
+ 	 */
+ 	private void checkNotShared() {
+ 		if (shared)
+ 			throw new UnsupportedOperationException("Shared DocumentID cannot be modified");
+ 	}
+
+ 	/**
+ 	 * Holds the parsed components of the document identifier and the value they were parsed from.
+ 	 */
+ 	private static final class Parts {
+ 		final String	value;
+ 		final String	syntaxID;
+ 		final String	custID;
+ 		final String	versionID;
+
+ 		Parts(String value, String syntaxID, String custID, String versionID) {
+ 			this.value = value;
+ 			this.syntaxID = syntaxID;
+ 			this.custID = custID;
+ 			this.versionID = versionID;
+ 		}
  	}
 }
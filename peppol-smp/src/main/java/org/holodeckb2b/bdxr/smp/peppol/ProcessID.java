@@ -17,11 +17,15 @@
 package org.holodeckb2b.bdxr.smp.peppol;
 
 import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.impl.BoundedLRUMap;
 import org.holodeckb2b.bdxr.smp.datamodel.IDScheme;
 import org.holodeckb2b.bdxr.smp.datamodel.impl.IDSchemeImpl;
 
 /**
  * Represents a Peppol Process Identifier.
+ * <p>Since version 4.1.0 shared instances can be retrieved using {@link #from(String)}. As the number of distinct
+ * process identifiers used in a network is small, this prevents that a new instance is created for every SMP response.
+ * Shared instances cannot be modified.
  *
  * @author Sander Fieten (sander at holodeck-b2b.org)
  */
@@ -34,6 +38,21 @@ public class ProcessID extends ProcessIdentifierImpl {
 	 */
 	public static final IDScheme	CENBII = new IDSchemeImpl("cenbii-procid-ubl", true);
 
+	/**
+	 * The maximum number of shared instances
+	 * @since 4.1.0
+	 */
+	public static final int MAX_SHARED_INSTANCES = 1000;
+	/**
+	 * The shared instances, mapped by their value
+	 */
+	private static final BoundedLRUMap<String, ProcessID> SHARED = new BoundedLRUMap<>(MAX_SHARED_INSTANCES);
+
+	/**
+	 * Indicates whether this instance is shared and therefore cannot be modified
+	 */
+	private transient boolean	shared;
+
 	/**
 	 * Create a new ProcessID in the default "cenbii-procid-ubl" scheme.
 	 * 
@@ -60,4 +79,65 @@ public class ProcessID extends ProcessIdentifierImpl {
 		
 		setValue(procId, CENBII);
 	}
+
+	/**
+	 * Gets the shared instance representing the Peppol ProcessID with the given value in the default
+	 * "cenbii-procid-ubl" scheme.
+	 *
+	 * @param procId		the process identifier value
+	 * @return shared instance representing the Peppol ProcessID, cannot be modified
+	 * @since 4.1.0
+	 */
+	public static ProcessID from(String procId) {
+		final ProcessID cached = SHARED.get(procId);
+		if (cached != null)
+			return cached;
+
+		final ProcessID newId = new ProcessID(procId);
+		newId.shared = true;
+		return SHARED.computeIfAbsent(procId, k -> newId);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UnsupportedOperationException if this is a shared instance
+	 */
+	@Override
+	public void setValue(String value) {
+		checkNotShared();
+		super.setValue(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UnsupportedOperationException if this is a shared instance
+	 */
+	@Override
+	public void setValue(String value, IDScheme scheme) {
+		checkNotShared();
+		super.setValue(value, scheme);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @throws UnsupportedOperationException if this is a shared instance
+	 */
+	@Override
+	public void setIsNoProcess(boolean isNoProcess) {
+		checkNotShared();
+		super.setIsNoProcess(isNoProcess);
+	}
+
+	/**
+	 * Helper method to check that this instance can be modified.
+	 *
+	 * @throws UnsupportedOperationException if this is a shared instance
+	 */
+	private void checkNotShared() {
+		if (shared)
+			throw new UnsupportedOperationException("Shared ProcessID cannot be modified");
+	}
 }
@@ -20,10 +20,13 @@ package org.holodeckb2b.bdxr.smp.client.impl.peppol;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.Random;
+
 import org.holodeckb2b.bdxr.common.datamodel.Identifier;
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
 import org.holodeckb2b.bdxr.smp.client.api.IHostNameGenerator;
 import org.junit.jupiter.api.Test;
+import org.xbill.DNS.utils.base32;
 
 /**
  * Tests the generation of host name for SML queries based on the PEPPOL rules.
@@ -44,6 +47,19 @@ public class PEPPOLHostNameGeneratorTest {
                      peppolGenerator.getHostNameForParticipant(VALID_ID));
     }
 
+    @Test
+    public void testBase32Encoding() {
+        base32 reference = new base32(base32.Alphabet.BASE32, false, false);
+        Random random = new Random(20260101);
+        for (int i = 0; i < 100; i++) {
+            byte[] data = new byte[random.nextInt(40)];
+            random.nextBytes(data);
+            StringBuilder sb = new StringBuilder();
+            PEPPOLHostNameGenerator.appendBase32(data, sb);
+            assertEquals(reference.toString(data), sb.toString());
+        }
+    }
+
     @Test
     public void testNoSchemeParticipantId() {
         IHostNameGenerator peppolGenerator = new PEPPOLHostNameGenerator(VALID_SML_DOMAIN);
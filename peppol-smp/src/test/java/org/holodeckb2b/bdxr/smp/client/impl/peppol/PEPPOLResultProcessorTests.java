@@ -30,14 +30,24 @@ import java.net.URI;
 import java.net.URL;
 import java.security.cert.X509Certificate;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javax.xml.parsers.DocumentBuilderFactory;
 
 import org.holodeckb2b.bdxr.common.datamodel.ProcessIdentifier;
 import org.holodeckb2b.bdxr.common.datamodel.impl.IdentifierImpl;
 import org.holodeckb2b.bdxr.common.datamodel.impl.ProcessIdentifierImpl;
+import org.holodeckb2b.bdxr.smp.client.api.ISMPResultProcessor;
 import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
 import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfo;
 import org.holodeckb2b.bdxr.smp.datamodel.EndpointInfoV1;
@@ -50,9 +60,9 @@ import org.holodeckb2b.bdxr.smp.datamodel.SignedQueryResult;
 import org.holodeckb2b.commons.security.CertificateUtils;
 import org.holodeckb2b.commons.testing.TestUtils;
 import org.holodeckb2b.commons.util.Utils;
-import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.ValueSource;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 import org.w3c.dom.Document;
 
 /**
@@ -60,12 +70,38 @@ import org.w3c.dom.Document;
  */
 public class PEPPOLResultProcessorTests {
 
-	@Test
-	void testSignedSMD() throws Exception {
+	/**
+	 * @return the result processors for PEPPOL SMP responses, all of which should pass the tests
+	 */
+	static Stream<Supplier<ISMPResultProcessor>> processors() {
+		return Stream.of(PEPPOLResultProcessor::new, PEPPOLDirectResultProcessor::new);
+	}
+
+	static Stream<Arguments> validResponses() {
+		return withProcessors("unsignedsmd.xml", "signedsmd.xml", "noprocess.xml", "redirection.xml",
+							  "servicegroup.xml", "empty_servicegroup.xml");
+	}
+
+	static Stream<Arguments> incompleteResponses() {
+		return withProcessors("no_partid.xml", "no_docid.xml", "no_ep_tprofile.xml", "no_ep_cert.xml",
+							  "no_ep_blsig.xml");
+	}
+
+	static Stream<Arguments> invalidResponses() {
+		return Stream.concat(withProcessors("invalid.xml"), incompleteResponses());
+	}
+
+	private static Stream<Arguments> withProcessors(String... xmlFiles) {
+		return processors().flatMap(p -> Stream.of(xmlFiles).map(f -> Arguments.of(p, f)));
+	}
+
+	@ParameterizedTest
+	@MethodSource("processors")
+	void testSignedSMD(Supplier<ISMPResultProcessor> processorType) throws Exception {
 		Document xml = readXMLDoc("signedsmd.xml");
 		X509Certificate cert = CertificateUtils.getCertificate(TestUtils.getTestResource("endpoint.cert"));
 
-		final PEPPOLResultProcessor processor = new PEPPOLResultProcessor();
+		final ISMPResultProcessor processor = processorType.get();
 
 		assertTrue(processor.canProcess(xml.getDocumentElement().getNamespaceURI()));
 
@@ -127,12 +163,22 @@ public class PEPPOLResultProcessorTests {
 		}
 	}
 
-	@Test
-	void testUnsignedSMD() throws Exception {
+	@ParameterizedTest
+	@MethodSource("processors")
+	void testWarmUp(Supplier<ISMPResultProcessor> processorType) throws Exception {
+		final ISMPResultProcessor processor = processorType.get();
+		assertDoesNotThrow(() -> processor.warmUp());
+		assertDoesNotThrow(() -> processor.warmUp());
+		assertNotNull(assertDoesNotThrow(() -> processor.processResult(readXMLDoc("unsignedsmd.xml"))));
+	}
+
+	@ParameterizedTest
+	@MethodSource("processors")
+	void testUnsignedSMD(Supplier<ISMPResultProcessor> processorType) throws Exception {
 		Document xml = readXMLDoc("unsignedsmd.xml");
 		X509Certificate cert = CertificateUtils.getCertificate(TestUtils.getTestResource("endpoint.cert"));
 
-		final PEPPOLResultProcessor processor = new PEPPOLResultProcessor();
+		final ISMPResultProcessor processor = processorType.get();
 
 		assertTrue(processor.canProcess(xml.getDocumentElement().getNamespaceURI()));
 
@@ -170,11 +216,12 @@ public class PEPPOLResultProcessorTests {
 		assertEquals(new URI("http://doc.test.holodeck-b2b.org/smp-test"), ep.getTechnicalInformationURL());
 	}
 
-	@Test
-	void testNoProcess() throws Exception {
+	@ParameterizedTest
+	@MethodSource("processors")
+	void testNoProcess(Supplier<ISMPResultProcessor> processorType) throws Exception {
 		Document xml = readXMLDoc("noprocess.xml");
 
-		final PEPPOLResultProcessor processor = new PEPPOLResultProcessor();
+		final ISMPResultProcessor processor = processorType.get();
 
 		assertTrue(processor.canProcess(xml.getDocumentElement().getNamespaceURI()));
 
@@ -197,11 +244,12 @@ public class PEPPOLResultProcessorTests {
 		assertTrue(pg.getProcessInfo().iterator().next().getProcessId().isNoProcess());
 	}
 
-	@Test
-	void testRedirection() throws Exception {
+	@ParameterizedTest
+	@MethodSource("processors")
+	void testRedirection(Supplier<ISMPResultProcessor> processorType) throws Exception {
 		Document xml = readXMLDoc("redirection.xml");
 
-		final PEPPOLResultProcessor processor = new PEPPOLResultProcessor();
+		final ISMPResultProcessor processor = processorType.get();
 		assertTrue(processor.canProcess(xml.getDocumentElement().getNamespaceURI()));
 
 		QueryResult qr = assertDoesNotThrow(() -> processor.processResult(xml));
@@ -220,11 +268,12 @@ public class PEPPOLResultProcessorTests {
 		assertEquals(new URL("http://link.to.new.smp"), redirection.getNewSMPURL());
 	}
 
-	@Test
-	void testServiceGroup() throws Exception {
+	@ParameterizedTest
+	@MethodSource("processors")
+	void testServiceGroup(Supplier<ISMPResultProcessor> processorType) throws Exception {
 		Document xml = readXMLDoc("servicegroup.xml");
 
-		final PEPPOLResultProcessor processor = new PEPPOLResultProcessor();
+		final ISMPResultProcessor processor = processorType.get();
 		assertTrue(processor.canProcess(xml.getDocumentElement().getNamespaceURI()));
 
 		QueryResult qr = assertDoesNotThrow(() -> processor.processResult(xml));
@@ -242,11 +291,12 @@ public class PEPPOLResultProcessorTests {
 						|| r.equals(new URL("http://link.to.service.3")));
 	}
 
-	@Test
-	void testEmptyServiceGroup() throws Exception {
+	@ParameterizedTest
+	@MethodSource("processors")
+	void testEmptyServiceGroup(Supplier<ISMPResultProcessor> processorType) throws Exception {
 		Document xml = readXMLDoc("empty_servicegroup.xml");
 
-		final PEPPOLResultProcessor processor = new PEPPOLResultProcessor();
+		final ISMPResultProcessor processor = processorType.get();
 		assertTrue(processor.canProcess(xml.getDocumentElement().getNamespaceURI()));
 
 		QueryResult qr = assertDoesNotThrow(() -> processor.processResult(xml));
@@ -259,10 +309,63 @@ public class PEPPOLResultProcessorTests {
 
 
 	@ParameterizedTest
-	@ValueSource(strings = {"invalid.xml", "no_partid.xml", "no_docid.xml", "no_ep_tprofile.xml"})
-	void testInvalid(String xmlFile) throws Exception {
+	@MethodSource("invalidResponses")
+	void testInvalid(Supplier<ISMPResultProcessor> processorType, String xmlFile) throws Exception {
+		Document xml = readXMLDoc(xmlFile);
+		assertThrows(SMPQueryException.class, () -> processorType.get().processResult(xml));
+	}
+
+	@ParameterizedTest
+	@MethodSource("processors")
+	void testConcurrentProcessing(Supplier<ISMPResultProcessor> processorType) throws Exception {
+		final ISMPResultProcessor processor = processorType.get();
+
+		// DOM Documents are not thread safe, so each task parses its own document
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<QueryResult>> results = new ArrayList<>();
+			List<Future<QueryResult>> failures = new ArrayList<>();
+			for (int i = 0; i < 40; i++) {
+				results.add(executor.submit(() -> processor.processResult(readXMLDoc("unsignedsmd.xml"))));
+				failures.add(executor.submit(() -> processor.processResult(readXMLDoc("invalid.xml"))));
+			}
+			for (Future<QueryResult> r : results)
+				assertTrue(r.get(10, TimeUnit.SECONDS) instanceof ServiceMetadata);
+			for (Future<QueryResult> f : failures) {
+				ExecutionException failure = assertThrows(ExecutionException.class, () -> f.get(10, TimeUnit.SECONDS));
+				assertTrue(failure.getCause() instanceof SMPQueryException);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("validResponses")
+	void testWithoutValidation(Supplier<ISMPResultProcessor> processorType, String xmlFile) throws Exception {
+		Document xml = readXMLDoc(xmlFile);
+		final ISMPResultProcessor processor = processorType.get();
+
+		QueryResult validated = assertDoesNotThrow(() -> processor.processResult(xml, true));
+		QueryResult notValidated = assertDoesNotThrow(() -> processor.processResult(xml, false));
+		assertEquals(validated.getClass(), notValidated.getClass());
+		if (validated instanceof ServiceMetadata) {
+			assertEquals(((ServiceMetadata) validated).getParticipantId(),
+						 ((ServiceMetadata) notValidated).getParticipantId());
+			assertEquals(((ServiceMetadata) validated).getServiceId(),
+						 ((ServiceMetadata) notValidated).getServiceId());
+			assertEquals(((ServiceMetadata) validated).getProcessMetadata().size(),
+						 ((ServiceMetadata) notValidated).getProcessMetadata().size());
+		} else
+			assertEquals(((ServiceGroupV1) validated).getParticipantId(),
+						 ((ServiceGroupV1) notValidated).getParticipantId());
+	}
+
+	@ParameterizedTest
+	@MethodSource("incompleteResponses")
+	void testInvalidWithoutValidation(Supplier<ISMPResultProcessor> processorType, String xmlFile) throws Exception {
 		Document xml = readXMLDoc(xmlFile);
-		assertThrows(SMPQueryException.class, () -> new PEPPOLResultProcessor().processResult(xml));
+		assertThrows(SMPQueryException.class, () -> processorType.get().processResult(xml, false));
 	}
 
 	private Document readXMLDoc(String testFile) throws Exception {
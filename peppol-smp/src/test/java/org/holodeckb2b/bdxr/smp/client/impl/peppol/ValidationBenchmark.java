@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.client.impl.peppol;
+
+import java.io.FileInputStream;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.holodeckb2b.bdxr.smp.client.api.SMPQueryException;
+import org.holodeckb2b.commons.testing.TestUtils;
+import org.w3c.dom.Document;
+
+/**
+ * Compares the processing time of the sample responses by the {@link PEPPOLResultProcessor} with and without
+ * validation against the XML schema. This is not a unit test and is therefore not executed by the normal build. To run
+ * it, compile the test classes and start this class with the test class path, for example:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *      org.holodeckb2b.bdxr.smp.client.impl.peppol.ValidationBenchmark [rounds] [runs]
+ * </pre>
+ * Each sample is processed the given number of rounds (default 2000) in both modes after a warm up of the same size.
+ * This is repeated for the given number of runs (default 3) and the median processing time per response is reported.
+ *
+ * @author Sander Fieten (sander at holodeck-b2b.org)
+ */
+public class ValidationBenchmark {
+
+	private static final String[] SAMPLES = {"unsignedsmd.xml", "signedsmd.xml", "noprocess.xml", "redirection.xml",
+											 "servicegroup.xml", "empty_servicegroup.xml"};
+
+	public static void main(String[] args) throws Exception {
+		final int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		final int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+		final PEPPOLResultProcessor processor = new PEPPOLResultProcessor();
+		final Document[] docs = new Document[SAMPLES.length];
+		for (int s = 0; s < SAMPLES.length; s++)
+			docs[s] = readXMLDoc(SAMPLES[s]);
+
+		for (Document d : docs) {
+			timeProcessing(processor, d, true, rounds);
+			timeProcessing(processor, d, false, rounds);
+		}
+
+		final long[][] validated = new long[SAMPLES.length][runs];
+		final long[][] notValidated = new long[SAMPLES.length][runs];
+		for (int r = 0; r < runs; r++)
+			for (int s = 0; s < SAMPLES.length; s++) {
+				validated[s][r] = timeProcessing(processor, docs[s], true, rounds);
+				notValidated[s][r] = timeProcessing(processor, docs[s], false, rounds);
+			}
+
+		System.out.printf("%-24s %10s %14s   (us per response, median of %d runs of %d rounds)%n", "sample",
+						  "validated", "not validated", runs, rounds);
+		for (int s = 0; s < SAMPLES.length; s++)
+			System.out.printf("%-24s %10.1f %14.1f%n", SAMPLES[s], median(validated[s]) / 1000.0 / rounds,
+							  median(notValidated[s]) / 1000.0 / rounds);
+	}
+
+	private static long timeProcessing(PEPPOLResultProcessor processor, Document d, boolean validate, int rounds)
+																						throws SMPQueryException {
+		final long start = System.nanoTime();
+		for (int i = 0; i < rounds; i++)
+			if (processor.processResult(d, validate) == null)
+				throw new IllegalStateException("No result");
+		return System.nanoTime() - start;
+	}
+
+	private static long median(long[] values) {
+		final long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+
+	private static Document readXMLDoc(String testFile) throws Exception {
+		try (FileInputStream is = new FileInputStream(TestUtils.getTestResource(testFile).toFile())) {
+            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+            dbf.setNamespaceAware(true);
+            return dbf.newDocumentBuilder().parse(is);
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.peppol;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class DocumentIDTest {
+	private static final String DOC_ID =
+					"urn:oasis:names:specification:ubl:schema:xsd:Invoice-2::Invoice##urn:cen.eu:en16931:2017::2.1";
+
+	@Test
+	void testComponents() {
+		DocumentID docId = new DocumentID(DOC_ID);
+		assertEquals("urn:oasis:names:specification:ubl:schema:xsd:Invoice-2::Invoice", docId.getSyntaxID());
+		assertEquals("urn:cen.eu:en16931:2017", docId.getCustimizationID());
+		assertEquals("2.1", docId.getVersionID());
+	}
+
+	@Test
+	void testComponentsAfterChange() {
+		DocumentID docId = new DocumentID(DOC_ID);
+		assertEquals("2.1", docId.getVersionID());
+		docId.setValue("syntax##customization::1.0");
+		assertEquals("syntax", docId.getSyntaxID());
+		assertEquals("customization", docId.getCustimizationID());
+		assertEquals("1.0", docId.getVersionID());
+	}
+
+	@Test
+	void testShared() {
+		DocumentID docId = DocumentID.from(DOC_ID, DocumentID.BUSDOX_QNS.getSchemeId());
+		assertSame(docId, DocumentID.from(DOC_ID, DocumentID.BUSDOX_QNS.getSchemeId()));
+		assertEquals(new DocumentID(DOC_ID), docId);
+
+		DocumentID wildcard = DocumentID.from(DOC_ID, DocumentID.PEPPOL_WILDCARD.getSchemeId());
+		assertNotSame(docId, wildcard);
+		assertEquals(DocumentID.PEPPOL_WILDCARD, wildcard.getScheme());
+
+		assertThrows(UnsupportedOperationException.class, () -> docId.setValue("other"));
+		assertThrows(UnsupportedOperationException.class, () -> docId.setValue("other", DocumentID.BUSDOX_QNS));
+		assertDoesNotThrow(() -> new DocumentID(DOC_ID).setValue("other"));
+	}
+
+	@Test
+	void testFromEncodedNotShared() {
+		DocumentID docId = DocumentID.from(DocumentID.from(DOC_ID, DocumentID.BUSDOX_QNS.getSchemeId()).getURLEncoded());
+		assertEquals(new DocumentID(DOC_ID), docId);
+		assertNotSame(docId, DocumentID.from(docId.getURLEncoded()));
+		assertNotSame(DocumentID.from(DOC_ID, DocumentID.BUSDOX_QNS.getSchemeId()), docId);
+
+		// As in version 4.0.0 the instance can be modified
+		assertDoesNotThrow(() -> docId.setValue("syntax##customization::1.0"));
+		assertEquals("1.0", docId.getVersionID());
+	}
+
+	@Test
+	void testInvalidScheme() {
+		assertThrows(IllegalArgumentException.class, () -> DocumentID.from(DOC_ID, "invalid-scheme"));
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 The Holodeck B2B Team
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.holodeckb2b.bdxr.smp.peppol;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class ProcessIDTest {
+	private static final String PROC_ID = "urn:fdc:peppol.eu:2017:poacc:billing:01:1.0";
+
+	@Test
+	void testShared() {
+		ProcessID procId = ProcessID.from(PROC_ID);
+		assertSame(procId, ProcessID.from(PROC_ID));
+		assertEquals(new ProcessID(PROC_ID), procId);
+		assertEquals(ProcessID.CENBII, procId.getScheme());
+
+		assertThrows(UnsupportedOperationException.class, () -> procId.setValue("other"));
+		assertThrows(UnsupportedOperationException.class, () -> procId.setValue("other", ProcessID.CENBII));
+		assertThrows(UnsupportedOperationException.class, () -> procId.setIsNoProcess(true));
+		assertDoesNotThrow(() -> new ProcessID(PROC_ID).setValue("other"));
+	}
+}